@@ -1,9 +1,11 @@
 package org.carlspring.strongbox.services;
 
 import java.io.IOException;
+import java.util.function.Consumer;
 
 import org.carlspring.strongbox.data.criteria.Selector;
 import org.carlspring.strongbox.domain.ArtifactEntry;
+import org.carlspring.strongbox.storage.search.SearchResult;
 import org.carlspring.strongbox.storage.search.SearchResults;
 
 public interface AqlSearchService
@@ -12,4 +14,25 @@ public interface AqlSearchService
     public SearchResults search(Selector<ArtifactEntry> selector)
         throws IOException;
 
+    /**
+     * Streams the results of a single page from a database cursor, each result is passed to the consumer as soon
+     * as it's read. The pages without explicit order are sorted by record ID.
+     * <p>
+     * The continuation token is checked before the query runs, so the consumer is not called at all for an invalid
+     * one. A page with limit 0 has no results and no continuation token.
+     *
+     * @param continuationToken
+     *            the token returned for the previous page, or <code>null</code> for the first page
+     * @param snippets
+     *            whether to generate the dependency snippets of the results
+     * @return the continuation token of the next page, or <code>null</code> if there are no more results
+     * @throws org.carlspring.strongbox.data.criteria.QueryParserException
+     *             if the continuation token is not valid for the query
+     */
+    public String search(Selector<ArtifactEntry> selector,
+                         String continuationToken,
+                         boolean snippets,
+                         Consumer<SearchResult> consumer)
+        throws IOException;
+
 }
@@ -1,18 +1,28 @@
 package org.carlspring.strongbox.services.impl;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 import javax.inject.Inject;
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
 import javax.transaction.Transactional;
 
-import org.carlspring.strongbox.data.criteria.DetachQueryTemplate;
+import org.carlspring.strongbox.data.criteria.Expression.ExpOperator;
 import org.carlspring.strongbox.data.criteria.OQueryTemplate;
-import org.carlspring.strongbox.data.criteria.QueryTemplate;
+import org.carlspring.strongbox.data.criteria.Paginator;
+import org.carlspring.strongbox.data.criteria.Predicate;
+import org.carlspring.strongbox.data.criteria.QueryParserException;
 import org.carlspring.strongbox.data.criteria.Selector;
+import org.carlspring.strongbox.data.service.support.IndexAdvisor;
 import org.carlspring.strongbox.dependency.snippet.CodeSnippet;
 import org.carlspring.strongbox.dependency.snippet.SnippetGenerator;
 import org.carlspring.strongbox.domain.ArtifactEntry;
@@ -25,11 +35,24 @@ import org.carlspring.strongbox.storage.search.SearchResult;
 import org.carlspring.strongbox.storage.search.SearchResults;
 import org.springframework.stereotype.Component;
 
+import com.orientechnologies.orient.core.id.ORecordId;
+import com.orientechnologies.orient.object.db.OObjectDatabaseTx;
+
 @Component
 @Transactional
 public class AqlSearchServiceImpl implements AqlSearchService
 {
 
+    /**
+     * The pages without explicit order are sorted by record ID, so the next page can start right after the last
+     * record of the previous one, instead of skipping all the previous results.
+     */
+    private static final String TOKEN_RID = "rid:";
+
+    private static final String TOKEN_SKIP = "skip:";
+
+    private static final String RID_PROPERTY = "@rid";
+
     @PersistenceContext
     private EntityManager entityManager;
 
@@ -39,37 +62,161 @@ public class AqlSearchServiceImpl implements AqlSearchService
     @Inject
     private SnippetGenerator snippetGenerator;
 
+    @Inject
+    private IndexAdvisor indexAdvisor;
+
     public SearchResults search(Selector<ArtifactEntry> selector)
         throws IOException
     {
+        // The selector is run as it is: the callers which read the results at once don't need the keyset order.
         SearchResults result = new SearchResults();
+        stream(selector, artifactEntry -> {
+            result.getResults().add(toSearchResult(artifactEntry, true));
+
+            return true;
+        });
+
+        return result;
+    }
+
+    public String search(Selector<ArtifactEntry> selector,
+                         String continuationToken,
+                         boolean snippets,
+                         Consumer<SearchResult> consumer)
+        throws IOException
+    {
+        Paginator paginator = selector.getPaginator();
+        boolean keyset = paginator.getProperty() == null || paginator.getProperty().trim().isEmpty();
+        if (keyset)
+        {
+            paginator.setProperty(RID_PROPERTY);
+            paginator.setOrder(Paginator.Order.ASC);
+        }
 
-        QueryTemplate<List<ArtifactEntry>, ArtifactEntry> queryTemplate = new DetachQueryTemplate<>(
-                new OQueryTemplate<>(entityManager));
-        for (ArtifactEntry artifactEntry : queryTemplate.select(selector))
+        // The token is checked before anything is read, so an invalid one fails the request before any result.
+        if (continuationToken != null)
+        {
+            applyContinuationToken(selector, keyset, continuationToken);
+        }
+
+        // The limit is capped with the Paginator.MAX_LIMIT.
+        int limit = paginator.getLimit();
+        if (limit == 0)
+        {
+            return null;
+        }
+
+        AtomicInteger count = new AtomicInteger();
+        AtomicReference<String> lastRid = new AtomicReference<>();
+
+        stream(selector, artifactEntry -> {
+            consumer.accept(toSearchResult(artifactEntry, snippets));
+
+            lastRid.set(artifactEntry.getObjectId());
+
+            return count.incrementAndGet() < limit;
+        });
+
+        if (count.get() < limit)
+        {
+            return null;
+        }
+
+        return keyset ? encodeToken(TOKEN_RID + lastRid.get())
+                      : encodeToken(TOKEN_SKIP + (paginator.getSkip() + limit));
+    }
+
+    private void stream(Selector<ArtifactEntry> selector,
+                        Function<ArtifactEntry, Boolean> callback)
+        throws IOException
+    {
+        OQueryTemplate<List<ArtifactEntry>, ArtifactEntry> queryTemplate = new OQueryTemplate<>(entityManager);
+        indexAdvisor.inspect(queryTemplate.getEmDelegate().getUnderlying(),
+                             queryTemplate.calculateQueryString(selector),
+                             queryTemplate.exposeParameterMap(selector.getPredicate()));
+        try
+        {
+            queryTemplate.stream(selector, callback);
+        }
+        catch (UncheckedIOException e)
         {
-            SearchResult r = new SearchResult();
-            result.getResults().add(r);
+            throw e.getCause();
+        }
+    }
+
+    private SearchResult toSearchResult(ArtifactEntry artifactEntry,
+                                        boolean snippets)
+    {
+        SearchResult r = new SearchResult();
 
-            r.setStorageId(artifactEntry.getStorageId());
-            r.setRepositoryId(artifactEntry.getRepositoryId());
-            r.setArtifactCoordinates(artifactEntry.getArtifactCoordinates());
+        r.setStorageId(artifactEntry.getStorageId());
+        r.setRepositoryId(artifactEntry.getRepositoryId());
+        // Detached, so the result can outlive the session.
+        r.setArtifactCoordinates(((OObjectDatabaseTx) entityManager.getDelegate()).detachAll(
+                artifactEntry.getArtifactCoordinates(), true));
 
-            RepositoryPath repositoryPath = repositoryPathResolver.resolve(artifactEntry.getStorageId(),
-                                                                           artifactEntry.getRepositoryId(),
-                                                                           artifactEntry.getArtifactPath());
+        RepositoryPath repositoryPath = repositoryPathResolver.resolve(artifactEntry.getStorageId(),
+                                                                       artifactEntry.getRepositoryId(),
+                                                                       artifactEntry.getArtifactPath());
 
-            Repository repository = repositoryPath.getRepository();
+        Repository repository = repositoryPath.getRepository();
 
+        try
+        {
             URL artifactResource = RepositoryFiles.readResourceUrl(repositoryPath);
             r.setUrl(artifactResource.toString());
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
 
-            List<CodeSnippet> snippets = snippetGenerator.generateSnippets(repository.getLayout(),
-                                                                             artifactEntry.getArtifactCoordinates());
-            r.setSnippets(snippets);
+        if (snippets)
+        {
+            List<CodeSnippet> codeSnippets = snippetGenerator.generateSnippets(repository.getLayout(),
+                                                                                 artifactEntry.getArtifactCoordinates());
+            r.setSnippets(codeSnippets);
         }
 
-        return result;
+        return r;
+    }
+
+    private void applyContinuationToken(Selector<ArtifactEntry> selector,
+                                        boolean keyset,
+                                        String continuationToken)
+    {
+        String token;
+        try
+        {
+            token = new String(Base64.getUrlDecoder().decode(continuationToken), StandardCharsets.UTF_8);
+        }
+        catch (IllegalArgumentException e)
+        {
+            throw new QueryParserException("Invalid continuation token.");
+        }
+
+        if (keyset && token.startsWith(TOKEN_RID) && ORecordId.isA(token.substring(TOKEN_RID.length())))
+        {
+            ORecordId rid = new ORecordId(token.substring(TOKEN_RID.length()));
+
+            selector.getPaginator().setSkip(0);
+            selector.where(Predicate.empty()
+                                    .and(selector.getPredicate().nested())
+                                    .and(Predicate.of(ExpOperator.GT.of(RID_PROPERTY, rid))));
+        }
+        else if (!keyset && token.startsWith(TOKEN_SKIP) && token.substring(TOKEN_SKIP.length()).matches("\\d+"))
+        {
+            selector.getPaginator().setSkip(Integer.valueOf(token.substring(TOKEN_SKIP.length())));
+        }
+        else
+        {
+            throw new QueryParserException("Invalid continuation token.");
+        }
+    }
+
+    private static String encodeToken(String token)
+    {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(token.getBytes(StandardCharsets.UTF_8));
     }
 
 }
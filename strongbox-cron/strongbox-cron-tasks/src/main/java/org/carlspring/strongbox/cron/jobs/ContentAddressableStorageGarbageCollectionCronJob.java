@@ -0,0 +1,43 @@
+package org.carlspring.strongbox.cron.jobs;
+
+import org.carlspring.strongbox.cron.domain.CronTaskConfigurationDto;
+import org.carlspring.strongbox.cron.jobs.fields.CronJobField;
+import org.carlspring.strongbox.providers.datastore.ContentAddressableStorageProvider;
+
+import javax.inject.Inject;
+import java.util.Set;
+
+import com.google.common.collect.ImmutableSet;
+
+/**
+ * Deletes the blobs of the content-addressable storage provider which are no longer referenced by any
+ * repository path.
+ */
+public class ContentAddressableStorageGarbageCollectionCronJob
+        extends JavaCronJob
+{
+
+    private static final Set<CronJobField> FIELDS = ImmutableSet.of();
+
+    @Inject
+    private ContentAddressableStorageProvider contentAddressableStorageProvider;
+
+    @Override
+    public void executeTask(CronTaskConfigurationDto config)
+            throws Throwable
+    {
+        contentAddressableStorageProvider.collectGarbage();
+    }
+
+    @Override
+    public CronJobDefinition getCronJobDefinition()
+    {
+        return CronJobDefinition.newBuilder()
+                                .jobClass(ContentAddressableStorageGarbageCollectionCronJob.class.getName())
+                                .name("Content Addressable Storage Garbage Collection Cron Job")
+                                .description("Deletes the unreferenced blobs of the content-addressable storage")
+                                .fields(FIELDS)
+                                .build();
+    }
+
+}
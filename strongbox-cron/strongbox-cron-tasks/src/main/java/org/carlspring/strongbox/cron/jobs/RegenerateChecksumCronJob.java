@@ -5,11 +5,13 @@ import org.carlspring.strongbox.cron.domain.CronTaskConfigurationDto;
 import org.carlspring.strongbox.cron.jobs.fields.*;
 import org.carlspring.strongbox.services.ChecksumService;
 import org.carlspring.strongbox.storage.Storage;
+import org.carlspring.strongbox.storage.checksum.ChecksumRegenerator;
 import org.carlspring.strongbox.storage.repository.Repository;
 
 import javax.inject.Inject;
 import java.io.IOException;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 
 import com.google.common.collect.ImmutableSet;
@@ -29,6 +31,10 @@ public class RegenerateChecksumCronJob
 
     private static final String PROPERTY_FORCE_REGENERATION = "forceRegeneration";
 
+    private static final String PROPERTY_THREADS = "threads";
+
+    private static final String PROPERTY_MAX_BYTES_PER_SECOND = "maxBytesPerSecond";
+
     private static final Set<CronJobField> FIELDS = ImmutableSet.of(
             new CronJobStorageIdAutocompleteField(new CronJobStringTypeField(
                     new CronJobOptionalField(new CronJobNamedField(PROPERTY_STORAGE_ID)))),
@@ -37,7 +43,11 @@ public class RegenerateChecksumCronJob
             new CronJobBooleanTypeField(
                     new CronJobOptionalField(new CronJobNamedField(PROPERTY_FORCE_REGENERATION))),
             new CronJobStringTypeField(
-                    new CronJobOptionalField(new CronJobNamedField(PROPERTY_BASE_PATH))));
+                    new CronJobOptionalField(new CronJobNamedField(PROPERTY_BASE_PATH))),
+            new CronJobIntegerTypeField(
+                    new CronJobOptionalField(new CronJobNamedField(PROPERTY_THREADS))),
+            new CronJobIntegerTypeField(
+                    new CronJobOptionalField(new CronJobNamedField(PROPERTY_MAX_BYTES_PER_SECOND))));
 
     @Inject
     private ChecksumService checksumService;
@@ -56,25 +66,41 @@ public class RegenerateChecksumCronJob
         /**
          * The values of forceRegeneration are:
          * - true  - to re-write existing checksum and to regenerate missing checksum,
-         * - false - to regenerate missing checksum only
+         * - false - to regenerate missing checksum and checksum older than the file only
          */
         boolean forceRegeneration = Boolean.valueOf(config.getProperty(PROPERTY_FORCE_REGENERATION));
 
+        /**
+         * The number of files processed in parallel, and the read rate limit (unlimited when not set), so that
+         * the job can run while the repositories are in use.
+         */
+        int threads = Optional.ofNullable(config.getProperty(PROPERTY_THREADS))
+                              .map(Integer::parseInt)
+                              .orElse(ChecksumRegenerator.DEFAULT_THREADS);
+        long maxBytesPerSecond = Optional.ofNullable(config.getProperty(PROPERTY_MAX_BYTES_PER_SECOND))
+                                         .map(Long::parseLong)
+                                         .orElse(0L);
+
         if (storageId == null)
         {
             Map<String, Storage> storages = getStorages();
             for (String storage : storages.keySet())
             {
-                regenerateRepositoriesChecksum(storage, forceRegeneration);
+                regenerateRepositoriesChecksum(storage, forceRegeneration, threads, maxBytesPerSecond);
             }
         }
         else if (repositoryId == null)
         {
-            regenerateRepositoriesChecksum(storageId, forceRegeneration);
+            regenerateRepositoriesChecksum(storageId, forceRegeneration, threads, maxBytesPerSecond);
         }
         else
         {
-            checksumService.regenerateChecksum(storageId, repositoryId, basePath, forceRegeneration);
+            checksumService.regenerateChecksum(storageId,
+                                               repositoryId,
+                                               basePath,
+                                               forceRegeneration,
+                                               threads,
+                                               maxBytesPerSecond);
         }
     }
 
@@ -94,18 +120,27 @@ public class RegenerateChecksumCronJob
      *
      * @param storageId         path of storage
      * @param forceRegeneration true - to re-write existing checksum and to regenerate missing checksum,
-     *                          false - to regenerate missing checksum only
+     *                          false - to regenerate missing and outdated checksum only
+     * @param threads           the number of worker threads
+     * @param maxBytesPerSecond the maximum read rate, zero for unlimited
      * @throws IOException
      */
     private void regenerateRepositoriesChecksum(String storageId,
-                                                boolean forceRegeneration)
+                                                boolean forceRegeneration,
+                                                int threads,
+                                                long maxBytesPerSecond)
             throws IOException
     {
         Map<String, ? extends Repository> repositories = getRepositories(storageId);
 
         for (String repositoryId : repositories.keySet())
         {
-            checksumService.regenerateChecksum(storageId, repositoryId, null, forceRegeneration);
+            checksumService.regenerateChecksum(storageId,
+                                               repositoryId,
+                                               null,
+                                               forceRegeneration,
+                                               threads,
+                                               maxBytesPerSecond);
         }
     }
 
@@ -0,0 +1,79 @@
+package org.carlspring.strongbox.cron.jobs;
+
+import org.carlspring.strongbox.cron.context.CronTaskTest;
+import org.carlspring.strongbox.cron.domain.CronTaskConfigurationDto;
+import org.carlspring.strongbox.providers.datastore.ContentAddressableBlobStore;
+import org.carlspring.strongbox.providers.datastore.ContentAddressableStorageProvider;
+
+import javax.inject.Inject;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+@CronTaskTest
+@SpringBootTest
+@ActiveProfiles(profiles = "test")
+public class ContentAddressableStorageGarbageCollectionCronJobTestIT
+        extends BaseCronTestCase
+{
+
+    @Inject
+    private ContentAddressableStorageProvider contentAddressableStorageProvider;
+
+    @Override
+    @BeforeEach
+    public void init(TestInfo testInfo)
+            throws Exception
+    {
+        assumeTrue(FileSystems.getDefault().supportedFileAttributeViews().contains("unix"),
+                   "Hard link counts are not supported by the file system.");
+
+        super.init(testInfo);
+    }
+
+    @Test
+    public void testUnreferencedBlobsAreDeleted()
+            throws Exception
+    {
+        ContentAddressableBlobStore blobStore = contentAddressableStorageProvider.getBlobStore();
+        Path directory = Files.createDirectories(blobStore.getRoot()
+                                                          .getParent()
+                                                          .resolve("storage-cas-gc")
+                                                          .resolve(expectedCronTaskUuid.toString()));
+
+        String referencedDigest = UUID.randomUUID().toString().replace("-", "");
+        Path referenced = Files.write(directory.resolve("referenced.jar"), "referenced".getBytes(StandardCharsets.UTF_8));
+        blobStore.store(referenced, referencedDigest);
+
+        String unreferencedDigest = UUID.randomUUID().toString().replace("-", "");
+        Path unreferenced = Files.write(directory.resolve("unreferenced.jar"), "unreferenced".getBytes(StandardCharsets.UTF_8));
+        blobStore.store(unreferenced, unreferencedDigest);
+        Files.delete(unreferenced);
+
+        CronTaskConfigurationDto configuration = new CronTaskConfigurationDto();
+        configuration.setUuid(expectedCronTaskUuid);
+        configuration.setName(expectedCronTaskName);
+        configuration.setJobClass(ContentAddressableStorageGarbageCollectionCronJob.class.getName());
+        configuration.setCronExpression("0 11 11 11 11 ? 2100");
+        configuration.setOneTimeExecution(true);
+        configuration.setImmediateExecution(true);
+
+        addCronJobConfig(configuration);
+
+        assertThat(expectEvent(60000, 500)).as("Failed to execute task within a reasonable time!").isTrue();
+        assertThat(blobStore.resolveBlob(unreferencedDigest)).doesNotExist();
+        assertThat(blobStore.resolveBlob(referencedDigest)).exists();
+        assertThat(referenced).hasContent("referenced");
+    }
+
+}
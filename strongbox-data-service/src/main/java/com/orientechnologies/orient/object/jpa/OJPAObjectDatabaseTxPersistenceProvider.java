@@ -50,7 +50,8 @@ public class OJPAObjectDatabaseTxPersistenceProvider
             properties.putAll(map);
         }
 
-        // register entities from <class> tag
+        // register entities from <class> tag; this only builds the in-memory mapping of the entity classes, the
+        // schema itself is not generated here (automatic schema generation is off) but by the versioned changelogs
         OEntityManager entityManager = getEntityManagerByDatabaseURL(properties.getURL());
         entityManager.registerEntityClasses(info.getManagedClassNames());
 
@@ -8,6 +8,7 @@ import javax.persistence.EntityManagerFactory;
 import javax.sql.DataSource;
 
 import org.carlspring.strongbox.config.hazelcast.HazelcastConfiguration;
+import org.carlspring.strongbox.data.liquibase.VersionedSpringLiquibase;
 import org.carlspring.strongbox.data.tx.OEntityUnproxyAspect;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
@@ -29,6 +30,7 @@ import org.strongbox.db.server.OrientDbServerConfiguration;
 import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.spring.cache.HazelcastCacheManager;
 import com.hazelcast.spring.transaction.HazelcastTransactionManager;
+import com.orientechnologies.orient.core.db.ODatabasePool;
 import com.orientechnologies.orient.object.jpa.OJPAObjectDatabaseTxPersistenceProvider;
 
 import liquibase.integration.spring.SpringLiquibase;
@@ -59,9 +61,10 @@ public class DataServiceConfig
     private DataSource dataSource;
 
     @Bean(name = "liquibase")
-    public SpringLiquibase springLiquibase(ResourceLoader resourceLoader)
+    public SpringLiquibase springLiquibase(ResourceLoader resourceLoader,
+                                           ODatabasePool databasePool)
     {
-        SpringLiquibase liquibase = new SpringLiquibase();
+        SpringLiquibase liquibase = new VersionedSpringLiquibase(databasePool);
         liquibase.setDataSource(dataSource);
         liquibase.setResourceLoader(resourceLoader);
         liquibase.setChangeLog("classpath:/db/changelog/db.changelog-master.xml");
@@ -63,6 +63,18 @@ public class HazelcastConfiguration
     @Value("${cacheManagerConfiguration.caches.tags.evictionPolicy:LFU}")
     public EvictionPolicy tagsEvictionPolicy;
 
+    @Value("${cacheManagerConfiguration.caches.checksums.maxSizeLimit:10000}")
+    public int checksumsMaxSizeLimit;
+
+    @Value("${cacheManagerConfiguration.caches.checksums.maxSizePolicy:PER_NODE}")
+    public MaxSizeConfig.MaxSizePolicy checksumsMaxSizePolicy;
+
+    @Value("${cacheManagerConfiguration.caches.checksums.evictionPolicy:LRU}")
+    public EvictionPolicy checksumsEvictionPolicy;
+
+    @Value("${cacheManagerConfiguration.caches.checksums.maxIdleSeconds:60}")
+    public int checksumsMaxIdleSeconds;
+
     public static MapConfig newDefaultMapConfig(String name,
                                                 int maxSize,
                                                 MaxSizeConfig.MaxSizePolicy maxSizePolicy,
@@ -127,6 +139,10 @@ public class HazelcastConfiguration
                                                                             tagsMaxSizeLimit,
                                                                             tagsMaxSizePolicy,
                                                                             tagsEvictionPolicy))
+                                          .addMapConfig(newDefaultMapConfig(CacheName.Artifact.CHECKSUMS,
+                                                                            checksumsMaxSizeLimit,
+                                                                            checksumsMaxSizePolicy,
+                                                                            checksumsEvictionPolicy).setMaxIdleSeconds(checksumsMaxIdleSeconds))
                                           .addMapConfig(authenticationCacheConfig(CacheName.User.AUTHENTICATIONS));
         config.setGroupConfig(new GroupConfig(groupConfigName, groupConfigPassword));
         config.getNetworkConfig().getJoin().getMulticastConfig().setEnabled(enableMulticastConfig);
@@ -1,16 +1,15 @@
 package org.carlspring.strongbox.config.orientdb;
 
-import java.io.BufferedInputStream;
-import java.io.BufferedOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.OutputStream;
 import java.net.JarURLConnection;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.util.Enumeration;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
@@ -25,6 +24,7 @@ import org.springframework.context.annotation.Conditional;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.DependsOn;
 import org.springframework.core.type.AnnotatedTypeMetadata;
+import org.springframework.util.FileSystemUtils;
 import org.strongbox.db.server.EmbeddedOrientDbServer;
 import org.strongbox.db.server.OrientDbServer;
 import org.strongbox.db.server.OrientDbServerConfiguration;
@@ -66,38 +66,71 @@ public class EmbeddedOrientDbConfig
         }
         logger.info("Database does not exist. Copying fresh database snapshot from classpath...");
 
-        try (JarFile jar = getDbSchemaClasspathLocation())
+        long start = System.currentTimeMillis();
+        extractDatabaseSnapshot(Paths.get(serverProperties.getPath()));
+        logger.info("Database snapshot copied in [{}] ms.", System.currentTimeMillis() - start);
+
+        return orientDB;
+    }
+
+    /**
+     * Extracts the snapshot into a temporary directory first and then moves it in place, so that an interrupted
+     * extraction doesn't leave a partial database behind, which would be re-used on the next start.
+     */
+    private void extractDatabaseSnapshot(Path databasesPath)
+        throws IOException
+    {
+        Files.createDirectories(databasesPath);
+        Path tempPath = Files.createTempDirectory(databasesPath, ".snapshot");
+        try
         {
-            Enumeration<JarEntry> enumEntries = jar.entries();
-            while (enumEntries.hasMoreElements())
+            try (JarFile jar = getDbSchemaClasspathLocation())
             {
-                JarEntry file = enumEntries.nextElement();
-                if (!file.getName().startsWith(PATH_STRONGBOX_DB))
+                Enumeration<JarEntry> enumEntries = jar.entries();
+                while (enumEntries.hasMoreElements())
                 {
-                    continue;
-                }
+                    JarEntry file = enumEntries.nextElement();
+                    if (!file.getName().startsWith(PATH_STRONGBOX_DB))
+                    {
+                        continue;
+                    }
 
-                Path filePath = Paths.get(serverProperties.getPath(), file.getName().replace(PATH_STRONGBOX_DB, ""));
-                if (file.isDirectory())
-                {
-                    Files.createDirectories(filePath);
-                    continue;
+                    String relativePath = StringUtils.removeStart(file.getName().replace(PATH_STRONGBOX_DB, ""), "/");
+                    Path filePath = tempPath.resolve(relativePath);
+                    if (file.isDirectory())
+                    {
+                        Files.createDirectories(filePath);
+                        continue;
+                    }
+
+                    Files.createDirectories(filePath.getParent());
+                    try (InputStream is = jar.getInputStream(file))
+                    {
+                        Files.copy(is, filePath, StandardCopyOption.REPLACE_EXISTING);
+                    }
                 }
+            }
 
-                try (InputStream is = new BufferedInputStream(jar.getInputStream(file)))
+            try (DirectoryStream<Path> children = Files.newDirectoryStream(tempPath))
+            {
+                for (Path child : children)
                 {
-                    try (OutputStream os = new BufferedOutputStream(new java.io.FileOutputStream(filePath.toFile())))
+                    Path target = databasesPath.resolve(child.getFileName().toString());
+                    if (Files.exists(target))
                     {
-                        while (is.available() > 0)
-                        {
-                            os.write(is.read());
-                        }
+                        // Left over by an older version, the snapshot files take precedence.
+                        FileSystemUtils.copyRecursively(child, target);
+                        continue;
                     }
+
+                    Files.move(child, target, StandardCopyOption.ATOMIC_MOVE);
                 }
             }
         }
-        
-        return orientDB;
+        finally
+        {
+            FileSystemUtils.deleteRecursively(tempPath);
+        }
     }
 
     public JarFile getDbSchemaClasspathLocation()
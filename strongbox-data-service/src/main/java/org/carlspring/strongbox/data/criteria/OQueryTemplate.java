@@ -3,6 +3,8 @@ package org.carlspring.strongbox.data.criteria;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.function.Function;
+import java.util.regex.Pattern;
 
 import javax.persistence.EntityManager;
 
@@ -11,7 +13,10 @@ import org.carlspring.strongbox.data.domain.GenericEntity;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.orientechnologies.orient.core.command.OCommandResultListener;
+import com.orientechnologies.orient.core.db.record.OIdentifiable;
 import com.orientechnologies.orient.core.record.impl.ODocument;
+import com.orientechnologies.orient.core.sql.query.OSQLAsynchQuery;
 import com.orientechnologies.orient.core.sql.query.OSQLSynchQuery;
 import com.orientechnologies.orient.object.db.OObjectDatabaseTx;
 
@@ -25,6 +30,12 @@ public class OQueryTemplate<R, T extends GenericEntity> implements QueryTemplate
 {
     private static final Logger logger = LoggerFactory.getLogger(OQueryTemplate.class);
 
+    /**
+     * The order property goes to the query text, so it is limited to a property path to keep the text of a query
+     * shape stable (and reusable from the OrientDB statement cache) and free of anything else.
+     */
+    private static final Pattern ORDER_PROPERTY_PATTERN = Pattern.compile("^@?[A-Za-z0-9_]+(\\.[A-Za-z0-9_]+)*$");
+
     protected EntityManager entityManager;
 
     public OQueryTemplate()
@@ -71,6 +82,51 @@ public class OQueryTemplate<R, T extends GenericEntity> implements QueryTemplate
         }
     }
 
+    /**
+     * Executes the query with a cursor: the results are passed to the consumer one by one as they are read from the
+     * database, without being collected in memory. The entities are attached to the current session.
+     *
+     * @param consumer
+     *            returns <code>false</code> to stop the iteration
+     */
+    public void stream(Selector<T> s,
+                       Function<T, Boolean> consumer)
+    {
+        String sQuery = calculateQueryString(s);
+        Map<String, Object> parameterMap = exposeParameterMap(s.getPredicate());
+
+        logger.debug("Streaming SQL query:\n" +
+                     "\t[{}]\n" +
+                     "With parameters:\n" +
+                     "\t[{}]",
+                     sQuery, parameterMap);
+
+        OObjectDatabaseTx db = getEmDelegate();
+        OSQLAsynchQuery<ODocument> oQuery = new OSQLAsynchQuery<>(sQuery, new OCommandResultListener()
+        {
+
+            @Override
+            public boolean result(Object record)
+            {
+                return consumer.apply((T) db.getUserObjectByRecord((OIdentifiable) record, null));
+            }
+
+            @Override
+            public void end()
+            {
+            }
+
+            @Override
+            public Object getResult()
+            {
+                return null;
+            }
+
+        });
+
+        db.getUnderlying().command(oQuery).execute(parameterMap);
+    }
+
     public OObjectDatabaseTx getEmDelegate()
     {
         return (OObjectDatabaseTx) entityManager.getDelegate();
@@ -117,6 +173,10 @@ public class OQueryTemplate<R, T extends GenericEntity> implements QueryTemplate
         Paginator paginator = selector.getPaginator();
         if (paginator != null && paginator.getProperty() != null && !paginator.getProperty().trim().isEmpty())
         {
+            if (!ORDER_PROPERTY_PATTERN.matcher(paginator.getProperty()).matches())
+            {
+                throw new QueryParserException(String.format("Invalid order property [%s].", paginator.getProperty()));
+            }
             sb.append(String.format(" ORDER BY %s %s", paginator.getProperty(), paginator.getOrder()));
         }
 
@@ -242,8 +302,12 @@ public class OQueryTemplate<R, T extends GenericEntity> implements QueryTemplate
             return " <= ";
         case GE:
             return " >=";            
+        case GT:
+            return " > ";
         case LIKE:
             return " LIKE ";
+        case IN:
+            return " IN ";
         case CONTAINS:
             return " CONTAINS ";
         case IS_NULL:
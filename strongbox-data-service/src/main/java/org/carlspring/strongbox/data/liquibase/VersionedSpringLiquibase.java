@@ -0,0 +1,152 @@
+package org.carlspring.strongbox.data.liquibase;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.core.io.support.ResourcePatternUtils;
+import org.springframework.util.StreamUtils;
+
+import com.orientechnologies.orient.core.config.OStorageEntryConfiguration;
+import com.orientechnologies.orient.core.db.ODatabase;
+import com.orientechnologies.orient.core.db.ODatabasePool;
+import com.orientechnologies.orient.core.db.ODatabaseSession;
+
+import liquibase.exception.LiquibaseException;
+import liquibase.integration.spring.SpringLiquibase;
+
+/**
+ * {@link SpringLiquibase} which doesn't run at all when the changelogs have not changed since the last run.
+ * <p>
+ * Liquibase itself skips the change sets which were already applied, but it still has to take its lock, parse all
+ * the changelogs and compare them with the change log table on every start. Here the changelog resources are
+ * digested into a schema version, which is kept in a custom attribute of the database after a successful run: the
+ * next start with the same version doesn't touch the schema.
+ */
+public class VersionedSpringLiquibase
+        extends SpringLiquibase
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(VersionedSpringLiquibase.class);
+
+    private static final String CHANGELOG_RESOURCES = "classpath*:/db/changelog/**/*.*";
+
+    static final String SCHEMA_VERSION_ATTRIBUTE = "strongboxSchemaVersion_";
+
+    private final ODatabasePool databasePool;
+
+    public VersionedSpringLiquibase(ODatabasePool databasePool)
+    {
+        this.databasePool = databasePool;
+    }
+
+    @Override
+    public void afterPropertiesSet()
+        throws LiquibaseException
+    {
+        long start = System.currentTimeMillis();
+
+        String attribute = SCHEMA_VERSION_ATTRIBUTE + getBeanName();
+        String schemaVersion = calculateSchemaVersion();
+        if (schemaVersion.equals(readAttribute(attribute)))
+        {
+            logger.info("Schema is up to date, skipping [{}].", getChangeLog());
+
+            return;
+        }
+
+        super.afterPropertiesSet();
+        writeAttribute(attribute, schemaVersion);
+
+        logger.info("Applied [{}] in [{}] ms.", getChangeLog(), System.currentTimeMillis() - start);
+    }
+
+    String calculateSchemaVersion()
+    {
+        ResourcePatternResolver resolver = ResourcePatternUtils.getResourcePatternResolver(getResourceLoader());
+        try
+        {
+            // The digests are sorted, so that the version doesn't depend on the resource locations and their order.
+            List<String> digests = new ArrayList<>();
+            for (Resource resource : resolver.getResources(CHANGELOG_RESOURCES))
+            {
+                if (!resource.isReadable())
+                {
+                    continue;
+                }
+
+                try (InputStream is = resource.getInputStream())
+                {
+                    digests.add(digest(StreamUtils.copyToByteArray(is)));
+                }
+            }
+            Collections.sort(digests);
+
+            return digest(String.join(",", digests).getBytes(StandardCharsets.UTF_8));
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String digest(byte[] bytes)
+    {
+        MessageDigest messageDigest;
+        try
+        {
+            messageDigest = MessageDigest.getInstance("SHA-1");
+        }
+        catch (NoSuchAlgorithmException e)
+        {
+            throw new IllegalStateException(e);
+        }
+
+        StringBuilder result = new StringBuilder();
+        for (byte b : messageDigest.digest(bytes))
+        {
+            result.append(String.format("%02x", b));
+        }
+
+        return result.toString();
+    }
+
+    String readAttribute(String name)
+    {
+        try (ODatabaseSession db = databasePool.acquire())
+        {
+            List<OStorageEntryConfiguration> attributes = (List<OStorageEntryConfiguration>) db.get(
+                    ODatabase.ATTRIBUTES.CUSTOM);
+            if (attributes == null)
+            {
+                return null;
+            }
+
+            return attributes.stream()
+                             .filter(a -> name.equals(a.name))
+                             .map(a -> a.value)
+                             .findFirst()
+                             .orElse(null);
+        }
+    }
+
+    private void writeAttribute(String name,
+                                String value)
+    {
+        try (ODatabaseSession db = databasePool.acquire())
+        {
+            db.set(ODatabase.ATTRIBUTES.CUSTOM, String.format("%s=%s", name, value));
+        }
+    }
+
+}
@@ -15,10 +15,16 @@ import javax.persistence.OneToOne;
 import javax.persistence.PersistenceContext;
 
 import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
+import com.orientechnologies.orient.core.db.record.OIdentifiable;
+import com.orientechnologies.orient.core.id.ORID;
 import com.orientechnologies.orient.core.id.ORecordId;
+import com.orientechnologies.orient.core.index.OIndex;
+import com.orientechnologies.orient.core.index.OIndexCursor;
 import com.orientechnologies.orient.core.record.impl.ODocument;
 import com.orientechnologies.orient.core.sql.OCommandSQL;
 import com.orientechnologies.orient.core.sql.query.OSQLSynchQuery;
@@ -35,6 +41,15 @@ public abstract class CommonCrudService<T extends GenericEntity>
 
     private static final Logger logger = LoggerFactory.getLogger(CommonCrudService.class);
 
+    private static final String IDX_UUID = "idx_uuid";
+
+    private static final Map<Class<?>, List<Field>> CASCADE_FIELDS = new ConcurrentHashMap<>();
+
+    /**
+     * The record IDs prefetched for the entities of the save in progress.
+     */
+    private static final ThreadLocal<Map<String, ORID>> IDENTITY_CONTEXT = new ThreadLocal<>();
+
     @PersistenceContext
     protected EntityManager entityManager;
 
@@ -48,36 +63,36 @@ public abstract class CommonCrudService<T extends GenericEntity>
     }
 
     protected <S extends T> S cascadeEntitySave(T entity)
+    {
+        if (IDENTITY_CONTEXT.get() != null)
+        {
+            return doCascadeEntitySave(entity);
+        }
+
+        IDENTITY_CONTEXT.set(prefetchIdentities(entity));
+        try
+        {
+            return doCascadeEntitySave(entity);
+        }
+        finally
+        {
+            IDENTITY_CONTEXT.remove();
+        }
+    }
+
+    private <S extends T> S doCascadeEntitySave(T entity)
     {
         identifyEntity(entity);
-        
-        ReflectionUtils.doWithFields(getEntityClass(), (field) -> {
-            ReflectionUtils.makeAccessible(field);
-
-            Set<CascadeType> cascadeTypeSet = Arrays.stream(field.getAnnotations())
-                                                    .map(a -> exposeCascadeType(a))
-                                                    .reduce((c1,
-                                                             c2) -> {
-                                                        c1.addAll(c2);
-                                                        return c1;
-                                                    })
-                                                    .orElse(Collections.emptySet());
-            
-            if (!cascadeTypeSet.stream().anyMatch(c -> CascadeType.ALL.equals(c) || CascadeType.MERGE.equals(c)
-                    || CascadeType.PERSIST.equals(c)))
-            {
-                return;
-            }
-            
-            Class<?> fieldType = field.getType();
-            Object fieldValue = ReflectionUtils.getField(field, entity);
 
+        for (Field field : getCascadeFields(getEntityClass()))
+        {
+            Object fieldValue = ReflectionUtils.getField(field, entity);
             if (fieldValue == null)
             {
-                return;
+                continue;
             }
 
-            if (Collection.class.isAssignableFrom(fieldType))
+            if (Collection.class.isAssignableFrom(field.getType()))
             {
                 Collection<Object> collection = (Collection<Object>) fieldValue;
                 List<Object> replaceCollection = new LinkedList<>();
@@ -100,13 +115,41 @@ public abstract class CommonCrudService<T extends GenericEntity>
                     ReflectionUtils.setField(field, entity, newFieldValue);
                 }
             }
+        }
+
+        S result = getDelegate().save(entity);
+
+        // The entities saved within this save are not prefetched anymore.
+        IDENTITY_CONTEXT.get().remove(entity.getUuid());
 
+        return result;
+    }
+
+    /**
+     * @return the (accessible) fields of the entity class which cascade the save, computed once per class
+     */
+    private static List<Field> getCascadeFields(Class<?> entityClass)
+    {
+        return CASCADE_FIELDS.computeIfAbsent(entityClass, c -> {
+            List<Field> result = new ArrayList<>();
+            ReflectionUtils.doWithFields(c, field -> {
+                ReflectionUtils.makeAccessible(field);
+                result.add(field);
+            }, CommonCrudService::isCascadeField);
+
+            return Collections.unmodifiableList(result);
         });
+    }
 
-        return getDelegate().save(entity);
+    private static boolean isCascadeField(Field field)
+    {
+        return Arrays.stream(field.getAnnotations())
+                     .flatMap(a -> exposeCascadeType(a).stream())
+                     .anyMatch(c -> CascadeType.ALL.equals(c) || CascadeType.MERGE.equals(c)
+                             || CascadeType.PERSIST.equals(c));
     }
 
-    private Set<CascadeType> exposeCascadeType(Annotation a)
+    private static Set<CascadeType> exposeCascadeType(Annotation a)
     {
         Set<CascadeType> result = new HashSet<>();
         if (a instanceof OneToMany)
@@ -139,7 +182,68 @@ public abstract class CommonCrudService<T extends GenericEntity>
         CommonCrudService<GenericEntity> entityService = (CommonCrudService<GenericEntity>) entityServiceRegistry.getEntityService(entity.getClass());
         return entityService.cascadeEntitySave(entity);
     }
-    
+
+    /**
+     * Resolves the record IDs of the entity and all of its cascaded entities, which already have an UUID but not an
+     * object ID yet, with a single lookup of the UUID index instead of a query per entity.
+     *
+     * @return the record ID by UUID, with <code>null</code> values for the UUIDs which are not stored yet
+     */
+    private Map<String, ORID> prefetchIdentities(T entity)
+    {
+        Set<String> uuidSet = new HashSet<>();
+        collectUuids(getEntityClass(), entity, uuidSet, Collections.newSetFromMap(new IdentityHashMap<>()));
+        Map<String, ORID> result = new HashMap<>();
+        if (uuidSet.isEmpty())
+        {
+            return result;
+        }
+
+        uuidSet.forEach(uuid -> result.put(uuid, null));
+
+        OIndexCursor cursor = getIndex(IDX_UUID).iterateEntries(uuidSet, true);
+        for (Map.Entry<Object, OIdentifiable> e = cursor.nextEntry(); e != null; e = cursor.nextEntry())
+        {
+            result.put((String) e.getKey(), e.getValue().getIdentity());
+        }
+
+        return result;
+    }
+
+    private void collectUuids(Class<?> entityClass,
+                              GenericEntity entity,
+                              Set<String> uuidSet,
+                              Set<Object> visited)
+    {
+        if (!visited.add(entity))
+        {
+            return;
+        }
+
+        if (entity.getObjectId() == null && entity.getUuid() != null)
+        {
+            uuidSet.add(entity.getUuid());
+        }
+
+        for (Field field : getCascadeFields(entityClass))
+        {
+            Object fieldValue = ReflectionUtils.getField(field, entity);
+            Collection<?> values = fieldValue instanceof Collection ? (Collection<?>) fieldValue
+                                                                    : Collections.singleton(fieldValue);
+            for (Object value : values)
+            {
+                if (!(value instanceof GenericEntity))
+                {
+                    continue;
+                }
+
+                GenericEntity nestedEntity = (GenericEntity) value;
+                CommonCrudService<?> entityService = entityServiceRegistry.getEntityService(nestedEntity.getClass());
+                collectUuids(entityService.getEntityClass(), nestedEntity, uuidSet, visited);
+            }
+        }
+    }
+
     protected boolean identifyEntity(T entity)
     {
         if (entity.getObjectId() != null)
@@ -151,29 +255,51 @@ public abstract class CommonCrudService<T extends GenericEntity>
             entity.setUuid(UUID.randomUUID().toString());
             return false;
         }
-        
-        String sQuery = String.format("SELECT @rid AS objectId FROM %s WHERE uuid = :uuid",
-                                      getEntityClass().getSimpleName());
-
-        OSQLSynchQuery<ODocument> oQuery = new OSQLSynchQuery<>(sQuery);
-        oQuery.setLimit(1);
 
-        HashMap<String, String> params = new HashMap<>();
-        params.put("uuid", entity.getUuid());
-
-        List<ODocument> resultList = getDelegate().command(oQuery).execute(params);
-        if (resultList.isEmpty())
+        Map<String, ORID> identities = IDENTITY_CONTEXT.get();
+        ORID objectId = identities != null && identities.containsKey(entity.getUuid())
+                ? identities.get(entity.getUuid())
+                : findIdByIndex(IDX_UUID, entity.getUuid());
+        if (objectId == null)
         {
             return false;
         }
-        
-        ODocument record = resultList.iterator().next();
-        ODocument value = record.field("objectId");
-        entity.setObjectId(value.getIdentity().toString());
+
+        entity.setObjectId(objectId.toString());
 
         return true;
     }
 
+    /**
+     * Looks the key up directly in the index, which saves the SQL parsing and planning of an equivalent
+     * <code>SELECT FROM INDEX:...</code> query on the hot lookups.
+     *
+     * @return the first record ID indexed with the key, or <code>null</code>
+     */
+    protected ORID findIdByIndex(String indexName,
+                                 Object key)
+    {
+        Object value = getIndex(indexName).get(key);
+        if (value instanceof Collection)
+        {
+            Iterator<?> i = ((Collection<?>) value).iterator();
+            value = i.hasNext() ? i.next() : null;
+        }
+
+        return value == null ? null : ((OIdentifiable) value).getIdentity();
+    }
+
+    private OIndex<?> getIndex(String indexName)
+    {
+        OIndex<?> index = getDelegate().getMetadata().getIndexManager().getIndex(indexName);
+        if (index == null)
+        {
+            throw new IllegalStateException(String.format("Index [%s] not found.", indexName));
+        }
+
+        return index;
+    }
+
     @Override
     public <S extends T> S save(S entity)
     {
@@ -206,16 +332,7 @@ public abstract class CommonCrudService<T extends GenericEntity>
     @Override
     public boolean existsByUuid(String uuid)
     {
-        String sQuery = String.format("SELECT @rid FROM INDEX:idx_uuid WHERE key = :uuid");
-
-        OSQLSynchQuery<ODocument> oQuery = new OSQLSynchQuery<>(sQuery);
-        oQuery.setLimit(1);
-
-        HashMap<String, String> params = new HashMap<>();
-        params.put("uuid", uuid);
-
-        List<ODocument> resultList = getDelegate().command(oQuery).execute(params);
-        return !resultList.isEmpty();
+        return findIdByIndex(IDX_UUID, uuid) != null;
     }
 
     @Override
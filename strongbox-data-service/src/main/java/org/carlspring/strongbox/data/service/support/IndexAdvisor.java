@@ -0,0 +1,130 @@
+package org.carlspring.strongbox.data.service.support;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.orientechnologies.orient.core.db.document.ODatabaseDocument;
+import com.orientechnologies.orient.core.record.impl.ODocument;
+import com.orientechnologies.orient.core.sql.OCommandSQL;
+import com.orientechnologies.orient.core.sql.query.OSQLAsynchQuery;
+import com.orientechnologies.orient.core.sql.query.OSQLSynchQuery;
+
+/**
+ * Flags the queries which scan a whole class instead of using an index.
+ * <p>
+ * Every distinct query text is explained once, the first time it is executed. The queries are built from a few
+ * stable shapes, so this only costs a handful of <code>EXPLAIN</code> statements per run. A query on a watched class
+ * (<code>ArtifactEntry</code> by default) which doesn't involve any index is logged as a warning and kept in
+ * {@link #getFullScans()}, which is the list of the query shapes still missing an index.
+ * <p>
+ * The queries are executed with the legacy engine ({@link OSQLSynchQuery}, {@link OSQLAsynchQuery}), which plans
+ * them differently from the new one, so they are explained by the legacy engine as well. Its <code>EXPLAIN</code>
+ * executes the query to profile it, which is why every query text is explained only once.
+ *
+ * @see <a href="https://orientdb.com/docs/3.0.x/sql/SQL-Explain.html">SQL - EXPLAIN</a>
+ */
+@Component
+public class IndexAdvisor
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(IndexAdvisor.class);
+
+    private static final Pattern TARGET_CLASS_PATTERN = Pattern.compile("\\bFROM\\s+(\\w+)", Pattern.CASE_INSENSITIVE);
+
+    /**
+     * The field of the legacy <code>EXPLAIN</code> result with the names of the indexes used by the query.
+     */
+    private static final String INVOLVED_INDEXES = "involvedIndexes";
+
+    /**
+     * Upper bound of the remembered query texts, the query shapes are a handful in practice.
+     */
+    private static final int MAX_QUERIES = 1024;
+
+    private final Map<String, Boolean> inspectedQueries = new ConcurrentHashMap<>();
+
+    private final Map<String, String> fullScans = new ConcurrentHashMap<>();
+
+    @Value("${strongbox.db.index-advisor.enabled:true}")
+    private boolean enabled;
+
+    @Value("#{'${strongbox.db.index-advisor.classes:ArtifactEntry}'.split(',')}")
+    private Set<String> watchedClasses;
+
+    /**
+     * Explains the query, unless it was already explained.
+     */
+    public void inspect(ODatabaseDocument db,
+                        String sQuery,
+                        Map<String, ?> parameterMap)
+    {
+        if (!enabled || inspectedQueries.size() >= MAX_QUERIES
+                || inspectedQueries.putIfAbsent(sQuery, Boolean.TRUE) != null)
+        {
+            return;
+        }
+
+        String targetClass = findTargetClass(sQuery);
+        if (targetClass == null || !watchedClasses.contains(targetClass))
+        {
+            return;
+        }
+
+        ODocument plan;
+        try
+        {
+            plan = db.command(new OCommandSQL("EXPLAIN " + sQuery)).execute(parameterMap);
+        }
+        catch (Exception e)
+        {
+            logger.debug("Failed to explain query [{}].", sQuery, e);
+
+            return;
+        }
+
+        if (plan == null || isIndexed(plan))
+        {
+            return;
+        }
+
+        String planJson = plan.toJSON();
+        fullScans.put(sQuery, planJson);
+
+        logger.warn("Query [{}] scans all the records of [{}], consider an index for it:\n{}",
+                    sQuery, targetClass, planJson);
+    }
+
+    /**
+     * @return the plans of the queries which scan a watched class, by query
+     */
+    public Map<String, String> getFullScans()
+    {
+        return Collections.unmodifiableMap(fullScans);
+    }
+
+    static String findTargetClass(String sQuery)
+    {
+        Matcher matcher = TARGET_CLASS_PATTERN.matcher(Optional.ofNullable(sQuery).orElse(""));
+
+        return matcher.find() ? matcher.group(1) : null;
+    }
+
+    static boolean isIndexed(ODocument plan)
+    {
+        Collection<?> involvedIndexes = plan.field(INVOLVED_INDEXES);
+
+        return involvedIndexes != null && !involvedIndexes.isEmpty();
+    }
+
+}
@@ -1,12 +1,10 @@
 package org.carlspring.strongbox.config;
 
-import javax.servlet.ServletContext;
-
 import org.carlspring.strongbox.event.EventExecutorFactoryBean;
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
 import org.springframework.scheduling.annotation.EnableAsync;
 
 @Configuration
@@ -15,10 +13,20 @@ import org.springframework.scheduling.annotation.EnableAsync;
 public class EventsConfig
 {
 
-    @Bean
-    public EventExecutorFactoryBean eventTaskExecutor(@Autowired(required = false) ServletContext servletContext)
+    public static final String ARTIFACT_EVENT_EXECUTOR = "eventTaskExecutor";
+
+    public static final String REPOSITORY_EVENT_EXECUTOR = "repositoryEventTaskExecutor";
+
+    @Bean(name = ARTIFACT_EVENT_EXECUTOR)
+    public EventExecutorFactoryBean eventTaskExecutor(Environment environment)
+    {
+        return new EventExecutorFactoryBean("artifact", Runtime.getRuntime().availableProcessors(), environment);
+    }
+
+    @Bean(name = REPOSITORY_EVENT_EXECUTOR)
+    public EventExecutorFactoryBean repositoryEventTaskExecutor(Environment environment)
     {
-        return new EventExecutorFactoryBean(servletContext);
+        return new EventExecutorFactoryBean("repository", 2, environment);
     }
 
 }
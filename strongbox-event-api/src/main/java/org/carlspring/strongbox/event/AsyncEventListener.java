@@ -6,6 +6,8 @@ import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 
+import org.carlspring.strongbox.config.EventsConfig;
+import org.springframework.core.annotation.AliasFor;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.transaction.event.TransactionPhase;
 import org.springframework.transaction.event.TransactionalEventListener;
@@ -15,8 +17,16 @@ import org.springframework.transaction.event.TransactionalEventListener;
 @Documented
 // TransactionalEventListener.fallbackExecution() needed only for test environment
 @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
-@Async("eventTaskExecutor")
+@Async
 public @interface AsyncEventListener
 {
 
+    /**
+     * The executor of the event category, the artifact events executor by default.
+     *
+     * @see EventsConfig
+     */
+    @AliasFor(annotation = Async.class, attribute = "value")
+    String value() default EventsConfig.ARTIFACT_EVENT_EXECUTOR;
+
 }
@@ -1,59 +1,62 @@
 package org.carlspring.strongbox.event;
 
+import org.carlspring.strongbox.event.EventTaskExecutor.OverflowPolicy;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.FactoryBean;
-import org.springframework.core.task.SyncTaskExecutor;
-
-import javax.servlet.ServletContext;
-import java.util.Optional;
-import java.util.concurrent.Executor;
+import org.springframework.core.env.Environment;
 
-public class EventExecutorFactoryBean implements FactoryBean<Executor>
+/**
+ * Creates the {@link EventTaskExecutor} of an event category from the
+ * <code>strongbox.event.executor.&lt;category&gt;.*</code> properties.
+ */
+public class EventExecutorFactoryBean
+        implements FactoryBean<EventTaskExecutor>, DisposableBean
 {
 
     private static final Logger logger = LoggerFactory.getLogger(EventExecutorFactoryBean.class);
 
-    private final ServletContext servletContext;
+    private static final String PROPERTY_PREFIX = "strongbox.event.executor.";
+
+    private final String category;
+
+    private final int defaultThreads;
+
+    private final Environment environment;
+
+    private EventTaskExecutor executor;
 
-    public EventExecutorFactoryBean(ServletContext servletContext)
+    public EventExecutorFactoryBean(String category,
+                                    int defaultThreads,
+                                    Environment environment)
     {
         super();
-        this.servletContext = servletContext;
+        this.category = category;
+        this.defaultThreads = defaultThreads;
+        this.environment = environment;
     }
 
     @Override
-    public Executor getObject()
-        throws Exception
+    public synchronized EventTaskExecutor getObject()
     {
-        Executor executor = Optional.ofNullable(servletContext)
-                                    .flatMap(c -> Optional.ofNullable(lookupExecutor()))
-                                    .orElse(new SyncTaskExecutor());
-        
-        logger.info("Using [{}] executor for Async events.", executor.getClass());
-        
-        return executor;
-    }
-
-    private Executor lookupExecutor()
-    {
-        Executor result;
-        if ((result = lookupJettyExecutor()) != null)
+        if (executor != null)
         {
-            return result;
+            return executor;
         }
-        return null;
-    }
 
-    private Executor lookupJettyExecutor()
-    {
-        Executor executor = (Executor) servletContext.getAttribute("org.eclipse.jetty.server.Executor");
-        if (executor == null)
-        {
-            return null;
-        }
+        String prefix = PROPERTY_PREFIX + category + ".";
+        int threads = environment.getProperty(prefix + "threads", Integer.class, defaultThreads);
+        int queueSize = environment.getProperty(prefix + "queue-size", Integer.class, 1000);
+        String overflowPolicyName = environment.getProperty(prefix + "overflow-policy",
+                                                            OverflowPolicy.CALLER_RUNS.name());
+        OverflowPolicy overflowPolicy = OverflowPolicy.valueOf(overflowPolicyName.toUpperCase().replace('-', '_'));
+        boolean synchronous = environment.getProperty(PROPERTY_PREFIX + "synchronous", Boolean.class, false);
 
-        logger.info("Jetty environment detected.");
+        executor = new EventTaskExecutor(category, Math.max(1, threads), queueSize, overflowPolicy, synchronous);
+
+        logger.info("Using [{}] for [{}] events.", executor, category);
 
         return executor;
     }
@@ -61,7 +64,16 @@ public class EventExecutorFactoryBean implements FactoryBean<Executor>
     @Override
     public Class<?> getObjectType()
     {
-        return Executor.class;
+        return EventTaskExecutor.class;
+    }
+
+    @Override
+    public synchronized void destroy()
+    {
+        if (executor != null)
+        {
+            executor.shutdown();
+        }
     }
 
 }
@@ -0,0 +1,303 @@
+package org.carlspring.strongbox.event;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+/**
+ * Bounded {@link Executor} dedicated to the listeners of one event category, so that slow listeners never run on
+ * (and never starve) the HTTP request threads.
+ * <p>
+ * The tasks wait in a bounded queue, what happens when it is full depends on the {@link OverflowPolicy}. The queue
+ * depth, the time spent in the queue, the execution time and the rejected tasks are exposed for the metrics.
+ * <p>
+ * A synchronous executor still runs the tasks on its own threads, but the caller waits for the task to complete:
+ * this keeps the event handling deterministic (in tests for example), while the listeners still run without the
+ * transaction context of the caller.
+ */
+public class EventTaskExecutor
+        implements Executor
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(EventTaskExecutor.class);
+
+    /**
+     * The executor which runs the current thread, if any.
+     */
+    private static final ThreadLocal<EventTaskExecutor> CURRENT_EXECUTOR = new ThreadLocal<>();
+
+    private final String name;
+
+    private final OverflowPolicy overflowPolicy;
+
+    private final boolean synchronous;
+
+    private final ThreadPoolExecutor threadPoolExecutor;
+
+    private final LongAdder rejectedTaskCount = new LongAdder();
+
+    private final LongAdder callerRunsTaskCount = new LongAdder();
+
+    private final LongAdder queueTimeNanos = new LongAdder();
+
+    private final LongAdder executionTimeNanos = new LongAdder();
+
+    public EventTaskExecutor(String name,
+                             int threads,
+                             int queueSize,
+                             OverflowPolicy overflowPolicy,
+                             boolean synchronous)
+    {
+        this.name = name;
+        this.overflowPolicy = overflowPolicy;
+        this.synchronous = synchronous;
+
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(name + "-events-");
+        threadFactory.setDaemon(true);
+
+        threadPoolExecutor = new ThreadPoolExecutor(threads,
+                                                    threads,
+                                                    60L,
+                                                    TimeUnit.SECONDS,
+                                                    new ArrayBlockingQueue<>(queueSize),
+                                                    threadFactory,
+                                                    new OverflowHandler());
+        threadPoolExecutor.allowCoreThreadTimeOut(true);
+    }
+
+    @Override
+    public void execute(Runnable task)
+    {
+        // A listener which dispatches another event of the same category must not wait for its own threads.
+        if (!synchronous || CURRENT_EXECUTOR.get() == this)
+        {
+            threadPoolExecutor.execute(new EventTask(task));
+
+            return;
+        }
+
+        FutureTask<Void> future = new FutureTask<>(task, null);
+        threadPoolExecutor.execute(new EventTask(future));
+        try
+        {
+            future.get();
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+        }
+        catch (ExecutionException e)
+        {
+            logger.error("Failed to execute [{}] event task.", name, e.getCause());
+        }
+        catch (CancellationException e)
+        {
+            logger.debug("The [{}] event task was discarded.", name);
+        }
+    }
+
+    public void shutdown()
+    {
+        threadPoolExecutor.shutdown();
+    }
+
+    public String getName()
+    {
+        return name;
+    }
+
+    public int getQueueSize()
+    {
+        return threadPoolExecutor.getQueue().size();
+    }
+
+    public int getActiveCount()
+    {
+        return threadPoolExecutor.getActiveCount();
+    }
+
+    public long getCompletedTaskCount()
+    {
+        return threadPoolExecutor.getCompletedTaskCount();
+    }
+
+    public long getRejectedTaskCount()
+    {
+        return rejectedTaskCount.sum();
+    }
+
+    /**
+     * @return the number of tasks run on the dispatching thread because the queue was full
+     */
+    public long getCallerRunsTaskCount()
+    {
+        return callerRunsTaskCount.sum();
+    }
+
+    /**
+     * @return the total time the completed tasks spent waiting in the queue
+     */
+    public long getQueueTime(TimeUnit unit)
+    {
+        return unit.convert(queueTimeNanos.sum(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @return the total execution time of the completed tasks
+     */
+    public long getExecutionTime(TimeUnit unit)
+    {
+        return unit.convert(executionTimeNanos.sum(), TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public String toString()
+    {
+        return String.format("%s[%s, threads=%s, queue=%s, policy=%s, synchronous=%s]",
+                             getClass().getSimpleName(),
+                             name,
+                             threadPoolExecutor.getMaximumPoolSize(),
+                             threadPoolExecutor.getQueue().remainingCapacity(),
+                             overflowPolicy,
+                             synchronous);
+    }
+
+    public enum OverflowPolicy
+    {
+
+        /**
+         * The dispatching thread waits for a free slot in the queue.
+         */
+        BLOCK,
+
+        /**
+         * The task is dropped and counted as rejected.
+         */
+        DISCARD,
+
+        /**
+         * The dispatching thread runs the task itself: it's slowed down by one task, rather than blocked until the
+         * queue drains.
+         */
+        CALLER_RUNS
+
+    }
+
+    private class EventTask
+            implements Runnable
+    {
+
+        private final Runnable target;
+
+        private final long queuedAt = System.nanoTime();
+
+        private EventTask(Runnable target)
+        {
+            this.target = target;
+        }
+
+        @Override
+        public void run()
+        {
+            long startedAt = System.nanoTime();
+            queueTimeNanos.add(startedAt - queuedAt);
+
+            EventTaskExecutor previous = CURRENT_EXECUTOR.get();
+            CURRENT_EXECUTOR.set(EventTaskExecutor.this);
+            try
+            {
+                target.run();
+            }
+            finally
+            {
+                CURRENT_EXECUTOR.set(previous);
+                executionTimeNanos.add(System.nanoTime() - startedAt);
+            }
+        }
+
+        /**
+         * Releases the synchronous caller waiting for this task.
+         */
+        private void discard()
+        {
+            if (target instanceof FutureTask)
+            {
+                ((FutureTask<?>) target).cancel(false);
+            }
+        }
+
+    }
+
+    private class OverflowHandler
+            implements RejectedExecutionHandler
+    {
+
+        @Override
+        public void rejectedExecution(Runnable task,
+                                      ThreadPoolExecutor executor)
+        {
+            if (executor.isShutdown())
+            {
+                rejectedTaskCount.increment();
+
+                throw new RejectedExecutionException(String.format("[%s] event executor is shut down.", name));
+            }
+
+            if (overflowPolicy == OverflowPolicy.DISCARD)
+            {
+                rejectedTaskCount.increment();
+                ((EventTask) task).discard();
+                logger.warn("The [{}] event queue is full, discarding the task.", name);
+
+                return;
+            }
+
+            if (overflowPolicy == OverflowPolicy.CALLER_RUNS)
+            {
+                callerRunsTaskCount.increment();
+                logger.warn("The [{}] event queue is full, running the task on the dispatching thread.", name);
+
+                task.run();
+
+                return;
+            }
+
+            // Our own threads would wait for themselves, so they run the task right away.
+            if (CURRENT_EXECUTOR.get() == EventTaskExecutor.this)
+            {
+                task.run();
+
+                return;
+            }
+
+            BlockingQueue<Runnable> queue = executor.getQueue();
+            try
+            {
+                queue.put(task);
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+                rejectedTaskCount.increment();
+
+                throw new RejectedExecutionException(String.format("Interrupted while waiting for the [%s] event queue.",
+                                                                   name),
+                                                     e);
+            }
+        }
+
+    }
+
+}
@@ -12,6 +12,8 @@ public class ArtifactEvent<T extends Path> extends RepositoryBasedEvent<T>
 
     private T targetPath;
 
+    private boolean bulk;
+
     public ArtifactEvent(T sourcePath,
                          int type)
     {
@@ -36,4 +38,19 @@ public class ArtifactEvent<T extends Path> extends RepositoryBasedEvent<T>
         this.targetPath = targetPath;
     }
 
+    /**
+     * @return true if the file was stored together with other files, by a bulk upload: the listeners which maintain
+     *         the data of a group of files (like the Maven metadata) handle the {@link ArtifactFilesStoredEvent}
+     *         dispatched once all the files are stored, instead of this event
+     */
+    public boolean isBulk()
+    {
+        return bulk;
+    }
+
+    public void setBulk(boolean bulk)
+    {
+        this.bulk = bulk;
+    }
+
 }
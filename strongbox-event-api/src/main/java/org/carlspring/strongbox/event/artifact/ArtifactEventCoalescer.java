@@ -0,0 +1,263 @@
+package org.carlspring.strongbox.event.artifact;
+
+import javax.annotation.PreDestroy;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Coalesces the artifact events of the same logical artifact, so that the listeners run once per change instead of
+ * once per file.
+ * <p>
+ * A deploy stores the artifact file together with its checksums (and possibly stores the same files more than once):
+ * the events of the same type for the files of the same logical artifact (see {@link ArtifactEventKeyResolver}),
+ * which arrive within the <code>strongbox.event.artifact.coalescing-window</code> (in milliseconds) of the first one,
+ * are delivered as one event. The event of the artifact file is preferred over the events of its derived files.
+ * <p>
+ * Only the "stored", "updated" and "metadata stored" events are coalesced, the others are delivered right away. The
+ * events dispatched within a transaction are held back until it commits, and dropped if it rolls back: the window
+ * starts after the commit, so the listeners never see the changes of a transaction in progress.
+ * <p>
+ * The coalescing is disabled by default (zero window): the delayed events are delivered from a background thread,
+ * after the request which stored the files may have already completed.
+ */
+@Component
+public class ArtifactEventCoalescer
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(ArtifactEventCoalescer.class);
+
+    private static final Set<Integer> COALESCED_TYPES = Collections.unmodifiableSet(
+            EnumSet.of(ArtifactEventTypeEnum.EVENT_ARTIFACT_FILE_STORED,
+                       ArtifactEventTypeEnum.EVENT_ARTIFACT_FILE_UPDATED,
+                       ArtifactEventTypeEnum.EVENT_ARTIFACT_METADATA_STORED)
+                   .stream()
+                   .map(ArtifactEventTypeEnum::getType)
+                   .collect(Collectors.toSet()));
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final ArtifactEventKeyResolver keyResolver;
+
+    private final long window;
+
+    private final Map<List<Object>, ArtifactEvent<?>> pendingEvents = new LinkedHashMap<>();
+
+    private final LongAdder deliveredEventCount = new LongAdder();
+
+    private final LongAdder coalescedEventCount = new LongAdder();
+
+    private ScheduledExecutorService scheduler;
+
+    public ArtifactEventCoalescer(ApplicationEventPublisher eventPublisher,
+                                  Optional<ArtifactEventKeyResolver> keyResolver,
+                                  @Value("${strongbox.event.artifact.coalescing-window:0}") long window)
+    {
+        this.eventPublisher = eventPublisher;
+        this.keyResolver = keyResolver.orElse(null);
+        this.window = window;
+    }
+
+    public boolean isEnabled()
+    {
+        return window > 0;
+    }
+
+    /**
+     * @return true if the event is held back to be coalesced, false if it should be delivered right away
+     */
+    public boolean coalesce(ArtifactEvent<?> event)
+    {
+        if (!isEnabled() || !COALESCED_TYPES.contains(event.getType()))
+        {
+            return false;
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive())
+        {
+            getTransactionEvents().add(event);
+
+            return true;
+        }
+
+        hold(event);
+
+        return true;
+    }
+
+    /**
+     * Delivers all the pending events right away.
+     */
+    public void flush()
+    {
+        List<List<Object>> keys;
+        synchronized (pendingEvents)
+        {
+            keys = new ArrayList<>(pendingEvents.keySet());
+        }
+
+        keys.forEach(this::deliver);
+    }
+
+    /**
+     * @return the number of the events delivered after the coalescing
+     */
+    public long getDeliveredEventCount()
+    {
+        return deliveredEventCount.sum();
+    }
+
+    /**
+     * @return the number of the events merged into another event
+     */
+    public long getCoalescedEventCount()
+    {
+        return coalescedEventCount.sum();
+    }
+
+    private void hold(ArtifactEvent<?> event)
+    {
+        List<Object> key = Arrays.asList(event.getType(), resolveKey(event.getPath()), event.getTargetPath());
+        synchronized (pendingEvents)
+        {
+            ArtifactEvent<?> pendingEvent = pendingEvents.get(key);
+            if (pendingEvent == null)
+            {
+                pendingEvents.put(key, event);
+                getScheduler().schedule(() -> deliver(key), window, TimeUnit.MILLISECONDS);
+
+                return;
+            }
+
+            if (isDerived(pendingEvent.getPath()) && !isDerived(event.getPath()))
+            {
+                pendingEvents.put(key, event);
+            }
+        }
+
+        coalescedEventCount.increment();
+        logger.debug("Coalesced event [{}] for [{}].", event.getType(), event.getPath());
+    }
+
+    /**
+     * @return the events of the current transaction, which are held back once it commits
+     */
+    @SuppressWarnings("unchecked")
+    private List<ArtifactEvent<?>> getTransactionEvents()
+    {
+        Object transactionEvents = TransactionSynchronizationManager.getResource(this);
+        if (transactionEvents != null)
+        {
+            return (List<ArtifactEvent<?>>) transactionEvents;
+        }
+
+        List<ArtifactEvent<?>> events = new ArrayList<>();
+        TransactionSynchronizationManager.bindResource(this, events);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter()
+        {
+
+            @Override
+            public void afterCommit()
+            {
+                events.forEach(ArtifactEventCoalescer.this::hold);
+            }
+
+            @Override
+            public void afterCompletion(int status)
+            {
+                TransactionSynchronizationManager.unbindResourceIfPossible(ArtifactEventCoalescer.this);
+
+                if (status != STATUS_COMMITTED)
+                {
+                    logger.debug("Dropped [{}] events of a rolled back transaction.", events.size());
+                }
+            }
+
+        });
+
+        return events;
+    }
+
+    private void deliver(List<Object> key)
+    {
+        ArtifactEvent<?> event;
+        synchronized (pendingEvents)
+        {
+            event = pendingEvents.remove(key);
+        }
+
+        if (event == null)
+        {
+            return;
+        }
+
+        deliveredEventCount.increment();
+        try
+        {
+            eventPublisher.publishEvent(event);
+        }
+        catch (Exception e)
+        {
+            logger.error("Failed to deliver event [{}] for [{}].", event.getType(), event.getPath(), e);
+        }
+    }
+
+    private Object resolveKey(Path path)
+    {
+        return keyResolver == null ? path : keyResolver.resolveKey(path);
+    }
+
+    private boolean isDerived(Path path)
+    {
+        return keyResolver != null && keyResolver.isDerived(path);
+    }
+
+    private synchronized ScheduledExecutorService getScheduler()
+    {
+        if (scheduler == null)
+        {
+            CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("artifact-event-coalescer-");
+            threadFactory.setDaemon(true);
+
+            scheduler = Executors.newSingleThreadScheduledExecutor(threadFactory);
+        }
+
+        return scheduler;
+    }
+
+    @PreDestroy
+    public void shutdown()
+    {
+        flush();
+
+        synchronized (this)
+        {
+            if (scheduler != null)
+            {
+                scheduler.shutdownNow();
+            }
+        }
+    }
+
+}
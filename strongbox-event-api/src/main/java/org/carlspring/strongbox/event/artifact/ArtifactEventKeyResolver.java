@@ -0,0 +1,22 @@
+package org.carlspring.strongbox.event.artifact;
+
+import java.nio.file.Path;
+
+/**
+ * Tells the {@link ArtifactEventCoalescer} which files belong to the same logical artifact.
+ */
+public interface ArtifactEventKeyResolver
+{
+
+    /**
+     * @return the key of the logical artifact of the file, equal for the artifact file and the files derived from it
+     */
+    Object resolveKey(Path path);
+
+    /**
+     * @return true for the files derived from an artifact file (like the checksums), which the listeners don't need
+     *         to be notified about separately
+     */
+    boolean isDerived(Path path);
+
+}
@@ -1,8 +1,11 @@
 package org.carlspring.strongbox.event.artifact;
 
 import org.carlspring.strongbox.event.AbstractEventListenerRegistry;
+import org.carlspring.strongbox.event.Event;
 
+import javax.inject.Inject;
 import java.nio.file.Path;
+import java.util.List;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -17,6 +20,20 @@ public class ArtifactEventListenerRegistry extends AbstractEventListenerRegistry
 
     private static final Logger logger = LoggerFactory.getLogger(ArtifactEventListenerRegistry.class);
 
+    @Inject
+    private ArtifactEventCoalescer artifactEventCoalescer;
+
+    @Override
+    public <T extends Event> void dispatchEvent(T event)
+    {
+        if (event instanceof ArtifactEvent && artifactEventCoalescer.coalesce((ArtifactEvent<?>) event))
+        {
+            return;
+        }
+
+        super.dispatchEvent(event);
+    }
+
     public void dispatchArtifactUploadingEvent(Path path)
     {
         ArtifactEvent event = new ArtifactEvent(path,
@@ -28,9 +45,16 @@ public class ArtifactEventListenerRegistry extends AbstractEventListenerRegistry
     }
 
     public void dispatchArtifactUpdatedEvent(Path path)
+    {
+        dispatchArtifactUpdatedEvent(path, false);
+    }
+
+    public void dispatchArtifactUpdatedEvent(Path path,
+                                             boolean bulk)
     {
         ArtifactEvent event = new ArtifactEvent(path,
                                                 ArtifactEventTypeEnum.EVENT_ARTIFACT_FILE_UPDATED.getType());
+        event.setBulk(bulk);
 
         logger.debug("Dispatching ArtifactEventTypeEnum.EVENT_ARTIFACT_FILE_UPDATED event for {}...", path);
 
@@ -196,13 +220,31 @@ public class ArtifactEventListenerRegistry extends AbstractEventListenerRegistry
     }
 
     public void dispatchArtifactStoredEvent(Path path)
+    {
+        dispatchArtifactStoredEvent(path, false);
+    }
+
+    public void dispatchArtifactStoredEvent(Path path,
+                                            boolean bulk)
     {
         ArtifactEvent event = new ArtifactEvent(path,
                                                 ArtifactEventTypeEnum.EVENT_ARTIFACT_FILE_STORED.getType());
+        event.setBulk(bulk);
 
         logger.debug("Dispatching ArtifactEventTypeEnum.EVENT_ARTIFACT_FILE_STORED event for {}...", path);
 
         dispatchEvent(event);
     }
 
+    public <T extends Path> void dispatchArtifactFilesStoredEvent(T rootPath,
+                                                                  List<T> paths)
+    {
+        ArtifactFilesStoredEvent<T> event = new ArtifactFilesStoredEvent<>(rootPath, paths);
+
+        logger.debug("Dispatching ArtifactEventTypeEnum.EVENT_ARTIFACT_FILES_STORED event for [{}] files of {}...",
+                     paths.size(), rootPath);
+
+        dispatchEvent(event);
+    }
+
 }
@@ -101,7 +101,12 @@ public enum ArtifactEventTypeEnum
     /**
      * Occurs when an artifact file has been physically stored.
      */
-    EVENT_ARTIFACT_FILE_STORED(22);
+    EVENT_ARTIFACT_FILE_STORED(22),
+
+    /**
+     * Occurs when all the files of a bulk upload have been stored, see {@link ArtifactFilesStoredEvent}.
+     */
+    EVENT_ARTIFACT_FILES_STORED(23);
 
 
     private int type;
@@ -0,0 +1,31 @@
+package org.carlspring.strongbox.event.artifact;
+
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Dispatched once all the files of a bulk upload have been stored, after the
+ * {@link ArtifactEventTypeEnum#EVENT_ARTIFACT_FILE_STORED} (or updated) events of the files, which are marked as
+ * {@link ArtifactEvent#isBulk() bulk}.
+ * <p>
+ * The path of the event is the root of the repository, the stored files are in {@link #getPaths()}.
+ */
+public class ArtifactFilesStoredEvent<T extends Path> extends ArtifactEvent<T>
+{
+
+    private final List<T> paths;
+
+    public ArtifactFilesStoredEvent(T rootPath,
+                                    List<T> paths)
+    {
+        super(rootPath, ArtifactEventTypeEnum.EVENT_ARTIFACT_FILES_STORED.getType());
+        this.paths = Collections.unmodifiableList(paths);
+    }
+
+    public List<T> getPaths()
+    {
+        return paths;
+    }
+
+}
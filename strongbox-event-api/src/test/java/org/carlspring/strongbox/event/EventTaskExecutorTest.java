@@ -0,0 +1,195 @@
+package org.carlspring.strongbox.event;
+
+import org.carlspring.strongbox.event.EventTaskExecutor.OverflowPolicy;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Fills the queue of a single thread executor, while its thread is busy, to check what each
+ * {@link OverflowPolicy} does with the next task.
+ */
+public class EventTaskExecutorTest
+{
+
+    private static final long TIMEOUT_SECONDS = 10;
+
+    private final CountDownLatch started = new CountDownLatch(1);
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private EventTaskExecutor executor;
+
+    @AfterEach
+    public void tearDown()
+    {
+        release.countDown();
+        executor.shutdown();
+    }
+
+    @Test
+    public void testDiscardPolicy()
+            throws InterruptedException
+    {
+        executor = createBusyExecutor(OverflowPolicy.DISCARD);
+
+        AtomicBoolean executed = new AtomicBoolean();
+        executor.execute(() -> executed.set(true));
+
+        assertEquals(1, executor.getRejectedTaskCount());
+        assertEquals(1, executor.getQueueSize());
+
+        release.countDown();
+        awaitCompletedTasks(2);
+        assertFalse(executed.get());
+    }
+
+    @Test
+    public void testCallerRunsPolicy()
+            throws InterruptedException
+    {
+        executor = createBusyExecutor(OverflowPolicy.CALLER_RUNS);
+
+        AtomicReference<Thread> thread = new AtomicReference<>();
+        executor.execute(() -> thread.set(Thread.currentThread()));
+
+        assertSame(Thread.currentThread(), thread.get());
+        assertEquals(1, executor.getCallerRunsTaskCount());
+        assertEquals(0, executor.getRejectedTaskCount());
+    }
+
+    @Test
+    public void testBlockPolicy()
+            throws InterruptedException
+    {
+        executor = createBusyExecutor(OverflowPolicy.BLOCK);
+
+        AtomicBoolean executed = new AtomicBoolean();
+        Thread dispatcher = new Thread(() -> executor.execute(() -> executed.set(true)));
+        dispatcher.start();
+
+        // The dispatcher waits as long as the queue is full.
+        dispatcher.join(500);
+        assertTrue(dispatcher.isAlive());
+
+        release.countDown();
+        dispatcher.join(TimeUnit.SECONDS.toMillis(TIMEOUT_SECONDS));
+        assertFalse(dispatcher.isAlive());
+
+        awaitCompletedTasks(3);
+        assertTrue(executed.get());
+        assertEquals(0, executor.getRejectedTaskCount());
+    }
+
+    @Test
+    public void testSynchronousExecution()
+            throws InterruptedException
+    {
+        executor = new EventTaskExecutor("test", 1, 10, OverflowPolicy.BLOCK, true);
+
+        AtomicReference<Thread> thread = new AtomicReference<>();
+        AtomicBoolean nestedExecuted = new AtomicBoolean();
+        executor.execute(() -> {
+            thread.set(Thread.currentThread());
+
+            // A nested dispatch doesn't wait for the only thread of the executor, which runs this task.
+            executor.execute(() -> nestedExecuted.set(true));
+        });
+
+        assertNotSame(Thread.currentThread(), thread.get());
+        assertTrue(thread.get().getName().startsWith("test-events-"));
+
+        awaitCompletedTasks(2);
+        assertTrue(nestedExecuted.get());
+    }
+
+    @Test
+    public void testMetrics()
+            throws InterruptedException
+    {
+        executor = new EventTaskExecutor("test", 1, 10, OverflowPolicy.BLOCK, true);
+
+        executor.execute(() -> sleep(50));
+        awaitCompletedTasks(1);
+
+        assertEquals(0, executor.getQueueSize());
+        assertTrue(executor.getExecutionTime(TimeUnit.MILLISECONDS) >= 50);
+        assertTrue(executor.getQueueTime(TimeUnit.NANOSECONDS) >= 0);
+    }
+
+    /**
+     * @return an executor with its only thread busy until {@link #release} and its queue full
+     */
+    private EventTaskExecutor createBusyExecutor(OverflowPolicy overflowPolicy)
+            throws InterruptedException
+    {
+        EventTaskExecutor result = new EventTaskExecutor("test", 1, 1, overflowPolicy, false);
+
+        result.execute(() -> {
+            started.countDown();
+            await(release);
+        });
+        assertTrue(started.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+
+        result.execute(() -> {
+        });
+        assertEquals(1, result.getQueueSize());
+
+        return result;
+    }
+
+    private void awaitCompletedTasks(long count)
+            throws InterruptedException
+    {
+        awaitValue(executor::getCompletedTaskCount, count);
+    }
+
+    private static void awaitValue(LongSupplier supplier,
+                                   long expected)
+            throws InterruptedException
+    {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(TIMEOUT_SECONDS);
+        while (supplier.getAsLong() < expected && System.nanoTime() < deadline)
+        {
+            Thread.sleep(10);
+        }
+
+        assertEquals(expected, supplier.getAsLong());
+    }
+
+    private static void await(CountDownLatch latch)
+    {
+        try
+        {
+            latch.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleep(long millis)
+    {
+        try
+        {
+            Thread.sleep(millis);
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
@@ -0,0 +1,202 @@
+package org.carlspring.strongbox.event.artifact;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Replays the events of a multi-file Maven deploy and compares the number of the events the listeners receive with
+ * and without the coalescing.
+ */
+public class ArtifactEventCoalescerTest
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(ArtifactEventCoalescerTest.class);
+
+    private static final List<String> CHECKSUM_EXTENSIONS = Arrays.asList("md5", "sha1", "sha256", "sha512");
+
+    private static final int ARTIFACT_COUNT = 10;
+
+    @Test
+    public void testDisabledByDefault()
+    {
+        List<ArtifactEvent<?>> deliveredEvents = new ArrayList<>();
+        ArtifactEventCoalescer coalescer = new ArtifactEventCoalescer(e -> deliveredEvents.add((ArtifactEvent<?>) e),
+                                                                      Optional.of(new ChecksumKeyResolver()),
+                                                                      0);
+
+        assertFalse(coalescer.isEnabled());
+        assertFalse(coalescer.coalesce(storedEvent("org/carlspring/a/1.0/a-1.0.jar")));
+    }
+
+    @Test
+    public void testArtifactEventPreferredOverChecksumEvents()
+    {
+        List<ArtifactEvent<?>> deliveredEvents = new ArrayList<>();
+        ArtifactEventCoalescer coalescer = createCoalescer(deliveredEvents);
+
+        assertTrue(coalescer.coalesce(storedEvent("org/carlspring/a/1.0/a-1.0.jar.sha1")));
+        assertTrue(coalescer.coalesce(storedEvent("org/carlspring/a/1.0/a-1.0.jar")));
+        assertTrue(coalescer.coalesce(storedEvent("org/carlspring/a/1.0/a-1.0.jar.md5")));
+        coalescer.flush();
+
+        assertEquals(1, deliveredEvents.size());
+        assertEquals(Paths.get("org/carlspring/a/1.0/a-1.0.jar"), deliveredEvents.get(0).getPath());
+    }
+
+    @Test
+    public void testOtherEventsNotCoalesced()
+    {
+        List<ArtifactEvent<?>> deliveredEvents = new ArrayList<>();
+        ArtifactEventCoalescer coalescer = createCoalescer(deliveredEvents);
+
+        assertFalse(coalescer.coalesce(new ArtifactEvent<>(Paths.get("org/carlspring/a/1.0/a-1.0.jar"),
+                                                           ArtifactEventTypeEnum.EVENT_ARTIFACT_PATH_DELETED.getType())));
+    }
+
+    @Test
+    public void testTransactionEventsHeldUntilCommit()
+    {
+        List<ArtifactEvent<?>> deliveredEvents = new ArrayList<>();
+        ArtifactEventCoalescer coalescer = createCoalescer(deliveredEvents);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try
+        {
+            assertTrue(coalescer.coalesce(storedEvent("org/carlspring/a/1.0/a-1.0.jar")));
+            assertTrue(coalescer.coalesce(storedEvent("org/carlspring/a/1.0/a-1.0.jar.sha1")));
+
+            // Nothing is delivered while the transaction is in progress.
+            coalescer.flush();
+            assertTrue(deliveredEvents.isEmpty());
+
+            TransactionSynchronizationUtils.triggerAfterCommit();
+            TransactionSynchronizationUtils.triggerAfterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        }
+        finally
+        {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        coalescer.flush();
+
+        assertEquals(1, deliveredEvents.size());
+        assertEquals(Paths.get("org/carlspring/a/1.0/a-1.0.jar"), deliveredEvents.get(0).getPath());
+        assertTrue(TransactionSynchronizationManager.getResourceMap().isEmpty());
+    }
+
+    @Test
+    public void testTransactionEventsDroppedOnRollback()
+    {
+        List<ArtifactEvent<?>> deliveredEvents = new ArrayList<>();
+        ArtifactEventCoalescer coalescer = createCoalescer(deliveredEvents);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try
+        {
+            assertTrue(coalescer.coalesce(storedEvent("org/carlspring/a/1.0/a-1.0.jar")));
+
+            TransactionSynchronizationUtils.triggerAfterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+        }
+        finally
+        {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        coalescer.flush();
+
+        assertTrue(deliveredEvents.isEmpty());
+        assertTrue(TransactionSynchronizationManager.getResourceMap().isEmpty());
+    }
+
+    @Test
+    public void testMultiFileDeploy()
+    {
+        List<ArtifactEvent<?>> deploy = new ArrayList<>();
+        for (int i = 0; i < ARTIFACT_COUNT; i++)
+        {
+            String base = String.format("org/carlspring/a%s/1.0/a%s-1.0", i, i);
+            for (String extension : Arrays.asList("jar", "pom"))
+            {
+                deploy.add(storedEvent(base + "." + extension));
+                CHECKSUM_EXTENSIONS.forEach(c -> deploy.add(storedEvent(base + "." + extension + "." + c)));
+            }
+
+            // Maven deploys the metadata before and after the artifacts.
+            String metadata = String.format("org/carlspring/a%s/maven-metadata.xml", i);
+            for (int j = 0; j < 2; j++)
+            {
+                deploy.add(storedEvent(metadata));
+                deploy.add(new ArtifactEvent<>(Paths.get(metadata),
+                                               ArtifactEventTypeEnum.EVENT_ARTIFACT_METADATA_STORED.getType()));
+                CHECKSUM_EXTENSIONS.forEach(c -> deploy.add(storedEvent(metadata + "." + c)));
+            }
+        }
+
+        List<ArtifactEvent<?>> deliveredEvents = new ArrayList<>();
+        ArtifactEventCoalescer coalescer = createCoalescer(deliveredEvents);
+        deploy.forEach(coalescer::coalesce);
+        coalescer.flush();
+
+        // Per artifact: the jar, the pom, the metadata and its "metadata stored" event.
+        assertEquals(ARTIFACT_COUNT * 4, deliveredEvents.size());
+        assertEquals(deliveredEvents.size(), coalescer.getDeliveredEventCount());
+        assertEquals(deploy.size() - deliveredEvents.size(), coalescer.getCoalescedEventCount());
+        assertTrue(deliveredEvents.stream().noneMatch(e -> new ChecksumKeyResolver().isDerived(e.getPath())));
+
+        logger.info("Coalesced [{}] events of a [{}] artifacts deploy into [{}] events ([{}] less listener calls).",
+                    deploy.size(),
+                    ARTIFACT_COUNT,
+                    deliveredEvents.size(),
+                    String.format("%.1fx", (double) deploy.size() / deliveredEvents.size()));
+    }
+
+    private static ArtifactEventCoalescer createCoalescer(List<ArtifactEvent<?>> deliveredEvents)
+    {
+        // A long window: the test flushes the events itself.
+        return new ArtifactEventCoalescer(e -> deliveredEvents.add((ArtifactEvent<?>) e),
+                                          Optional.of(new ChecksumKeyResolver()),
+                                          60000);
+    }
+
+    private static ArtifactEvent<Path> storedEvent(String path)
+    {
+        return new ArtifactEvent<>(Paths.get(path), ArtifactEventTypeEnum.EVENT_ARTIFACT_FILE_STORED.getType());
+    }
+
+    private static class ChecksumKeyResolver
+            implements ArtifactEventKeyResolver
+    {
+
+        @Override
+        public Object resolveKey(Path path)
+        {
+            String fileName = path.getFileName().toString();
+
+            return isDerived(path) ? path.resolveSibling(fileName.substring(0, fileName.lastIndexOf('.'))) : path;
+        }
+
+        @Override
+        public boolean isDerived(Path path)
+        {
+            String fileName = path.getFileName().toString();
+
+            return CHECKSUM_EXTENSIONS.contains(fileName.substring(fileName.lastIndexOf('.') + 1));
+        }
+
+    }
+
+}
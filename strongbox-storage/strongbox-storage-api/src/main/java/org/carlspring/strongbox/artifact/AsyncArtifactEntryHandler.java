@@ -47,8 +47,7 @@ public abstract class AsyncArtifactEntryHandler
 
     @AsyncEventListener
     public void handleEvent(final ArtifactEvent<RepositoryPath> event)
-        throws IOException,
-        InterruptedException
+        throws IOException
     {
         if (eventType.getType() != event.getType())
         {
@@ -61,24 +60,23 @@ public abstract class AsyncArtifactEntryHandler
             return;
         }
 
-        // TODO: this is needed just as workadound to have new transaction
-        // within this async event (expected to be replaced with
-        // just Propagation.REQUIRES_NEW after SB-1200)
-        Thread threadWithNewTransactionContext = new Thread(() -> {
-            try
-            {
-                handleLocked(repositoryPath);
-            }
-            catch (Exception e)
-            {
-                logger.error("Failed to handle async event [{}]",
-                             AsyncArtifactEntryHandler.this.getClass().getSimpleName(),
-                             e);
-            }
-        });
-
-        threadWithNewTransactionContext.start();
-        threadWithNewTransactionContext.join();
+        // The listener runs on a dedicated event executor thread, so the
+        // transaction of the event publisher is not bound here and a new
+        // one can be started.
+        try
+        {
+            handleLocked(repositoryPath);
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+        }
+        catch (Exception e)
+        {
+            logger.error("Failed to handle async event [{}]",
+                         AsyncArtifactEntryHandler.this.getClass().getSimpleName(),
+                         e);
+        }
     }
 
     private void handleLocked(RepositoryPath repositoryPath)
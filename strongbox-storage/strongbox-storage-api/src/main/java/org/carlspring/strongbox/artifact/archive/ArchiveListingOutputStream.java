@@ -0,0 +1,200 @@
+package org.carlspring.strongbox.artifact.archive;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.apache.commons.compress.archivers.ArchiveInputStream;
+import org.apache.commons.compress.archivers.tar.TarArchiveInputStream;
+import org.apache.commons.compress.compressors.gzip.GzipCompressorInputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Lists the entries of a TAR archive (optionally gzipped) from the bytes written to it, so that the archive doesn't
+ * have to be read again once stored.
+ * <p>
+ * The written bytes are piped to a {@link TarArchiveInputStream} which runs on a thread of its own: the entry
+ * headers are collected and the entry data is skipped. The stream never throws, an archive which can't be listed
+ * is reported with a <code>null</code> listing and left to the {@link ArchiveListingFunction}s.
+ * <p>
+ * The ZIP archives are not listed here: their authoritative listing is the central directory at their end, see
+ * {@link ZipArchiveListingFunction#listCentralDirectory(Path)}.
+ */
+public class ArchiveListingOutputStream
+        extends OutputStream
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(ArchiveListingOutputStream.class);
+
+    private static final int PIPE_SIZE = 64 * 1024;
+
+    /**
+     * How long {@link #getFilenames()} waits for the bytes which are still in the pipe to be listed.
+     */
+    private static final long LISTING_TIMEOUT_SECONDS = 30;
+
+    private final PipedOutputStream pipe;
+
+    private final FutureTask<Set<String>> listing;
+
+    /**
+     * Set once the listing thread doesn't read the pipe anymore, the next bytes are not sent to it.
+     */
+    private volatile boolean closed;
+
+    private ArchiveListingOutputStream(boolean gzipped)
+            throws IOException
+    {
+        PipedInputStream pis = new PipedInputStream(PIPE_SIZE);
+        pipe = new PipedOutputStream(pis);
+        listing = new FutureTask<>(() -> list(pis, gzipped));
+
+        Thread thread = new Thread(listing, "archive-listing");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * @return the listing stream for the archive, or <code>null</code> if it is not a TAR archive
+     */
+    public static ArchiveListingOutputStream of(Path path)
+    {
+        Path fileName = path.getFileName();
+        if (fileName == null)
+        {
+            return null;
+        }
+
+        String name = fileName.toString();
+        try
+        {
+            if (name.endsWith(".tar"))
+            {
+                return new ArchiveListingOutputStream(false);
+            }
+            else if (name.endsWith(".tar.gz") || name.endsWith(".tgz"))
+            {
+                return new ArchiveListingOutputStream(true);
+            }
+        }
+        catch (IOException e)
+        {
+            logger.debug("Unable to list [{}] while it is written.", path, e);
+        }
+
+        return null;
+    }
+
+    /**
+     * Ends the written archive and waits for its listing: no more bytes should be written after this call.
+     *
+     * @return the names of the archive entries, or <code>null</code> if the archive couldn't be listed
+     */
+    public Set<String> getFilenames()
+    {
+        close();
+
+        try
+        {
+            return listing.get(LISTING_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+
+            return null;
+        }
+        catch (ExecutionException | TimeoutException e)
+        {
+            logger.debug("Unable to list the archive entries, falling back to reading the stored file.", e);
+
+            listing.cancel(true);
+
+            return null;
+        }
+    }
+
+    @Override
+    public void write(int b)
+    {
+        write(new byte[]{ (byte) b }, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] b,
+                      int off,
+                      int len)
+    {
+        if (closed)
+        {
+            return;
+        }
+
+        try
+        {
+            pipe.write(b, off, len);
+        }
+        catch (IOException e)
+        {
+            // The listing is over, either the end of the archive was reached or it couldn't be parsed.
+            closed = true;
+        }
+    }
+
+    @Override
+    public void flush()
+    {
+        if (closed)
+        {
+            return;
+        }
+
+        try
+        {
+            pipe.flush();
+        }
+        catch (IOException e)
+        {
+            closed = true;
+        }
+    }
+
+    @Override
+    public void close()
+    {
+        closed = true;
+
+        try
+        {
+            pipe.close();
+        }
+        catch (IOException e)
+        {
+            // The listing thread has closed its side already.
+        }
+    }
+
+    private static Set<String> list(PipedInputStream pis,
+                                    boolean gzipped)
+            throws IOException
+    {
+        try (InputStream is = new BufferedInputStream(pis);
+             InputStream tis = gzipped ? new GzipCompressorInputStream(is) : is;
+             ArchiveInputStream ais = new TarArchiveInputStream(tis))
+        {
+            return Collections.unmodifiableSet(TarArchiveListingFunction.INSTANCE.getEntryNames(ais));
+        }
+    }
+
+}
@@ -25,11 +25,20 @@ public enum TarArchiveListingFunction
     public Set<String> listFilenames(final RepositoryPath path)
             throws IOException
     {
-        try (InputStream is = Files.newInputStream(path);
+        return listFile(path);
+    }
+
+    /**
+     * Lists the entry headers of a TAR file, such as the temporary file of an upload: the entry data is skipped.
+     */
+    public static Set<String> listFile(final Path file)
+            throws IOException
+    {
+        try (InputStream is = Files.newInputStream(file);
              BufferedInputStream bis = new BufferedInputStream(is);
              ArchiveInputStream ais = new TarArchiveInputStream(bis))
         {
-            return getEntryNames(ais);
+            return INSTANCE.getEntryNames(ais);
         }
     }
 
@@ -25,12 +25,21 @@ public enum TarGzArchiveListingFunction
     public Set<String> listFilenames(final RepositoryPath path)
             throws IOException
     {
-        try (InputStream is = Files.newInputStream(path);
+        return listFile(path);
+    }
+
+    /**
+     * Lists the entries of an archive file which is not in a repository (yet).
+     */
+    public static Set<String> listFile(final Path file)
+            throws IOException
+    {
+        try (InputStream is = Files.newInputStream(file);
              BufferedInputStream bis = new BufferedInputStream(is);
              GzipCompressorInputStream gzi = new GzipCompressorInputStream(bis);
              ArchiveInputStream ais = new TarArchiveInputStream(gzi))
         {
-            return getEntryNames(ais);
+            return INSTANCE.getEntryNames(ais);
         }
     }
 
@@ -38,7 +47,7 @@ public enum TarGzArchiveListingFunction
     public boolean supports(final RepositoryPath path)
     {
         final Path fileName = path.getFileName();
-        return fileName != null && fileName.toString().endsWith("tar.gz");
+        return fileName != null && (fileName.toString().endsWith("tar.gz") || fileName.toString().endsWith(".tgz"));
     }
 
 }
@@ -7,10 +7,14 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Enumeration;
+import java.util.HashSet;
 import java.util.Set;
 
 import org.apache.commons.compress.archivers.ArchiveInputStream;
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
 import org.apache.commons.compress.archivers.zip.ZipArchiveInputStream;
+import org.apache.commons.compress.archivers.zip.ZipFile;
 
 /**
  * @author Przemyslaw Fusik
@@ -33,6 +37,25 @@ public enum ZipArchiveListingFunction
         }
     }
 
+    /**
+     * Lists the entries of a ZIP file from its central directory, which is at the end of the file: unlike
+     * {@link #listFilenames(RepositoryPath)}, this doesn't read the compressed entries.
+     */
+    public static Set<String> listCentralDirectory(final Path file)
+            throws IOException
+    {
+        final Set<String> result = new HashSet<>();
+        try (ZipFile zipFile = new ZipFile(Files.newByteChannel(file)))
+        {
+            final Enumeration<ZipArchiveEntry> entries = zipFile.getEntries();
+            while (entries.hasMoreElements())
+            {
+                result.add(entries.nextElement().getName());
+            }
+        }
+        return result;
+    }
+
     @Override
     public boolean supports(final RepositoryPath path)
     {
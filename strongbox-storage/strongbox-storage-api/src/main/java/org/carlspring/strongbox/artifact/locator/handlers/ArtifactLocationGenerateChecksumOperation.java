@@ -3,6 +3,7 @@ package org.carlspring.strongbox.artifact.locator.handlers;
 import org.carlspring.strongbox.providers.io.RepositoryFiles;
 import org.carlspring.strongbox.providers.io.RepositoryPath;
 import org.carlspring.strongbox.providers.layout.LayoutFileSystemProvider;
+import org.carlspring.strongbox.storage.checksum.ChecksumRegenerator;
 
 import java.io.IOException;
 import java.nio.file.Files;
@@ -26,6 +27,8 @@ public class ArtifactLocationGenerateChecksumOperation
 
     private boolean forceRegeneration = false;
 
+    private ChecksumRegenerator checksumRegenerator;
+
     public void execute(RepositoryPath path)
             throws IOException
     {
@@ -82,6 +85,12 @@ public class ArtifactLocationGenerateChecksumOperation
         }
 
         RepositoryPath basePath = parentPath;
+        if (checksumRegenerator != null)
+        {
+            checksumRegenerator.regenerate(basePath);
+            return;
+        }
+
         LayoutFileSystemProvider provider = (LayoutFileSystemProvider) basePath.getFileSystem()
                                                                                                    .provider();
         provider.storeChecksum(basePath, forceRegeneration);
@@ -96,4 +105,17 @@ public class ArtifactLocationGenerateChecksumOperation
     {
         this.forceRegeneration = forceRegeneration;
     }
+
+    public ChecksumRegenerator getChecksumRegenerator()
+    {
+        return checksumRegenerator;
+    }
+
+    /**
+     * When set, the files are submitted to the (shared) regenerator instead of being processed in place.
+     */
+    public void setChecksumRegenerator(ChecksumRegenerator checksumRegenerator)
+    {
+        this.checksumRegenerator = checksumRegenerator;
+    }
 }
@@ -2,6 +2,7 @@ package org.carlspring.strongbox.booters;
 
 import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.core.ILock;
+import org.carlspring.strongbox.config.StorageApiConfig;
 import org.carlspring.strongbox.configuration.Configuration;
 import org.carlspring.strongbox.configuration.ConfigurationManager;
 import org.carlspring.strongbox.providers.layout.LayoutProviderRegistry;
@@ -14,14 +15,23 @@ import org.carlspring.strongbox.storage.repository.RepositoryStatusEnum;
 
 import javax.annotation.PostConstruct;
 import javax.inject.Inject;
+import javax.inject.Named;
 import java.io.IOException;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
-import org.carlspring.strongbox.util.ThrowingConsumer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
 
 /**
  * @author mtodorov
@@ -49,6 +59,24 @@ public class StorageBooter
     @Inject
     private HazelcastInstance hazelcastInstance;
 
+    @Inject
+    @Named(StorageApiConfig.STORAGE_BOOTER_EXECUTOR)
+    private AsyncTaskExecutor storageBooterTaskExecutor;
+
+    /**
+     * If enabled, the repositories are initialized in the background and the application starts without waiting for
+     * them, the requests to a repository which is not initialized yet are rejected with
+     * <code>503 Service Unavailable</code> (see {@link #isRepositoryReady(String, String)}).
+     */
+    @Value("${strongbox.storage.booter.async:false}")
+    private boolean async;
+
+    /**
+     * The repositories which are not initialized yet, including the ones which failed to initialize: they stay
+     * unavailable until the next start.
+     */
+    private final Set<String> pendingRepositories = ConcurrentHashMap.newKeySet();
+
     public StorageBooter()
     {
     }
@@ -56,6 +84,40 @@ public class StorageBooter
     @PostConstruct
     public void initialize()
             throws IOException, RepositoryManagementStrategyException
+    {
+        if (!async)
+        {
+            initializeInLock();
+
+            return;
+        }
+
+        getRepositoriesHierarchy(configurationManager.getConfiguration().getStorages())
+                .forEach(r -> pendingRepositories.add(getRepositoryKey(r.getStorage().getId(), r.getId())));
+
+        storageBooterTaskExecutor.execute(() -> {
+            try
+            {
+                initializeInLock();
+            }
+            catch (Exception e)
+            {
+                logger.error("Failed to initialize the repositories, {} are unavailable.", pendingRepositories, e);
+            }
+        });
+    }
+
+    /**
+     * @return false while the repository is being initialized on boot, or if its initialization failed
+     */
+    public boolean isRepositoryReady(String storageId,
+                                     String repositoryId)
+    {
+        return !pendingRepositories.contains(getRepositoryKey(storageId, repositoryId));
+    }
+
+    private void initializeInLock()
+            throws IOException, RepositoryManagementStrategyException
     {
         ILock lock = hazelcastInstance.getLock("StorageBooterLock");
 
@@ -63,6 +125,7 @@ public class StorageBooter
         {
             try
             {
+                long start = System.currentTimeMillis();
                 final Configuration configuration = configurationManager.getConfiguration();
 
                 initializeStorages(configuration.getStorages());
@@ -74,7 +137,11 @@ public class StorageBooter
                     logger.info(" -> Initializing repositories...");
                 }
 
-                repositories.forEach(ThrowingConsumer.unchecked(this::initializeRepository));
+                initializeRepositories(repositories);
+
+                logger.info(" -> Initialized [{}] repositories in [{}] ms.",
+                            repositories.size(),
+                            System.currentTimeMillis() - start);
             }
             finally
             {
@@ -84,9 +151,122 @@ public class StorageBooter
         else
         {
             logger.debug("Failed to initialize the repositories. Another JVM may have already done this.");
+
+            // The repositories are initialized by the other JVM.
+            pendingRepositories.clear();
         }
     }
 
+    /**
+     * The hosted and proxy repositories don't depend on each other and are initialized in parallel, the groups are
+     * initialized after them, children first. A repository which fails to initialize doesn't stop the others, the
+     * first failure is thrown once all of them were attempted.
+     */
+    private void initializeRepositories(Collection<Repository> repositories)
+            throws IOException, RepositoryManagementStrategyException
+    {
+        List<Future<?>> futures = new ArrayList<>();
+        for (Repository repository : repositories)
+        {
+            if (!repository.isGroupRepository())
+            {
+                futures.add(storageBooterTaskExecutor.submit(() -> {
+                    initializeRepository(repository);
+
+                    return null;
+                }));
+            }
+        }
+
+        Exception failure = null;
+        for (Future<?> future : futures)
+        {
+            try
+            {
+                await(future);
+            }
+            catch (IOException | RepositoryManagementStrategyException | RuntimeException e)
+            {
+                failure = addFailure(failure, e);
+            }
+        }
+
+        for (Repository repository : repositories)
+        {
+            if (!repository.isGroupRepository())
+            {
+                continue;
+            }
+
+            try
+            {
+                initializeRepository(repository);
+            }
+            catch (IOException | RepositoryManagementStrategyException | RuntimeException e)
+            {
+                failure = addFailure(failure, e);
+            }
+        }
+
+        if (failure instanceof IOException)
+        {
+            throw (IOException) failure;
+        }
+        if (failure instanceof RepositoryManagementStrategyException)
+        {
+            throw (RepositoryManagementStrategyException) failure;
+        }
+        if (failure != null)
+        {
+            throw (RuntimeException) failure;
+        }
+    }
+
+    private static Exception addFailure(Exception failure,
+                                        Exception e)
+    {
+        if (failure == null)
+        {
+            return e;
+        }
+
+        failure.addSuppressed(e);
+
+        return failure;
+    }
+
+    private void await(Future<?> future)
+            throws IOException, RepositoryManagementStrategyException
+    {
+        try
+        {
+            future.get();
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+
+            throw new IOException(e);
+        }
+        catch (ExecutionException e)
+        {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException)
+            {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RepositoryManagementStrategyException)
+            {
+                throw (RepositoryManagementStrategyException) cause;
+            }
+            if (cause instanceof RuntimeException)
+            {
+                throw (RuntimeException) cause;
+            }
+
+            throw new UndeclaredThrowableException(cause);
+        }
+    }
 
     private void initializeStorages(final Map<String, Storage> storages)
             throws IOException
@@ -126,6 +306,14 @@ public class StorageBooter
         {
             repositoryManagementService.putInService(repository.getStorage().getId(), repository.getId());
         }
+
+        pendingRepositories.remove(getRepositoryKey(repository.getStorage().getId(), repository.getId()));
+    }
+
+    private static String getRepositoryKey(String storageId,
+                                           String repositoryId)
+    {
+        return storageId + ":" + repositoryId;
     }
 
     private Collection<Repository> getRepositoriesHierarchy(final Map<String, Storage> storages)
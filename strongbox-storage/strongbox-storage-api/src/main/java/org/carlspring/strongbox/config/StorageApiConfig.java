@@ -1,18 +1,28 @@
 package org.carlspring.strongbox.config;
 
 import org.carlspring.strongbox.booters.StorageBooter;
+import org.carlspring.strongbox.data.CacheName;
+import org.carlspring.strongbox.data.liquibase.VersionedSpringLiquibase;
 import org.carlspring.strongbox.storage.checksum.ChecksumCacheManager;
 import org.carlspring.strongbox.storage.validation.ArtifactCoordinatesValidator;
 
 import javax.inject.Inject;
+import javax.sql.DataSource;
 import java.util.LinkedHashSet;
 import java.util.List;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.DependsOn;
+import org.springframework.core.io.ResourceLoader;
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.orientechnologies.orient.core.db.ODatabasePool;
+import liquibase.integration.spring.SpringLiquibase;
 
 @Configuration
 @ComponentScan({ "org.carlspring.strongbox.artifact",
@@ -30,15 +40,46 @@ import org.springframework.scheduling.annotation.EnableAsync;
 public class StorageApiConfig
 {
 
+    public static final String STORAGE_BOOTER_EXECUTOR = "storageBooterTaskExecutor";
+
     @Inject
     private List<ArtifactCoordinatesValidator> versionValidators;
 
-    @Bean
-    ChecksumCacheManager checksumCacheManager()
+    /**
+     * The artifact indexes on top of the base schema, applied after it.
+     */
+    @Bean(name = "artifactIndexesLiquibase")
+    @DependsOn("liquibase")
+    SpringLiquibase artifactIndexesLiquibase(DataSource dataSource,
+                                             ResourceLoader resourceLoader,
+                                             ODatabasePool databasePool)
+    {
+        SpringLiquibase liquibase = new VersionedSpringLiquibase(databasePool);
+        liquibase.setDataSource(dataSource);
+        liquibase.setResourceLoader(resourceLoader);
+        liquibase.setChangeLog("classpath:/db/changelog/db.changelog-artifact-indexes.xml");
+        return liquibase;
+    }
+
+    /**
+     * The distributed cache is bounded and expired by Hazelcast, see the <code>checksums</code> map configuration.
+     */
+    @Bean(destroyMethod = "stopMonitor")
+    ChecksumCacheManager checksumCacheManager(HazelcastInstance hazelcastInstance,
+                                              @Value("${cacheManagerConfiguration.caches.checksums.distributed:false}") boolean distributed,
+                                              @Value("${cacheManagerConfiguration.caches.checksums.maxSizeLimit:10000}") int maxSize,
+                                              @Value("${cacheManagerConfiguration.caches.checksums.maxIdleSeconds:60}") int maxIdleSeconds)
     {
+        if (distributed)
+        {
+            return new ChecksumCacheManager(hazelcastInstance.getMap(CacheName.Artifact.CHECKSUMS));
+        }
+
         ChecksumCacheManager checksumCacheManager = new ChecksumCacheManager();
-        checksumCacheManager.setCachedChecksumExpiredCheckInterval(300000);
-        checksumCacheManager.setCachedChecksumLifetime(60000);
+        checksumCacheManager.setCachedChecksumExpiredCheckInterval(60000);
+        checksumCacheManager.setCachedChecksumLifetime(maxIdleSeconds * 1000L);
+        checksumCacheManager.setMaxSize(maxSize);
+        checksumCacheManager.startMonitor();
 
         return checksumCacheManager;
     }
@@ -49,7 +90,26 @@ public class StorageApiConfig
         return new LinkedHashSet<>(versionValidators);
     }
 
-    
+    /**
+     * Initializes the repositories on boot, see {@link StorageBooter}. The pool has a thread for each repository
+     * initialized in parallel (the number of processors by default) and one more for the task which coordinates
+     * them in the background. The threads are released once the repositories are initialized.
+     */
+    @Bean(name = STORAGE_BOOTER_EXECUTOR)
+    ThreadPoolTaskExecutor storageBooterTaskExecutor(@Value("${strongbox.storage.booter.threads:0}") int threads)
+    {
+        int poolSize = (threads > 0 ? threads : Runtime.getRuntime().availableProcessors()) + 1;
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setKeepAliveSeconds(60);
+        executor.setAllowCoreThreadTimeOut(true);
+        executor.setThreadNamePrefix("storage-booter-");
+
+        return executor;
+    }
+
     @Bean
     StorageBooter storageBooter()
     {
@@ -37,6 +37,12 @@ public class ArtifactEntry
                            CascadeType.REFRESH })
     private AbstractArtifactCoordinates artifactCoordinates;
 
+    /**
+     * Copy of the path of the {@link #artifactCoordinates}, stored with the entry so that the entries can be looked up
+     * by (storageId, repositoryId, artifactPath) from a single index (see <code>idx_artifact_entry_path</code>).
+     */
+    private String artifactPath;
+
     @ManyToMany(targetEntity = ArtifactTagEntry.class)
     private Set<ArtifactTag> tagSet;
 
@@ -45,6 +51,12 @@ public class ArtifactEntry
     @Embedded
     private ArtifactArchiveListing artifactArchiveListing;
 
+    /**
+     * Layout specific artifact details (for example, the NuGet package specification fields), extracted once when
+     * the artifact is stored, so that they can be served without reading the artifact files.
+     */
+    private Map<String, String> artifactAttributes;
+
     private Long sizeInBytes;
 
     private Date lastUpdated;
@@ -87,6 +99,7 @@ public class ArtifactEntry
     public void setArtifactCoordinates(ArtifactCoordinates artifactCoordinates)
     {
         this.artifactCoordinates = (AbstractArtifactCoordinates) artifactCoordinates;
+        this.artifactPath = artifactCoordinates == null ? null : artifactCoordinates.toPath();
     }
 
     public Set<ArtifactTag> getTagSet()
@@ -169,6 +182,16 @@ public class ArtifactEntry
         this.artifactArchiveListing = artifactArchiveListing;
     }
 
+    public Map<String, String> getArtifactAttributes()
+    {
+        return artifactAttributes = Optional.ofNullable(artifactAttributes).orElse(new HashMap<>());
+    }
+
+    protected void setArtifactAttributes(Map<String, String> artifactAttributes)
+    {
+        this.artifactAttributes = artifactAttributes;
+    }
+
     @Transient
     public String getArtifactPath()
     {
@@ -189,6 +212,7 @@ public class ArtifactEntry
         sb.append(", objectId='").append(objectId).append('\'');
         sb.append(", uuid='").append(uuid).append('\'');
         sb.append(", artifactArchiveListing=").append(artifactArchiveListing);
+        sb.append(", artifactAttributes=").append(artifactAttributes);
         sb.append(", entityVersion=").append(entityVersion);
         sb.append(", sizeInBytes=").append(sizeInBytes);
         sb.append(", lastUpdated=").append(lastUpdated);
@@ -4,20 +4,28 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.net.URI;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Date;
 import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Pattern;
 
 import javax.inject.Inject;
 
 import org.apache.commons.io.output.CountingOutputStream;
 import org.carlspring.strongbox.artifact.ArtifactNotFoundException;
+import org.carlspring.strongbox.artifact.archive.ArchiveListingOutputStream;
+import org.carlspring.strongbox.artifact.archive.TarArchiveListingFunction;
+import org.carlspring.strongbox.artifact.archive.TarGzArchiveListingFunction;
+import org.carlspring.strongbox.artifact.archive.ZipArchiveListingFunction;
 import org.carlspring.strongbox.artifact.coordinates.ArtifactCoordinates;
 import org.carlspring.strongbox.configuration.Configuration;
 import org.carlspring.strongbox.configuration.ConfigurationManager;
 import org.carlspring.strongbox.data.criteria.Expression.ExpOperator;
 import org.carlspring.strongbox.data.criteria.Predicate;
 import org.carlspring.strongbox.data.criteria.Selector;
+import org.carlspring.strongbox.domain.ArtifactArchiveListing;
 import org.carlspring.strongbox.domain.ArtifactEntry;
 import org.carlspring.strongbox.domain.RepositoryArtifactIdGroupEntry;
 import org.carlspring.strongbox.event.artifact.ArtifactEventListenerRegistry;
@@ -28,6 +36,7 @@ import org.carlspring.strongbox.io.RepositoryStreamWriteContext;
 import org.carlspring.strongbox.io.StreamUtils;
 import org.carlspring.strongbox.providers.io.RepositoryStreamSupport.RepositoryInputStream;
 import org.carlspring.strongbox.providers.io.RepositoryStreamSupport.RepositoryOutputStream;
+import org.carlspring.strongbox.providers.layout.LayoutProvider;
 import org.carlspring.strongbox.providers.layout.LayoutProviderRegistry;
 import org.carlspring.strongbox.providers.repository.RepositoryProvider;
 import org.carlspring.strongbox.providers.repository.RepositoryProviderRegistry;
@@ -47,6 +56,12 @@ public abstract class AbstractRepositoryProvider implements RepositoryProvider,
 {
 
     private static final Logger logger = LoggerFactory.getLogger(AbstractRepositoryProvider.class);
+
+    private static final Pattern ZIP_ARCHIVE_PATTERN = Pattern.compile(".*\\.(zip|jar|war|ear)$");
+
+    private static final Pattern TAR_ARCHIVE_PATTERN = Pattern.compile(".*\\.tar$");
+
+    private static final Pattern TAR_GZ_ARCHIVE_PATTERN = Pattern.compile(".*\\.(tar\\.gz|tgz)$");
     
     @Inject
     protected RepositoryProviderRegistry repositoryProviderRegistry;
@@ -148,6 +163,14 @@ public abstract class AbstractRepositoryProvider implements RepositoryProvider,
         String storageId = repository.getStorage().getId();
         String repositoryId = repository.getId();
 
+        // The TAR archives are listed from the written bytes, the ZIP ones from their central directory on commit.
+        ArchiveListingOutputStream archiveListing = ArchiveListingOutputStream.of(repositoryPath);
+        if (archiveListing != null && isArchive(repositoryPath))
+        {
+            LayoutOutputStream los = StreamUtils.findSource(LayoutOutputStream.class, ctx.getStream());
+            los.addTeeOutputStream(archiveListing);
+        }
+
         ArtifactEntry artifactEntry = provideArtifactEntry(repositoryPath);
         if (!shouldStoreArtifactEntry(artifactEntry))
         {
@@ -216,23 +239,146 @@ public abstract class AbstractRepositoryProvider implements RepositoryProvider,
         Storage storage = repository.getStorage();
         ArtifactCoordinates coordinates = RepositoryFiles.readCoordinates(repositoryPath);
         
+        LayoutOutputStream los = StreamUtils.findSource(LayoutOutputStream.class, ctx.getStream());
+
         repositoryPath.artifactEntry = null;
         if (artifactEntry == null)
         {
+            refreshArchiveListing(repositoryPath, los);
+
             return;
         }
         
         CountingOutputStream cos = StreamUtils.findSource(CountingOutputStream.class, ctx.getStream());
         artifactEntry.setSizeInBytes(cos.getByteCount());
 
-        LayoutOutputStream los = StreamUtils.findSource(LayoutOutputStream.class, ctx.getStream());
         artifactEntry.getChecksums().clear();
         artifactEntry.getChecksums().putAll(los.getDigestMap());
 
+        setArchiveListing(artifactEntry, listArchiveFilenames(repositoryPath, los));
+
         RepositoryArtifactIdGroupEntry artifactGroup = repositoryArtifactIdGroupService.findOneOrCreate(storage.getId(), repository.getId(), coordinates.getId());
         repositoryArtifactIdGroupService.addArtifactToGroup(artifactGroup, artifactEntry);
     }
 
+    /**
+     * The entry of a re-deployed artifact is not stored again, but its archive listing has to follow the new file.
+     */
+    private void refreshArchiveListing(RepositoryPath repositoryPath,
+                                       LayoutOutputStream los)
+        throws IOException
+    {
+        if (!RepositoryFiles.isArtifact(repositoryPath) || !isArchive(repositoryPath))
+        {
+            return;
+        }
+
+        ArtifactEntry artifactEntry = repositoryPath.getArtifactEntry();
+        if (artifactEntry == null)
+        {
+            return;
+        }
+
+        Set<String> archiveFilenames = listArchiveFilenames(repositoryPath, los);
+        if (archiveFilenames == null && artifactEntry.getArtifactArchiveListing() == null)
+        {
+            return;
+        }
+
+        setArchiveListing(artifactEntry, archiveFilenames);
+        artifactEntryService.save(artifactEntry);
+    }
+
+    /**
+     * A listing left from the previous file would stop the stored event listener from listing the archive itself,
+     * so the listing which is not available here is cleared.
+     */
+    private void setArchiveListing(ArtifactEntry artifactEntry,
+                                   Set<String> archiveFilenames)
+    {
+        if (archiveFilenames == null)
+        {
+            artifactEntry.setArtifactArchiveListing(null);
+
+            return;
+        }
+
+        ArtifactArchiveListing artifactArchiveListing = Optional.ofNullable(artifactEntry.getArtifactArchiveListing())
+                                                                .orElse(new ArtifactArchiveListing());
+        artifactArchiveListing.setFilenames(archiveFilenames);
+        artifactEntry.setArtifactArchiveListing(artifactArchiveListing);
+    }
+
+    /**
+     * Lists the archive while it is still in the temporary location, so that the {@link ArtifactEntry} is stored
+     * with its listing and the file doesn't have to be read once more after the store. The TAR archives are listed
+     * from the bytes written through the stream, the ZIP ones from their central directory.
+     *
+     * @return the archive listing, or <code>null</code> if it is not available (the file is not an archive, or it
+     *         couldn't be listed here)
+     */
+    private Set<String> listArchiveFilenames(RepositoryPath repositoryPath,
+                                             LayoutOutputStream los)
+        throws IOException
+    {
+        Optional<ArchiveListingOutputStream> archiveListing = los.getTeeOutputStreams()
+                                                                 .stream()
+                                                                 .filter(ArchiveListingOutputStream.class::isInstance)
+                                                                 .map(ArchiveListingOutputStream.class::cast)
+                                                                 .findFirst();
+        if (archiveListing.isPresent())
+        {
+            return archiveListing.get().getFilenames();
+        }
+
+        if (!isArchive(repositoryPath))
+        {
+            return null;
+        }
+
+        Path tempFile = RepositoryFiles.temporary(repositoryPath).getTarget();
+        if (!Files.exists(tempFile))
+        {
+            return null;
+        }
+
+        String fileName = repositoryPath.getFileName().toString();
+        try
+        {
+            if (ZIP_ARCHIVE_PATTERN.matcher(fileName).matches())
+            {
+                return ZipArchiveListingFunction.listCentralDirectory(tempFile);
+            }
+            if (TAR_GZ_ARCHIVE_PATTERN.matcher(fileName).matches())
+            {
+                return TarGzArchiveListingFunction.listFile(tempFile);
+            }
+
+            return TarArchiveListingFunction.listFile(tempFile);
+        }
+        catch (IOException e)
+        {
+            logger.debug("Unable to list [{}], it will be listed once stored.", repositoryPath, e);
+
+            return null;
+        }
+    }
+
+    private boolean isArchive(RepositoryPath repositoryPath)
+    {
+        String fileName = repositoryPath.getFileName().toString();
+        if (!ZIP_ARCHIVE_PATTERN.matcher(fileName).matches()
+                && !TAR_GZ_ARCHIVE_PATTERN.matcher(fileName).matches()
+                && !TAR_ARCHIVE_PATTERN.matcher(fileName).matches())
+        {
+            return false;
+        }
+
+        LayoutProvider layoutProvider = layoutProviderRegistry.getProvider(repositoryPath.getRepository().getLayout());
+
+        return layoutProvider.supportsArchiveListing(repositoryPath);
+    }
+
     protected ArtifactEntry provideArtifactEntry(RepositoryPath repositoryPath) throws IOException
     {
         return Optional.ofNullable(repositoryPath.getArtifactEntry())
@@ -5,6 +5,9 @@ import java.nio.file.DirectoryStream;
 import java.nio.file.FileSystem;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.Optional;
 import java.util.Set;
 
@@ -30,6 +33,9 @@ public abstract class LayoutFileSystem
 
     public static final String TRASH = ".trash";
     public static final String TEMP = ".temp";
+    public static final String GZIP = ".gzip";
+
+    private static final Set<String> HIDDEN_DIRECTORIES = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(TRASH, TEMP, GZIP)));
 
     private final Repository repository;
     private final StorageFileSystemProvider provider;
@@ -96,6 +102,18 @@ public abstract class LayoutFileSystem
         return rootPath;
     }
 
+    /**
+     * Hidden directories of the repository root, which hold no artifacts: they are skipped when the repository
+     * directories are listed (and so by the {@link java.nio.file.Files#walk(Path, java.nio.file.FileVisitOption...)}
+     * based jobs), and removed together with the repository.
+     *
+     * @return names of the hidden directories
+     */
+    public Set<String> getHiddenDirectories()
+    {
+        return HIDDEN_DIRECTORIES;
+    }
+
     public RepositoryPath getTrashPath()
     {
         return getRootDirectory().resolve(TRASH).toAbsolutePath();
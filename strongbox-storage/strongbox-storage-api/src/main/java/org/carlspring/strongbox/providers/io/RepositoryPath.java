@@ -55,7 +55,7 @@ public class RepositoryPath
         this.fileSystem = fileSystem;
     }
 
-    protected Path getTarget()
+    public Path getTarget()
     {
         return target;
     }
@@ -0,0 +1,65 @@
+package org.carlspring.strongbox.providers.io;
+
+import org.carlspring.strongbox.event.artifact.ArtifactEventKeyResolver;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Resolves the checksum files to the artifact file they belong to, so that the events of an artifact and of its
+ * checksums are coalesced together.
+ */
+@Component
+public class RepositoryPathEventKeyResolver
+        implements ArtifactEventKeyResolver
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(RepositoryPathEventKeyResolver.class);
+
+    @Override
+    public Object resolveKey(Path path)
+    {
+        if (!(path instanceof RepositoryPath))
+        {
+            return path;
+        }
+
+        RepositoryPath repositoryPath = (RepositoryPath) path;
+        String artifactPath = RepositoryFiles.relativizePath(repositoryPath);
+        if (isDerived(repositoryPath))
+        {
+            // The checksum file name is the artifact file name with the checksum extension.
+            artifactPath = artifactPath.substring(0, artifactPath.lastIndexOf('.'));
+        }
+
+        return String.format("%s:%s:%s",
+                             repositoryPath.getRepository().getStorage().getId(),
+                             repositoryPath.getRepository().getId(),
+                             artifactPath);
+    }
+
+    @Override
+    public boolean isDerived(Path path)
+    {
+        if (!(path instanceof RepositoryPath))
+        {
+            return false;
+        }
+
+        try
+        {
+            return Boolean.TRUE.equals(RepositoryFiles.isChecksum((RepositoryPath) path));
+        }
+        catch (IOException e)
+        {
+            logger.debug("Failed to check [{}].", path, e);
+
+            return false;
+        }
+    }
+
+}
@@ -34,6 +34,7 @@ import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import org.apache.commons.io.output.ProxyOutputStream;
+import org.carlspring.strongbox.providers.datastore.ContentAddressableFileSystemProvider;
 import org.carlspring.strongbox.storage.repository.Repository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -109,8 +110,12 @@ public abstract class StorageFileSystemProvider
         throws IOException
     {
         RepositoryPath repositoryPath = (RepositoryPath) dir;
-        Path root = repositoryPath.getFileSystem().getRootDirectory();
-        DirectoryStream<Path> directoryStream = getTarget().newDirectoryStream(unwrap(dir), new LayoutDirectoryStreamFilter(unwrap(root), filter));
+        LayoutFileSystem fileSystem = repositoryPath.getFileSystem();
+        Path root = fileSystem.getRootDirectory();
+        DirectoryStream<Path> directoryStream = getTarget().newDirectoryStream(unwrap(dir),
+                                                                              new LayoutDirectoryStreamFilter(unwrap(root),
+                                                                                                              fileSystem.getHiddenDirectories(),
+                                                                                                              filter));
         
         return new DirectoryStream<Path>()
         {
@@ -211,8 +216,10 @@ public abstract class StorageFileSystemProvider
         
         logger.debug("Deleting hidden folders for [{}]", path);
         
-        FileSystemUtils.deleteRecursively(unwrap(root).resolve(LayoutFileSystem.TEMP));
-        FileSystemUtils.deleteRecursively(unwrap(root).resolve(LayoutFileSystem.TRASH));
+        for (String hiddenDirectory : root.getFileSystem().getHiddenDirectories())
+        {
+            FileSystemUtils.deleteRecursively(unwrap(root).resolve(hiddenDirectory));
+        }
         Files.delete(unwrap(root));
         
         logger.debug("Hidden folders deleted [{}]", path);
@@ -369,6 +376,12 @@ public abstract class StorageFileSystemProvider
         {
             Files.createDirectories(unwrap(path).getParent());
         }
+        if (getTarget() instanceof ContentAddressableFileSystemProvider)
+        {
+            // The file is complete: it's made a reference to the blob of its content before it's visible.
+            ((ContentAddressableFileSystemProvider) getTarget()).deduplicate(tempPath.getTarget());
+        }
+
         if (Files.exists(path.getTarget()))
         {
             Files.delete(path.getTarget());
@@ -660,7 +673,7 @@ public abstract class StorageFileSystemProvider
                                 OpenOption... options)
             throws IOException
         {
-            super(StorageFileSystemProvider.super.newOutputStream(unwrap(path), options));
+            super(StorageFileSystemProvider.this.getTarget().newOutputStream(unwrap(path), options));
 
             this.path = path;
         }
@@ -669,7 +682,15 @@ public abstract class StorageFileSystemProvider
         public void close()
             throws IOException
         {
-            super.close();
+            // The temporary file is moved into place as it is, so its content is complete (committed) now.
+            try
+            {
+                flush();
+            }
+            finally
+            {
+                super.close();
+            }
 
             try
             {
@@ -691,19 +712,20 @@ public abstract class StorageFileSystemProvider
 
         private final Filter<? super Path> delegate;
         private final Path root;
+        private final Set<String> hiddenDirectories;
 
-        public LayoutDirectoryStreamFilter(Path root, Filter<? super Path> delegate)
+        public LayoutDirectoryStreamFilter(Path root, Set<String> hiddenDirectories, Filter<? super Path> delegate)
         {
             this.delegate = delegate;
             this.root = root;
+            this.hiddenDirectories = hiddenDirectories;
         }
 
         @Override
         public boolean accept(Path p)
             throws IOException
         {
-            if (p.isAbsolute() && !p.startsWith(root.resolve(LayoutFileSystem.TRASH))
-                    && !p.startsWith(root.resolve(LayoutFileSystem.TEMP)))
+            if (p.isAbsolute() && !isHidden(p))
             {
                 return delegate == null ? true : delegate.accept(p);
             }
@@ -711,5 +733,10 @@ public abstract class StorageFileSystemProvider
             return false;
         }
 
+        private boolean isHidden(Path p)
+        {
+            return hiddenDirectories.stream().anyMatch(d -> p.startsWith(root.resolve(d)));
+        }
+
     }
 }
@@ -207,10 +207,16 @@ public abstract class AbstractLayoutProvider<T extends ArtifactCoordinates>
                                    .toURL();
     }
 
+    @Override
+    public boolean supportsArchiveListing(final RepositoryPath repositoryPath)
+    {
+        return ARCHIVE_LISTING_FUNCTION.supports(repositoryPath);
+    }
+
     @Override
     public Set<String> listArchiveFilenames(final RepositoryPath repositoryPath)
     {
-        if (ARCHIVE_LISTING_FUNCTION.supports(repositoryPath))
+        if (supportsArchiveListing(repositoryPath))
         {
             try
             {
@@ -225,6 +231,12 @@ public abstract class AbstractLayoutProvider<T extends ArtifactCoordinates>
         return Collections.emptySet();
     }
 
+    @Override
+    public Map<String, String> getArtifactAttributes(RepositoryPath repositoryPath)
+    {
+        return Collections.emptyMap();
+    }
+
     @Override
     public Set<ArtifactGroup> getArtifactGroups(RepositoryPath path)
             throws IOException
@@ -11,7 +11,6 @@ import org.carlspring.strongbox.io.LayoutOutputStream;
 import org.carlspring.strongbox.io.LazyInputStream;
 import org.carlspring.strongbox.io.LazyOutputStream;
 import org.carlspring.strongbox.io.LazyOutputStream.OutputStreamSupplier;
-import org.carlspring.strongbox.io.StreamUtils;
 import org.carlspring.strongbox.providers.io.RepositoryFileAttributeType;
 import org.carlspring.strongbox.providers.io.RepositoryFiles;
 import org.carlspring.strongbox.providers.io.RepositoryPath;
@@ -19,6 +18,7 @@ import org.carlspring.strongbox.providers.io.StorageFileSystemProvider;
 import org.carlspring.strongbox.services.ArtifactEntryService;
 import org.carlspring.strongbox.storage.ArtifactResolutionException;
 import org.carlspring.strongbox.storage.Storage;
+import org.carlspring.strongbox.storage.checksum.ChecksumRegenerator;
 import org.carlspring.strongbox.storage.repository.Repository;
 
 import javax.inject.Inject;
@@ -178,64 +178,9 @@ public abstract class LayoutFileSystemProvider extends StorageFileSystemProvider
                               boolean forceRegeneration)
             throws IOException
     {
-        Files.walk(basePath)
-             .filter(p -> !Files.isDirectory(p))
-             .filter(p -> {
-                 try
-                 {
-                     return !Boolean.TRUE.equals(RepositoryFiles.isChecksum((RepositoryPath) p));
-                 }
-                 catch (IOException e)
-                 {
-                     logger.error("Failed to read attributes for [{}]", p, e);
-                 }
-                 return false;
-             })
-             .forEach(p -> {
-                 try
-                 {
-                     writeChecksum((RepositoryPath) p, forceRegeneration);
-                 }
-                 catch (IOException e)
-                 {
-                     logger.error("Failed to write checksum for [{}]", p, e);
-                 }
-             });
-    }
-
-    
-    protected void writeChecksum(RepositoryPath path,
-                                 boolean force)
-            throws IOException
-    {
-        try (InputStream is = newInputStream(path))
+        try (ChecksumRegenerator checksumRegenerator = new ChecksumRegenerator(1, 0, forceRegeneration))
         {
-            byte[] buffer = new byte[1024];
-            while (is.read(buffer) > 0)
-            {
-                //calculate checksum while reading the stream
-            }
-            Set<String> digestAlgorithmSet = path.getFileSystem().getDigestAlgorithmSet();
-            digestAlgorithmSet.stream()
-                              .forEach(p ->
-                                       {
-                                           String checksum = StreamUtils.findSource(LayoutInputStream.class, is)
-                                                                        .getMessageDigestAsHexadecimalString(p);
-                                           RepositoryPath checksumPath = getChecksumPath(path, p);
-                                           if (Files.exists(checksumPath) && !force)
-                                           {
-                                               return;
-                                           }
-                                           try
-                                           {
-                                               Files.write(checksumPath, checksum.getBytes());
-                                           }
-                                           catch (IOException e)
-                                           {
-                                               logger.error("Failed to write checksum for [{}]",
-                                                            checksumPath.toString(), e);
-                                           }
-                                       });
+            checksumRegenerator.regenerate(basePath);
         }
     }
 
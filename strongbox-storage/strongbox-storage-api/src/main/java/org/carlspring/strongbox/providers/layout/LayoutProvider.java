@@ -1,6 +1,7 @@
 package org.carlspring.strongbox.providers.layout;
 
 import java.io.IOException;
+import java.util.Map;
 import java.util.Set;
 
 import javax.annotation.Nonnull;
@@ -20,6 +21,18 @@ public interface LayoutProvider<T extends ArtifactCoordinates>
     @Nonnull
     Set<String> listArchiveFilenames(RepositoryPath repositoryPath);
 
+    /**
+     * @return true if {@link #listArchiveFilenames(RepositoryPath)} lists the file
+     */
+    boolean supportsArchiveListing(RepositoryPath repositoryPath);
+
+    /**
+     * @return the layout specific details of the artifact to be persisted with its
+     *         {@link org.carlspring.strongbox.domain.ArtifactEntry}
+     */
+    @Nonnull
+    Map<String, String> getArtifactAttributes(RepositoryPath repositoryPath);
+
     Set<String> getDefaultArtifactCoordinateValidators();
 
     String getAlias();
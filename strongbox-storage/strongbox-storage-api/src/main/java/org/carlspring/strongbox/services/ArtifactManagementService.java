@@ -1,5 +1,6 @@
 package org.carlspring.strongbox.services;
 
+import java.io.BufferedInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
@@ -7,26 +8,49 @@ import java.io.OutputStream;
 import java.net.URI;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
 
 import javax.inject.Inject;
 
+import org.apache.commons.compress.archivers.ArchiveEntry;
+import org.apache.commons.compress.archivers.ArchiveException;
+import org.apache.commons.compress.archivers.ArchiveInputStream;
+import org.apache.commons.compress.archivers.ArchiveStreamFactory;
+import org.apache.commons.compress.compressors.gzip.GzipCompressorInputStream;
 import org.apache.commons.io.IOUtils;
 import org.carlspring.strongbox.artifact.coordinates.ArtifactCoordinates;
 import org.carlspring.strongbox.configuration.Configuration;
 import org.carlspring.strongbox.configuration.ConfigurationManager;
+import org.carlspring.strongbox.domain.ArtifactArchiveListing;
 import org.carlspring.strongbox.domain.ArtifactEntry;
+import org.carlspring.strongbox.domain.RepositoryArtifactIdGroupEntry;
+import org.carlspring.strongbox.event.artifact.ArtifactEvent;
 import org.carlspring.strongbox.event.artifact.ArtifactEventListenerRegistry;
+import org.carlspring.strongbox.event.artifact.ArtifactFilesStoredEvent;
 import org.carlspring.strongbox.io.LayoutOutputStream;
+import org.carlspring.strongbox.io.LinkOrCopyUtils;
 import org.carlspring.strongbox.io.StreamUtils;
 import org.carlspring.strongbox.providers.ProviderImplementationException;
 import org.carlspring.strongbox.providers.io.RepositoryFiles;
 import org.carlspring.strongbox.providers.io.RepositoryPath;
 import org.carlspring.strongbox.providers.io.RepositoryPathResolver;
 import org.carlspring.strongbox.providers.io.RepositoryStreamSupport.RepositoryOutputStream;
+import org.carlspring.strongbox.providers.io.TempRepositoryPath;
 import org.carlspring.strongbox.providers.layout.LayoutFileSystemProvider;
 import org.carlspring.strongbox.providers.layout.LayoutProviderRegistry;
 import org.carlspring.strongbox.storage.ArtifactStorageException;
@@ -39,11 +63,11 @@ import org.carlspring.strongbox.storage.validation.artifact.ArtifactCoordinatesV
 import org.carlspring.strongbox.storage.validation.artifact.ArtifactCoordinatesValidatorRegistry;
 import org.carlspring.strongbox.storage.validation.artifact.version.VersionValidationException;
 import org.carlspring.strongbox.storage.validation.resource.ArtifactOperationsValidator;
+import org.carlspring.strongbox.util.MessageDigestUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.util.FileSystemUtils;
 
 /**
  * @author mtodorov
@@ -53,6 +77,8 @@ public class ArtifactManagementService
 {
     private static final Logger logger = LoggerFactory.getLogger(ArtifactManagementService.class);
 
+    private static final int BULK_BUFFER_SIZE = 64 * 1024;
+
     @Inject
     protected ArtifactOperationsValidator artifactOperationsValidator;
 
@@ -79,6 +105,9 @@ public class ArtifactManagementService
 
     @Inject
     protected RepositoryPathResolver repositoryPathResolver;
+
+    @Inject
+    protected RepositoryArtifactIdGroupService repositoryArtifactIdGroupService;
     
     @Transactional
     public long validateAndStore(RepositoryPath repositoryPath,
@@ -144,6 +173,310 @@ public class ArtifactManagementService
         return result;
     }
 
+    /**
+     * Stores all the files of a ZIP or TAR (optionally gzipped) archive into the repository, with the paths of
+     * the archive entries relative to the repository root.
+     * <p>
+     * The files are first written to the temporary directory of the repository, together with their digests,
+     * and only moved into place once the whole archive has been received and validated: an invalid or
+     * truncated archive leaves the repository untouched. The {@link ArtifactEntry} records are created in one
+     * transaction, with one save per artifact group, before any file is moved into place. Checksum files which are
+     * missing from the archive are generated from the digests computed while writing, and existing metadata files
+     * are kept.
+     * <p>
+     * The files are moved into place one by one: the checksums first, then the other files and the new metadata
+     * files last, so a reader may see a part of the archive, but not a file without its checksums. The events of
+     * the files are dispatched once all the files are in place, marked as {@link ArtifactEvent#isBulk() bulk},
+     * followed by one {@link ArtifactFilesStoredEvent} from which the layouts update their metadata once (per
+     * artifact), instead of once per file.
+     *
+     * @return the stored paths
+     */
+    @Transactional
+    public List<RepositoryPath> storeArchive(Repository repository,
+                                             InputStream is)
+            throws IOException,
+                   ProviderImplementationException,
+                   ArtifactCoordinatesValidationException
+    {
+        Map<RepositoryPath, StagedFile> stagedFiles = new LinkedHashMap<>();
+        try
+        {
+            try (ArchiveInputStream ais = openArchive(is))
+            {
+                ArchiveEntry entry;
+                while ((entry = ais.getNextEntry()) != null)
+                {
+                    if (entry.isDirectory() || !ais.canReadEntryData(entry))
+                    {
+                        continue;
+                    }
+
+                    RepositoryPath repositoryPath = repositoryPathResolver.resolve(repository,
+                                                                                   checkEntryName(entry.getName()));
+                    performRepositoryAcceptanceValidation(repositoryPath);
+
+                    stagedFiles.put(repositoryPath, stageFile(repositoryPath, ais));
+                }
+            }
+
+            stageChecksums(stagedFiles);
+        }
+        catch (IOException | ProviderImplementationException | ArtifactCoordinatesValidationException | RuntimeException e)
+        {
+            for (StagedFile stagedFile : stagedFiles.values())
+            {
+                Files.deleteIfExists(stagedFile.tempPath.getTarget());
+            }
+
+            throw e;
+        }
+
+        // The database records go first: they are only visible once the transaction commits, so a failure here
+        // still leaves the repository untouched.
+        List<RepositoryPath> checksumPaths = new ArrayList<>();
+        List<RepositoryPath> filePaths = new ArrayList<>();
+        List<RepositoryPath> metadataPaths = new ArrayList<>();
+        Map<String, List<ArtifactEntry>> artifactEntries = new LinkedHashMap<>();
+        for (Map.Entry<RepositoryPath, StagedFile> e : stagedFiles.entrySet())
+        {
+            RepositoryPath repositoryPath = e.getKey();
+            StagedFile stagedFile = e.getValue();
+            if (Boolean.TRUE.equals(RepositoryFiles.isMetadata(repositoryPath)))
+            {
+                if (Files.exists(repositoryPath))
+                {
+                    Files.deleteIfExists(stagedFile.tempPath.getTarget());
+                }
+                else
+                {
+                    metadataPaths.add(repositoryPath);
+                }
+                continue;
+            }
+
+            if (Boolean.TRUE.equals(RepositoryFiles.isChecksum(repositoryPath)))
+            {
+                checksumPaths.add(repositoryPath);
+                continue;
+            }
+
+            if (stagedFile.digestMap != null && Boolean.TRUE.equals(RepositoryFiles.isArtifact(repositoryPath)))
+            {
+                ArtifactEntry artifactEntry = createArtifactEntry(repositoryPath, stagedFile);
+                artifactEntries.computeIfAbsent(artifactEntry.getArtifactCoordinates().getId(),
+                                                k -> new ArrayList<>())
+                               .add(artifactEntry);
+            }
+            filePaths.add(repositoryPath);
+        }
+
+        for (Map.Entry<String, List<ArtifactEntry>> e : artifactEntries.entrySet())
+        {
+            RepositoryArtifactIdGroupEntry artifactGroup = repositoryArtifactIdGroupService.findOneOrCreate(repository.getStorage().getId(),
+                                                                                                            repository.getId(),
+                                                                                                            e.getKey());
+            repositoryArtifactIdGroupService.addArtifactsToGroup(artifactGroup, e.getValue());
+        }
+
+        // The moves are not a single atomic operation, so they are done back to back, in an order which keeps the
+        // window where a reader can see a part of the archive harmless: the checksums before the files they belong
+        // to, and the new metadata files last.
+        List<RepositoryPath> storedPaths = new ArrayList<>();
+        for (List<RepositoryPath> paths : Arrays.asList(checksumPaths, filePaths, metadataPaths))
+        {
+            for (RepositoryPath repositoryPath : paths)
+            {
+                TempRepositoryPath tempPath = stagedFiles.get(repositoryPath).tempPath;
+                repositoryPath.getFileSystem().provider().moveFromTemporaryDirectory(tempPath);
+                storedPaths.add(repositoryPath);
+            }
+        }
+
+        logger.debug("Stored [{}] files into [{}:{}].",
+                     storedPaths.size(), repository.getStorage().getId(), repository.getId());
+
+        // The layouts update the metadata of the stored files once, from the files stored event.
+        for (RepositoryPath repositoryPath : storedPaths)
+        {
+            if (stagedFiles.get(repositoryPath).updated)
+            {
+                artifactEventListenerRegistry.dispatchArtifactUpdatedEvent(repositoryPath, true);
+            }
+            else
+            {
+                artifactEventListenerRegistry.dispatchArtifactStoredEvent(repositoryPath, true);
+            }
+
+            if (Boolean.TRUE.equals(RepositoryFiles.isMetadata(repositoryPath)))
+            {
+                artifactEventListenerRegistry.dispatchArtifactMetadataStoredEvent(repositoryPath);
+            }
+        }
+        artifactEventListenerRegistry.dispatchArtifactFilesStoredEvent(repositoryPathResolver.resolve(repository),
+                                                                       storedPaths);
+
+        return storedPaths;
+    }
+
+    private ArchiveInputStream openArchive(InputStream is)
+            throws IOException
+    {
+        InputStream bis = new BufferedInputStream(is);
+        try
+        {
+            bis.mark(2);
+            int magic = bis.read() | (bis.read() << 8);
+            bis.reset();
+            if (magic == GZIPInputStream.GZIP_MAGIC)
+            {
+                bis = new BufferedInputStream(new GzipCompressorInputStream(bis));
+            }
+
+            return new ArchiveStreamFactory().createArchiveInputStream(bis);
+        }
+        catch (ArchiveException e)
+        {
+            throw new ArtifactStorageException("Unsupported archive format, expected ZIP or TAR.", e);
+        }
+    }
+
+    private String checkEntryName(String name)
+            throws ArtifactStorageException
+    {
+        String path = name.replace('\\', '/');
+        while (path.startsWith("./"))
+        {
+            path = path.substring(2);
+        }
+
+        if (path.isEmpty() || path.startsWith("/") || Arrays.asList(path.split("/")).contains(".."))
+        {
+            throw new ArtifactStorageException(String.format("Invalid archive entry [%s].", name));
+        }
+
+        return path;
+    }
+
+    private StagedFile stageFile(RepositoryPath repositoryPath,
+                                 InputStream is)
+            throws IOException
+    {
+        StagedFile stagedFile = new StagedFile();
+        stagedFile.updated = RepositoryFiles.artifactExists(repositoryPath) &&
+                             Boolean.TRUE.equals(RepositoryFiles.isArtifact(repositoryPath));
+        stagedFile.tempPath = RepositoryFiles.temporary(repositoryPath);
+
+        Map<String, MessageDigest> digests = new LinkedHashMap<>();
+        if (!Boolean.TRUE.equals(RepositoryFiles.isChecksum(repositoryPath)))
+        {
+            for (String algorithm : repositoryPath.getFileSystem().getDigestAlgorithmSet())
+            {
+                try
+                {
+                    digests.put(algorithm, MessageDigest.getInstance(algorithm));
+                }
+                catch (NoSuchAlgorithmException e)
+                {
+                    throw new IOException(e);
+                }
+            }
+        }
+
+        byte[] buffer = new byte[BULK_BUFFER_SIZE];
+        try (OutputStream os = Files.newOutputStream(stagedFile.tempPath.getTarget()))
+        {
+            int read;
+            while ((read = is.read(buffer)) != -1)
+            {
+                os.write(buffer, 0, read);
+                for (MessageDigest digest : digests.values())
+                {
+                    digest.update(buffer, 0, read);
+                }
+                stagedFile.size += read;
+            }
+        }
+
+        if (!digests.isEmpty())
+        {
+            stagedFile.digestMap = new LinkedHashMap<>();
+            digests.forEach((k, v) -> stagedFile.digestMap.put(k, MessageDigestUtils.convertToHexadecimalString(v)));
+        }
+
+        return stagedFile;
+    }
+
+    /**
+     * Generates the checksum files which are missing from the archive and validates the provided ones.
+     */
+    private void stageChecksums(Map<RepositoryPath, StagedFile> stagedFiles)
+            throws IOException
+    {
+        Map<RepositoryPath, StagedFile> checksumFiles = new LinkedHashMap<>();
+        for (Map.Entry<RepositoryPath, StagedFile> e : stagedFiles.entrySet())
+        {
+            StagedFile stagedFile = e.getValue();
+            if (stagedFile.digestMap == null)
+            {
+                continue;
+            }
+
+            RepositoryPath repositoryPath = e.getKey();
+            LayoutFileSystemProvider provider = (LayoutFileSystemProvider) repositoryPath.getFileSystem().provider();
+            for (Map.Entry<String, String> digest : stagedFile.digestMap.entrySet())
+            {
+                RepositoryPath checksumPath = provider.getChecksumPath(repositoryPath, digest.getKey());
+                StagedFile checksumFile = stagedFiles.get(checksumPath);
+                if (checksumFile != null)
+                {
+                    String checksum = new String(Files.readAllBytes(checksumFile.tempPath.getTarget()),
+                                                 StandardCharsets.UTF_8).trim();
+                    if (!checksum.startsWith(digest.getValue()))
+                    {
+                        logger.error("The checksum for {} [{}] is invalid!", checksumPath, checksum);
+                    }
+                    continue;
+                }
+
+                StagedFile generated = new StagedFile();
+                generated.tempPath = RepositoryFiles.temporary(checksumPath);
+                generated.updated = false;
+                Files.write(generated.tempPath.getTarget(), digest.getValue().getBytes(StandardCharsets.UTF_8));
+                checksumFiles.put(checksumPath, generated);
+            }
+        }
+
+        stagedFiles.putAll(checksumFiles);
+    }
+
+    private ArtifactEntry createArtifactEntry(RepositoryPath repositoryPath,
+                                              StagedFile stagedFile)
+            throws IOException
+    {
+        Repository repository = repositoryPath.getRepository();
+
+        ArtifactEntry artifactEntry = Optional.ofNullable(repositoryPath.getArtifactEntry())
+                                              .orElseGet(ArtifactEntry::new);
+        artifactEntry.setStorageId(repository.getStorage().getId());
+        artifactEntry.setRepositoryId(repository.getId());
+        artifactEntry.setArtifactCoordinates(RepositoryFiles.readCoordinates(repositoryPath));
+
+        Date now = new Date();
+        if (artifactEntry.getCreated() == null)
+        {
+            artifactEntry.setCreated(now);
+        }
+        artifactEntry.setLastUpdated(now);
+        artifactEntry.setLastUsed(now);
+
+        artifactEntry.setSizeInBytes(stagedFile.size);
+        artifactEntry.getChecksums().clear();
+        artifactEntry.getChecksums().putAll(stagedFile.digestMap);
+
+        return artifactEntry;
+    }
+
     private long writeArtifact(RepositoryPath repositoryPath,
                                InputStream is,
                                OutputStream os)
@@ -268,9 +601,7 @@ public class ArtifactManagementService
     private void addChecksumsToCacheManager(Map<String, String> digestMap,
                                             URI artifactPath)
     {
-        digestMap.entrySet()
-                 .stream()
-                 .forEach(e -> checksumCacheManager.addArtifactChecksum(artifactPath.toString(), e.getKey(), e.getValue()));
+        checksumCacheManager.addArtifactChecksums(artifactPath.toString(), digestMap);
     }
 
     private boolean performRepositoryAcceptanceValidation(RepositoryPath path)
@@ -351,19 +682,140 @@ public class ArtifactManagementService
         }
     }
 
+    /**
+     * Copies a file, or a directory, to another location (usually another repository) without streaming the
+     * content through the application: the files are hard linked when both locations share a volume and
+     * copied channel to channel otherwise. The checksum files and the {@link ArtifactEntry} data (checksums,
+     * size, archive listing) of the source are reused, the destination entries are saved once per artifact
+     * group, and the copied events are dispatched once all the files are in place. Existing metadata files of
+     * the destination are kept, the layouts update them from the copied events.
+     */
+    @Transactional
     public void copy(RepositoryPath srcPath, RepositoryPath destPath)
             throws IOException
     {
         artifactOperationsValidator.validate(srcPath);
 
+        artifactEventListenerRegistry.dispatchArtifactCopyingEvent(srcPath, destPath);
+
+        List<RepositoryPath> srcFiles;
         if (Files.isDirectory(srcPath))
         {
-            FileSystemUtils.copyRecursively(srcPath, destPath);
+            try (Stream<Path> pathStream = Files.walk(srcPath))
+            {
+                srcFiles = pathStream.filter(p -> !Files.isDirectory(p))
+                                     .map(RepositoryPath.class::cast)
+                                     .collect(Collectors.toList());
+            }
         }
         else
         {
-            Files.copy(srcPath, destPath);
+            srcFiles = Collections.singletonList(srcPath);
         }
+
+        Map<RepositoryPath, RepositoryPath> copiedFiles = new LinkedHashMap<>();
+        Map<String, List<ArtifactEntry>> artifactEntries = new LinkedHashMap<>();
+        for (RepositoryPath srcFile : srcFiles)
+        {
+            RepositoryPath destFile = srcFile.equals(srcPath) ? destPath :
+                                      destPath.resolve(srcPath.relativize(srcFile).toString());
+
+            if (Boolean.TRUE.equals(RepositoryFiles.isMetadata(srcFile)) && Files.exists(destFile))
+            {
+                continue;
+            }
+
+            ArtifactEntry artifactEntry = null;
+            if (Boolean.TRUE.equals(RepositoryFiles.isArtifact(destFile)))
+            {
+                artifactEntry = copyArtifactEntry(srcFile, destFile);
+            }
+
+            TempRepositoryPath tempFile = RepositoryFiles.temporary(destFile);
+            Files.deleteIfExists(tempFile.getTarget());
+
+            LinkOrCopyUtils.linkOrCopy(srcFile.getTarget(), tempFile.getTarget());
+            destFile.getFileSystem().provider().moveFromTemporaryDirectory(tempFile);
+
+            copiedFiles.put(srcFile, destFile);
+            if (artifactEntry != null)
+            {
+                artifactEntries.computeIfAbsent(artifactEntry.getArtifactCoordinates().getId(),
+                                                k -> new ArrayList<>())
+                               .add(artifactEntry);
+            }
+        }
+
+        Repository destRepository = destPath.getRepository();
+        for (Map.Entry<String, List<ArtifactEntry>> entry : artifactEntries.entrySet())
+        {
+            RepositoryArtifactIdGroupEntry artifactGroup = repositoryArtifactIdGroupService.findOneOrCreate(destRepository.getStorage().getId(),
+                                                                                                            destRepository.getId(),
+                                                                                                            entry.getKey());
+            repositoryArtifactIdGroupService.addArtifactsToGroup(artifactGroup, entry.getValue());
+        }
+
+        logger.debug("Copied [{}] files from [{}] to [{}].", copiedFiles.size(), srcPath, destPath);
+
+        copiedFiles.forEach((srcFile, destFile) -> artifactEventListenerRegistry.dispatchArtifactCopiedEvent(srcFile,
+                                                                                                             destFile));
+    }
+
+    private ArtifactEntry copyArtifactEntry(RepositoryPath srcPath,
+                                            RepositoryPath destPath)
+            throws IOException
+    {
+        Repository destRepository = destPath.getRepository();
+
+        ArtifactEntry artifactEntry = Optional.ofNullable(destPath.getArtifactEntry()).orElseGet(ArtifactEntry::new);
+        artifactEntry.setStorageId(destRepository.getStorage().getId());
+        artifactEntry.setRepositoryId(destRepository.getId());
+        artifactEntry.setArtifactCoordinates(RepositoryFiles.readCoordinates(destPath));
+
+        Date now = new Date();
+        if (artifactEntry.getCreated() == null)
+        {
+            artifactEntry.setCreated(now);
+        }
+        artifactEntry.setLastUpdated(now);
+        artifactEntry.setLastUsed(now);
+
+        ArtifactEntry srcArtifactEntry = srcPath.getArtifactEntry();
+        if (srcArtifactEntry == null)
+        {
+            artifactEntry.setSizeInBytes(Files.size(srcPath));
+
+            return artifactEntry;
+        }
+
+        artifactEntry.setSizeInBytes(srcArtifactEntry.getSizeInBytes());
+        artifactEntry.getChecksums().clear();
+        artifactEntry.getChecksums().putAll(srcArtifactEntry.getChecksums());
+        artifactEntry.getArtifactAttributes().clear();
+        artifactEntry.getArtifactAttributes().putAll(srcArtifactEntry.getArtifactAttributes());
+
+        ArtifactArchiveListing srcArchiveListing = srcArtifactEntry.getArtifactArchiveListing();
+        if (srcArchiveListing != null && srcArchiveListing.getFilenames() != null)
+        {
+            ArtifactArchiveListing archiveListing = new ArtifactArchiveListing();
+            archiveListing.setFilenames(new LinkedHashSet<>(srcArchiveListing.getFilenames()));
+            artifactEntry.setArtifactArchiveListing(archiveListing);
+        }
+
+        return artifactEntry;
+    }
+
+    private static class StagedFile
+    {
+
+        private TempRepositoryPath tempPath;
+
+        private Map<String, String> digestMap;
+
+        private long size;
+
+        private boolean updated;
+
     }
 
 }
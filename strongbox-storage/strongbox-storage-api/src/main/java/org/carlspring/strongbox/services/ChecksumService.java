@@ -22,4 +22,22 @@ public interface ChecksumService
                             boolean forceRegeneration)
             throws IOException;
 
+    /**
+     * Regenerate checksum for artifact using artifactPath (string), on a bounded pool of worker threads
+     *
+     * @param storageId         String
+     * @param repositoryId      String
+     * @param basePath          String
+     * @param forceRegeneration boolean
+     * @param threads           the number of worker threads
+     * @param maxBytesPerSecond the maximum read rate, zero or negative for unlimited
+     */
+    void regenerateChecksum(String storageId,
+                            String repositoryId,
+                            String basePath,
+                            boolean forceRegeneration,
+                            int threads,
+                            long maxBytesPerSecond)
+            throws IOException;
+
 }
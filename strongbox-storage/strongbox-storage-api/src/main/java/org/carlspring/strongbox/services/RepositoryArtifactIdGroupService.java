@@ -3,6 +3,9 @@ package org.carlspring.strongbox.services;
 import org.carlspring.strongbox.data.service.support.search.PagingCriteria;
 import org.carlspring.strongbox.domain.RepositoryArtifactIdGroupEntry;
 
+import org.carlspring.strongbox.domain.ArtifactEntry;
+
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -27,6 +30,13 @@ public interface RepositoryArtifactIdGroupService
                                            String repositoryId,
                                            String artifactId);
 
+    /**
+     * Same as {@code addArtifactToGroup(artifactGroup, artifactEntry)} for each of the entries, but the group
+     * is saved only once.
+     */
+    void addArtifactsToGroup(RepositoryArtifactIdGroupEntry artifactGroup,
+                             Collection<ArtifactEntry> artifactEntries);
+
     @Override
     default Class<RepositoryArtifactIdGroupEntry> getEntityClass()
     {
@@ -2,18 +2,23 @@ package org.carlspring.strongbox.services.impl;
 
 import org.carlspring.strongbox.artifact.ArtifactTag;
 import org.carlspring.strongbox.artifact.coordinates.ArtifactCoordinates;
+import org.carlspring.strongbox.data.service.support.IndexAdvisor;
 import org.carlspring.strongbox.data.service.support.search.PagingCriteria;
 import org.carlspring.strongbox.domain.ArtifactEntry;
 import org.carlspring.strongbox.domain.ArtifactTagEntry;
 import org.carlspring.strongbox.services.ArtifactEntryService;
 import org.carlspring.strongbox.services.support.ArtifactEntrySearchCriteria;
 
+import javax.inject.Inject;
 import java.util.*;
 import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 import com.orientechnologies.orient.core.id.ORID;
+import com.orientechnologies.orient.core.index.OCompositeKey;
 import com.orientechnologies.orient.core.record.impl.ODocument;
 import com.orientechnologies.orient.core.sql.query.OSQLSynchQuery;
 import org.apache.commons.lang3.time.DateUtils;
@@ -35,6 +40,29 @@ class ArtifactEntryServiceImpl extends AbstractArtifactEntryService
 
     private static final Logger logger = LoggerFactory.getLogger(ArtifactEntryService.class);
 
+    static final String IDX_ARTIFACT_COORDINATES = "idx_artifact_coordinates";
+
+    static final String IDX_ARTIFACT = "idx_artifact";
+
+    private static final Pattern ORDER_BY_PATTERN = Pattern.compile("^[A-Za-z0-9_]+$");
+
+    /**
+     * Upper bound of the cached query shapes, the shapes are a handful in practice.
+     */
+    private static final int QUERY_CACHE_SIZE = 1024;
+
+    private static final String SKIP_PARAMETER = "skip";
+
+    /**
+     * The SQL of the coordinates queries, by query shape (the parameter names, the storage/repository conditions,
+     * the tags, the order and the strictness). All the values are passed as parameters, so a shape always produces
+     * the same SQL text and OrientDB reuses the statement parsed in its statement cache instead of parsing it again.
+     */
+    private final Map<String, String> coordinatesQueryCache = new ConcurrentHashMap<>();
+
+    @Inject
+    private IndexAdvisor indexAdvisor;
+
     private boolean artifactEntryIsSavedForTheFirstTime(ArtifactEntry artifactEntry)
     {
         return artifactEntry.getUuid() == null;
@@ -87,6 +115,10 @@ class ArtifactEntryServiceImpl extends AbstractArtifactEntryService
                                               skip,
                                               limit, orderBy, strict);
         OSQLSynchQuery<ArtifactEntry> oQuery = new OSQLSynchQuery<>(sQuery);
+        if (limit > 0)
+        {
+            oQuery.setLimit(limit);
+        }
 
         Map<String, Object> parameterMap = new HashMap<>(coordinates);
         if (storageId != null && !storageId.trim().isEmpty())
@@ -99,7 +131,12 @@ class ArtifactEntryServiceImpl extends AbstractArtifactEntryService
         }
 
         tagMap.entrySet().stream().forEach(e -> parameterMap.put(e.getKey(), e.getValue().getName()));
+        if (skip > 0)
+        {
+            parameterMap.put(SKIP_PARAMETER, skip);
+        }
 
+        indexAdvisor.inspect(getDelegate().getUnderlying(), sQuery, parameterMap);
         List<ArtifactEntry> entries = getDelegate().command(oQuery).execute(parameterMap);
 
         return entries;
@@ -145,6 +182,7 @@ class ArtifactEntryServiceImpl extends AbstractArtifactEntryService
 
         OSQLSynchQuery<ArtifactEntry> oQuery = new OSQLSynchQuery<>(sb.toString());
 
+        indexAdvisor.inspect(getDelegate().getUnderlying(), sb.toString(), parameterMap);
         return getDelegate().command(oQuery).execute(parameterMap);
     }
 
@@ -166,8 +204,8 @@ class ArtifactEntryServiceImpl extends AbstractArtifactEntryService
                                  boolean strict)
     {
         coordinates = prepareParameterMap(coordinates, strict);
-        String sQuery = buildCoordinatesQuery(storageRepositoryPairList, coordinates.keySet(), Collections.emptySet(), 0, 0, null, strict);
-        sQuery = sQuery.replace("*", "count(distinct(artifactCoordinates))");
+        String sQuery = buildCoordinatesQuery("count(distinct(artifactCoordinates))", storageRepositoryPairList,
+                                              coordinates.keySet(), Collections.emptySet(), null, strict);
         OSQLSynchQuery<ArtifactEntry> oQuery = new OSQLSynchQuery<>(sQuery);
 
         Map<String, Object> parameterMap = new HashMap<>(coordinates);
@@ -188,6 +226,7 @@ class ArtifactEntryServiceImpl extends AbstractArtifactEntryService
         });
 
 
+        indexAdvisor.inspect(getDelegate().getUnderlying(), sQuery, parameterMap);
         List<ODocument> result = getDelegate().command(oQuery).execute(parameterMap);
         return (Long) result.iterator().next().field("count");
     }
@@ -198,8 +237,8 @@ class ArtifactEntryServiceImpl extends AbstractArtifactEntryService
                                boolean strict)
     {
         coordinates = prepareParameterMap(coordinates, strict);
-        String sQuery = buildCoordinatesQuery(storageRepositoryPairList, coordinates.keySet(), Collections.emptySet(), 0, 0, null, strict);
-        sQuery = sQuery.replace("*", "count(*)");
+        String sQuery = buildCoordinatesQuery("count(*)", storageRepositoryPairList, coordinates.keySet(),
+                                              Collections.emptySet(), null, strict);
         OSQLSynchQuery<ArtifactEntry> oQuery = new OSQLSynchQuery<>(sQuery);
 
         Map<String, Object> parameterMap = new HashMap<>(coordinates);
@@ -220,6 +259,7 @@ class ArtifactEntryServiceImpl extends AbstractArtifactEntryService
         });
 
 
+        indexAdvisor.inspect(getDelegate().getUnderlying(), sQuery, parameterMap);
         List<ODocument> result = getDelegate().command(oQuery).execute(parameterMap);
         return (Long) result.iterator().next().field("count");
     }
@@ -240,6 +280,11 @@ class ArtifactEntryServiceImpl extends AbstractArtifactEntryService
         return Arrays.asList(new Pair[] { Pair.with(storageId, repositoryId) });
     }
 
+    /**
+     * @return the query of the entries, the <code>limit</code> is expected to be set on the query itself and the
+     *         <code>skip</code> to be bound as the <code>:skip</code> parameter, so that the SQL text doesn't depend
+     *         on them
+     */
     protected String buildCoordinatesQuery(Collection<Pair<String, String>> storageRepositoryPairList,
                                            Set<String> parameterNameSet,
                                            Set<String> tagNameSet,
@@ -247,9 +292,73 @@ class ArtifactEntryServiceImpl extends AbstractArtifactEntryService
                                            int limit,
                                            String orderBy,
                                            boolean strict)
+    {
+        String sQuery = buildCoordinatesQuery("*", storageRepositoryPairList, parameterNameSet, tagNameSet, orderBy,
+                                              strict);
+
+        //PAGE
+        if (skip > 0)
+        {
+            sQuery += " SKIP :" + SKIP_PARAMETER;
+        }
+
+        logger.debug("Executing SQL query> {}", sQuery);
+
+        return sQuery;
+    }
+
+    private String buildCoordinatesQuery(String projection,
+                                         Collection<Pair<String, String>> storageRepositoryPairList,
+                                         Set<String> parameterNameSet,
+                                         Set<String> tagNameSet,
+                                         String orderBy,
+                                         boolean strict)
+    {
+        if (orderBy != null && !"uuid".equals(orderBy) && !ORDER_BY_PATTERN.matcher(orderBy).matches())
+        {
+            throw new IllegalArgumentException(String.format("Invalid order property [%s].", orderBy));
+        }
+
+        // Sorted, so that the same parameters always give the same SQL.
+        Set<String> sortedParameterNameSet = new TreeSet<>(parameterNameSet);
+        Set<String> sortedTagNameSet = new TreeSet<>(tagNameSet);
+
+        StringBuilder shape = new StringBuilder();
+        shape.append(projection).append('|')
+             .append(sortedParameterNameSet).append('|')
+             .append(sortedTagNameSet).append('|')
+             .append(orderBy).append('|')
+             .append(strict);
+        storageRepositoryPairList.forEach(p -> shape.append('|')
+                                                    .append(isEmpty(p.getValue0()) ? '-' : 's')
+                                                    .append(isEmpty(p.getValue1()) ? '-' : 'r'));
+
+        String key = shape.toString();
+        String sQuery = coordinatesQueryCache.get(key);
+        if (sQuery != null)
+        {
+            return sQuery;
+        }
+
+        sQuery = createCoordinatesQuery(projection, storageRepositoryPairList, sortedParameterNameSet,
+                                        sortedTagNameSet, orderBy, strict);
+        if (coordinatesQueryCache.size() < QUERY_CACHE_SIZE)
+        {
+            coordinatesQueryCache.put(key, sQuery);
+        }
+
+        return sQuery;
+    }
+
+    private String createCoordinatesQuery(String projection,
+                                          Collection<Pair<String, String>> storageRepositoryPairList,
+                                          Set<String> parameterNameSet,
+                                          Set<String> tagNameSet,
+                                          String orderBy,
+                                          boolean strict)
     {
         StringBuilder sb = new StringBuilder();
-        sb.append("SELECT * FROM ").append(getEntityClass().getSimpleName());
+        sb.append("SELECT ").append(projection).append(" FROM ").append(getEntityClass().getSimpleName());
 
         Pair<String, String>[] storageRepositoryPairArray = storageRepositoryPairList.toArray(new Pair[storageRepositoryPairList.size()]);
         // COORDINATES
@@ -283,24 +392,17 @@ class ArtifactEntryServiceImpl extends AbstractArtifactEntryService
             sb.append(String.format(" ORDER BY artifactCoordinates.coordinates.%s", orderBy));
         }
 
-        //PAGE
-        if (skip > 0)
-        {
-            sb.append(String.format(" SKIP %s", skip));
-        }
-        if (limit > 0)
-        {
-            sb.append(String.format(" LIMIT %s", limit));
-        }
-
         // now query should looks like
         // SELECT * FROM Foo WHERE blah = :blah AND moreBlah = :moreBlah
 
-        logger.debug("Executing SQL query> {}", sb);
-
         return sb.toString();
     }
 
+    private static boolean isEmpty(String value)
+    {
+        return value == null || value.trim().isEmpty();
+    }
+
     public String calculateStorageAndRepositoryCondition(Pair<String, String> storageRepositoryPairArray,
                                                          int idx)
     {
@@ -394,37 +496,13 @@ class ArtifactEntryServiceImpl extends AbstractArtifactEntryService
                                      String repositoryId,
                                      String path)
     {
-        String sQuery = String.format("SELECT FROM INDEX:idx_artifact_coordinates WHERE key = :path");
-
-        HashMap<String, Object> params = new HashMap<>();
-        params.put("path", path);
-
-        OSQLSynchQuery<ODocument> oQuery = new OSQLSynchQuery<>(sQuery);
-        oQuery.setLimit(1);
-
-        List<ODocument> resultList = getDelegate().command(oQuery).execute(params);
-        ODocument result = resultList.isEmpty() ? null : resultList.iterator().next();
-
-        ORID artifactCoordinatesId = result == null ? null : ((ODocument) result.field("rid")).getIdentity();
+        ORID artifactCoordinatesId = findIdByIndex(IDX_ARTIFACT_COORDINATES, path);
         if (artifactCoordinatesId == null)
         {
             return null;
         }
 
-        sQuery = String.format("SELECT FROM INDEX:idx_artifact WHERE key = [:storageId, :repositoryId, :artifactCoordinatesId]");
-
-        oQuery = new OSQLSynchQuery<>(sQuery);
-        oQuery.setLimit(1);
-
-        params = new HashMap<>();
-        params.put("storageId", storageId);
-        params.put("repositoryId", repositoryId);
-        params.put("artifactCoordinatesId", artifactCoordinatesId);
-
-        resultList = getDelegate().command(oQuery).execute(params);
-        result = resultList.isEmpty() ? null : resultList.iterator().next();
-
-        return result == null ? null : ((ODocument) result.field("rid")).getIdentity();
+        return findIdByIndex(IDX_ARTIFACT, new OCompositeKey(storageId, repositoryId, artifactCoordinatesId));
     }
 
     @Override
@@ -10,6 +10,7 @@ import org.carlspring.strongbox.providers.layout.LayoutProvider;
 import org.carlspring.strongbox.providers.layout.LayoutProviderRegistry;
 import org.carlspring.strongbox.services.ChecksumService;
 import org.carlspring.strongbox.storage.Storage;
+import org.carlspring.strongbox.storage.checksum.ChecksumRegenerator;
 import org.carlspring.strongbox.storage.repository.Repository;
 
 import javax.inject.Inject;
@@ -44,6 +45,18 @@ public class ChecksumServiceImpl
                                    String basePath,
                                    boolean forceRegeneration)
         throws IOException
+    {
+        regenerateChecksum(storageId, repositoryId, basePath, forceRegeneration, ChecksumRegenerator.DEFAULT_THREADS, 0);
+    }
+
+    @Override
+    public void regenerateChecksum(String storageId,
+                                   String repositoryId,
+                                   String basePath,
+                                   boolean forceRegeneration,
+                                   int threads,
+                                   long maxBytesPerSecond)
+        throws IOException
     {
         Storage storage = getConfiguration().getStorage(storageId);
         Repository repository = storage.getRepository(repositoryId);
@@ -60,14 +73,23 @@ public class ChecksumServiceImpl
         RepositoryPath repositoryBasePath = Optional.ofNullable(basePath)
                                                     .map(p -> repositoryPathResolver.resolve(repository, basePath))
                                                     .orElseGet(() -> repositoryPathResolver.resolve(repository));
-        
-        ArtifactLocationGenerateChecksumOperation operation = new ArtifactLocationGenerateChecksumOperation();
-        operation.setBasePath(repositoryBasePath);
-        operation.setForceRegeneration(forceRegeneration);
 
-        ArtifactDirectoryLocator locator = new ArtifactDirectoryLocator();
-        locator.setOperation(operation);
-        locator.locateArtifactDirectories();
+        logger.info("Regenerating checksums for [{}] with [{}] threads (force: [{}], max bytes per second: [{}]).",
+                    repositoryBasePath, threads, forceRegeneration, maxBytesPerSecond);
+
+        try (ChecksumRegenerator checksumRegenerator = new ChecksumRegenerator(threads,
+                                                                               maxBytesPerSecond,
+                                                                               forceRegeneration))
+        {
+            ArtifactLocationGenerateChecksumOperation operation = new ArtifactLocationGenerateChecksumOperation();
+            operation.setBasePath(repositoryBasePath);
+            operation.setForceRegeneration(forceRegeneration);
+            operation.setChecksumRegenerator(checksumRegenerator);
+
+            ArtifactDirectoryLocator locator = new ArtifactDirectoryLocator();
+            locator.setOperation(operation);
+            locator.locateArtifactDirectories();
+        }
     }
 
     public Configuration getConfiguration()
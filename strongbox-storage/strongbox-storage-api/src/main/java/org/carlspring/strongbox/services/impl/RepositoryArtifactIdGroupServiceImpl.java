@@ -10,6 +10,7 @@ import org.carlspring.strongbox.services.ArtifactTagService;
 import org.carlspring.strongbox.services.RepositoryArtifactIdGroupService;
 
 import javax.inject.Inject;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -44,11 +45,31 @@ public class RepositoryArtifactIdGroupServiceImpl
     public void addArtifactToGroup(RepositoryArtifactIdGroupEntry artifactGroup,
                                    ArtifactEntry artifactEntry)
     {
-        ArtifactCoordinates coordinates = artifactEntry.getArtifactCoordinates();
-        Assert.notNull(coordinates, "coordinates should not be null");
+        ArtifactTag lastVersionTag = artifactTagService.findOneOrCreate(ArtifactTagEntry.LAST_VERSION);
+
+        putArtifactEntry(artifactGroup, artifactEntry, lastVersionTag);
+
+        save(artifactGroup);
+    }
 
+    @Override
+    public void addArtifactsToGroup(RepositoryArtifactIdGroupEntry artifactGroup,
+                                    Collection<ArtifactEntry> artifactEntries)
+    {
         ArtifactTag lastVersionTag = artifactTagService.findOneOrCreate(ArtifactTagEntry.LAST_VERSION);
 
+        artifactEntries.forEach(e -> putArtifactEntry(artifactGroup, e, lastVersionTag));
+
+        save(artifactGroup);
+    }
+
+    private void putArtifactEntry(RepositoryArtifactIdGroupEntry artifactGroup,
+                                  ArtifactEntry artifactEntry,
+                                  ArtifactTag lastVersionTag)
+    {
+        ArtifactCoordinates coordinates = artifactEntry.getArtifactCoordinates();
+        Assert.notNull(coordinates, "coordinates should not be null");
+
         artifactEntry.getTagSet().add(lastVersionTag);
         artifactGroup.putArtifactEntry(artifactEntry);
 
@@ -58,9 +79,6 @@ public class RepositoryArtifactIdGroupServiceImpl
                      .sorted((e1,
                               e2) -> e1.getArtifactCoordinates().compareTo(e2.getArtifactCoordinates()))
                      .forEach(e -> checkAndUpdateLastVersionTagIfNeeded(e, artifactEntry, lastVersionTag));
-
-
-        save(artifactGroup);
     }
 
     private <S extends ArtifactEntry> Optional<S> checkAndUpdateLastVersionTagIfNeeded(S lastVersionEntry,
@@ -11,6 +11,8 @@ import org.carlspring.strongbox.storage.repository.Repository;
 
 import javax.inject.Inject;
 import java.io.IOException;
+import java.util.Collections;
+import java.util.Map;
 import java.util.Set;
 
 import org.slf4j.Logger;
@@ -52,19 +54,28 @@ public class ArtifactStoredEventListener
 
         final Repository repository = repositoryPath.getRepository();
         final LayoutProvider layoutProvider = layoutProviderRegistry.getProvider(repository.getLayout());
-        final Set<String> archiveFilenames = layoutProvider.listArchiveFilenames(repositoryPath);
-        if (archiveFilenames.isEmpty())
+        // The archives stored through the repository streams are listed while they are written.
+        final Set<String> archiveFilenames = artifactEntry.getArtifactArchiveListing() != null ?
+                                             Collections.emptySet() :
+                                             layoutProvider.listArchiveFilenames(repositoryPath);
+        final Map<String, String> artifactAttributes = layoutProvider.getArtifactAttributes(repositoryPath);
+        if (archiveFilenames.isEmpty() && artifactAttributes.isEmpty())
         {
             return null;
         }
 
-        ArtifactArchiveListing artifactArchiveListing = artifactEntry.getArtifactArchiveListing();
-        if (artifactArchiveListing == null)
+        if (!archiveFilenames.isEmpty())
         {
-            artifactArchiveListing = new ArtifactArchiveListing();
-            artifactEntry.setArtifactArchiveListing(artifactArchiveListing);
+            ArtifactArchiveListing artifactArchiveListing = artifactEntry.getArtifactArchiveListing();
+            if (artifactArchiveListing == null)
+            {
+                artifactArchiveListing = new ArtifactArchiveListing();
+                artifactEntry.setArtifactArchiveListing(artifactArchiveListing);
+            }
+            artifactArchiveListing.setFilenames(archiveFilenames);
         }
-        artifactArchiveListing.setFilenames(archiveFilenames);
+
+        artifactEntry.getArtifactAttributes().putAll(artifactAttributes);
 
         return artifactEntry;
     }
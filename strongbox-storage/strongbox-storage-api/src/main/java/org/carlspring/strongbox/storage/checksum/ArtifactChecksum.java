@@ -1,5 +1,6 @@
 package org.carlspring.strongbox.storage.checksum;
 
+import java.io.Serializable;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Optional;
@@ -9,8 +10,11 @@ import java.util.concurrent.atomic.AtomicInteger;
  * @author mtodorov
  */
 public class ArtifactChecksum
+        implements Serializable
 {
 
+    private static final long serialVersionUID = 1L;
+
     /**
      * Key: Algorithm Value: Checksum
      */
@@ -20,7 +24,7 @@ public class ArtifactChecksum
      * The last time this checksum object was accessed in any way. Used to determine when to remove entries from the
      * cache manager.
      */
-    private long lastAccessed;
+    private volatile long lastAccessed;
 
     private AtomicInteger numberOfChecksums = new AtomicInteger(0);
 
@@ -31,6 +35,21 @@ public class ArtifactChecksum
         updateLastAccessedTime();
     }
 
+    /**
+     * Creates a copy of the checksums, to be updated and put back in place of the original ones.
+     */
+    public ArtifactChecksum(ArtifactChecksum artifactChecksum)
+    {
+        synchronized (artifactChecksum)
+        {
+            checksums.putAll(artifactChecksum.checksums);
+            numberOfChecksums.set(artifactChecksum.numberOfChecksums.get());
+            numberOfValidatedChecksums.set(artifactChecksum.numberOfValidatedChecksums.get());
+        }
+
+        updateLastAccessedTime();
+    }
+
     public synchronized void addChecksum(String algorithm,
                                          String checksum)
     {
@@ -56,7 +75,7 @@ public class ArtifactChecksum
                         .map(a -> checksums.remove(a));
     }
 
-    public String getChecksum(String algorithm)
+    public synchronized String getChecksum(String algorithm)
     {
         updateLastAccessedTime();
         return checksums.get(algorithm);
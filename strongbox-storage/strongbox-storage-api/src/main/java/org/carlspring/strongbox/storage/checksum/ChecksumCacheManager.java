@@ -1,13 +1,18 @@
 package org.carlspring.strongbox.storage.checksum;
 
-import java.util.LinkedHashMap;
-import java.util.LinkedHashSet;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.Map;
-import java.util.Optional;
-import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 
 /**
  * All artifacts should pass through here.
@@ -25,6 +30,11 @@ import org.slf4j.LoggerFactory;
  * - a checksum is not claimed within cachedChecksumLifetime, trigger an event and log
  * this, then remove the checksum from the cache. (If this checksums set is empty,
  * remove the respective Checksum from the cachedChecksums).
+ * <p>
+ * The cached checksums are kept in a concurrent map and are never changed in place: every update puts a new
+ * {@link ArtifactChecksum}, so that the map can also be a distributed one (see
+ * {@link #ChecksumCacheManager(ConcurrentMap)}). The local cache holds at most <code>maxSize</code> artifacts, the
+ * least recently accessed ones (added, updated or looked up) are evicted first.
  *
  * @author mtodorov
  */
@@ -37,7 +47,12 @@ public class ChecksumCacheManager
      * Key:     Artifact path
      * Value:   Artifact checksum.
      */
-    private Map<String, ArtifactChecksum> cachedChecksums = new LinkedHashMap<>();
+    private final ConcurrentMap<String, ArtifactChecksum> cachedChecksums;
+
+    /**
+     * Whether the expiry and the size bound are handled here, or by the map itself.
+     */
+    private final boolean local;
 
     /**
      * Specifies how long to keep the cached checksums.
@@ -52,9 +67,33 @@ public class ChecksumCacheManager
      */
     private long cachedChecksumExpiredCheckInterval = 60000L;
 
+    /**
+     * Specifies how many artifacts to keep the checksums of.
+     */
+    private int maxSize = 10000;
+
+    private final LongAdder hitCount = new LongAdder();
+
+    private final LongAdder missCount = new LongAdder();
+
+    private final LongAdder evictionCount = new LongAdder();
+
+    private ScheduledExecutorService monitor;
+
 
     public ChecksumCacheManager()
     {
+        this.cachedChecksums = new ConcurrentHashMap<>();
+        this.local = true;
+    }
+
+    /**
+     * @param cachedChecksums a map which expires and bounds its entries itself, such as a Hazelcast one
+     */
+    public ChecksumCacheManager(ConcurrentMap<String, ArtifactChecksum> cachedChecksums)
+    {
+        this.cachedChecksums = cachedChecksums;
+        this.local = false;
     }
 
     public boolean containsArtifactPath(String artifactPath)
@@ -71,12 +110,12 @@ public class ChecksumCacheManager
     public String getArtifactChecksum(String artifactBasePath,
                                       String algorithm)
     {
-        if (!cachedChecksums.containsKey(artifactBasePath))
+        final ArtifactChecksum artifactChecksum = getArtifactChecksum(artifactBasePath);
+        if (artifactChecksum == null)
         {
             return null;
         }
 
-        final ArtifactChecksum artifactChecksum = getArtifactChecksum(artifactBasePath);
         final String checksum = artifactChecksum.getChecksum(algorithm);
         if (checksum != null)
         {
@@ -88,81 +127,139 @@ public class ChecksumCacheManager
 
     public ArtifactChecksum getArtifactChecksum(String artifactBasePath)
     {
-        return cachedChecksums.get(artifactBasePath);
+        ArtifactChecksum artifactChecksum = cachedChecksums.get(artifactBasePath);
+        if (artifactChecksum == null)
+        {
+            missCount.increment();
+        }
+        else
+        {
+            hitCount.increment();
+
+            // Refreshed in place for the eviction of the local cache, a distributed map tracks the accesses itself.
+            if (local)
+            {
+                artifactChecksum.setLastAccessed(System.currentTimeMillis());
+            }
+        }
+
+        return artifactChecksum;
     }
 
     public boolean validateChecksum(String artifactPath,
                                     String algorithm,
                                     String checksum)
     {
-        return getArtifactChecksum(artifactPath, algorithm).equals(checksum);
+        return checksum.equals(getArtifactChecksum(artifactPath, algorithm));
+    }
+
+    public void addArtifactChecksum(String artifactBasePath,
+                                    String algorithm,
+                                    String checksum)
+    {
+        addArtifactChecksums(artifactBasePath, Collections.singletonMap(algorithm, checksum));
     }
 
-    public synchronized void addArtifactChecksum(String artifactBasePath,
-                                                 String algorithm,
-                                                 String checksum)
+    /**
+     * Adds all the checksums of the artifact at once.
+     *
+     * @param checksums algorithm to checksum
+     */
+    public void addArtifactChecksums(String artifactBasePath,
+                                     Map<String, String> checksums)
     {
-        logger.debug("Adding checksum '{}' [{}] for '{}' in cache.", checksum, algorithm, artifactBasePath);
+        logger.debug("Adding checksums {} for '{}' in cache.", checksums, artifactBasePath);
 
-        if (cachedChecksums.containsKey(artifactBasePath))
-        {
-            final ArtifactChecksum artifactChecksum = getArtifactChecksum(artifactBasePath);
-            artifactChecksum.addChecksum(algorithm, checksum);
-        }
-        else
-        {
-            ArtifactChecksum artifactChecksum = new ArtifactChecksum();
-            artifactChecksum.addChecksum(algorithm, checksum);
+        cachedChecksums.compute(artifactBasePath, (k, v) -> {
+            ArtifactChecksum artifactChecksum = v == null ? new ArtifactChecksum() : new ArtifactChecksum(v);
+            checksums.forEach(artifactChecksum::addChecksum);
 
-            cachedChecksums.put(artifactBasePath, artifactChecksum);
+            return artifactChecksum;
+        });
+
+        if (local && cachedChecksums.size() > maxSize)
+        {
+            evict();
         }
     }
 
-    public synchronized void removeArtifactChecksum(String artifactBasePath,
-                                                    String algorithm)
+    public void removeArtifactChecksum(String artifactBasePath,
+                                       String algorithm)
     {
-        Optional.ofNullable(getArtifactChecksum(artifactBasePath)).map(ac -> {
-            logger.debug(ac.removeChecksum(algorithm)
-                           .map(c -> String.format("Removed [%s] artifact checksum value [%s] from cache.",
-                                                   artifactBasePath,
-                                                   c))
-                           .orElseGet(() -> String.format("Checksum algorithm [%s] not found for [%s] in cache.",
-                                                          algorithm,
-                                                          artifactBasePath)));
-            return ac;
-        }).filter(ac -> ac.getChecksums().isEmpty()).ifPresent(ac -> cachedChecksums.values().remove(ac));
+        cachedChecksums.computeIfPresent(artifactBasePath, (k, v) -> {
+            ArtifactChecksum artifactChecksum = new ArtifactChecksum(v);
+            logger.debug(artifactChecksum.removeChecksum(algorithm)
+                                         .map(c -> String.format("Removed [%s] artifact checksum value [%s] from cache.",
+                                                                 artifactBasePath,
+                                                                 c))
+                                         .orElseGet(() -> String.format("Checksum algorithm [%s] not found for [%s] in cache.",
+                                                                        algorithm,
+                                                                        artifactBasePath)));
+
+            return artifactChecksum.getChecksums().isEmpty() ? null : artifactChecksum;
+        });
     }
 
-    public synchronized void removeArtifactChecksum(String artifactBasePath)
+    public void removeArtifactChecksum(String artifactBasePath)
     {
-        Optional.ofNullable(cachedChecksums.remove(artifactBasePath))
-                .ifPresent(ac -> logger.debug("Removed [{}] artifact checksum value [{}] from cache.",
-                                              artifactBasePath, ac));
+        ArtifactChecksum artifactChecksum = cachedChecksums.remove(artifactBasePath);
+        if (artifactChecksum != null)
+        {
+            logger.debug("Removed [{}] artifact checksum value [{}] from cache.", artifactBasePath, artifactChecksum);
+        }
     }
 
-    public synchronized void removeExpiredChecksums()
+    public void removeExpiredChecksums()
     {
-        for (String checksum : getExpiredChecksums())
+        for (Map.Entry<String, ArtifactChecksum> artifactChecksumEntry : cachedChecksums.entrySet())
         {
-            removeArtifactChecksum(checksum);
+            // Only if it wasn't updated in the meantime.
+            if (isExpired(artifactChecksumEntry.getValue()) &&
+                cachedChecksums.remove(artifactChecksumEntry.getKey(), artifactChecksumEntry.getValue()))
+            {
+                evictionCount.increment();
+                logger.debug("Removed expired [{}] artifact checksums from cache.", artifactChecksumEntry.getKey());
+            }
         }
     }
 
-    private Set<String> getExpiredChecksums()
+    private boolean isExpired(ArtifactChecksum checksum)
     {
-        Set<String> expiredChecksums = new LinkedHashSet<>();
+        return System.currentTimeMillis() - checksum.getLastAccessed() > cachedChecksumLifetime;
+    }
 
-        for (Map.Entry<String, ArtifactChecksum> artifactChecksumEntry : cachedChecksums.entrySet())
+    /**
+     * Removes the expired checksums and, if the cache is still full, the least recently accessed ones, leaving some
+     * room so that the next additions don't have to evict again.
+     */
+    private synchronized void evict()
+    {
+        if (cachedChecksums.size() <= maxSize)
         {
-            ArtifactChecksum checksum = artifactChecksumEntry.getValue();
+            return;
+        }
 
-            if (System.currentTimeMillis() - checksum.getLastAccessed() > cachedChecksumLifetime)
-            {
-                expiredChecksums.add(artifactChecksumEntry.getKey());
-            }
+        removeExpiredChecksums();
+
+        int excess = cachedChecksums.size() - maxSize * 9 / 10;
+        if (excess <= 0)
+        {
+            return;
         }
 
-        return expiredChecksums;
+        cachedChecksums.entrySet()
+                       .stream()
+                       .sorted(Comparator.comparingLong(e -> e.getValue().getLastAccessed()))
+                       .limit(excess)
+                       .map(Map.Entry::getKey)
+                       .forEach(artifactBasePath -> {
+                           if (cachedChecksums.remove(artifactBasePath) != null)
+                           {
+                               evictionCount.increment();
+                           }
+                       });
+
+        logger.debug("Evicted [{}] artifact checksums from the full cache.", excess);
     }
 
     public long getCachedChecksumLifetime()
@@ -185,41 +282,68 @@ public class ChecksumCacheManager
         this.cachedChecksumExpiredCheckInterval = cachedChecksumExpiredCheckInterval;
     }
 
+    public int getMaxSize()
+    {
+        return maxSize;
+    }
+
+    public void setMaxSize(int maxSize)
+    {
+        this.maxSize = maxSize;
+    }
+
     public long getSize()
     {
         return cachedChecksums.size();
     }
 
-    public void startMonitor()
+    /**
+     * @return the number of the lookups which found the checksums of the artifact in the cache
+     */
+    public long getHitCount()
+    {
+        return hitCount.sum();
+    }
+
+    /**
+     * @return the number of the lookups which didn't find the checksums of the artifact in the cache
+     */
+    public long getMissCount()
     {
-        new CachedChecksumExpirer();
+        return missCount.sum();
     }
 
-    private class CachedChecksumExpirer
-            extends Thread
+    /**
+     * @return the number of the artifacts removed from the cache because they expired or the cache was full
+     */
+    public long getEvictionCount()
     {
+        return evictionCount.sum();
+    }
 
-        private CachedChecksumExpirer()
+    public synchronized void startMonitor()
+    {
+        if (!local || monitor != null)
         {
-            start();
+            return;
         }
 
-        @Override
-        public void run()
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("checksum-cache-expirer-");
+        threadFactory.setDaemon(true);
+
+        monitor = Executors.newSingleThreadScheduledExecutor(threadFactory);
+        monitor.scheduleWithFixedDelay(this::removeExpiredChecksums,
+                                       getCachedChecksumExpiredCheckInterval(),
+                                       getCachedChecksumExpiredCheckInterval(),
+                                       TimeUnit.MILLISECONDS);
+    }
+
+    public synchronized void stopMonitor()
+    {
+        if (monitor != null)
         {
-            try
-            {
-                //noinspection InfiniteLoopStatement
-                while (true)
-                {
-                    Thread.sleep(getCachedChecksumExpiredCheckInterval());
-                    removeExpiredChecksums();
-                }
-            }
-            catch (InterruptedException e)
-            {
-                logger.error(e.getMessage(), e);
-            }
+            monitor.shutdownNow();
+            monitor = null;
         }
     }
 
@@ -0,0 +1,310 @@
+package org.carlspring.strongbox.storage.checksum;
+
+import org.carlspring.strongbox.providers.io.RepositoryFiles;
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.providers.layout.LayoutFileSystemProvider;
+import org.carlspring.strongbox.util.MessageDigestUtils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import com.google.common.util.concurrent.RateLimiter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+/**
+ * Regenerates the checksum files of a repository (or a part of it) on a bounded pool of worker threads.
+ * <p>
+ * Every file is read only once: all the digest algorithms configured for the repository are computed in
+ * the same pass, using a large direct buffer per worker thread. Unless forced, files which have all their
+ * checksum files in place and not older than the file itself are skipped without being read. The read rate
+ * can be limited, so that the regeneration doesn't saturate the storage while it serves requests.
+ * <p>
+ * Instances are not reusable: call {@link #regenerate(RepositoryPath)} for each base path and then
+ * {@link #close()} to wait for the pending files and report the totals.
+ */
+public class ChecksumRegenerator
+        implements Closeable
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(ChecksumRegenerator.class);
+
+    public static final int DEFAULT_THREADS = Runtime.getRuntime().availableProcessors();
+
+    public static final int BUFFER_SIZE = 1024 * 1024;
+
+    private static final long PROGRESS_REPORT_INTERVAL = 1000;
+
+    private final boolean forceRegeneration;
+
+    private final RateLimiter rateLimiter;
+
+    private final ThreadPoolExecutor executor;
+
+    private final ThreadLocal<ByteBuffer> buffers = ThreadLocal.withInitial(() -> ByteBuffer.allocateDirect(BUFFER_SIZE));
+
+    private final AtomicLong processedFiles = new AtomicLong();
+
+    private final AtomicLong skippedFiles = new AtomicLong();
+
+    private final AtomicLong failedFiles = new AtomicLong();
+
+    private final AtomicLong processedBytes = new AtomicLong();
+
+    private final long startTime = System.currentTimeMillis();
+
+    private volatile Path lastBasePath;
+
+    /**
+     * @param threads           the number of worker threads
+     * @param maxBytesPerSecond the maximum read rate, zero or negative for unlimited
+     * @param forceRegeneration true - to re-write the existing checksums,
+     *                          false - to regenerate the missing and outdated checksums only
+     */
+    public ChecksumRegenerator(int threads,
+                               long maxBytesPerSecond,
+                               boolean forceRegeneration)
+    {
+        int poolSize = Math.max(1, threads);
+
+        this.forceRegeneration = forceRegeneration;
+        this.rateLimiter = maxBytesPerSecond > 0 ? RateLimiter.create(maxBytesPerSecond) : null;
+        // The bounded queue together with the CallerRunsPolicy throttles the directory walk to the workers pace.
+        this.executor = new ThreadPoolExecutor(poolSize,
+                                               poolSize,
+                                               0L,
+                                               TimeUnit.MILLISECONDS,
+                                               new ArrayBlockingQueue<>(poolSize * 4),
+                                               new CustomizableThreadFactory("checksum-regeneration-"),
+                                               new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * Submits all the files under the base path to the worker pool. Base paths nested in the previous base
+     * path are skipped, as their files have already been submitted.
+     */
+    public void regenerate(RepositoryPath basePath)
+            throws IOException
+    {
+        Path previousBasePath = lastBasePath;
+        if (previousBasePath != null && basePath.startsWith(previousBasePath))
+        {
+            return;
+        }
+        lastBasePath = basePath;
+
+        try (Stream<Path> pathStream = Files.walk(basePath))
+        {
+            pathStream.filter(p -> !Files.isDirectory(p))
+                      .map(RepositoryPath.class::cast)
+                      .filter(this::isNotChecksum)
+                      .forEach(p -> submit(() -> regenerateChecksum(p)));
+        }
+    }
+
+    /**
+     * Runs the task on the worker pool, or on the calling thread if the pool queue is full.
+     */
+    void submit(Runnable task)
+    {
+        executor.execute(task);
+    }
+
+    private boolean isNotChecksum(RepositoryPath path)
+    {
+        try
+        {
+            return !Boolean.TRUE.equals(RepositoryFiles.isChecksum(path));
+        }
+        catch (IOException e)
+        {
+            logger.error("Failed to read attributes for [{}]", path, e);
+        }
+        return false;
+    }
+
+    private void regenerateChecksum(RepositoryPath path)
+    {
+        try
+        {
+            if (writeChecksum(path))
+            {
+                processedFiles.incrementAndGet();
+            }
+            else
+            {
+                skippedFiles.incrementAndGet();
+            }
+        }
+        catch (Exception e)
+        {
+            failedFiles.incrementAndGet();
+            logger.error("Failed to write checksum for [{}]", path, e);
+        }
+
+        long total = processedFiles.get() + skippedFiles.get() + failedFiles.get();
+        if (total % PROGRESS_REPORT_INTERVAL == 0)
+        {
+            reportProgress("Checksum regeneration in progress");
+        }
+    }
+
+    private boolean writeChecksum(RepositoryPath path)
+            throws IOException, NoSuchAlgorithmException
+    {
+        LayoutFileSystemProvider provider = (LayoutFileSystemProvider) path.getFileSystem().provider();
+        Set<String> digestAlgorithmSet = path.getFileSystem().getDigestAlgorithmSet();
+
+        Map<String, RepositoryPath> checksumPaths = new LinkedHashMap<>();
+        for (String algorithm : digestAlgorithmSet)
+        {
+            checksumPaths.put(algorithm, provider.getChecksumPath(path, algorithm));
+        }
+
+        if (!forceRegeneration && isUpToDate(path, checksumPaths.values()))
+        {
+            return false;
+        }
+
+        Map<String, MessageDigest> digests = new LinkedHashMap<>();
+        for (String algorithm : digestAlgorithmSet)
+        {
+            digests.put(algorithm, MessageDigest.getInstance(algorithm));
+        }
+
+        digest(path, digests.values());
+
+        for (Map.Entry<String, MessageDigest> entry : digests.entrySet())
+        {
+            String checksum = MessageDigestUtils.convertToHexadecimalString(entry.getValue());
+            Files.write(checksumPaths.get(entry.getKey()), checksum.getBytes(StandardCharsets.UTF_8));
+        }
+
+        return true;
+    }
+
+    /**
+     * Reads the file once, at the limited rate, and updates all the digests with its content.
+     */
+    void digest(Path path,
+                Collection<MessageDigest> digests)
+            throws IOException
+    {
+        ByteBuffer buffer = buffers.get();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ))
+        {
+            buffer.clear();
+
+            int read;
+            while ((read = channel.read(buffer)) != -1)
+            {
+                if (rateLimiter != null && read > 0)
+                {
+                    rateLimiter.acquire(read);
+                }
+
+                buffer.flip();
+                for (MessageDigest digest : digests)
+                {
+                    buffer.rewind();
+                    digest.update(buffer);
+                }
+                buffer.clear();
+
+                processedBytes.addAndGet(read);
+            }
+        }
+    }
+
+    private boolean isUpToDate(RepositoryPath path,
+                               Iterable<RepositoryPath> checksumPaths)
+            throws IOException
+    {
+        FileTime lastModified = Files.getLastModifiedTime(path);
+        for (RepositoryPath checksumPath : checksumPaths)
+        {
+            if (!Files.exists(checksumPath) || Files.getLastModifiedTime(checksumPath).compareTo(lastModified) < 0)
+            {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private void reportProgress(String message)
+    {
+        long elapsed = Math.max(1, System.currentTimeMillis() - startTime);
+        long megabytes = processedBytes.get() / (1024 * 1024);
+
+        logger.info("{}: regenerated [{}], skipped [{}], failed [{}] files; read [{}] MB in [{}] s ([{}] MB/s).",
+                    message,
+                    processedFiles.get(),
+                    skippedFiles.get(),
+                    failedFiles.get(),
+                    megabytes,
+                    elapsed / 1000,
+                    megabytes * 1000 / elapsed);
+    }
+
+    public long getProcessedFiles()
+    {
+        return processedFiles.get();
+    }
+
+    public long getSkippedFiles()
+    {
+        return skippedFiles.get();
+    }
+
+    public long getFailedFiles()
+    {
+        return failedFiles.get();
+    }
+
+    /**
+     * Waits for all the submitted files to be processed.
+     */
+    @Override
+    public void close()
+            throws IOException
+    {
+        executor.shutdown();
+        try
+        {
+            while (!executor.awaitTermination(1, TimeUnit.MINUTES))
+            {
+                reportProgress("Waiting for checksum regeneration");
+            }
+        }
+        catch (InterruptedException e)
+        {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+
+            throw new IOException("Checksum regeneration was interrupted.", e);
+        }
+
+        reportProgress("Checksum regeneration finished");
+    }
+
+}
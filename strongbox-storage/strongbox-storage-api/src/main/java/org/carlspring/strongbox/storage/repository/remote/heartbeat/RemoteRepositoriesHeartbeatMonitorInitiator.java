@@ -3,6 +3,7 @@ package org.carlspring.strongbox.storage.repository.remote.heartbeat;
 import java.util.List;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
@@ -75,8 +76,11 @@ public class RemoteRepositoriesHeartbeatMonitorInitiator
         RemoteRepositoryHeartbeatMonitor remoteRepositoryHeartBeatMonitor = new RemoteRepositoryHeartbeatMonitor(remoteRepositoryCacheManager,
                                                                                                                  determineMonitorStrategy(remoteRepository),
                                                                                                                  remoteRepository);
+        // The first checks are spread over the interval rather than all fired at once on boot, an unchecked remote
+        // repository is considered alive meanwhile.
+        int initialDelaySeconds = ThreadLocalRandom.current().nextInt(intervalSeconds);
         executor.scheduleWithFixedDelay(new MdcContextProvider(remoteRepositoryHeartBeatMonitor),
-                                        0,
+                                        initialDelaySeconds,
                                         intervalSeconds, TimeUnit.SECONDS);
 
         logger.info("Remote repository {} scheduled for monitoring with interval seconds {}",
@@ -0,0 +1,133 @@
+package org.carlspring.strongbox.artifact.archive;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveOutputStream;
+import org.apache.commons.compress.compressors.gzip.GzipCompressorOutputStream;
+import org.apache.commons.compress.compressors.gzip.GzipParameters;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ArchiveListingOutputStreamTest
+{
+
+    private static final String LONG_NAME = "package/" + String.join("/", Collections.nCopies(20, "nested"))
+                                            + "/file.txt";
+
+    private static final List<String> ENTRIES = Arrays.asList("package/",
+                                                              "package/package.json",
+                                                              "package/lib/index.js",
+                                                              LONG_NAME);
+
+    @Test
+    public void testNotTarArchive()
+    {
+        assertThat(ArchiveListingOutputStream.of(Paths.get("org/carlspring/a/1.0/a-1.0.jar"))).isNull();
+        assertThat(ArchiveListingOutputStream.of(Paths.get("a-1.0.pom"))).isNull();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 1, 7, 512, 8192 })
+    public void testTar(int chunkSize)
+            throws IOException
+    {
+        for (int longFileMode : new int[]{ TarArchiveOutputStream.LONGFILE_GNU, TarArchiveOutputStream.LONGFILE_POSIX })
+        {
+            ByteArrayOutputStream archive = new ByteArrayOutputStream();
+            writeTar(archive, longFileMode);
+
+            ArchiveListingOutputStream listing = ArchiveListingOutputStream.of(Paths.get("a-1.0.tar"));
+            write(listing, archive.toByteArray(), chunkSize);
+
+            assertThat(listing.getFilenames()).containsExactlyInAnyOrderElementsOf(ENTRIES);
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 1, 7, 512, 8192 })
+    public void testTarGz(int chunkSize)
+            throws IOException
+    {
+        ByteArrayOutputStream archive = new ByteArrayOutputStream();
+
+        // The file name makes the gzip header longer than the fixed part.
+        GzipParameters parameters = new GzipParameters();
+        parameters.setFilename("a-1.0.tar");
+        try (OutputStream gzip = new GzipCompressorOutputStream(archive, parameters))
+        {
+            writeTar(gzip, TarArchiveOutputStream.LONGFILE_GNU);
+        }
+
+        ArchiveListingOutputStream listing = ArchiveListingOutputStream.of(Paths.get("a-1.0.tgz"));
+        write(listing, archive.toByteArray(), chunkSize);
+
+        assertThat(listing.getFilenames()).containsExactlyInAnyOrderElementsOf(ENTRIES);
+    }
+
+    @Test
+    public void testInvalidArchive()
+    {
+        ArchiveListingOutputStream listing = ArchiveListingOutputStream.of(Paths.get("a-1.0.tar.gz"));
+        write(listing, "not an archive".getBytes(StandardCharsets.UTF_8), 8192);
+
+        assertThat(listing.getFilenames()).isNull();
+    }
+
+    @Test
+    public void testBytesAfterArchive()
+            throws IOException
+    {
+        ByteArrayOutputStream archive = new ByteArrayOutputStream();
+        writeTar(archive, TarArchiveOutputStream.LONGFILE_GNU);
+        // More than the pipe holds: the writes go on once the end of the archive has been listed.
+        archive.write(new byte[1024 * 1024]);
+
+        ArchiveListingOutputStream listing = ArchiveListingOutputStream.of(Paths.get("a-1.0.tar"));
+        write(listing, archive.toByteArray(), 8192);
+
+        assertThat(listing.getFilenames()).containsExactlyInAnyOrderElementsOf(ENTRIES);
+    }
+
+    private static void write(ArchiveListingOutputStream listing,
+                              byte[] bytes,
+                              int chunkSize)
+    {
+        for (int off = 0; off < bytes.length; off += chunkSize)
+        {
+            listing.write(bytes, off, Math.min(chunkSize, bytes.length - off));
+        }
+        listing.close();
+    }
+
+    private static void writeTar(OutputStream os,
+                                 int longFileMode)
+            throws IOException
+    {
+        TarArchiveOutputStream tar = new TarArchiveOutputStream(os);
+        tar.setLongFileMode(longFileMode);
+
+        for (String name : ENTRIES)
+        {
+            TarArchiveEntry entry = new TarArchiveEntry(name);
+            byte[] content = name.endsWith("/") ? new byte[0] : ("content of " + name).getBytes(StandardCharsets.UTF_8);
+            entry.setSize(content.length);
+
+            tar.putArchiveEntry(entry);
+            tar.write(content);
+            tar.closeArchiveEntry();
+        }
+
+        tar.finish();
+    }
+
+}
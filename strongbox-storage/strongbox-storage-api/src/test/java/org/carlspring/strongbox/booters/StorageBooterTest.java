@@ -0,0 +1,194 @@
+package org.carlspring.strongbox.booters;
+
+import org.carlspring.strongbox.configuration.Configuration;
+import org.carlspring.strongbox.configuration.ConfigurationManager;
+import org.carlspring.strongbox.providers.layout.LayoutProvider;
+import org.carlspring.strongbox.providers.layout.LayoutProviderRegistry;
+import org.carlspring.strongbox.providers.repository.group.GroupRepositorySetCollector;
+import org.carlspring.strongbox.services.RepositoryManagementService;
+import org.carlspring.strongbox.storage.Storage;
+import org.carlspring.strongbox.storage.repository.Repository;
+import org.carlspring.strongbox.storage.repository.RepositoryStatusEnum;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.ILock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ConcurrentTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Covers the readiness of the repositories initialized by {@link StorageBooter}: a repository is available once it
+ * is initialized, a repository which fails to initialize stays unavailable.
+ */
+public class StorageBooterTest
+{
+
+    private static final String STORAGE_ID = "storage0";
+
+    private static final String LAYOUT = "Maven 2";
+
+    private final RepositoryManagementService repositoryManagementService = mock(RepositoryManagementService.class);
+
+    private final LayoutProviderRegistry layoutProviderRegistry = mock(LayoutProviderRegistry.class);
+
+    private final GroupRepositorySetCollector groupRepositorySetCollector = mock(GroupRepositorySetCollector.class);
+
+    private final ILock lock = mock(ILock.class);
+
+    /**
+     * The tasks which are not run yet, all the other tasks are run right away.
+     */
+    private final List<Runnable> deferredTasks = new ArrayList<>();
+
+    private int tasksToDefer;
+
+    private StorageBooter storageBooter;
+
+    @BeforeEach
+    public void setUp()
+            throws Exception
+    {
+        Repository releases = mockRepository("releases", LAYOUT);
+        Repository snapshots = mockRepository("snapshots", LAYOUT);
+        Repository unknownLayout = mockRepository("unknown-layout", "unknown");
+        Repository group = mockRepository("group", LAYOUT);
+        when(group.isGroupRepository()).thenReturn(true);
+        when(groupRepositorySetCollector.collect(group, true)).thenReturn(new HashSet<>(Arrays.asList(releases,
+                                                                                                     snapshots)));
+
+        Map<String, Repository> repositories = new LinkedHashMap<>();
+        for (Repository repository : Arrays.asList(group, releases, snapshots, unknownLayout))
+        {
+            repositories.put(repository.getId(), repository);
+        }
+
+        Storage storage = mock(Storage.class);
+        when(storage.getId()).thenReturn(STORAGE_ID);
+        doReturn(repositories).when(storage).getRepositories();
+        for (Repository repository : repositories.values())
+        {
+            when(repository.getStorage()).thenReturn(storage);
+        }
+
+        Configuration configuration = mock(Configuration.class);
+        when(configuration.getStorages()).thenReturn(Collections.singletonMap(STORAGE_ID, storage));
+        ConfigurationManager configurationManager = mock(ConfigurationManager.class);
+        when(configurationManager.getConfiguration()).thenReturn(configuration);
+
+        when(layoutProviderRegistry.getProvider(anyString())).thenReturn(null);
+        when(layoutProviderRegistry.getProvider(LAYOUT)).thenReturn(mock(LayoutProvider.class));
+
+        HazelcastInstance hazelcastInstance = mock(HazelcastInstance.class);
+        when(hazelcastInstance.getLock(anyString())).thenReturn(lock);
+        when(lock.tryLock()).thenReturn(true);
+
+        doThrow(new IOException("Broken repository.")).when(repositoryManagementService)
+                                                      .createRepository(STORAGE_ID, "snapshots");
+
+        storageBooter = new StorageBooter();
+        ReflectionTestUtils.setField(storageBooter, "configurationManager", configurationManager);
+        ReflectionTestUtils.setField(storageBooter, "layoutProviderRegistry", layoutProviderRegistry);
+        ReflectionTestUtils.setField(storageBooter, "repositoryManagementService", repositoryManagementService);
+        ReflectionTestUtils.setField(storageBooter, "groupRepositorySetCollector", groupRepositorySetCollector);
+        ReflectionTestUtils.setField(storageBooter, "hazelcastInstance", hazelcastInstance);
+        ReflectionTestUtils.setField(storageBooter, "storageBooterTaskExecutor", new ConcurrentTaskExecutor(task -> {
+            if (tasksToDefer > 0)
+            {
+                tasksToDefer--;
+                deferredTasks.add(task);
+
+                return;
+            }
+
+            task.run();
+        }));
+    }
+
+    @Test
+    public void asyncBootShouldKeepFailedRepositoriesUnavailable()
+            throws Exception
+    {
+        ReflectionTestUtils.setField(storageBooter, "async", true);
+
+        // The background initialization doesn't start before the assertions below.
+        tasksToDefer = 1;
+        storageBooter.initialize();
+
+        assertThat(deferredTasks).hasSize(1);
+        assertThat(storageBooter.isRepositoryReady(STORAGE_ID, "releases")).isFalse();
+        assertThat(storageBooter.isRepositoryReady(STORAGE_ID, "snapshots")).isFalse();
+        assertThat(storageBooter.isRepositoryReady(STORAGE_ID, "group")).isFalse();
+        // A repository which was not configured on boot.
+        assertThat(storageBooter.isRepositoryReady(STORAGE_ID, "created-later")).isTrue();
+
+        deferredTasks.get(0).run();
+
+        assertThat(storageBooter.isRepositoryReady(STORAGE_ID, "releases")).isTrue();
+        assertThat(storageBooter.isRepositoryReady(STORAGE_ID, "group")).isTrue();
+        assertThat(storageBooter.isRepositoryReady(STORAGE_ID, "snapshots")).isFalse();
+        assertThat(storageBooter.isRepositoryReady(STORAGE_ID, "unknown-layout")).isFalse();
+
+        verify(repositoryManagementService).putInService(STORAGE_ID, "releases");
+        verify(repositoryManagementService).putInService(STORAGE_ID, "group");
+        verify(lock).unlock();
+    }
+
+    @Test
+    public void syncBootShouldFailWithFailedRepository()
+            throws Exception
+    {
+        ReflectionTestUtils.setField(storageBooter, "async", false);
+
+        assertThatExceptionOfType(IOException.class).isThrownBy(storageBooter::initialize)
+                                                    .withMessage("Broken repository.");
+
+        // The failure doesn't stop the other repositories.
+        verify(repositoryManagementService).createRepository(STORAGE_ID, "releases");
+        verify(repositoryManagementService).createRepository(STORAGE_ID, "group");
+        verify(lock).unlock();
+    }
+
+    @Test
+    public void repositoriesInitializedByAnotherNodeShouldBeReady()
+            throws Exception
+    {
+        ReflectionTestUtils.setField(storageBooter, "async", true);
+        when(lock.tryLock()).thenReturn(false);
+
+        storageBooter.initialize();
+
+        assertThat(storageBooter.isRepositoryReady(STORAGE_ID, "releases")).isTrue();
+        assertThat(storageBooter.isRepositoryReady(STORAGE_ID, "snapshots")).isTrue();
+        assertThat(storageBooter.isRepositoryReady(STORAGE_ID, "group")).isTrue();
+    }
+
+    private Repository mockRepository(String id,
+                                      String layout)
+    {
+        Repository repository = mock(Repository.class);
+        when(repository.getId()).thenReturn(id);
+        when(repository.getLayout()).thenReturn(layout);
+        when(repository.getStatus()).thenReturn(RepositoryStatusEnum.IN_SERVICE.getStatus());
+
+        return repository;
+    }
+
+}
@@ -0,0 +1,99 @@
+package org.carlspring.strongbox.data.liquibase;
+
+import org.carlspring.strongbox.StorageApiTestConfig;
+import org.carlspring.strongbox.data.CacheManagerTestExecutionListener;
+
+import javax.inject.Inject;
+import javax.sql.DataSource;
+
+import com.orientechnologies.orient.core.db.ODatabasePool;
+import liquibase.exception.LiquibaseException;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestExecutionListeners;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+@SpringBootTest
+@ActiveProfiles(profiles = "test")
+@ContextConfiguration(classes = StorageApiTestConfig.class)
+@TestExecutionListeners(listeners = { CacheManagerTestExecutionListener.class },
+                        mergeMode = TestExecutionListeners.MergeMode.MERGE_WITH_DEFAULTS)
+class VersionedSpringLiquibaseTest
+{
+
+    private static final String CHANGELOG = "classpath:/db/changelog/db.changelog-artifact-indexes.xml";
+
+    private static final String MISSING_CHANGELOG = "classpath:/db/changelog/db.changelog-missing.xml";
+
+    @Inject
+    private ODatabasePool databasePool;
+
+    @Inject
+    private DataSource dataSource;
+
+    @Inject
+    private ResourceLoader resourceLoader;
+
+    @Test
+    public void bootShouldRecordSchemaVersion()
+    {
+        VersionedSpringLiquibase liquibase = createLiquibase("liquibase", CHANGELOG);
+        String schemaVersion = liquibase.calculateSchemaVersion();
+
+        assertThat(schemaVersion).isNotEmpty();
+        assertThat(liquibase.readAttribute(VersionedSpringLiquibase.SCHEMA_VERSION_ATTRIBUTE + "liquibase"))
+                .isEqualTo(schemaVersion);
+        assertThat(liquibase.readAttribute(VersionedSpringLiquibase.SCHEMA_VERSION_ATTRIBUTE +
+                                           "artifactIndexesLiquibase"))
+                .isEqualTo(schemaVersion);
+    }
+
+    @Test
+    public void unchangedSchemaShouldBeSkipped()
+        throws LiquibaseException
+    {
+        String beanName = "versionedSpringLiquibaseSkip";
+        createLiquibase(beanName, CHANGELOG).afterPropertiesSet();
+
+        // The changelog is not even read with the same schema version.
+        VersionedSpringLiquibase liquibase = createLiquibase(beanName, MISSING_CHANGELOG);
+        liquibase.afterPropertiesSet();
+
+        assertThat(liquibase.readAttribute(VersionedSpringLiquibase.SCHEMA_VERSION_ATTRIBUTE + beanName))
+                .isEqualTo(liquibase.calculateSchemaVersion());
+    }
+
+    @Test
+    public void failedUpdateShouldNotRecordSchemaVersion()
+    {
+        String beanName = "versionedSpringLiquibaseFailure";
+        VersionedSpringLiquibase liquibase = createLiquibase(beanName, MISSING_CHANGELOG);
+
+        assertThatExceptionOfType(LiquibaseException.class).isThrownBy(liquibase::afterPropertiesSet);
+        assertThat(liquibase.readAttribute(VersionedSpringLiquibase.SCHEMA_VERSION_ATTRIBUTE + beanName)).isNull();
+    }
+
+    @Test
+    public void schemaVersionShouldBeStable()
+    {
+        assertThat(createLiquibase("first", CHANGELOG).calculateSchemaVersion())
+                .isEqualTo(createLiquibase("second", MISSING_CHANGELOG).calculateSchemaVersion());
+    }
+
+    private VersionedSpringLiquibase createLiquibase(String beanName,
+                                                     String changeLog)
+    {
+        VersionedSpringLiquibase liquibase = new VersionedSpringLiquibase(databasePool);
+        liquibase.setBeanName(beanName);
+        liquibase.setDataSource(dataSource);
+        liquibase.setResourceLoader(resourceLoader);
+        liquibase.setChangeLog(changeLog);
+
+        return liquibase;
+    }
+
+}
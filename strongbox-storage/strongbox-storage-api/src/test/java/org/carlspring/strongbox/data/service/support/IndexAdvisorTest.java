@@ -0,0 +1,133 @@
+package org.carlspring.strongbox.data.service.support;
+
+import org.carlspring.strongbox.StorageApiTestConfig;
+import org.carlspring.strongbox.artifact.coordinates.RawArtifactCoordinates;
+import org.carlspring.strongbox.data.CacheManagerTestExecutionListener;
+import org.carlspring.strongbox.domain.ArtifactEntry;
+import org.carlspring.strongbox.services.ArtifactEntryService;
+
+import javax.inject.Inject;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Map;
+
+import com.google.common.collect.ImmutableMap;
+import com.orientechnologies.orient.core.db.document.ODatabaseDocument;
+import com.orientechnologies.orient.object.db.OObjectDatabaseTx;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestExecutionListeners;
+import org.springframework.transaction.annotation.Transactional;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles(profiles = "test")
+@ContextConfiguration(classes = StorageApiTestConfig.class)
+@TestExecutionListeners(listeners = { CacheManagerTestExecutionListener.class },
+                        mergeMode = TestExecutionListeners.MergeMode.MERGE_WITH_DEFAULTS)
+@Transactional
+class IndexAdvisorTest
+{
+
+    private static final String STORAGE_ID = "storage-index-advisor";
+
+    private static final String REPOSITORY_ID = "repository-index-advisor";
+
+    @Inject
+    private IndexAdvisor indexAdvisor;
+
+    @Inject
+    private ArtifactEntryService artifactEntryService;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @BeforeEach
+    public void setUp()
+    {
+        ArtifactEntry artifactEntry = new ArtifactEntry();
+        artifactEntry.setStorageId(STORAGE_ID);
+        artifactEntry.setRepositoryId(REPOSITORY_ID);
+        artifactEntry.setArtifactCoordinates(new RawArtifactCoordinates("org/carlspring/index-advisor/1.0/jar"));
+        artifactEntry.setLastUsed(new Date());
+        artifactEntry.setSizeInBytes(1L);
+
+        artifactEntryService.save(artifactEntry);
+    }
+
+    @Test
+    public void pathQueryShouldUseIndex()
+    {
+        String sQuery = "SELECT * FROM ArtifactEntry " +
+                        "WHERE storageId = :storageId AND repositoryId = :repositoryId AND artifactPath = :artifactPath";
+
+        inspect(sQuery, ImmutableMap.of("storageId", STORAGE_ID,
+                                        "repositoryId", REPOSITORY_ID,
+                                        "artifactPath", "org/carlspring/index-advisor/1.0/jar"));
+
+        assertThat(indexAdvisor.getFullScans()).doesNotContainKey(sQuery);
+    }
+
+    @Test
+    public void repositoryQueryShouldUseIndex()
+    {
+        String sQuery = "SELECT * FROM ArtifactEntry WHERE (storageId = :storageId0 AND repositoryId = :repositoryId0)";
+
+        inspect(sQuery, ImmutableMap.of("storageId0", STORAGE_ID, "repositoryId0", REPOSITORY_ID));
+
+        assertThat(indexAdvisor.getFullScans()).doesNotContainKey(sQuery);
+    }
+
+    @Test
+    public void cleanupQueryShouldUseIndex()
+    {
+        String sQuery = "SELECT * FROM ArtifactEntry WHERE lastUsed < :lastUsed AND sizeInBytes >= :minSizeInBytes";
+
+        inspect(sQuery, ImmutableMap.of("lastUsed", new Date(), "minSizeInBytes", 0L));
+
+        assertThat(indexAdvisor.getFullScans()).doesNotContainKey(sQuery);
+    }
+
+    @Test
+    public void fullScanShouldBeReported()
+    {
+        String sQuery = "SELECT * FROM ArtifactEntry WHERE downloadCount = :downloadCount";
+
+        inspect(sQuery, Collections.singletonMap("downloadCount", 0));
+
+        assertThat(indexAdvisor.getFullScans()).containsKey(sQuery);
+    }
+
+    @Test
+    public void unwatchedClassShouldNotBeReported()
+    {
+        String sQuery = "SELECT * FROM RepositoryArtifactIdGroupEntry WHERE artifactEntries.size() = :size";
+
+        inspect(sQuery, Collections.singletonMap("size", 0));
+
+        assertThat(indexAdvisor.getFullScans()).doesNotContainKey(sQuery);
+    }
+
+    @Test
+    public void testFindTargetClass()
+    {
+        assertThat(IndexAdvisor.findTargetClass("SELECT count(*) FROM ArtifactEntry WHERE true = true"))
+                .isEqualTo("ArtifactEntry");
+        assertThat(IndexAdvisor.findTargetClass("select * from ArtifactEntry")).isEqualTo("ArtifactEntry");
+        assertThat(IndexAdvisor.findTargetClass("SELECT 1")).isNull();
+    }
+
+    private void inspect(String sQuery,
+                         Map<String, ?> parameterMap)
+    {
+        ODatabaseDocument db = ((OObjectDatabaseTx) entityManager.getDelegate()).getUnderlying();
+
+        indexAdvisor.inspect(db, sQuery, parameterMap);
+    }
+
+}
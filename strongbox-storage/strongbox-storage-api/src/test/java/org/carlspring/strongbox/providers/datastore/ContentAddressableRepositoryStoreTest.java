@@ -0,0 +1,126 @@
+package org.carlspring.strongbox.providers.datastore;
+
+import org.carlspring.strongbox.StorageApiTestConfig;
+import org.carlspring.strongbox.data.CacheManagerTestExecutionListener;
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.providers.io.RepositoryPathResolver;
+import org.carlspring.strongbox.services.ArtifactManagementService;
+import org.carlspring.strongbox.storage.repository.Repository;
+import org.carlspring.strongbox.testing.ContentAddressableRepositorySetup;
+import org.carlspring.strongbox.testing.repository.RawRepository;
+import org.carlspring.strongbox.testing.storage.repository.RepositoryManagementTestExecutionListener;
+
+import javax.inject.Inject;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestExecutionListeners;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Stores files through the {@link RepositoryPath}s of a repository with the content-addressable storage provider,
+ * to check that the files with the same content share their blob.
+ */
+@SpringBootTest
+@ActiveProfiles(profiles = "test")
+@ContextConfiguration(classes = StorageApiTestConfig.class)
+@TestExecutionListeners(listeners = { CacheManagerTestExecutionListener.class },
+                        mergeMode = TestExecutionListeners.MergeMode.MERGE_WITH_DEFAULTS)
+public class ContentAddressableRepositoryStoreTest
+{
+
+    private static final String REPOSITORY_ID = "cars-releases";
+
+    private static final String LINK_COUNT_ATTRIBUTE = "unix:nlink";
+
+    @Inject
+    private ArtifactManagementService artifactManagementService;
+
+    @Inject
+    private RepositoryPathResolver repositoryPathResolver;
+
+    @BeforeEach
+    public void setUp()
+    {
+        assumeTrue(FileSystems.getDefault().supportedFileAttributeViews().contains("unix"),
+                   "Hard link counts are not supported by the file system.");
+    }
+
+    @ExtendWith(RepositoryManagementTestExecutionListener.class)
+    @Test
+    public void storedDuplicatesShouldShareTheirContent(@RawRepository(repositoryId = REPOSITORY_ID,
+                                                                       setup = ContentAddressableRepositorySetup.class)
+                                                        Repository repository)
+            throws IOException
+    {
+        RepositoryPath first = store(repository, "org/carlspring/cars/first-1.0.jar", "duplicate");
+        RepositoryPath second = store(repository, "org/carlspring/cars/second-1.0.jar", "duplicate");
+        RepositoryPath other = store(repository, "org/carlspring/cars/other-1.0.jar", "other");
+
+        // The two repository paths and the blob.
+        assertThat(getLinkCount(first.getTarget())).isGreaterThan(2);
+        assertThat(Files.isSameFile(first.getTarget(), second.getTarget())).isTrue();
+        assertThat(Files.isSameFile(first.getTarget(), other.getTarget())).isFalse();
+        assertThat(new String(Files.readAllBytes(second), StandardCharsets.UTF_8)).isEqualTo("duplicate");
+    }
+
+    @ExtendWith(RepositoryManagementTestExecutionListener.class)
+    @Test
+    public void archiveDuplicatesShouldShareTheirContent(@RawRepository(repositoryId = REPOSITORY_ID,
+                                                                        setup = ContentAddressableRepositorySetup.class)
+                                                         Repository repository)
+            throws Exception
+    {
+        ByteArrayOutputStream archive = new ByteArrayOutputStream();
+        try (ZipArchiveOutputStream zos = new ZipArchiveOutputStream(archive))
+        {
+            for (String entry : new String[]{ "org/carlspring/cars/a-1.0.jar", "org/carlspring/cars/b-1.0.jar" })
+            {
+                zos.putArchiveEntry(new ZipArchiveEntry(entry));
+                zos.write("duplicate".getBytes(StandardCharsets.UTF_8));
+                zos.closeArchiveEntry();
+            }
+        }
+
+        artifactManagementService.storeArchive(repository, new ByteArrayInputStream(archive.toByteArray()));
+
+        Path first = repositoryPathResolver.resolve(repository, "org/carlspring/cars/a-1.0.jar").getTarget();
+        Path second = repositoryPathResolver.resolve(repository, "org/carlspring/cars/b-1.0.jar").getTarget();
+
+        assertThat(getLinkCount(first)).isGreaterThan(2);
+        assertThat(Files.isSameFile(first, second)).isTrue();
+    }
+
+    private RepositoryPath store(Repository repository,
+                                 String path,
+                                 String content)
+            throws IOException
+    {
+        RepositoryPath repositoryPath = repositoryPathResolver.resolve(repository, path);
+        artifactManagementService.store(repositoryPath,
+                                        new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)));
+
+        return repositoryPath;
+    }
+
+    private static int getLinkCount(Path path)
+            throws IOException
+    {
+        return (Integer) Files.getAttribute(path, LINK_COUNT_ATTRIBUTE);
+    }
+
+}
@@ -0,0 +1,179 @@
+package org.carlspring.strongbox.providers.io;
+
+import org.carlspring.strongbox.StorageApiTestConfig;
+import org.carlspring.strongbox.data.CacheManagerTestExecutionListener;
+import org.carlspring.strongbox.domain.ArtifactArchiveListing;
+import org.carlspring.strongbox.domain.ArtifactEntry;
+import org.carlspring.strongbox.services.ArtifactEntryService;
+import org.carlspring.strongbox.services.ArtifactManagementService;
+import org.carlspring.strongbox.storage.repository.Repository;
+import org.carlspring.strongbox.testing.repository.RawRepository;
+import org.carlspring.strongbox.testing.storage.repository.RepositoryManagementTestExecutionListener;
+
+import javax.inject.Inject;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.commons.compress.archivers.ArchiveEntry;
+import org.apache.commons.compress.archivers.ArchiveOutputStream;
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveOutputStream;
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
+import org.apache.commons.compress.compressors.gzip.GzipCompressorOutputStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestExecutionListeners;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Stores archives through the repository streams and checks the listing saved with their {@link ArtifactEntry},
+ * including the re-deploy of an archive with other entries.
+ */
+@SpringBootTest
+@ActiveProfiles(profiles = "test")
+@ContextConfiguration(classes = StorageApiTestConfig.class)
+@TestExecutionListeners(listeners = { CacheManagerTestExecutionListener.class },
+                        mergeMode = TestExecutionListeners.MergeMode.MERGE_WITH_DEFAULTS)
+public class ArchiveListingStoreTest
+{
+
+    private static final String REPOSITORY_ID = "als-releases";
+
+    private static final List<String> ENTRIES = Arrays.asList("package/package.json", "package/lib/index.js");
+
+    private static final List<String> OTHER_ENTRIES = Arrays.asList("package/package.json", "package/lib/other.js");
+
+    @Inject
+    private ArtifactManagementService artifactManagementService;
+
+    @Inject
+    private ArtifactEntryService artifactEntryService;
+
+    @Inject
+    private RepositoryPathResolver repositoryPathResolver;
+
+    @ExtendWith(RepositoryManagementTestExecutionListener.class)
+    @Test
+    public void zipShouldBeListedOnStore(@RawRepository(repositoryId = REPOSITORY_ID) Repository repository)
+            throws IOException
+    {
+        String path = "org/carlspring/als/archive-1.0.zip";
+
+        store(repository, path, zip(ENTRIES));
+
+        assertThat(getListing(repository, path).getFilenames()).containsExactlyInAnyOrderElementsOf(ENTRIES);
+    }
+
+    @ExtendWith(RepositoryManagementTestExecutionListener.class)
+    @Test
+    public void tarGzShouldBeListedOnStore(@RawRepository(repositoryId = REPOSITORY_ID) Repository repository)
+            throws IOException
+    {
+        String path = "org/carlspring/als/archive-1.0.tgz";
+
+        store(repository, path, tarGz(ENTRIES));
+
+        assertThat(getListing(repository, path).getFilenames()).containsExactlyInAnyOrderElementsOf(ENTRIES);
+    }
+
+    @ExtendWith(RepositoryManagementTestExecutionListener.class)
+    @Test
+    public void redeployShouldReplaceListing(@RawRepository(repositoryId = REPOSITORY_ID) Repository repository)
+            throws IOException
+    {
+        String path = "org/carlspring/als/archive-1.0.tar.gz";
+
+        store(repository, path, tarGz(ENTRIES));
+        store(repository, path, tarGz(OTHER_ENTRIES));
+
+        assertThat(getListing(repository, path).getFilenames()).containsExactlyInAnyOrderElementsOf(OTHER_ENTRIES);
+    }
+
+    @ExtendWith(RepositoryManagementTestExecutionListener.class)
+    @Test
+    public void redeployOfBrokenArchiveShouldClearListing(@RawRepository(repositoryId = REPOSITORY_ID)
+                                                          Repository repository)
+            throws IOException
+    {
+        String path = "org/carlspring/als/archive-1.0.zip";
+
+        store(repository, path, zip(ENTRIES));
+        store(repository, path, "not a zip".getBytes(StandardCharsets.UTF_8));
+
+        assertThat(getListing(repository, path)).isNull();
+    }
+
+    private void store(Repository repository,
+                       String path,
+                       byte[] content)
+            throws IOException
+    {
+        RepositoryPath repositoryPath = repositoryPathResolver.resolve(repository, path);
+
+        artifactManagementService.store(repositoryPath, new ByteArrayInputStream(content));
+    }
+
+    private ArtifactArchiveListing getListing(Repository repository,
+                                              String path)
+    {
+        ArtifactEntry artifactEntry = artifactEntryService.findOneArtifact(repository.getStorage().getId(),
+                                                                           repository.getId(),
+                                                                           path);
+        assertThat(artifactEntry).isNotNull();
+
+        return artifactEntry.getArtifactArchiveListing();
+    }
+
+    private static byte[] zip(List<String> entries)
+            throws IOException
+    {
+        ByteArrayOutputStream result = new ByteArrayOutputStream();
+        try (ArchiveOutputStream aos = new ZipArchiveOutputStream(result))
+        {
+            for (String entry : entries)
+            {
+                writeEntry(aos, new ZipArchiveEntry(entry), entry);
+            }
+        }
+
+        return result.toByteArray();
+    }
+
+    private static byte[] tarGz(List<String> entries)
+            throws IOException
+    {
+        ByteArrayOutputStream result = new ByteArrayOutputStream();
+        try (OutputStream gzos = new GzipCompressorOutputStream(result);
+             ArchiveOutputStream aos = new TarArchiveOutputStream(gzos))
+        {
+            for (String entry : entries)
+            {
+                TarArchiveEntry tarEntry = new TarArchiveEntry(entry);
+                tarEntry.setSize(entry.getBytes(StandardCharsets.UTF_8).length);
+                writeEntry(aos, tarEntry, entry);
+            }
+        }
+
+        return result.toByteArray();
+    }
+
+    private static void writeEntry(ArchiveOutputStream aos,
+                                   ArchiveEntry entry,
+                                   String content)
+            throws IOException
+    {
+        aos.putArchiveEntry(entry);
+        aos.write(content.getBytes(StandardCharsets.UTF_8));
+        aos.closeArchiveEntry();
+    }
+
+}
@@ -0,0 +1,105 @@
+package org.carlspring.strongbox.providers.io;
+
+import org.carlspring.strongbox.StorageApiTestConfig;
+import org.carlspring.strongbox.artifact.generator.RawArtifactGenerator;
+import org.carlspring.strongbox.data.CacheManagerTestExecutionListener;
+import org.carlspring.strongbox.event.artifact.ArtifactEvent;
+import org.carlspring.strongbox.event.artifact.ArtifactEventCoalescer;
+import org.carlspring.strongbox.event.artifact.ArtifactEventTypeEnum;
+import org.carlspring.strongbox.storage.repository.Repository;
+import org.carlspring.strongbox.testing.artifact.ArtifactManagementTestExecutionListener;
+import org.carlspring.strongbox.testing.artifact.TestArtifact;
+import org.carlspring.strongbox.testing.repository.RawRepository;
+import org.carlspring.strongbox.testing.storage.repository.RepositoryManagementTestExecutionListener;
+
+import javax.inject.Inject;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.apache.commons.codec.digest.MessageDigestAlgorithms;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestExecutionListeners;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Resolves the keys of the files of a deployed artifact, to check that an artifact and its checksums are coalesced
+ * into the event of the artifact.
+ */
+@SpringBootTest
+@ActiveProfiles(profiles = "test")
+@ContextConfiguration(classes = StorageApiTestConfig.class)
+@TestExecutionListeners(listeners = { CacheManagerTestExecutionListener.class },
+                        mergeMode = TestExecutionListeners.MergeMode.MERGE_WITH_DEFAULTS)
+public class RepositoryPathEventKeyResolverTest
+{
+
+    private static final String REPOSITORY_ID = "rpekr-releases";
+
+    private static final String ARTIFACT_PATH = "org/carlspring/test/rpekr-artifact.ext";
+
+    @Inject
+    private RepositoryPathEventKeyResolver keyResolver;
+
+    @Inject
+    private RepositoryPathResolver repositoryPathResolver;
+
+    @ExtendWith({ RepositoryManagementTestExecutionListener.class, ArtifactManagementTestExecutionListener.class })
+    @Test
+    public void checksumShouldResolveToArtifactKey(@RawRepository(repositoryId = REPOSITORY_ID) Repository repository,
+                                                   @TestArtifact(repositoryId = REPOSITORY_ID,
+                                                                 resource = ARTIFACT_PATH,
+                                                                 generator = RawArtifactGenerator.class) Path artifact)
+    {
+        RepositoryPath artifactPath = repositoryPathResolver.resolve(repository, ARTIFACT_PATH);
+        RepositoryPath checksumPath = resolveChecksum(repository);
+
+        assertThat(keyResolver.isDerived(artifactPath)).isFalse();
+        assertThat(keyResolver.isDerived(checksumPath)).isTrue();
+
+        String expectedKey = String.format("%s:%s:%s", repository.getStorage().getId(), REPOSITORY_ID, ARTIFACT_PATH);
+        assertThat(keyResolver.resolveKey(artifactPath)).isEqualTo(expectedKey);
+        assertThat(keyResolver.resolveKey(checksumPath)).isEqualTo(expectedKey);
+    }
+
+    @ExtendWith({ RepositoryManagementTestExecutionListener.class, ArtifactManagementTestExecutionListener.class })
+    @Test
+    public void artifactEventShouldBeDelivered(@RawRepository(repositoryId = REPOSITORY_ID) Repository repository,
+                                               @TestArtifact(repositoryId = REPOSITORY_ID,
+                                                             resource = ARTIFACT_PATH,
+                                                             generator = RawArtifactGenerator.class) Path artifact)
+    {
+        List<ArtifactEvent<?>> deliveredEvents = new ArrayList<>();
+        // A long window: the test flushes the events itself.
+        ArtifactEventCoalescer coalescer = new ArtifactEventCoalescer(e -> deliveredEvents.add((ArtifactEvent<?>) e),
+                                                                      Optional.of(keyResolver),
+                                                                      60000);
+
+        RepositoryPath artifactPath = repositoryPathResolver.resolve(repository, ARTIFACT_PATH);
+        assertThat(coalescer.coalesce(storedEvent(resolveChecksum(repository)))).isTrue();
+        assertThat(coalescer.coalesce(storedEvent(artifactPath))).isTrue();
+        assertThat(coalescer.coalesce(storedEvent(resolveChecksum(repository)))).isTrue();
+        coalescer.flush();
+
+        assertThat(deliveredEvents).hasSize(1);
+        assertThat(deliveredEvents.get(0).getPath()).isEqualTo(artifactPath);
+        assertThat(coalescer.getCoalescedEventCount()).isEqualTo(2);
+    }
+
+    private RepositoryPath resolveChecksum(Repository repository)
+    {
+        return repositoryPathResolver.resolve(repository,
+                                              ARTIFACT_PATH + "." + MessageDigestAlgorithms.MD5.toLowerCase());
+    }
+
+    private static ArtifactEvent<Path> storedEvent(RepositoryPath path)
+    {
+        return new ArtifactEvent<>(path, ArtifactEventTypeEnum.EVENT_ARTIFACT_FILE_STORED.getType());
+    }
+
+}
@@ -0,0 +1,154 @@
+package org.carlspring.strongbox.services.impl;
+
+import org.carlspring.strongbox.StorageApiTestConfig;
+import org.carlspring.strongbox.artifact.coordinates.AbstractArtifactCoordinates;
+import org.carlspring.strongbox.artifact.coordinates.RawArtifactCoordinates;
+import org.carlspring.strongbox.data.CacheManagerTestExecutionListener;
+import org.carlspring.strongbox.domain.ArtifactEntry;
+import org.carlspring.strongbox.services.ArtifactEntryService;
+
+import javax.inject.Inject;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.javatuples.Pair;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestExecutionListeners;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Measures the throughput of the hot {@link ArtifactEntryService} queries.
+ * <p>
+ * It is not a part of the regular build, run it with <code>-Dstrongbox.benchmark=true</code> and compare the
+ * reported queries per second between revisions.
+ */
+@SpringBootTest
+@ActiveProfiles(profiles = "test")
+@ContextConfiguration(classes = StorageApiTestConfig.class)
+@TestExecutionListeners(listeners = { CacheManagerTestExecutionListener.class },
+                        mergeMode = TestExecutionListeners.MergeMode.MERGE_WITH_DEFAULTS)
+@EnabledIfSystemProperty(named = "strongbox.benchmark", matches = "true")
+public class ArtifactEntryServiceBenchmarkTest
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(ArtifactEntryServiceBenchmarkTest.class);
+
+    private static final String STORAGE_ID = "storage0";
+
+    private static final String REPOSITORY_ID = "aesbt";
+
+    private static final String GROUP_ID = "org.carlspring.strongbox.aesbt";
+
+    private static final int ARTIFACT_COUNT = 100;
+
+    private static final int WARMUP_ITERATIONS = 500;
+
+    private static final int ITERATIONS = 5000;
+
+    @Inject
+    private ArtifactEntryService artifactEntryService;
+
+    @Inject
+    private ArtifactCoordinatesService artifactCoordinatesService;
+
+    @BeforeEach
+    public void setup()
+    {
+        for (int i = 0; i < ARTIFACT_COUNT; i++)
+        {
+            ArtifactEntry artifactEntry = new ArtifactEntry();
+            artifactEntry.setStorageId(STORAGE_ID);
+            artifactEntry.setRepositoryId(REPOSITORY_ID);
+            artifactEntry.setArtifactCoordinates(new RawArtifactCoordinates(getPath(i)));
+
+            artifactEntryService.save(artifactEntry);
+        }
+    }
+
+    @AfterEach
+    public void cleanup()
+    {
+        List<ArtifactEntry> artifactEntries = artifactEntryService.findArtifactList(null, null, pathCoordinates(),
+                                                                                    false);
+        List<AbstractArtifactCoordinates> artifactCoordinates = artifactEntries.stream()
+                                                                               .map(e -> (AbstractArtifactCoordinates) e.getArtifactCoordinates())
+                                                                               .collect(Collectors.toList());
+        artifactEntryService.delete(artifactEntries);
+        artifactCoordinatesService.delete(artifactCoordinates);
+    }
+
+    @Test
+    public void benchmarkQueries()
+    {
+        Map<String, String> coordinates = pathCoordinates();
+        List<Pair<String, String>> storageRepositoryPairList = Collections.singletonList(Pair.with(STORAGE_ID,
+                                                                                                   REPOSITORY_ID));
+
+        assertThat(artifactEntryService.findOneArtifact(STORAGE_ID, REPOSITORY_ID, getPath(0))).isNotNull();
+        assertThat(artifactEntryService.countArtifacts(storageRepositoryPairList, coordinates, false))
+                .isEqualTo(ARTIFACT_COUNT);
+
+        measure("findOneArtifact",
+                i -> artifactEntryService.findOneArtifact(STORAGE_ID, REPOSITORY_ID, getPath(i % ARTIFACT_COUNT)));
+        measure("artifactExists",
+                i -> artifactEntryService.artifactExists(STORAGE_ID, REPOSITORY_ID, getPath(i % ARTIFACT_COUNT)));
+        measure("findArtifactList",
+                i -> artifactEntryService.findArtifactList(STORAGE_ID, REPOSITORY_ID, coordinates,
+                                                           Collections.emptySet(), i % 10, 10, "path", false));
+        measure("countArtifacts",
+                i -> artifactEntryService.countArtifacts(storageRepositoryPairList, coordinates, false));
+        measure("countCoordinates",
+                i -> artifactEntryService.countCoordinates(storageRepositoryPairList, coordinates, false));
+    }
+
+    private void measure(String name,
+                         Query query)
+    {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++)
+        {
+            query.execute(i);
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++)
+        {
+            query.execute(i);
+        }
+        long elapsed = System.nanoTime() - start;
+
+        logger.info("[{}]: [{}] queries per second.", name, String.format("%.1f", ITERATIONS * 1e9 / elapsed));
+    }
+
+    private static Map<String, String> pathCoordinates()
+    {
+        Map<String, String> coordinates = new HashMap<>();
+        coordinates.put("path", GROUP_ID);
+
+        return coordinates;
+    }
+
+    private static String getPath(int i)
+    {
+        return String.format("%s/benchmark-%s/1.0/jar", GROUP_ID, i);
+    }
+
+    @FunctionalInterface
+    private interface Query
+    {
+
+        Object execute(int i);
+
+    }
+
+}
@@ -12,6 +12,7 @@ import org.carlspring.strongbox.services.ArtifactEntryService;
 import javax.inject.Inject;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
@@ -332,6 +333,46 @@ public class ArtifactEntryServiceTest
                                 });
     }
 
+    /**
+     * The skip is bound as a parameter, so the pages share the query text.
+     */
+    @Test
+    public void searchWithSkip(TestInfo testInfo)
+    {
+        final String groupId = getGroupId(GROUP_ID, testInfo);
+
+        RawArtifactCoordinates coordinates = new RawArtifactCoordinates(groupId + "/");
+
+        List<ArtifactEntry> all = artifactEntryService.findArtifactList(STORAGE_ID,
+                                                                        REPOSITORY_ID,
+                                                                        coordinates.getCoordinates(),
+                                                                        Collections.emptySet(),
+                                                                        0,
+                                                                        0,
+                                                                        "uuid",
+                                                                        false);
+        assertThat(all).hasSize(2);
+
+        List<ArtifactEntry> page = artifactEntryService.findArtifactList(STORAGE_ID,
+                                                                         REPOSITORY_ID,
+                                                                         coordinates.getCoordinates(),
+                                                                         Collections.emptySet(),
+                                                                         1,
+                                                                         1,
+                                                                         "uuid",
+                                                                         false);
+        assertThat(page).extracting(ArtifactEntry::getUuid).containsExactly(all.get(1).getUuid());
+
+        assertThat(artifactEntryService.findArtifactList(STORAGE_ID,
+                                                         REPOSITORY_ID,
+                                                         coordinates.getCoordinates(),
+                                                         Collections.emptySet(),
+                                                         2,
+                                                         1,
+                                                         "uuid",
+                                                         false)).isEmpty();
+    }
+
     /**
      * Make sure that we are able to search artifacts by two coordinates that need to be joined with logical AND operator.
      */
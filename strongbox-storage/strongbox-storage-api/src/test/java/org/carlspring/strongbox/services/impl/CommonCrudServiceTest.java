@@ -0,0 +1,214 @@
+package org.carlspring.strongbox.services.impl;
+
+import org.carlspring.strongbox.StorageApiTestConfig;
+import org.carlspring.strongbox.artifact.coordinates.RawArtifactCoordinates;
+import org.carlspring.strongbox.data.CacheManagerTestExecutionListener;
+import org.carlspring.strongbox.data.service.CommonCrudService;
+import org.carlspring.strongbox.domain.ArtifactEntry;
+import org.carlspring.strongbox.domain.RepositoryArtifactIdGroupEntry;
+import org.carlspring.strongbox.services.ArtifactEntryService;
+import org.carlspring.strongbox.services.RepositoryArtifactIdGroupService;
+
+import javax.inject.Inject;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import com.orientechnologies.orient.core.id.ORID;
+import com.orientechnologies.orient.core.storage.ORecordDuplicatedException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestExecutionListeners;
+import org.springframework.test.util.ReflectionTestUtils;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+/**
+ * Covers the identity resolution of the cascaded saves: the record IDs of an entity graph are prefetched from the
+ * UUID index once per outermost save, and held in a thread local context for the nested saves.
+ */
+@SpringBootTest
+@ActiveProfiles(profiles = "test")
+@ContextConfiguration(classes = StorageApiTestConfig.class)
+@TestExecutionListeners(listeners = { CacheManagerTestExecutionListener.class },
+                        mergeMode = TestExecutionListeners.MergeMode.MERGE_WITH_DEFAULTS)
+class CommonCrudServiceTest
+{
+
+    private static final String STORAGE_ID = "storage-common-crud";
+
+    private static final String REPOSITORY_ID = "repository-common-crud";
+
+    @Inject
+    private RepositoryArtifactIdGroupService repositoryArtifactIdGroupService;
+
+    @Inject
+    private ArtifactEntryService artifactEntryService;
+
+    @AfterEach
+    public void cleanup()
+    {
+        getIdentityContext().remove();
+
+        repositoryArtifactIdGroupService.findAll()
+                                        .ifPresent(l -> l.stream()
+                                                         .filter(g -> STORAGE_ID.equals(g.getStorageId()))
+                                                         .forEach(repositoryArtifactIdGroupService::delete));
+        artifactEntryService.findAll()
+                            .ifPresent(l -> l.stream()
+                                             .filter(e -> STORAGE_ID.equals(e.getStorageId()))
+                                             .forEach(artifactEntryService::delete));
+    }
+
+    @Test
+    public void cascadeSaveShouldResolveStoredEntities(TestInfo testInfo)
+    {
+        String name = testInfo.getTestMethod().get().getName();
+
+        RepositoryArtifactIdGroupEntry group = repositoryArtifactIdGroupService.save(
+                createGroup(name, createArtifactEntry(name + "/a/1/jar"), createArtifactEntry(name + "/a/2/jar")));
+        assertThat(getIdentityContext().get()).isNull();
+
+        Map<String, String> objectIds = getObjectIds(group);
+        assertThat(objectIds).hasSize(2);
+
+        // A detached copy of the graph, with the UUIDs only, resolves to the stored records: a new group would
+        // violate the unique (storageId, repositoryId, name) index.
+        RepositoryArtifactIdGroupEntry copy = createGroup(name,
+                                                          copyArtifactEntry(group, name + "/a/1/jar"),
+                                                          copyArtifactEntry(group, name + "/a/2/jar"));
+        copy.setUuid(group.getUuid());
+
+        RepositoryArtifactIdGroupEntry result = repositoryArtifactIdGroupService.save(copy);
+        assertThat(getIdentityContext().get()).isNull();
+        assertThat(result.getObjectId()).isEqualTo(group.getObjectId());
+
+        RepositoryArtifactIdGroupEntry loaded = repositoryArtifactIdGroupService.findOne(result.getObjectId())
+                                                                                .get();
+        assertThat(getObjectIds(loaded)).isEqualTo(objectIds);
+        assertThat(loaded.getArtifactEntries()).extracting(e -> e.getArtifactCoordinates().toPath())
+                                               .containsOnly(name + "/a/1/jar", name + "/a/2/jar");
+    }
+
+    @Test
+    public void cascadeSaveShouldMixStoredAndNewEntities(TestInfo testInfo)
+    {
+        String name = testInfo.getTestMethod().get().getName();
+
+        RepositoryArtifactIdGroupEntry group = repositoryArtifactIdGroupService.save(
+                createGroup(name, createArtifactEntry(name + "/a/1/jar")));
+        String storedId = group.getArtifactEntries().iterator().next().getObjectId();
+
+        RepositoryArtifactIdGroupEntry copy = createGroup(name,
+                                                          copyArtifactEntry(group, name + "/a/1/jar"),
+                                                          createArtifactEntry(name + "/a/2/jar"));
+        copy.setUuid(group.getUuid());
+
+        RepositoryArtifactIdGroupEntry result = repositoryArtifactIdGroupService.save(copy);
+
+        RepositoryArtifactIdGroupEntry loaded = repositoryArtifactIdGroupService.findOne(result.getObjectId())
+                                                                                .get();
+        assertThat(loaded.getArtifactEntries()).hasSize(2);
+        assertThat(getObjectIds(loaded)).containsEntry(name + "/a/1/jar", storedId)
+                                        .containsKey(name + "/a/2/jar");
+        assertThat(getObjectIds(loaded).get(name + "/a/2/jar")).isNotEqualTo(storedId);
+    }
+
+    @Test
+    public void reentrantSaveShouldFallBackToIndexLookup(TestInfo testInfo)
+    {
+        String name = testInfo.getTestMethod().get().getName();
+
+        ArtifactEntry artifactEntry = artifactEntryService.save(createArtifactEntry(name + "/a/1/jar"));
+
+        // A save within an outer save, which hasn't prefetched the UUID of this entity.
+        Map<String, ORID> outerContext = new HashMap<>();
+        getIdentityContext().set(outerContext);
+
+        ArtifactEntry copy = createArtifactEntry(name + "/a/1/jar");
+        copy.setUuid(artifactEntry.getUuid());
+        getCoordinates(copy).setUuid(getCoordinates(artifactEntry).getUuid());
+
+        ArtifactEntry result = artifactEntryService.save(copy);
+        assertThat(result.getObjectId()).isEqualTo(artifactEntry.getObjectId());
+
+        // The inner save leaves the context of the outer save in place.
+        assertThat(getIdentityContext().get()).isSameAs(outerContext);
+    }
+
+    @Test
+    public void failedSaveShouldClearIdentityContext(TestInfo testInfo)
+    {
+        String name = testInfo.getTestMethod().get().getName();
+
+        repositoryArtifactIdGroupService.save(createGroup(name, createArtifactEntry(name + "/a/1/jar")));
+
+        assertThatExceptionOfType(ORecordDuplicatedException.class)
+                .isThrownBy(() -> repositoryArtifactIdGroupService.save(
+                        createGroup(name, createArtifactEntry(name + "/a/2/jar"))));
+
+        assertThat(getIdentityContext().get()).isNull();
+    }
+
+    private RepositoryArtifactIdGroupEntry createGroup(String name,
+                                                       ArtifactEntry... artifactEntries)
+    {
+        RepositoryArtifactIdGroupEntry group = new RepositoryArtifactIdGroupEntry(STORAGE_ID, REPOSITORY_ID, name);
+        for (ArtifactEntry artifactEntry : artifactEntries)
+        {
+            group.putArtifactEntry(artifactEntry);
+        }
+
+        return group;
+    }
+
+    private ArtifactEntry createArtifactEntry(String path)
+    {
+        ArtifactEntry artifactEntry = new ArtifactEntry();
+        artifactEntry.setStorageId(STORAGE_ID);
+        artifactEntry.setRepositoryId(REPOSITORY_ID);
+        artifactEntry.setArtifactCoordinates(new RawArtifactCoordinates(path));
+
+        return artifactEntry;
+    }
+
+    private ArtifactEntry copyArtifactEntry(RepositoryArtifactIdGroupEntry group,
+                                            String path)
+    {
+        ArtifactEntry stored = group.getArtifactEntries()
+                                    .stream()
+                                    .filter(e -> path.equals(e.getArtifactCoordinates().toPath()))
+                                    .findFirst()
+                                    .get();
+
+        ArtifactEntry copy = createArtifactEntry(path);
+        copy.setUuid(stored.getUuid());
+        getCoordinates(copy).setUuid(getCoordinates(stored).getUuid());
+
+        return copy;
+    }
+
+    private RawArtifactCoordinates getCoordinates(ArtifactEntry artifactEntry)
+    {
+        return (RawArtifactCoordinates) artifactEntry.getArtifactCoordinates();
+    }
+
+    private Map<String, String> getObjectIds(RepositoryArtifactIdGroupEntry group)
+    {
+        return group.getArtifactEntries()
+                    .stream()
+                    .collect(Collectors.toMap(e -> e.getArtifactCoordinates().toPath(), ArtifactEntry::getObjectId));
+    }
+
+    @SuppressWarnings("unchecked")
+    private ThreadLocal<Map<String, ORID>> getIdentityContext()
+    {
+        return (ThreadLocal<Map<String, ORID>>) ReflectionTestUtils.getField(CommonCrudService.class,
+                                                                             "IDENTITY_CONTEXT");
+    }
+
+}
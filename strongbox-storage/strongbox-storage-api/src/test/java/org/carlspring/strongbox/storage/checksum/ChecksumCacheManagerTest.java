@@ -6,6 +6,12 @@ import org.carlspring.strongbox.util.MessageDigestUtils;
 import java.io.IOException;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.junit.jupiter.api.Test;
 import static org.assertj.core.api.Assertions.fail;
@@ -54,6 +60,117 @@ public class ChecksumCacheManagerTest
         checkerThread.interrupt();
     }
 
+    @Test
+    public void testMaxSize()
+    {
+        ChecksumCacheManager manager = new ChecksumCacheManager();
+        manager.setMaxSize(100);
+
+        for (int i = 0; i < 1000; i++)
+        {
+            manager.addArtifactChecksum("storage0/releases/artifact-" + i + ".jar", "md5", "checksum-" + i);
+        }
+
+        assertThat(manager.getSize()).isLessThanOrEqualTo(100);
+        assertThat(manager.getEvictionCount()).isEqualTo(1000 - manager.getSize());
+    }
+
+    @Test
+    public void testLeastRecentlyAccessedEviction()
+            throws InterruptedException
+    {
+        ChecksumCacheManager manager = new ChecksumCacheManager();
+        manager.setMaxSize(10);
+
+        for (int i = 0; i < 10; i++)
+        {
+            manager.addArtifactChecksum("storage0/releases/artifact-" + i + ".jar", "md5", "checksum-" + i);
+        }
+
+        // The first artifact is the oldest one to be added, but the most recently looked up.
+        Thread.sleep(10);
+        assertThat(manager.getArtifactChecksum("storage0/releases/artifact-0.jar")).isNotNull();
+
+        Thread.sleep(10);
+        manager.addArtifactChecksum("storage0/releases/artifact-10.jar", "md5", "checksum-10");
+
+        assertThat(manager.getEvictionCount()).isEqualTo(2);
+        assertThat(manager.containsArtifactPath("storage0/releases/artifact-0.jar")).isTrue();
+        assertThat(manager.containsArtifactPath("storage0/releases/artifact-10.jar")).isTrue();
+    }
+
+    @Test
+    public void testHitsAndMisses()
+    {
+        ChecksumCacheManager manager = new ChecksumCacheManager();
+        manager.addArtifactChecksum("storage0/releases/artifact.jar", "md5", "checksum");
+
+        assertThat(manager.validateChecksum("storage0/releases/artifact.jar", "md5", "checksum")).isTrue();
+        assertThat(manager.validateChecksum("storage0/releases/other.jar", "md5", "checksum")).isFalse();
+
+        assertThat(manager.getHitCount()).isEqualTo(1);
+        assertThat(manager.getMissCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void testConcurrentUpdates()
+            throws Exception
+    {
+        ChecksumCacheManager manager = new ChecksumCacheManager();
+        String artifactBasePath = "storage0/releases/artifact.jar";
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try
+        {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 200; i++)
+            {
+                String algorithm = "algorithm-" + i;
+                futures.add(executor.submit(() -> manager.addArtifactChecksum(artifactBasePath, algorithm, "checksum")));
+            }
+
+            for (Future<?> future : futures)
+            {
+                future.get();
+            }
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+
+        assertThat(manager.getArtifactChecksum(artifactBasePath).getChecksums()).hasSize(200);
+    }
+
+    @Test
+    public void testDetachedValues()
+    {
+        // Like a distributed map, which returns copies of its values.
+        ConcurrentHashMap<String, ArtifactChecksum> cachedChecksums = new ConcurrentHashMap<String, ArtifactChecksum>()
+        {
+            @Override
+            public ArtifactChecksum get(Object key)
+            {
+                ArtifactChecksum artifactChecksum = super.get(key);
+
+                return artifactChecksum == null ? null : new ArtifactChecksum(artifactChecksum);
+            }
+        };
+
+        ChecksumCacheManager manager = new ChecksumCacheManager(cachedChecksums);
+        String artifactBasePath = "storage0/releases/artifact.jar";
+
+        manager.addArtifactChecksum(artifactBasePath, "md5", "md5-checksum");
+        manager.addArtifactChecksum(artifactBasePath, "sha1", "sha1-checksum");
+        assertThat(manager.getArtifactChecksum(artifactBasePath).getChecksums()).containsOnlyKeys("md5", "sha1");
+
+        manager.removeArtifactChecksum(artifactBasePath, "md5");
+        assertThat(manager.getArtifactChecksum(artifactBasePath).getChecksums()).containsOnlyKeys("sha1");
+
+        manager.removeArtifactChecksum(artifactBasePath, "sha1");
+        assertThat(manager.containsArtifactPath(artifactBasePath)).isFalse();
+    }
+
     @Test
     public void testDigests()
             throws NoSuchAlgorithmException, IOException, CloneNotSupportedException
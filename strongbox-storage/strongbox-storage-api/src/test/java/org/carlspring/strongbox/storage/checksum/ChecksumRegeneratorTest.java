@@ -0,0 +1,175 @@
+package org.carlspring.strongbox.storage.checksum;
+
+import org.carlspring.strongbox.util.MessageDigestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ChecksumRegeneratorTest
+{
+
+    private static final int MB = 1024 * 1024;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testConcurrencyLimit()
+            throws Exception
+    {
+        int threads = 2;
+        int tasks = 40;
+
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        AtomicInteger completed = new AtomicInteger();
+        Set<String> threadNames = ConcurrentHashMap.newKeySet();
+
+        try (ChecksumRegenerator regenerator = new ChecksumRegenerator(threads, 0, false))
+        {
+            for (int i = 0; i < tasks; i++)
+            {
+                regenerator.submit(() -> {
+                    maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    threadNames.add(Thread.currentThread().getName());
+                    try
+                    {
+                        Thread.sleep(20);
+                    }
+                    catch (InterruptedException e)
+                    {
+                        Thread.currentThread().interrupt();
+                    }
+                    running.decrementAndGet();
+                    completed.incrementAndGet();
+                });
+            }
+        }
+
+        assertThat(completed.get()).isEqualTo(tasks);
+        // The workers, plus the submitting thread once the queue is full.
+        assertThat(maxRunning.get()).isLessThanOrEqualTo(threads + 1);
+        assertThat(threadNames).filteredOn(n -> n.startsWith("checksum-regeneration-")).hasSize(threads);
+        // The walk is throttled: the submitting thread had to run some of the files itself.
+        assertThat(threadNames).contains(Thread.currentThread().getName());
+    }
+
+    @Test
+    public void testSubmitBlocksWhileQueueIsFull()
+            throws Exception
+    {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger callerRuns = new AtomicInteger();
+        Thread caller = Thread.currentThread();
+
+        try (ChecksumRegenerator regenerator = new ChecksumRegenerator(1, 0, false))
+        {
+            Runnable task = () -> {
+                if (Thread.currentThread() == caller)
+                {
+                    callerRuns.incrementAndGet();
+                    release.countDown();
+                    return;
+                }
+                try
+                {
+                    release.await(10, TimeUnit.SECONDS);
+                }
+                catch (InterruptedException e)
+                {
+                    Thread.currentThread().interrupt();
+                }
+            };
+
+            // One running, four queued, then the sixth one runs on the caller.
+            for (int i = 0; i < 6; i++)
+            {
+                regenerator.submit(task);
+            }
+        }
+
+        assertThat(callerRuns.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void testRateLimit()
+            throws Exception
+    {
+        Path file = createFile(6 * MB);
+        long maxBytesPerSecond = 2 * MB;
+
+        long elapsed;
+        MessageDigest digest = MessageDigest.getInstance("SHA-1");
+        try (ChecksumRegenerator regenerator = new ChecksumRegenerator(1, maxBytesPerSecond, false))
+        {
+            long start = System.nanoTime();
+            regenerator.digest(file, Arrays.asList(digest));
+            elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        }
+
+        // The first buffer is read right away, the remaining 5 MB at 2 MB/s.
+        assertThat(elapsed).isGreaterThanOrEqualTo(2000);
+        assertThat(MessageDigestUtils.convertToHexadecimalString(digest)).isEqualTo(sha1(file));
+    }
+
+    @Test
+    public void testUnlimitedRate()
+            throws Exception
+    {
+        Path file = createFile(6 * MB);
+
+        long elapsed;
+        MessageDigest md5 = MessageDigest.getInstance("MD5");
+        MessageDigest sha1 = MessageDigest.getInstance("SHA-1");
+        try (ChecksumRegenerator regenerator = new ChecksumRegenerator(1, 0, false))
+        {
+            long start = System.nanoTime();
+            regenerator.digest(file, Arrays.asList(md5, sha1));
+            elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        }
+
+        assertThat(elapsed).isLessThan(2000);
+        // All the digests are computed from the same single read.
+        assertThat(MessageDigestUtils.convertToHexadecimalString(sha1)).isEqualTo(sha1(file));
+        assertThat(MessageDigestUtils.convertToHexadecimalString(md5)).isEqualTo(
+                MessageDigestUtils.convertToHexadecimalString(digest("MD5", file)));
+    }
+
+    private Path createFile(int size)
+            throws Exception
+    {
+        byte[] content = new byte[size];
+        new Random(size).nextBytes(content);
+
+        return Files.write(tempDir.resolve("artifact-" + size + ".jar"), content);
+    }
+
+    private static String sha1(Path file)
+            throws Exception
+    {
+        return MessageDigestUtils.convertToHexadecimalString(digest("SHA-1", file));
+    }
+
+    private static MessageDigest digest(String algorithm,
+                                        Path file)
+            throws Exception
+    {
+        MessageDigest digest = MessageDigest.getInstance(algorithm);
+        digest.update(Files.readAllBytes(file));
+
+        return digest;
+    }
+
+}
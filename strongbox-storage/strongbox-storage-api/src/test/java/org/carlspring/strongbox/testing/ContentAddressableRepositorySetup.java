@@ -0,0 +1,20 @@
+package org.carlspring.strongbox.testing;
+
+import org.carlspring.strongbox.providers.datastore.StorageProviderEnum;
+import org.carlspring.strongbox.storage.repository.RepositoryDto;
+import org.carlspring.strongbox.testing.storage.repository.RepositorySetup;
+
+/**
+ * Stores the repository with the deduplicating, content-addressable storage provider.
+ */
+public class ContentAddressableRepositorySetup
+        implements RepositorySetup
+{
+
+    @Override
+    public void setup(RepositoryDto repository)
+    {
+        repository.setImplementation(StorageProviderEnum.CONTENT_ADDRESSABLE.describe());
+    }
+
+}
@@ -7,10 +7,14 @@ import java.io.BufferedOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import org.apache.commons.io.output.TeeOutputStream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -39,6 +43,7 @@ public class LayoutOutputStream extends MultipleDigestOutputStream
     private OutputStream cacheOutputStream;
     private Function<OutputStreamFunction, ?> cacheOutputStreamTemplate = this::doWithOutputStream;
     private Map<String, String> digestMap;
+    private final List<OutputStream> teeOutputStreams = new ArrayList<>();
     
     public LayoutOutputStream(OutputStream source)
             throws NoSuchAlgorithmException
@@ -61,6 +66,22 @@ public class LayoutOutputStream extends MultipleDigestOutputStream
         this.cacheOutputStream = cacheOutputStream;
     }
 
+    /**
+     * Sends a copy of all the bytes written from now on to the given stream, so that the data which is needed about
+     * the stored file can be computed on the fly instead of reading the file once more. The stream should handle its
+     * own errors, as an exception would fail the write.
+     */
+    public void addTeeOutputStream(OutputStream teeOutputStream)
+    {
+        out = new TeeOutputStream(out, teeOutputStream);
+        teeOutputStreams.add(teeOutputStream);
+    }
+
+    public List<OutputStream> getTeeOutputStreams()
+    {
+        return Collections.unmodifiableList(teeOutputStreams);
+    }
+
     public Function<byte[], String> getDigestStringifier()
     {
         return digestStringifier;
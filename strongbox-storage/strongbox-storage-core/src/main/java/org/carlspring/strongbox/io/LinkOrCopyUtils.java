@@ -0,0 +1,93 @@
+package org.carlspring.strongbox.io;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.FileSystemException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Server side file copy which avoids moving the content through the JVM heap whenever possible.
+ * <p>
+ * If the source and the target are on the same volume, the target becomes a hard link to the source, which is
+ * a metadata-only operation. Otherwise the content is transferred between the file channels in large chunks,
+ * which lets the operating system use its own copy primitives (<code>copy_file_range</code>/<code>sendfile</code>,
+ * which also produce reflinks on copy-on-write file systems).
+ * <p>
+ * Note that hard linked files share their content, so they must only be replaced (as the storage providers do
+ * on store), never modified in place.
+ *
+ * @see ProxyFileSystemProvider
+ */
+public class LinkOrCopyUtils
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(LinkOrCopyUtils.class);
+
+    public static final long TRANSFER_CHUNK_SIZE = 64L * 1024 * 1024;
+
+    private LinkOrCopyUtils()
+    {
+    }
+
+    /**
+     * Links or copies the source to the target, which must not exist.
+     *
+     * @return true if the target was linked, false if the content was copied
+     */
+    public static boolean linkOrCopy(Path source,
+                                     Path target)
+            throws IOException
+    {
+        if (Files.getFileStore(source).equals(Files.getFileStore(target.getParent())))
+        {
+            try
+            {
+                Files.createLink(target, source);
+
+                return true;
+            }
+            catch (FileAlreadyExistsException e)
+            {
+                throw e;
+            }
+            catch (UnsupportedOperationException | FileSystemException e)
+            {
+                logger.debug("Unable to link [{}] to [{}], copying the content: {}", target, source, e.getMessage());
+
+                Files.deleteIfExists(target);
+            }
+        }
+
+        copy(source, target);
+
+        return false;
+    }
+
+    /**
+     * Copies the source to the target, which must not exist, channel to channel.
+     */
+    public static long copy(Path source,
+                            Path target)
+            throws IOException
+    {
+        try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE))
+        {
+            long size = in.size();
+            long position = 0;
+            while (position < size)
+            {
+                position += in.transferTo(position, Math.min(TRANSFER_CHUNK_SIZE, size - position), out);
+            }
+
+            return position;
+        }
+    }
+
+}
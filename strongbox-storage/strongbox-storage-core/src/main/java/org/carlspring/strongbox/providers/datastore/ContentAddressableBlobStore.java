@@ -0,0 +1,322 @@
+package org.carlspring.strongbox.providers.datastore;
+
+import org.carlspring.strongbox.util.MessageDigestUtils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.FileSystemException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Blob directory of the {@link ContentAddressableStorageProvider}.
+ * <p>
+ * Every distinct content is kept once, under its SHA-256 digest, in a two level sharded directory
+ * (<code>ab/cd/abcd...</code>). The repository paths are hard links to these blobs, so the reference count
+ * of a blob is the link count of the file, maintained by the file system itself: storing, copying, moving
+ * and deleting repository paths don't need any extra bookkeeping. A blob with a link count of one is only
+ * referenced by the blob directory and can be collected with {@link #collectGarbage()}.
+ *
+ * @see ContentAddressableFileSystemProvider
+ */
+public class ContentAddressableBlobStore
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(ContentAddressableBlobStore.class);
+
+    public static final String BLOBS_DIRECTORY = ".blobs";
+
+    public static final String TEMP_DIRECTORY = ".tmp";
+
+    private static final String LINK_COUNT_ATTRIBUTE = "unix:nlink";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Temporary links older than this are leftovers of interrupted writes.
+     */
+    private static final long TEMP_FILE_EXPIRATION = TimeUnit.HOURS.toMillis(1);
+
+    /**
+     * Separates the creation time from the unique part of the temporary file names.
+     */
+    private static final String TEMP_FILE_SEPARATOR = "-";
+
+    private final Path root;
+
+    public ContentAddressableBlobStore(Path root)
+    {
+        this.root = root.toAbsolutePath().normalize();
+    }
+
+    public Path getRoot()
+    {
+        return root;
+    }
+
+    public Path resolveBlob(String sha256)
+    {
+        return root.resolve(sha256.substring(0, 2)).resolve(sha256.substring(2, 4)).resolve(sha256);
+    }
+
+    public boolean isBlobPath(Path path)
+    {
+        return path.toAbsolutePath().normalize().startsWith(root);
+    }
+
+    /**
+     * Makes the freshly written file at the given path a reference to the blob with the given digest: if the
+     * blob already exists, the path is atomically replaced with a link to it, otherwise the file becomes the
+     * blob. Files which can't be linked (for example, a storage with its own basedir on another volume) are
+     * left as they are.
+     */
+    public void store(Path path,
+                      String sha256)
+            throws IOException
+    {
+        Path blob = resolveBlob(sha256);
+        Files.createDirectories(blob.getParent());
+
+        try
+        {
+            if (!Files.exists(blob))
+            {
+                try
+                {
+                    Files.createLink(blob, path);
+
+                    return;
+                }
+                catch (FileAlreadyExistsException e)
+                {
+                    // Stored concurrently by another writer, fall through to reference it.
+                }
+            }
+
+            try
+            {
+                link(blob, path);
+            }
+            catch (NoSuchFileException e)
+            {
+                // Collected concurrently by the garbage collector.
+                Files.createLink(blob, path);
+            }
+        }
+        catch (AtomicMoveNotSupportedException | UnsupportedOperationException e)
+        {
+            logger.debug("Unable to deduplicate [{}], keeping a separate copy.", path, e);
+        }
+        catch (FileSystemException e)
+        {
+            logger.debug("Unable to deduplicate [{}], keeping a separate copy: {}", path, e.getMessage());
+        }
+    }
+
+    /**
+     * Makes the complete file at the given path a reference to the blob of its content, reading the file to compute
+     * its digest. Files which are already references to a blob are left as they are.
+     */
+    public void deduplicate(Path path)
+            throws IOException
+    {
+        if (isBlobPath(path) || !Files.isRegularFile(path) || getReferenceCount(path) > 1)
+        {
+            return;
+        }
+
+        store(path, digest(path));
+    }
+
+    /**
+     * @return the SHA-256 digest of the file content, as a hexadecimal string
+     */
+    public String digest(Path path)
+            throws IOException
+    {
+        MessageDigest digest = createDigest();
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ))
+        {
+            while (channel.read(buffer) != -1)
+            {
+                buffer.flip();
+                digest.update(buffer);
+                buffer.clear();
+            }
+        }
+
+        return MessageDigestUtils.convertToHexadecimalString(digest.digest());
+    }
+
+    static MessageDigest createDigest()
+    {
+        try
+        {
+            return MessageDigest.getInstance("SHA-256");
+        }
+        catch (NoSuchAlgorithmException e)
+        {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Atomically (re)places the target with a hard link to the source.
+     */
+    public void link(Path source,
+                     Path target)
+            throws IOException
+    {
+        Path temp = createTempPath();
+        Files.createLink(temp, source);
+        try
+        {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        finally
+        {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Makes sure the path doesn't share its content with other references before it's modified in place.
+     */
+    public void detach(Path path)
+            throws IOException
+    {
+        if (!Files.isRegularFile(path) || getReferenceCount(path) < 2)
+        {
+            return;
+        }
+
+        Path temp = createTempPath();
+        Files.copy(path, temp, StandardCopyOption.COPY_ATTRIBUTES);
+        try
+        {
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        finally
+        {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    public int getReferenceCount(Path path)
+            throws IOException
+    {
+        return (Integer) Files.getAttribute(path, LINK_COUNT_ATTRIBUTE);
+    }
+
+    /**
+     * The temporary files are hard links to (or copies of) existing files, so they have the modification time of
+     * their source: their creation time is kept in their name instead, see {@link #isExpiredTempFile(Path, long)}.
+     */
+    private Path createTempPath()
+            throws IOException
+    {
+        Path tempDirectory = root.resolve(TEMP_DIRECTORY);
+        Files.createDirectories(tempDirectory);
+
+        return tempDirectory.resolve(System.currentTimeMillis() + TEMP_FILE_SEPARATOR + UUID.randomUUID().toString());
+    }
+
+    private boolean isExpiredTempFile(Path file,
+                                      long expiration)
+    {
+        String name = file.getFileName().toString();
+        try
+        {
+            return Long.parseLong(name.substring(0, Math.max(name.indexOf(TEMP_FILE_SEPARATOR), 0))) < expiration;
+        }
+        catch (NumberFormatException e)
+        {
+            // Not named by this version of the store.
+            return true;
+        }
+    }
+
+    /**
+     * Deletes the blobs which are no longer referenced by any repository path, together with the expired
+     * temporary links.
+     *
+     * @return the number of bytes reclaimed
+     */
+    public long collectGarbage()
+            throws IOException
+    {
+        if (!Files.exists(root))
+        {
+            return 0;
+        }
+
+        AtomicLong blobs = new AtomicLong();
+        AtomicLong deletedBlobs = new AtomicLong();
+        AtomicLong reclaimedBytes = new AtomicLong();
+        long expiration = System.currentTimeMillis() - TEMP_FILE_EXPIRATION;
+
+        Files.walkFileTree(root, new SimpleFileVisitor<Path>()
+        {
+
+            @Override
+            public FileVisitResult visitFile(Path file,
+                                             BasicFileAttributes attrs)
+                    throws IOException
+            {
+                boolean temp = root.resolve(TEMP_DIRECTORY).equals(file.getParent());
+                if (temp ? isExpiredTempFile(file, expiration) : isUnreferenced(file))
+                {
+                    if (Files.deleteIfExists(file))
+                    {
+                        deletedBlobs.incrementAndGet();
+                        reclaimedBytes.addAndGet(attrs.size());
+                    }
+                }
+                else if (!temp)
+                {
+                    blobs.incrementAndGet();
+                }
+
+                return FileVisitResult.CONTINUE;
+            }
+
+        });
+
+        logger.info("Blob store [{}] garbage collection finished: deleted [{}] files ([{}] bytes), [{}] blobs in use.",
+                    root, deletedBlobs.get(), reclaimedBytes.get(), blobs.get());
+
+        return reclaimedBytes.get();
+    }
+
+    private boolean isUnreferenced(Path blob)
+            throws IOException
+    {
+        try
+        {
+            return getReferenceCount(blob) < 2;
+        }
+        catch (NoSuchFileException e)
+        {
+            return false;
+        }
+    }
+
+}
@@ -0,0 +1,206 @@
+package org.carlspring.strongbox.providers.datastore;
+
+import org.carlspring.strongbox.io.ProxyFileSystemProvider;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.CopyOption;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.FileSystemException;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.OpenOption;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileAttribute;
+import java.nio.file.spi.FileSystemProvider;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.apache.commons.io.output.ProxyOutputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link FileSystemProvider} of the {@link ContentAddressableStorageProvider}.
+ * <p>
+ * Files which are written from scratch are handed over to the {@link ContentAddressableBlobStore} when they are
+ * closed, if their output stream was flushed (committed) after the last write, so that identical content is kept
+ * only once. Files which are written without these streams, like the files staged from an archive, are deduplicated
+ * with {@link #deduplicate(Path)} once they are complete. Copies of regular files are hard links (a metadata-only
+ * operation), and files which share their content are detached before they are modified in place.
+ *
+ * @see ContentAddressableBlobStore
+ */
+public class ContentAddressableFileSystemProvider
+        extends ProxyFileSystemProvider
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(ContentAddressableFileSystemProvider.class);
+
+    private final ContentAddressableBlobStore blobStore;
+
+    public ContentAddressableFileSystemProvider(FileSystemProvider target,
+                                                ContentAddressableBlobStore blobStore)
+    {
+        super(target);
+        this.blobStore = blobStore;
+    }
+
+    public ContentAddressableBlobStore getBlobStore()
+    {
+        return blobStore;
+    }
+
+    /**
+     * Deduplicates a complete file which was not written through a committed output stream of this provider.
+     */
+    public void deduplicate(Path path)
+        throws IOException
+    {
+        blobStore.deduplicate(unwrap(path));
+    }
+
+    @Override
+    public OutputStream newOutputStream(Path path,
+                                        OpenOption... options)
+        throws IOException
+    {
+        Set<OpenOption> openOptions = new HashSet<>(Arrays.asList(options));
+        if (openOptions.isEmpty())
+        {
+            openOptions.add(StandardOpenOption.CREATE);
+            openOptions.add(StandardOpenOption.TRUNCATE_EXISTING);
+        }
+        openOptions.add(StandardOpenOption.WRITE);
+
+        SeekableByteChannel channel = newByteChannel(path, openOptions);
+        if (!(channel instanceof DeduplicatingByteChannel))
+        {
+            return Channels.newOutputStream(channel);
+        }
+
+        // The content is complete once it's flushed, see RepositoryOutputStream.flush().
+        return new ProxyOutputStream(Channels.newOutputStream(channel))
+        {
+
+            @Override
+            public void flush()
+                throws IOException
+            {
+                super.flush();
+                ((DeduplicatingByteChannel) channel).commit();
+            }
+
+        };
+    }
+
+    @Override
+    public SeekableByteChannel newByteChannel(Path path,
+                                              Set<? extends OpenOption> options,
+                                              FileAttribute<?>... attrs)
+        throws IOException
+    {
+        Path target = unwrap(path);
+        if (!isWrite(options) || blobStore.isBlobPath(target))
+        {
+            return super.newByteChannel(target, options, attrs);
+        }
+
+        boolean rewrite = isRewrite(target, options);
+        if (rewrite &&
+            options.contains(StandardOpenOption.TRUNCATE_EXISTING) &&
+            options.contains(StandardOpenOption.CREATE) &&
+            !options.contains(StandardOpenOption.CREATE_NEW))
+        {
+            // Don't truncate the shared content, just drop this reference to it.
+            Files.deleteIfExists(target);
+        }
+        else
+        {
+            blobStore.detach(target);
+        }
+
+        SeekableByteChannel channel = super.newByteChannel(target, options, attrs);
+
+        return rewrite ? new DeduplicatingByteChannel(channel, target, blobStore) : channel;
+    }
+
+    @Override
+    public FileChannel newFileChannel(Path path,
+                                      Set<? extends OpenOption> options,
+                                      FileAttribute<?>... attrs)
+        throws IOException
+    {
+        Path target = unwrap(path);
+        if (isWrite(options) && !blobStore.isBlobPath(target))
+        {
+            blobStore.detach(target);
+        }
+
+        return super.newFileChannel(target, options, attrs);
+    }
+
+    /**
+     * Regular files are copied as hard links, so the copy doesn't read or write any content.
+     */
+    @Override
+    public void copy(Path source,
+                     Path target,
+                     CopyOption... options)
+        throws IOException
+    {
+        Path sourceTarget = unwrap(source);
+        Path targetTarget = unwrap(target);
+        if (!Files.isRegularFile(sourceTarget, LinkOption.NOFOLLOW_LINKS))
+        {
+            super.copy(sourceTarget, targetTarget, options);
+
+            return;
+        }
+
+        if (!Arrays.asList(options).contains(StandardCopyOption.REPLACE_EXISTING) &&
+            Files.exists(targetTarget, LinkOption.NOFOLLOW_LINKS))
+        {
+            throw new FileAlreadyExistsException(targetTarget.toString());
+        }
+
+        try
+        {
+            blobStore.link(sourceTarget, targetTarget);
+        }
+        catch (FileSystemException | UnsupportedOperationException e)
+        {
+            logger.debug("Unable to link [{}] to [{}], copying the content.", targetTarget, sourceTarget, e);
+
+            super.copy(sourceTarget, targetTarget, options);
+        }
+    }
+
+    private boolean isWrite(Set<? extends OpenOption> options)
+    {
+        return options.contains(StandardOpenOption.WRITE) || options.contains(StandardOpenOption.APPEND);
+    }
+
+    /**
+     * @return true if the file content is written from scratch
+     */
+    private boolean isRewrite(Path path,
+                              Set<? extends OpenOption> options)
+    {
+        if (options.contains(StandardOpenOption.APPEND) || options.contains(StandardOpenOption.READ))
+        {
+            return false;
+        }
+
+        return options.contains(StandardOpenOption.TRUNCATE_EXISTING) ||
+               options.contains(StandardOpenOption.CREATE_NEW) ||
+               !Files.exists(path);
+    }
+
+}
@@ -0,0 +1,114 @@
+package org.carlspring.strongbox.providers.datastore;
+
+import org.carlspring.strongbox.booters.PropertiesBooter;
+
+import java.io.IOException;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.spi.FileSystemProvider;
+import java.util.Optional;
+
+import javax.annotation.PostConstruct;
+import javax.inject.Inject;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Deduplicating storage provider: repository files are hard links to blobs stored once per SHA-256 digest in
+ * the <code>.blobs</code> directory of the storages root. Copying and promoting artifacts between repositories
+ * which use this provider (<code>dataStore: content-addressable</code>) is a metadata-only operation.
+ * <p>
+ * Requires a file system which supports hard links and exposes their count (the <code>unix</code> attribute
+ * view); the repositories of a storage with its own basedir on another volume are stored without deduplication.
+ * Unreferenced blobs are deleted by the <code>ContentAddressableStorageGarbageCollectionCronJob</code>.
+ *
+ * @see ContentAddressableBlobStore
+ */
+@Component("contentAddressableStorageProvider")
+public class ContentAddressableStorageProvider extends AbstractStorageProvider
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(ContentAddressableStorageProvider.class);
+
+    public static final String ALIAS = StorageProviderEnum.CONTENT_ADDRESSABLE.describe();
+
+    @Inject
+    private PropertiesBooter propertiesBooter;
+
+    @Inject
+    private FileSystemStorageProvider fileSystemStorageProvider;
+
+    private ContentAddressableBlobStore blobStore;
+
+    private FileSystemProvider fileSystemProvider;
+
+    @Override
+    public String getAlias()
+    {
+        return ALIAS;
+    }
+
+    @PostConstruct
+    @Override
+    public void register()
+    {
+        blobStore = new ContentAddressableBlobStore(getStoragesRoot().resolve(ContentAddressableBlobStore.BLOBS_DIRECTORY));
+
+        if (getFileSystem().supportedFileAttributeViews().contains("unix"))
+        {
+            fileSystemProvider = new ContentAddressableFileSystemProvider(fileSystemStorageProvider.getFileSystemProvider(),
+                                                                          blobStore);
+        }
+        else
+        {
+            logger.warn("Hard link counts are not supported by the file system, repositories with the '{}' " +
+                        "implementation will be stored without deduplication.", ALIAS);
+
+            fileSystemProvider = fileSystemStorageProvider.getFileSystemProvider();
+        }
+
+        logger.info("Registered storage provider '{}' with alias '{}' and blob store [{}].",
+                    getClass().getCanonicalName(), ALIAS, blobStore.getRoot());
+    }
+
+    private Path getStoragesRoot()
+    {
+        return Optional.ofNullable(propertiesBooter.getStorageBooterBasedir())
+                       .filter(p -> !p.trim().isEmpty())
+                       .map(p -> Paths.get(p))
+                       .orElseGet(() -> Paths.get(propertiesBooter.getVaultDirectory(), "/storages"))
+                       .toAbsolutePath()
+                       .normalize();
+    }
+
+    @Override
+    public FileSystem getFileSystem()
+    {
+        return FileSystems.getDefault();
+    }
+
+    @Override
+    public FileSystemProvider getFileSystemProvider()
+    {
+        return fileSystemProvider;
+    }
+
+    public ContentAddressableBlobStore getBlobStore()
+    {
+        return blobStore;
+    }
+
+    /**
+     * @return the number of bytes reclaimed
+     */
+    public long collectGarbage()
+            throws IOException
+    {
+        return blobStore.collectGarbage();
+    }
+
+}
@@ -0,0 +1,165 @@
+package org.carlspring.strongbox.providers.datastore;
+
+import org.carlspring.strongbox.util.MessageDigestUtils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link SeekableByteChannel} which hands the written file over to the {@link ContentAddressableBlobStore}
+ * when it's closed, if the write was committed.
+ * <p>
+ * The write is committed with {@link #commit()} once all of the content has been written, which the output
+ * streams of the {@link ContentAddressableFileSystemProvider} do on flush, like the repository output streams
+ * which flush on commit. A write which was aborted, or which continued after the commit, is closed as a plain
+ * file and never becomes a blob.
+ * <p>
+ * The SHA-256 digest is computed on the fly as long as the file is written sequentially; it's only read back
+ * if the writer repositions the channel.
+ */
+class DeduplicatingByteChannel
+        implements SeekableByteChannel
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(DeduplicatingByteChannel.class);
+
+    private final SeekableByteChannel delegate;
+
+    private final Path path;
+
+    private final ContentAddressableBlobStore blobStore;
+
+    private final MessageDigest digest;
+
+    private long digestedBytes;
+
+    private boolean sequential = true;
+
+    private boolean committed;
+
+    DeduplicatingByteChannel(SeekableByteChannel delegate,
+                             Path path,
+                             ContentAddressableBlobStore blobStore)
+    {
+        this.delegate = delegate;
+        this.path = path;
+        this.blobStore = blobStore;
+        this.digest = ContentAddressableBlobStore.createDigest();
+    }
+
+    @Override
+    public int read(ByteBuffer dst)
+            throws IOException
+    {
+        return delegate.read(dst);
+    }
+
+    @Override
+    public int write(ByteBuffer src)
+            throws IOException
+    {
+        committed = false;
+
+        if (!sequential || delegate.position() != digestedBytes)
+        {
+            sequential = false;
+
+            return delegate.write(src);
+        }
+
+        ByteBuffer written = src.duplicate();
+        int result = delegate.write(src);
+
+        written.limit(written.position() + result);
+        digest.update(written);
+        digestedBytes += result;
+
+        return result;
+    }
+
+    @Override
+    public long position()
+            throws IOException
+    {
+        return delegate.position();
+    }
+
+    @Override
+    public SeekableByteChannel position(long newPosition)
+            throws IOException
+    {
+        delegate.position(newPosition);
+
+        return this;
+    }
+
+    @Override
+    public long size()
+            throws IOException
+    {
+        return delegate.size();
+    }
+
+    @Override
+    public SeekableByteChannel truncate(long size)
+            throws IOException
+    {
+        if (size < digestedBytes)
+        {
+            sequential = false;
+        }
+        committed = false;
+        delegate.truncate(size);
+
+        return this;
+    }
+
+    @Override
+    public boolean isOpen()
+    {
+        return delegate.isOpen();
+    }
+
+    /**
+     * Marks the content written so far as complete, to be stored as a blob on close.
+     */
+    public void commit()
+    {
+        committed = true;
+    }
+
+    public boolean isCommitted()
+    {
+        return committed;
+    }
+
+    @Override
+    public void close()
+            throws IOException
+    {
+        if (!delegate.isOpen())
+        {
+            return;
+        }
+
+        boolean complete = sequential && delegate.size() == digestedBytes;
+        delegate.close();
+
+        if (!committed)
+        {
+            logger.debug("The write of [{}] was not committed, it is not deduplicated.", path);
+
+            return;
+        }
+
+        blobStore.store(path, complete ? MessageDigestUtils.convertToHexadecimalString(digest.digest()) :
+                              blobStore.digest(path));
+    }
+
+}
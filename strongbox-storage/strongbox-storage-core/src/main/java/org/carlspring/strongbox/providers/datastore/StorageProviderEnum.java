@@ -9,7 +9,9 @@ public enum StorageProviderEnum
         implements Describable
 {
 
-    FILESYSTEM("file-system");
+    FILESYSTEM("file-system"),
+
+    CONTENT_ADDRESSABLE("content-addressable");
 
     private String description;
 
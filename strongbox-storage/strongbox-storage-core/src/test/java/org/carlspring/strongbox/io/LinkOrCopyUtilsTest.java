@@ -0,0 +1,62 @@
+package org.carlspring.strongbox.io;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+public class LinkOrCopyUtilsTest
+{
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testLinkOnSameVolume()
+            throws Exception
+    {
+        Path source = Files.write(tempDir.resolve("source.jar"), "content".getBytes(StandardCharsets.UTF_8));
+        Path target = Files.createDirectories(tempDir.resolve("copy")).resolve("source.jar");
+
+        assertThat(LinkOrCopyUtils.linkOrCopy(source, target)).isTrue();
+        assertThat(Files.isSameFile(source, target)).isTrue();
+        assertThat(target).hasContent("content");
+    }
+
+    @Test
+    public void testCopy()
+            throws Exception
+    {
+        // Larger than a single buffer, so that the transfer loop is exercised.
+        byte[] content = new byte[3 * 1024 * 1024 + 17];
+        new Random(content.length).nextBytes(content);
+
+        Path source = Files.write(tempDir.resolve("source.jar"), content);
+        Path target = tempDir.resolve("target.jar");
+
+        assertThat(LinkOrCopyUtils.copy(source, target)).isEqualTo(content.length);
+        assertThat(Files.isSameFile(source, target)).isFalse();
+        assertThat(Files.readAllBytes(target)).isEqualTo(content);
+    }
+
+    @Test
+    public void testExistingTargetIsKept()
+            throws Exception
+    {
+        Path source = Files.write(tempDir.resolve("source.jar"), "content".getBytes(StandardCharsets.UTF_8));
+        Path target = Files.write(tempDir.resolve("target.jar"), "existing".getBytes(StandardCharsets.UTF_8));
+
+        assertThatExceptionOfType(FileAlreadyExistsException.class).isThrownBy(() -> LinkOrCopyUtils.linkOrCopy(source,
+                                                                                                              target));
+        assertThatExceptionOfType(FileAlreadyExistsException.class).isThrownBy(() -> LinkOrCopyUtils.copy(source,
+                                                                                                        target));
+        assertThat(target).hasContent("existing");
+    }
+
+}
@@ -0,0 +1,151 @@
+package org.carlspring.strongbox.providers.datastore;
+
+import org.carlspring.strongbox.util.MessageDigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class ContentAddressableBlobStoreTest
+{
+
+    @TempDir
+    Path storagesRoot;
+
+    private ContentAddressableBlobStore blobStore;
+
+    private Path repository;
+
+    @BeforeEach
+    public void setUp()
+            throws Exception
+    {
+        assumeTrue(FileSystems.getDefault().supportedFileAttributeViews().contains("unix"),
+                   "Hard link counts are not supported by the file system.");
+
+        blobStore = new ContentAddressableBlobStore(storagesRoot.resolve(ContentAddressableBlobStore.BLOBS_DIRECTORY));
+        repository = Files.createDirectories(storagesRoot.resolve("storage0/releases"));
+    }
+
+    @Test
+    public void testFirstStoreBecomesBlob()
+            throws Exception
+    {
+        Path file = write("a-1.0.jar", "content");
+        String sha256 = sha256("content");
+
+        blobStore.store(file, sha256);
+
+        Path blob = blobStore.resolveBlob(sha256);
+        assertThat(blob).exists();
+        assertThat(blob.getParent().getFileName().toString()).isEqualTo(sha256.substring(2, 4));
+        assertThat(Files.isSameFile(file, blob)).isTrue();
+        assertThat(blobStore.getReferenceCount(file)).isEqualTo(2);
+    }
+
+    @Test
+    public void testIdenticalContentIsStoredOnce()
+            throws Exception
+    {
+        Path first = write("a-1.0.jar", "content");
+        Path second = write("b-1.0.jar", "content");
+        String sha256 = sha256("content");
+
+        blobStore.store(first, sha256);
+        blobStore.store(second, sha256);
+
+        assertThat(Files.isSameFile(first, second)).isTrue();
+        assertThat(blobStore.getReferenceCount(blobStore.resolveBlob(sha256))).isEqualTo(3);
+        assertThat(second).hasContent("content");
+    }
+
+    @Test
+    public void testDetach()
+            throws Exception
+    {
+        Path first = write("a-1.0.jar", "content");
+        Path second = write("b-1.0.jar", "content");
+        String sha256 = sha256("content");
+        blobStore.store(first, sha256);
+        blobStore.store(second, sha256);
+
+        blobStore.detach(second);
+        Files.write(second, "changed".getBytes(StandardCharsets.UTF_8));
+
+        assertThat(Files.isSameFile(first, second)).isFalse();
+        assertThat(first).hasContent("content");
+        assertThat(blobStore.resolveBlob(sha256)).hasContent("content");
+        assertThat(blobStore.getReferenceCount(first)).isEqualTo(2);
+    }
+
+    @Test
+    public void testCollectGarbage()
+            throws Exception
+    {
+        Path referenced = write("a-1.0.jar", "referenced");
+        Path unreferenced = write("b-1.0.jar", "unreferenced");
+        blobStore.store(referenced, sha256("referenced"));
+        blobStore.store(unreferenced, sha256("unreferenced"));
+        Files.delete(unreferenced);
+
+        Path tempDirectory = Files.createDirectories(blobStore.getRoot().resolve(ContentAddressableBlobStore.TEMP_DIRECTORY));
+        long now = System.currentTimeMillis();
+        Path expiredTemp = Files.write(tempDirectory.resolve((now - TimeUnit.HOURS.toMillis(2)) + "-expired"),
+                                       new byte[1]);
+        // A link created right now to an old file: its creation time is in its name.
+        Path recentTemp = Files.write(tempDirectory.resolve(now + "-recent"), new byte[1]);
+        Files.setLastModifiedTime(recentTemp, FileTime.fromMillis(now - TimeUnit.HOURS.toMillis(2)));
+
+        long reclaimed = blobStore.collectGarbage();
+
+        assertThat(reclaimed).isEqualTo("unreferenced".length() + 1);
+        assertThat(blobStore.resolveBlob(sha256("unreferenced"))).doesNotExist();
+        assertThat(blobStore.resolveBlob(sha256("referenced"))).exists();
+        assertThat(referenced).hasContent("referenced");
+        assertThat(expiredTemp).doesNotExist();
+        assertThat(recentTemp).exists();
+    }
+
+    @Test
+    public void testStoreAfterGarbageCollection()
+            throws Exception
+    {
+        Path first = write("a-1.0.jar", "content");
+        String sha256 = sha256("content");
+        blobStore.store(first, sha256);
+        Files.delete(first);
+        blobStore.collectGarbage();
+
+        Path second = write("b-1.0.jar", "content");
+        blobStore.store(second, sha256);
+
+        assertThat(Files.isSameFile(second, blobStore.resolveBlob(sha256))).isTrue();
+    }
+
+    private Path write(String name,
+                       String content)
+            throws Exception
+    {
+        return Files.write(repository.resolve(name), content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static String sha256(String content)
+            throws Exception
+    {
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        digest.update(content.getBytes(StandardCharsets.UTF_8));
+
+        return MessageDigestUtils.convertToHexadecimalString(digest);
+    }
+
+}
@@ -0,0 +1,176 @@
+package org.carlspring.strongbox.providers.datastore;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.EnumSet;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.carlspring.strongbox.providers.datastore.ContentAddressableBlobStoreTest.sha256;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Covers the write path of the content-addressable storage, including the {@link DeduplicatingByteChannel}.
+ */
+public class ContentAddressableFileSystemProviderTest
+{
+
+    @TempDir
+    Path storagesRoot;
+
+    private ContentAddressableBlobStore blobStore;
+
+    private ContentAddressableFileSystemProvider provider;
+
+    private Path repository;
+
+    @BeforeEach
+    public void setUp()
+            throws Exception
+    {
+        assumeTrue(FileSystems.getDefault().supportedFileAttributeViews().contains("unix"),
+                   "Hard link counts are not supported by the file system.");
+
+        blobStore = new ContentAddressableBlobStore(storagesRoot.resolve(ContentAddressableBlobStore.BLOBS_DIRECTORY));
+        provider = new ContentAddressableFileSystemProvider(FileSystems.getDefault().provider(), blobStore);
+        repository = Files.createDirectories(storagesRoot.resolve("storage0/releases"));
+    }
+
+    @Test
+    public void testCommittedWritesAreDeduplicated()
+            throws Exception
+    {
+        Path first = store("a-1.0.jar", "content");
+        Path second = store("b-1.0.jar", "content");
+
+        assertThat(Files.isSameFile(first, second)).isTrue();
+        assertThat(Files.isSameFile(first, blobStore.resolveBlob(sha256("content")))).isTrue();
+    }
+
+    @Test
+    public void testUncommittedWriteIsNotStored()
+            throws Exception
+    {
+        Path path = repository.resolve("a-1.0.jar");
+
+        assertThatExceptionOfType(IOException.class).isThrownBy(() -> {
+            try (OutputStream os = provider.newOutputStream(path))
+            {
+                os.write("partial".getBytes(StandardCharsets.UTF_8));
+
+                throw new IOException("Aborted");
+            }
+        });
+
+        assertThat(blobStore.resolveBlob(sha256("partial"))).doesNotExist();
+        assertThat(blobStore.getReferenceCount(path)).isEqualTo(1);
+    }
+
+    @Test
+    public void testWriteAfterCommitIsNotStored()
+            throws Exception
+    {
+        Path path = repository.resolve("a-1.0.jar");
+
+        try (OutputStream os = provider.newOutputStream(path))
+        {
+            os.write("content".getBytes(StandardCharsets.UTF_8));
+            os.flush();
+            os.write(" and more".getBytes(StandardCharsets.UTF_8));
+        }
+
+        assertThat(blobStore.resolveBlob(sha256("content"))).doesNotExist();
+        assertThat(blobStore.resolveBlob(sha256("content and more"))).doesNotExist();
+        assertThat(path).hasContent("content and more");
+    }
+
+    @Test
+    public void testRepositionedWriteIsDigestedFromTheFile()
+            throws Exception
+    {
+        Path path = repository.resolve("a-1.0.jar");
+
+        try (SeekableByteChannel channel = provider.newByteChannel(path, EnumSet.of(StandardOpenOption.CREATE_NEW,
+                                                                                    StandardOpenOption.WRITE)))
+        {
+            assertThat(channel).isInstanceOf(DeduplicatingByteChannel.class);
+
+            channel.write(ByteBuffer.wrap("xxxxtent".getBytes(StandardCharsets.UTF_8)));
+            channel.position(0);
+            channel.write(ByteBuffer.wrap("con".getBytes(StandardCharsets.UTF_8)));
+            ((DeduplicatingByteChannel) channel).commit();
+        }
+
+        assertThat(path).hasContent("conxtent");
+        assertThat(Files.isSameFile(path, blobStore.resolveBlob(sha256("conxtent")))).isTrue();
+    }
+
+    @Test
+    public void testRewriteDoesNotChangeSharedContent()
+            throws Exception
+    {
+        Path first = store("a-1.0.jar", "content");
+        Path second = store("b-1.0.jar", "content");
+
+        store("b-1.0.jar", "changed");
+
+        assertThat(first).hasContent("content");
+        assertThat(second).hasContent("changed");
+        assertThat(Files.isSameFile(first, second)).isFalse();
+    }
+
+    @Test
+    public void testAppendDetachesSharedContent()
+            throws Exception
+    {
+        Path first = store("a-1.0.jar", "content");
+        Path second = store("b-1.0.jar", "content");
+
+        try (OutputStream os = provider.newOutputStream(second, StandardOpenOption.APPEND))
+        {
+            os.write("!".getBytes(StandardCharsets.UTF_8));
+        }
+
+        assertThat(first).hasContent("content");
+        assertThat(second).hasContent("content!");
+    }
+
+    @Test
+    public void testCopyIsLink()
+            throws Exception
+    {
+        Path source = store("a-1.0.jar", "content");
+        Path target = repository.resolve("copy/a-1.0.jar");
+        Files.createDirectories(target.getParent());
+
+        provider.copy(source, target);
+
+        assertThat(Files.isSameFile(source, target)).isTrue();
+        assertThatExceptionOfType(IOException.class).isThrownBy(() -> provider.copy(source, target));
+    }
+
+    private Path store(String name,
+                       String content)
+            throws IOException
+    {
+        Path path = repository.resolve(name);
+        try (OutputStream os = provider.newOutputStream(path))
+        {
+            os.write(content.getBytes(StandardCharsets.UTF_8));
+            os.flush();
+        }
+
+        return path;
+    }
+
+}
@@ -6,15 +6,19 @@ import java.nio.file.Path;
 import java.text.SimpleDateFormat;
 import java.util.Calendar;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Objects;
 
 import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.ArtifactUtils;
 import org.apache.maven.artifact.DefaultArtifact;
 import org.apache.maven.artifact.handler.DefaultArtifactHandler;
 import org.apache.maven.artifact.repository.metadata.Metadata;
 import org.apache.maven.artifact.repository.metadata.Snapshot;
 import org.apache.maven.artifact.repository.metadata.SnapshotVersion;
 import org.apache.maven.artifact.repository.metadata.Versioning;
+import org.apache.maven.artifact.versioning.ComparableVersion;
 
 /**
  * @author mtodorov
@@ -147,6 +151,94 @@ public class MetadataHelper
         }
     }
 
+    /**
+     * Adds a version to the artifact level metadata without re-sorting the existing versions. The new version
+     * is only compared against the current {@code <latest>} and {@code <release>} values, which is enough to
+     * keep them correct when versions are only ever added.
+     *
+     * @param metadata The metadata to apply this to.
+     * @param version  The (base) version being deployed.
+     * @return true if the metadata was changed, false if the version was already present
+     */
+    public static boolean addVersion(Metadata metadata, String version)
+    {
+        if (metadata.getVersioning() == null)
+        {
+            metadata.setVersioning(new Versioning());
+        }
+        Versioning versioning = metadata.getVersioning();
+
+        if (versioning.getVersions().contains(version))
+        {
+            return false;
+        }
+
+        versioning.addVersion(version);
+
+        if (isNewer(version, versioning.getLatest()))
+        {
+            versioning.setLatest(version);
+        }
+        if (!ArtifactUtils.isSnapshot(version) && isNewer(version, versioning.getRelease()))
+        {
+            versioning.setRelease(version);
+        }
+
+        setLastUpdated(versioning);
+
+        return true;
+    }
+
+    /**
+     * Sets the timestamped SNAPSHOT version of the deployed classifier and extension in the snapshot version level
+     * metadata and updates the {@code <snapshot>} mapping (timestamp + buildNumber) from it, without looking at the
+     * other versions. Like Maven, the metadata only keeps the latest deployed timestamped version of each classifier
+     * and extension.
+     *
+     * @param metadata        The metadata to apply this to.
+     * @param snapshotVersion The timestamped SNAPSHOT version being deployed.
+     * @return true if the metadata was changed, false if the snapshot version was already present
+     */
+    public static boolean addSnapshotVersion(Metadata metadata, SnapshotVersion snapshotVersion)
+    {
+        if (metadata.getVersioning() == null)
+        {
+            metadata.setVersioning(new Versioning());
+        }
+        Versioning versioning = metadata.getVersioning();
+
+        for (Iterator<SnapshotVersion> iterator = versioning.getSnapshotVersions().iterator(); iterator.hasNext(); )
+        {
+            SnapshotVersion existing = iterator.next();
+            if (!Objects.equals(existing.getExtension(), snapshotVersion.getExtension()) ||
+                !Objects.equals(Objects.toString(existing.getClassifier(), ""),
+                                Objects.toString(snapshotVersion.getClassifier(), "")))
+            {
+                continue;
+            }
+
+            if (Objects.equals(existing.getVersion(), snapshotVersion.getVersion()))
+            {
+                return false;
+            }
+
+            // The <snapshot> mapping is taken from the last entry, so the replacing one goes to the end.
+            iterator.remove();
+        }
+
+        versioning.addSnapshotVersion(snapshotVersion);
+
+        setupSnapshotVersioning(versioning);
+        setLastUpdated(versioning);
+
+        return true;
+    }
+
+    private static boolean isNewer(String version, String current)
+    {
+        return current == null || new ComparableVersion(version).compareTo(new ComparableVersion(current)) > 0;
+    }
+
     private static void sortVersions(List<String> versions)
     {
         // Sort the versions in order to set <release> by figuring out the most recent upload
@@ -398,6 +398,117 @@ public class MetadataHelperTest
         assertThat(metadata.getPlugins().get(0).getPrefix()).isEqualTo("");
     }
 
+    @Test
+    public void addVersionUpdatesLatestAndReleaseTest()
+    {
+        // Given
+        Metadata metadata = createArtifactLevelMetadata();
+
+        // When
+        boolean added = MetadataHelper.addVersion(metadata, VERSION);
+
+        // Then
+        assertThat(added).isTrue();
+        assertThat(metadata.getVersioning().getVersions()).containsExactly(PRE_VERSION, VERSION);
+        assertThat(metadata.getVersioning().getLatest()).isEqualTo(VERSION);
+        assertThat(metadata.getVersioning().getRelease()).isEqualTo(VERSION);
+        assertThat(metadata.getVersioning().getLastUpdated()).isNotNull();
+    }
+
+    @Test
+    public void addOlderVersionKeepsLatestAndReleaseTest()
+    {
+        // Given
+        Metadata metadata = createArtifactLevelMetadata();
+
+        // When
+        MetadataHelper.addVersion(metadata, "0.9");
+        boolean addedTwice = MetadataHelper.addVersion(metadata, "0.9");
+
+        // Then
+        assertThat(addedTwice).isFalse();
+        assertThat(metadata.getVersioning().getVersions()).containsExactly(PRE_VERSION, "0.9");
+        assertThat(metadata.getVersioning().getLatest()).isEqualTo(PRE_VERSION);
+        assertThat(metadata.getVersioning().getRelease()).isEqualTo(PRE_VERSION);
+    }
+
+    @Test
+    public void addSnapshotVersionKeepsReleaseTest()
+    {
+        // Given
+        Metadata metadata = createArtifactLevelMetadata();
+
+        // When
+        MetadataHelper.addVersion(metadata, SNAPSHOT_VERSION);
+
+        // Then
+        assertThat(metadata.getVersioning().getLatest()).isEqualTo(SNAPSHOT_VERSION);
+        assertThat(metadata.getVersioning().getRelease()).isEqualTo(PRE_VERSION);
+    }
+
+    @Test
+    public void addTimestampedSnapshotVersionTest()
+    {
+        // Given
+        Metadata metadata = createVersionLevelMetadata();
+        String timestampedVersion = "1.0-20190101.101010-2";
+        SnapshotVersion snapshotVersion = MetadataHelper.createSnapshotVersion(GROUP_ID,
+                                                                               ARTIFACT_ID,
+                                                                               timestampedVersion,
+                                                                               null,
+                                                                               JAR);
+
+        // When
+        boolean added = MetadataHelper.addSnapshotVersion(metadata, snapshotVersion);
+        boolean addedTwice = MetadataHelper.addSnapshotVersion(metadata, snapshotVersion);
+
+        // Then
+        assertThat(added).isTrue();
+        assertThat(addedTwice).isFalse();
+        // The jar entry is replaced, the javadoc and the pom ones are kept.
+        assertThat(metadata.getVersioning().getSnapshotVersions()).hasSize(3);
+        assertThat(metadata.getVersioning().getSnapshotVersions()).filteredOn(sv -> JAR.equals(sv.getExtension()) &&
+                                                                                    sv.getClassifier() == null)
+                                                                  .extracting(SnapshotVersion::getVersion)
+                                                                  .containsExactly(timestampedVersion);
+        assertThat(metadata.getVersioning().getSnapshot().getTimestamp()).isEqualTo("20190101.101010");
+        assertThat(metadata.getVersioning().getSnapshot().getBuildNumber()).isEqualTo(2);
+    }
+
+    @Test
+    public void repeatedSnapshotDeploysDoNotGrowMetadataTest()
+    {
+        // Given
+        Metadata metadata = createVersionLevelMetadata();
+
+        // When
+        for (int buildNumber = 2; buildNumber <= 10; buildNumber++)
+        {
+            String timestampedVersion = String.format("1.0-20190101.1010%02d-%s", buildNumber, buildNumber);
+            for (String classifier : new String[]{ null, JAVADOC })
+            {
+                MetadataHelper.addSnapshotVersion(metadata,
+                                                  MetadataHelper.createSnapshotVersion(GROUP_ID,
+                                                                                       ARTIFACT_ID,
+                                                                                       timestampedVersion,
+                                                                                       classifier,
+                                                                                       JAR));
+            }
+            MetadataHelper.addSnapshotVersion(metadata,
+                                              MetadataHelper.createSnapshotVersion(GROUP_ID,
+                                                                                   ARTIFACT_ID,
+                                                                                   timestampedVersion,
+                                                                                   null,
+                                                                                   POM.toString()));
+        }
+
+        // Then
+        assertThat(metadata.getVersioning().getSnapshotVersions()).hasSize(3)
+                                                                  .extracting(SnapshotVersion::getVersion)
+                                                                  .containsOnly("1.0-20190101.101010-10");
+        assertThat(metadata.getVersioning().getSnapshot().getBuildNumber()).isEqualTo(10);
+    }
+
     private Metadata createGroupLevelMetadata()
     {
         Metadata metadata = new Metadata();
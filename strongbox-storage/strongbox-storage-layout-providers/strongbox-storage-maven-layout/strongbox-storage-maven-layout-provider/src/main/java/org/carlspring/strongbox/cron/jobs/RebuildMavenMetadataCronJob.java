@@ -18,6 +18,9 @@ import com.google.common.collect.ImmutableSet;
 import org.codehaus.plexus.util.xml.pull.XmlPullParserException;
 
 /**
+ * Rebuilds the metadata by rescanning the artifact directories. Metadata is kept up to date incrementally on
+ * deploy, so this job is only needed to repair metadata which got out of sync with the stored artifacts.
+ *
  * @author Kate Novik
  */
 public class RebuildMavenMetadataCronJob
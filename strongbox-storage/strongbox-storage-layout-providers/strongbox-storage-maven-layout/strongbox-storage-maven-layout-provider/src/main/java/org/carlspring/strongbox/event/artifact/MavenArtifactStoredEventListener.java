@@ -0,0 +1,230 @@
+package org.carlspring.strongbox.event.artifact;
+
+import org.carlspring.strongbox.artifact.MavenArtifactUtils;
+import org.carlspring.strongbox.providers.io.RepositoryFiles;
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.providers.layout.Maven2LayoutProvider;
+import org.carlspring.strongbox.storage.metadata.MetadataHelper;
+import org.carlspring.strongbox.storage.repository.Repository;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.maven.artifact.ArtifactUtils;
+import org.apache.maven.artifact.repository.metadata.SnapshotVersion;
+import org.apache.maven.artifact.versioning.ComparableVersion;
+import org.apache.maven.index.artifact.Gav;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the maven-metadata.xml files of hosted repositories up to date on deploy (and on server side copy).
+ * <p>
+ * The metadata is updated incrementally, using only the stored artifact path and the current metadata file,
+ * so the cost does not depend on the number of versions of the artifact. A full rescan of the artifact
+ * directories is still available through the {@link org.carlspring.strongbox.cron.jobs.RebuildMavenMetadataCronJob}.
+ * <p>
+ * The metadata is only updated for the primary artifact and the POM of a version, the files with a classifier are
+ * skipped, so that a deploy locks and rewrites the maven-metadata.xml files once or twice per version. The files of
+ * a bulk upload are skipped as well: their metadata is updated once per artifact, from the
+ * {@link ArtifactFilesStoredEvent} dispatched once all of them are stored.
+ */
+@Component
+public class MavenArtifactStoredEventListener
+        extends BaseMavenArtifactEventListener
+{
+
+    @EventListener
+    public void handle(final ArtifactEvent<RepositoryPath> event)
+    {
+        if (event.getType() == ArtifactEventTypeEnum.EVENT_ARTIFACT_FILES_STORED.getType())
+        {
+            handleFilesStored((ArtifactFilesStoredEvent<RepositoryPath>) event);
+
+            return;
+        }
+
+        if (event.isBulk())
+        {
+            // Updated once for all the files, from the ArtifactFilesStoredEvent.
+            return;
+        }
+
+        final RepositoryPath repositoryPath;
+        if (event.getType() == ArtifactEventTypeEnum.EVENT_ARTIFACT_FILE_STORED.getType())
+        {
+            repositoryPath = event.getPath();
+        }
+        else if (event.getType() == ArtifactEventTypeEnum.EVENT_ARTIFACT_FILE_COPIED.getType())
+        {
+            repositoryPath = event.getTargetPath();
+        }
+        else
+        {
+            return;
+        }
+
+        final Repository repository = repositoryPath.getRepository();
+
+        if (!isMavenHostedRepository(repository))
+        {
+            return;
+        }
+
+        try
+        {
+            final Gav gav = resolveGav(repositoryPath);
+            if (gav == null)
+            {
+                return;
+            }
+
+            updateMetadata(getArtifactBasePath(repositoryPath), Collections.singletonList(gav));
+        }
+        catch (Exception e)
+        {
+            logger.error("Unable to update metadata of file {} of repository {}",
+                         repositoryPath, repository.getId(), e);
+        }
+    }
+
+    /**
+     * Updates the metadata of the files of a bulk upload, once per artifact.
+     */
+    private void handleFilesStored(final ArtifactFilesStoredEvent<RepositoryPath> event)
+    {
+        final Repository repository = event.getPath().getRepository();
+
+        if (!isMavenHostedRepository(repository))
+        {
+            return;
+        }
+
+        final Map<RepositoryPath, List<Gav>> artifacts = new LinkedHashMap<>();
+        for (RepositoryPath repositoryPath : event.getPaths())
+        {
+            try
+            {
+                final Gav gav = resolveGav(repositoryPath);
+                if (gav != null)
+                {
+                    artifacts.computeIfAbsent(getArtifactBasePath(repositoryPath), k -> new ArrayList<>()).add(gav);
+                }
+            }
+            catch (Exception e)
+            {
+                logger.error("Unable to update metadata of file {} of repository {}",
+                             repositoryPath, repository.getId(), e);
+            }
+        }
+
+        for (Map.Entry<RepositoryPath, List<Gav>> artifact : artifacts.entrySet())
+        {
+            try
+            {
+                updateMetadata(artifact.getKey(), artifact.getValue());
+            }
+            catch (Exception e)
+            {
+                logger.error("Unable to update metadata of artifact {} of repository {}",
+                             artifact.getKey(), repository.getId(), e);
+            }
+        }
+    }
+
+    private boolean isMavenHostedRepository(final Repository repository)
+    {
+        return Maven2LayoutProvider.ALIAS.equals(repository.getLayout()) && repository.isHostedRepository();
+    }
+
+    /**
+     * @return the coordinates of a file which updates the metadata, or null
+     */
+    private Gav resolveGav(final RepositoryPath repositoryPath)
+            throws IOException
+    {
+        if (!Boolean.TRUE.equals(RepositoryFiles.isArtifact(repositoryPath)) ||
+            Boolean.TRUE.equals(RepositoryFiles.isChecksum(repositoryPath)) ||
+            Boolean.TRUE.equals(RepositoryFiles.isMetadata(repositoryPath)))
+        {
+            return null;
+        }
+
+        final Gav gav = MavenArtifactUtils.convertPathToGav(repositoryPath);
+        if (gav == null || gav.isHash() || gav.isSignature())
+        {
+            return null;
+        }
+
+        if (gav.getClassifier() != null)
+        {
+            // Sources, javadoc and the other attached artifacts don't add anything to the metadata of the
+            // primary artifact and the POM of the version: clients resolve a timestamped classifier through
+            // the <snapshot> timestamp and build number.
+            return null;
+        }
+
+        return gav;
+    }
+
+    private RepositoryPath getArtifactBasePath(final RepositoryPath repositoryPath)
+    {
+        return repositoryPath.toAbsolutePath().getParent().getParent();
+    }
+
+    /**
+     * Adds the versions of the files of the same artifact with one write of each metadata file.
+     */
+    private void updateMetadata(final RepositoryPath artifactBasePath,
+                                final List<Gav> gavs)
+            throws Exception
+    {
+        final Gav artifact = gavs.get(0);
+        final Set<String> baseVersions = new LinkedHashSet<>();
+        final Map<String, List<SnapshotVersion>> snapshotVersions = new LinkedHashMap<>();
+        for (Gav gav : gavs)
+        {
+            final String baseVersion = gav.isSnapshot() ? ArtifactUtils.toSnapshotVersion(gav.getVersion()) :
+                                       gav.getVersion();
+            baseVersions.add(baseVersion);
+
+            if (!gav.isSnapshot() || baseVersion.equals(gav.getVersion()))
+            {
+                // Release, or a non-timestamped SNAPSHOT: there is no snapshot version level metadata to update.
+                continue;
+            }
+
+            snapshotVersions.computeIfAbsent(baseVersion, k -> new ArrayList<>())
+                            .add(MetadataHelper.createSnapshotVersion(gav.getGroupId(),
+                                                                      gav.getArtifactId(),
+                                                                      gav.getVersion(),
+                                                                      gav.getClassifier(),
+                                                                      gav.getExtension()));
+        }
+
+        mavenMetadataManager.addVersions(artifactBasePath,
+                                         artifact.getGroupId(),
+                                         artifact.getArtifactId(),
+                                         baseVersions);
+
+        for (Map.Entry<String, List<SnapshotVersion>> e : snapshotVersions.entrySet())
+        {
+            // The <snapshot> mapping is taken from the last added version.
+            e.getValue().sort(Comparator.comparing(v -> new ComparableVersion(v.getVersion())));
+
+            mavenMetadataManager.addTimestampedSnapshotVersions(artifactBasePath,
+                                                                artifact.getGroupId(),
+                                                                artifact.getArtifactId(),
+                                                                e.getKey(),
+                                                                e.getValue());
+        }
+    }
+
+}
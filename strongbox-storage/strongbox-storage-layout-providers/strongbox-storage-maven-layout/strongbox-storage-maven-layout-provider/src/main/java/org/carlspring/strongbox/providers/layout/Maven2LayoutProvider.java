@@ -148,10 +148,16 @@ public class Maven2LayoutProvider
         return mavenRepositoryManagementStrategy;
     }
 
+    @Override
+    public boolean supportsArchiveListing(final RepositoryPath repositoryPath)
+    {
+        return JarArchiveListingFunction.INSTANCE.supports(repositoryPath);
+    }
+
     @Override
     public Set<String> listArchiveFilenames(final RepositoryPath repositoryPath)
     {
-        if (JarArchiveListingFunction.INSTANCE.supports(repositoryPath))
+        if (supportsArchiveListing(repositoryPath))
         {
             try
             {
@@ -164,18 +164,8 @@ public class ArtifactMetadataServiceImpl
     public void addVersion(Metadata metadata,
                            String version)
     {
-        if (!metadata.getVersioning().getVersions().contains(version))
-        {
-            metadata.getVersioning().getVersions().add(version);
-
-            // Update the latest field
-            MetadataHelper.setLatest(metadata, version);
-            // Update the release field
-            MetadataHelper.setRelease(metadata, version);
-            // Update the lastUpdated field
-            MetadataHelper.setLastUpdated(metadata.getVersioning());
-        }
-        else
+        // Updates the latest, release and lastUpdated fields without re-sorting the existing versions
+        if (!MetadataHelper.addVersion(metadata, version))
         {
             // No need to throw an exception here.
             // Logging the error should suffice.
@@ -203,17 +193,17 @@ public class ArtifactMetadataServiceImpl
         String artifactGroupId = artifactGroup.getValue0();
         String artifactId = artifactGroup.getValue1();
 
-        Metadata snapshotMetadata = mavenMetadataManager.generateSnapshotVersioningMetadata(artifactGroupId, artifactId,
-                                                                                            artifactBasePath,
-                                                                                            snapshot,
-                                                                                            false);
-
-        addTimestampedSnapshotVersion(snapshotMetadata, version, classifier, extension);
+        SnapshotVersion snapshotVersion = MetadataHelper.createSnapshotVersion(artifactGroupId,
+                                                                               artifactId,
+                                                                               version,
+                                                                               classifier,
+                                                                               extension);
 
-        mavenMetadataManager.storeMetadata(artifactBasePath,
-                                           snapshot,
-                                           snapshotMetadata,
-                                           MetadataType.SNAPSHOT_VERSION_LEVEL);
+        mavenMetadataManager.addTimestampedSnapshotVersion(artifactBasePath,
+                                                           artifactGroupId,
+                                                           artifactId,
+                                                           snapshot,
+                                                           snapshotVersion);
     }
 
     @Override
@@ -21,6 +21,8 @@ import java.lang.reflect.UndeclaredThrowableException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.locks.Lock;
@@ -150,6 +152,147 @@ public class MavenMetadataManager
         );
     }
 
+    /**
+     * Incrementally adds a version to the artifact level maven-metadata.xml. Only the existing metadata file
+     * (if any) and the deployed version are used, the artifact directories are not scanned.
+     */
+    public void addVersion(final RepositoryPath artifactBasePath,
+                           final String groupId,
+                           final String artifactId,
+                           final String version)
+            throws IOException
+    {
+        addVersions(artifactBasePath, groupId, artifactId, Collections.singletonList(version));
+    }
+
+    /**
+     * Incrementally adds the versions to the artifact level maven-metadata.xml, which is written (at most) once.
+     *
+     * @see #addVersion(RepositoryPath, String, String, String)
+     */
+    public void addVersions(final RepositoryPath artifactBasePath,
+                            final String groupId,
+                            final String artifactId,
+                            final Collection<String> versions)
+            throws IOException
+    {
+        doInLock(artifactBasePath, path ->
+        {
+            try
+            {
+                Metadata metadata = readOrCreateMetadata(MetadataHelper.getArtifactMetadataPath(artifactBasePath),
+                                                         groupId,
+                                                         artifactId,
+                                                         null);
+
+                List<String> addedVersions = new ArrayList<>();
+                for (String version : versions)
+                {
+                    if (MetadataHelper.addVersion(metadata, version))
+                    {
+                        addedVersions.add(version);
+                    }
+                }
+                if (!addedVersions.isEmpty())
+                {
+                    storeMetadata(artifactBasePath, null, metadata, MetadataType.ARTIFACT_ROOT_LEVEL);
+
+                    logger.debug("Added versions {} to Maven metadata of {}:{}.", addedVersions, groupId, artifactId);
+                }
+            }
+            catch (IOException | XmlPullParserException e)
+            {
+                throw new UndeclaredThrowableException(e);
+            }
+        });
+    }
+
+    /**
+     * Incrementally adds a timestamped SNAPSHOT version to the snapshot version level maven-metadata.xml.
+     * Only the existing metadata file (if any) and the deployed file are used, the snapshot directory is not
+     * scanned.
+     */
+    public void addTimestampedSnapshotVersion(final RepositoryPath artifactBasePath,
+                                              final String groupId,
+                                              final String artifactId,
+                                              final String version,
+                                              final SnapshotVersion snapshotVersion)
+            throws IOException
+    {
+        addTimestampedSnapshotVersions(artifactBasePath,
+                                       groupId,
+                                       artifactId,
+                                       version,
+                                       Collections.singletonList(snapshotVersion));
+    }
+
+    /**
+     * Incrementally adds the timestamped SNAPSHOT versions, in the given order, to the snapshot version level
+     * maven-metadata.xml, which is written (at most) once.
+     *
+     * @see #addTimestampedSnapshotVersion(RepositoryPath, String, String, String, SnapshotVersion)
+     */
+    public void addTimestampedSnapshotVersions(final RepositoryPath artifactBasePath,
+                                               final String groupId,
+                                               final String artifactId,
+                                               final String version,
+                                               final Collection<SnapshotVersion> snapshotVersions)
+            throws IOException
+    {
+        RepositoryPath snapshotBasePath = artifactBasePath.resolve(version);
+
+        doInLock(snapshotBasePath, path ->
+        {
+            try
+            {
+                Metadata metadata = readOrCreateMetadata(MetadataHelper.getSnapshotMetadataPath(artifactBasePath,
+                                                                                                version),
+                                                         groupId,
+                                                         artifactId,
+                                                         version);
+
+                List<String> addedVersions = new ArrayList<>();
+                for (SnapshotVersion snapshotVersion : snapshotVersions)
+                {
+                    if (MetadataHelper.addSnapshotVersion(metadata, snapshotVersion))
+                    {
+                        addedVersions.add(snapshotVersion.getVersion());
+                    }
+                }
+                if (!addedVersions.isEmpty())
+                {
+                    storeMetadata(artifactBasePath, version, metadata, MetadataType.SNAPSHOT_VERSION_LEVEL);
+
+                    logger.debug("Added timestamped SNAPSHOTs {} to Maven metadata of {}:{}:{}.",
+                                 addedVersions, groupId, artifactId, version);
+                }
+            }
+            catch (IOException | XmlPullParserException e)
+            {
+                throw new UndeclaredThrowableException(e);
+            }
+        });
+    }
+
+    private Metadata readOrCreateMetadata(Path metadataPath,
+                                          String groupId,
+                                          String artifactId,
+                                          String version)
+            throws IOException, XmlPullParserException
+    {
+        if (Files.exists(metadataPath))
+        {
+            return readMetadata(Files.newInputStream(metadataPath));
+        }
+
+        Metadata metadata = new Metadata();
+        metadata.setGroupId(groupId);
+        metadata.setArtifactId(artifactId);
+        metadata.setVersion(version);
+
+        return metadata;
+    }
+
     /**
      * Generate a metadata file for an artifact.
      */
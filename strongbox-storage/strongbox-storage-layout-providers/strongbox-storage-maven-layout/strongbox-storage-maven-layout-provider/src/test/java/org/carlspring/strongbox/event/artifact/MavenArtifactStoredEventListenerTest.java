@@ -0,0 +1,173 @@
+package org.carlspring.strongbox.event.artifact;
+
+import org.carlspring.strongbox.config.Maven2LayoutProviderTestConfig;
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.providers.io.RepositoryPathResolver;
+import org.carlspring.strongbox.services.ArtifactManagementService;
+import org.carlspring.strongbox.storage.metadata.MavenMetadataManager;
+import org.carlspring.strongbox.storage.repository.Repository;
+import org.carlspring.strongbox.storage.repository.RepositoryPolicyEnum;
+import org.carlspring.strongbox.testing.repository.MavenRepository;
+import org.carlspring.strongbox.testing.storage.repository.RepositoryManagementTestExecutionListener;
+
+import javax.inject.Inject;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
+import org.apache.maven.artifact.repository.metadata.Metadata;
+import org.apache.maven.artifact.repository.metadata.SnapshotVersion;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.parallel.Execution;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.parallel.ExecutionMode.CONCURRENT;
+
+/**
+ * Deploys the files of Maven artifacts, with their POMs and attached artifacts, one by one and as an archive, and
+ * checks the resulting maven-metadata.xml files.
+ */
+@SpringBootTest
+@ActiveProfiles(profiles = "test")
+@ContextConfiguration(classes = Maven2LayoutProviderTestConfig.class)
+@Execution(CONCURRENT)
+public class MavenArtifactStoredEventListenerTest
+{
+
+    private static final String REPOSITORY_RELEASES = "masel-releases";
+
+    private static final String REPOSITORY_SNAPSHOTS = "masel-snapshots";
+
+    private static final String REPOSITORY_BULK_SNAPSHOTS = "masel-bulk-snapshots";
+
+    private static final String ARTIFACT_BASE_PATH = "org/carlspring/strongbox/masel/masel-artifact";
+
+    @Inject
+    private ArtifactManagementService artifactManagementService;
+
+    @Inject
+    private MavenMetadataManager mavenMetadataManager;
+
+    @Inject
+    private RepositoryPathResolver repositoryPathResolver;
+
+    @ExtendWith(RepositoryManagementTestExecutionListener.class)
+    @Test
+    public void releaseDeployShouldUpdateMetadata(@MavenRepository(repositoryId = REPOSITORY_RELEASES)
+                                                  Repository repository)
+            throws Exception
+    {
+        deploy(repository, "1.0/masel-artifact-1.0.pom");
+        deploy(repository, "1.0/masel-artifact-1.0.jar");
+        deploy(repository, "1.0/masel-artifact-1.0-sources.jar");
+        deploy(repository, "1.1/masel-artifact-1.1.pom");
+        deploy(repository, "1.1/masel-artifact-1.1.jar");
+        // An attached artifact alone doesn't add its version.
+        deploy(repository, "1.2/masel-artifact-1.2-javadoc.jar");
+
+        Metadata metadata = mavenMetadataManager.readMetadata(resolve(repository, ""));
+
+        assertThat(metadata.getGroupId()).isEqualTo("org.carlspring.strongbox.masel");
+        assertThat(metadata.getArtifactId()).isEqualTo("masel-artifact");
+        assertThat(metadata.getVersioning().getVersions()).containsExactly("1.0", "1.1");
+        assertThat(metadata.getVersioning().getRelease()).isEqualTo("1.1");
+        assertThat(metadata.getVersioning().getLatest()).isEqualTo("1.1");
+
+        assertThat(Files.exists(resolve(repository, "1.0/maven-metadata.xml"))).isFalse();
+    }
+
+    @ExtendWith(RepositoryManagementTestExecutionListener.class)
+    @Test
+    public void snapshotDeployShouldUpdateMetadata(@MavenRepository(repositoryId = REPOSITORY_SNAPSHOTS,
+                                                                    policy = RepositoryPolicyEnum.SNAPSHOT)
+                                                   Repository repository)
+            throws Exception
+    {
+        deploy(repository, "1.0-SNAPSHOT/masel-artifact-1.0-20261019.101010-1.pom");
+        deploy(repository, "1.0-SNAPSHOT/masel-artifact-1.0-20261019.101010-1.jar");
+        deploy(repository, "1.0-SNAPSHOT/masel-artifact-1.0-20261019.101010-1-sources.jar");
+
+        Metadata metadata = mavenMetadataManager.readMetadata(resolve(repository, ""));
+
+        assertThat(metadata.getVersioning().getVersions()).containsExactly("1.0-SNAPSHOT");
+
+        Metadata snapshotMetadata = mavenMetadataManager.readMetadata(resolve(repository, "1.0-SNAPSHOT"));
+
+        assertThat(snapshotMetadata.getVersion()).isEqualTo("1.0-SNAPSHOT");
+        assertThat(snapshotMetadata.getVersioning().getSnapshot().getTimestamp()).isEqualTo("20261019.101010");
+        assertThat(snapshotMetadata.getVersioning().getSnapshot().getBuildNumber()).isEqualTo(1);
+        assertThat(snapshotMetadata.getVersioning()
+                                   .getSnapshotVersions()
+                                   .stream()
+                                   .map(SnapshotVersion::getExtension)
+                                   .collect(Collectors.toList())).containsExactlyInAnyOrder("pom", "jar");
+        assertThat(snapshotMetadata.getVersioning().getSnapshotVersions())
+                .allSatisfy(v -> assertThat(v.getVersion()).isEqualTo("1.0-20261019.101010-1"));
+    }
+
+    @ExtendWith(RepositoryManagementTestExecutionListener.class)
+    @Test
+    public void bulkUploadShouldUpdateMetadata(@MavenRepository(repositoryId = REPOSITORY_BULK_SNAPSHOTS,
+                                                                policy = RepositoryPolicyEnum.SNAPSHOT)
+                                               Repository repository)
+            throws Exception
+    {
+        ByteArrayOutputStream archive = new ByteArrayOutputStream();
+        try (ZipArchiveOutputStream zos = new ZipArchiveOutputStream(archive))
+        {
+            // The newest build first: the <snapshot> mapping must still point to it.
+            for (String path : Arrays.asList("1.0-SNAPSHOT/masel-artifact-1.0-20261019.101010-2.jar",
+                                             "1.0-SNAPSHOT/masel-artifact-1.0-20261019.101010-2.pom",
+                                             "1.0-SNAPSHOT/masel-artifact-1.0-20261019.090000-1.jar",
+                                             "1.0-SNAPSHOT/masel-artifact-1.0-20261019.090000-1.pom",
+                                             "1.1-SNAPSHOT/masel-artifact-1.1-20261019.101010-1.jar",
+                                             "1.1-SNAPSHOT/masel-artifact-1.1-20261019.101010-1-sources.jar"))
+            {
+                zos.putArchiveEntry(new ZipArchiveEntry(ARTIFACT_BASE_PATH + "/" + path));
+                zos.write(path.getBytes(StandardCharsets.UTF_8));
+                zos.closeArchiveEntry();
+            }
+        }
+
+        artifactManagementService.storeArchive(repository, new ByteArrayInputStream(archive.toByteArray()));
+
+        Metadata metadata = mavenMetadataManager.readMetadata(resolve(repository, ""));
+
+        assertThat(metadata.getVersioning().getVersions()).containsExactly("1.0-SNAPSHOT", "1.1-SNAPSHOT");
+        assertThat(metadata.getVersioning().getLatest()).isEqualTo("1.1-SNAPSHOT");
+
+        Metadata snapshotMetadata = mavenMetadataManager.readMetadata(resolve(repository, "1.0-SNAPSHOT"));
+
+        assertThat(snapshotMetadata.getVersioning().getSnapshot().getTimestamp()).isEqualTo("20261019.101010");
+        assertThat(snapshotMetadata.getVersioning().getSnapshot().getBuildNumber()).isEqualTo(2);
+        assertThat(snapshotMetadata.getVersioning().getSnapshotVersions())
+                .hasSize(2)
+                .allSatisfy(v -> assertThat(v.getVersion()).isEqualTo("1.0-20261019.101010-2"));
+    }
+
+    private void deploy(Repository repository,
+                        String path)
+            throws Exception
+    {
+        try (InputStream is = new ByteArrayInputStream(path.getBytes(StandardCharsets.UTF_8)))
+        {
+            artifactManagementService.store(resolve(repository, path), is);
+        }
+    }
+
+    private RepositoryPath resolve(Repository repository,
+                                   String path)
+    {
+        return repositoryPathResolver.resolve(repository, ARTIFACT_BASE_PATH + (path.isEmpty() ? "" : "/" + path));
+    }
+
+}
@@ -7,6 +7,7 @@ import org.carlspring.strongbox.artifact.MavenArtifact;
 import org.carlspring.strongbox.artifact.MavenArtifactUtils;
 import org.carlspring.strongbox.config.Maven2LayoutProviderTestConfig;
 import org.carlspring.strongbox.domain.ArtifactEntry;
+import org.carlspring.strongbox.domain.RepositoryArtifactIdGroupEntry;
 import org.carlspring.strongbox.providers.io.RepositoryFiles;
 import org.carlspring.strongbox.providers.io.RepositoryPath;
 import org.carlspring.strongbox.providers.io.RepositoryPathResolver;
@@ -91,6 +92,10 @@ public class ArtifactManagementServiceImplTest
 
     private static final String LAST_VERSION_RELEASES = "last-version-releases";
 
+    private static final String TCA_RELEASES = "tca-releases";
+
+    private static final String TCA_RELEASES_COPY = "tca-releases-copy";
+
     @Inject
     private ArtifactManagementService mavenArtifactManagementService;
 
@@ -109,6 +114,9 @@ public class ArtifactManagementServiceImplTest
     @Inject
     private RepositoryPathResolver repositoryPathResolver;
 
+    @Inject
+    private RepositoryArtifactIdGroupService repositoryArtifactIdGroupService;
+
     @ExtendWith({ RepositoryManagementTestExecutionListener.class,
                   ArtifactManagementTestExecutionListener.class })
     @Test
@@ -679,6 +687,60 @@ public class ArtifactManagementServiceImplTest
         assertThat(actualChecksums).isEqualTo(expectedChecksums);
     }
 
+    @ExtendWith({ RepositoryManagementTestExecutionListener.class,
+                  ArtifactManagementTestExecutionListener.class })
+    @Test
+    public void testCopyArtifact(@MavenRepository(repositoryId = TCA_RELEASES)
+                                 Repository repository,
+                                 @MavenRepository(repositoryId = TCA_RELEASES_COPY)
+                                 Repository destRepository,
+                                 @MavenTestArtifact(repositoryId = TCA_RELEASES,
+                                                    id = "org.carlspring.strongbox:strongbox-copy",
+                                                    versions = { "1.0" })
+                                 Path artifactPath)
+            throws Exception
+    {
+        final String storageId = destRepository.getStorage().getId();
+        final String repositoryId = destRepository.getId();
+
+        RepositoryPath srcPath = (RepositoryPath) artifactPath.normalize();
+        String path = RepositoryFiles.relativizePath(srcPath);
+        RepositoryPath destPath = repositoryPathResolver.resolve(destRepository, path);
+
+        ArtifactEntry srcArtifactEntry = artifactEntryService.findOneArtifact(repository.getStorage().getId(),
+                                                                              repository.getId(),
+                                                                              path);
+        assertThat(srcArtifactEntry).isNotNull();
+
+        mavenArtifactManagementService.copy(srcPath, destPath);
+
+        // Both repositories are on the same volume, so the content is linked rather than copied.
+        assertThat(Files.isSameFile(srcPath.getTarget(), destPath.getTarget())).isTrue();
+        assertThat(destPath.resolveSibling(destPath.getFileName() + ".sha1")).exists();
+        assertThat(destPath.resolveSibling(destPath.getFileName() + ".md5")).exists();
+
+        ArtifactEntry artifactEntry = artifactEntryService.findOneArtifact(storageId, repositoryId, path);
+
+        assertThat(artifactEntry).isNotNull();
+        assertThat(artifactEntry.getObjectId()).isNotEqualTo(srcArtifactEntry.getObjectId());
+        assertThat(artifactEntry.getSizeInBytes()).isEqualTo(srcArtifactEntry.getSizeInBytes());
+        assertThat(artifactEntry.getChecksums()).isEqualTo(srcArtifactEntry.getChecksums());
+
+        RepositoryArtifactIdGroupEntry artifactGroup = repositoryArtifactIdGroupService.findOne(storageId,
+                                                                                                repositoryId,
+                                                                                                "org.carlspring.strongbox:strongbox-copy");
+
+        assertThat(artifactGroup).isNotNull();
+        assertThat(artifactGroup.getArtifactEntries()).extracting(ArtifactEntry::getArtifactPath)
+                                                      .contains(path);
+
+        // The source repository is left untouched.
+        assertThat(srcPath).exists();
+        assertThat(artifactEntryService.findOneArtifact(repository.getStorage().getId(),
+                                                        repository.getId(),
+                                                        path).getObjectId()).isEqualTo(srcArtifactEntry.getObjectId());
+    }
+
 
     private Long getResult(int i,
                            CountDownLatch storedSync, 
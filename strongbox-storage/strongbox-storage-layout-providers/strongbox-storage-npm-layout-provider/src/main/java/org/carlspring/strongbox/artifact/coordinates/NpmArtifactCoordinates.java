@@ -58,6 +58,15 @@ public class NpmArtifactCoordinates extends AbstractArtifactCoordinates<NpmArtif
 
     private static final String EXTENSION = "extension";
 
+    /**
+     * The (scope, name, version) tuple is stored in properties of its own as well, see
+     * <code>idx_npm_artifact_coordinates</code>.
+     */
+    private String scope;
+
+    private String name;
+
+    private String version;
 
     public NpmArtifactCoordinates()
     {
@@ -88,6 +97,7 @@ public class NpmArtifactCoordinates extends AbstractArtifactCoordinates<NpmArtif
             return;
         }
         Assert.isTrue(scope.startsWith("@"), "Scope should starts with '@'.");
+        this.scope = scope;
         setCoordinate(SCOPE, scope);
     }
 
@@ -105,6 +115,7 @@ public class NpmArtifactCoordinates extends AbstractArtifactCoordinates<NpmArtif
                                     "(https://docs.npmjs.com/files/package.json#name).",
                                     name));
 
+        this.name = name;
         setCoordinate(NAME, name);
     }
 
@@ -135,6 +146,7 @@ public class NpmArtifactCoordinates extends AbstractArtifactCoordinates<NpmArtif
     public void setVersion(String version)
     {
         SemanticVersion.parse(version);
+        this.version = version;
         setCoordinate(VERSION, version);
     }
 
@@ -0,0 +1,71 @@
+package org.carlspring.strongbox.domain;
+
+import org.carlspring.strongbox.data.domain.GenericEntity;
+
+import javax.persistence.Entity;
+import java.util.Date;
+
+/**
+ * The sequence of the last change of a remote npm <code>_changes</code> feed which was ingested into a
+ * repository, saved after each batch of changes.
+ */
+@Entity
+public class NpmChangesFeedCheckpointEntry
+        extends GenericEntity
+{
+
+    private String storageId;
+
+    private String repositoryId;
+
+    private Long lastChangeId;
+
+    private Date lastUpdated;
+
+    public static String calculateUuid(String storageId,
+                                       String repositoryId)
+    {
+        return String.format("npm-changes-feed:%s:%s", storageId, repositoryId);
+    }
+
+    public String getStorageId()
+    {
+        return storageId;
+    }
+
+    public void setStorageId(String storageId)
+    {
+        this.storageId = storageId;
+    }
+
+    public String getRepositoryId()
+    {
+        return repositoryId;
+    }
+
+    public void setRepositoryId(String repositoryId)
+    {
+        this.repositoryId = repositoryId;
+    }
+
+    public Long getLastChangeId()
+    {
+        return lastChangeId;
+    }
+
+    public void setLastChangeId(Long lastChangeId)
+    {
+        this.lastChangeId = lastChangeId;
+    }
+
+    public Date getLastUpdated()
+    {
+        return lastUpdated;
+    }
+
+    public void setLastUpdated(Date lastUpdated)
+    {
+        this.lastUpdated = lastUpdated;
+    }
+
+}
@@ -0,0 +1,113 @@
+package org.carlspring.strongbox.providers.layout;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.carlspring.strongbox.npm.metadata.PackageFeed;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Builds the abbreviated ("corgi") form of a package document, which the npm clients request with
+ * <code>Accept: application/vnd.npm.install-v1+json</code>.
+ * <p>
+ * It only keeps the fields needed to install a package: no readme, no maintainers, no scripts and no per-version
+ * times, which makes it a small fraction of the full document for packages with many versions.
+ */
+public class NpmAbbreviatedMetadata
+{
+
+    public static final String MEDIA_TYPE = "application/vnd.npm.install-v1+json";
+
+    private static final Set<String> VERSION_FIELDS = Collections.unmodifiableSet(new LinkedHashSet<>(
+            Arrays.asList("name",
+                          "version",
+                          "deprecated",
+                          "dependencies",
+                          "optionalDependencies",
+                          "devDependencies",
+                          "bundleDependencies",
+                          "peerDependencies",
+                          "peerDependenciesMeta",
+                          "bin",
+                          "directories",
+                          "dist",
+                          "engines",
+                          "os",
+                          "cpu",
+                          "_hasShrinkwrap")));
+
+    private static final Set<String> INSTALL_SCRIPTS = Collections.unmodifiableSet(new LinkedHashSet<>(
+            Arrays.asList("preinstall", "install", "postinstall")));
+
+    private NpmAbbreviatedMetadata()
+    {
+    }
+
+    /**
+     * @return true if the request <code>Accept</code> header prefers the abbreviated document
+     */
+    public static boolean isAccepted(String accept)
+    {
+        return accept != null && accept.contains(MEDIA_TYPE);
+    }
+
+    public static ObjectNode of(ObjectMapper mapper,
+                                PackageFeed packageFeed)
+    {
+        JsonNode source = mapper.valueToTree(packageFeed);
+
+        ObjectNode result = mapper.createObjectNode();
+        result.set("name", source.get("name"));
+
+        JsonNode time = source.get("time");
+        if (time != null && time.has("modified"))
+        {
+            result.set("modified", time.get("modified"));
+        }
+        result.set("dist-tags", source.get("dist-tags"));
+
+        ObjectNode versions = result.putObject("versions");
+        JsonNode sourceVersions = source.get("versions");
+        if (sourceVersions != null)
+        {
+            for (Iterator<Map.Entry<String, JsonNode>> i = sourceVersions.fields(); i.hasNext(); )
+            {
+                Map.Entry<String, JsonNode> version = i.next();
+                versions.set(version.getKey(), abbreviate(mapper, version.getValue()));
+            }
+        }
+
+        return result;
+    }
+
+    private static ObjectNode abbreviate(ObjectMapper mapper,
+                                         JsonNode packageVersion)
+    {
+        ObjectNode result = mapper.createObjectNode();
+        for (String field : VERSION_FIELDS)
+        {
+            JsonNode value = packageVersion.get(field);
+            if (value != null && !value.isNull())
+            {
+                result.set(field, value);
+            }
+        }
+
+        // The scripts themselves are not needed, only whether the package has to be built on install.
+        JsonNode scripts = packageVersion.get("scripts");
+        if (scripts != null && INSTALL_SCRIPTS.stream().anyMatch(scripts::has))
+        {
+            result.put("hasInstallScript", true);
+        }
+
+        return result;
+    }
+
+}
@@ -13,6 +13,7 @@ import javax.inject.Inject;
 import org.apache.commons.codec.digest.MessageDigestAlgorithms;
 import org.carlspring.strongbox.artifact.ArtifactTag;
 import org.carlspring.strongbox.artifact.coordinates.NpmArtifactCoordinates;
+import org.carlspring.strongbox.config.NpmLayoutProviderConfig.NpmObjectMapper;
 import org.carlspring.strongbox.domain.ArtifactEntry;
 import org.carlspring.strongbox.npm.metadata.Dist;
 import org.carlspring.strongbox.npm.metadata.PackageVersion;
@@ -23,6 +24,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+
 /**
  * @author sbespalov
  *
@@ -38,6 +41,10 @@ public class NpmPackageSupplier implements Function<Path, NpmPackageDesc>
 
     @Inject
     private ArtifactTagService artifactTagService;
+
+    @Inject
+    @NpmObjectMapper
+    private ObjectMapper npmJacksonMapper;
     
     @Override
     public NpmPackageDesc apply(Path path)
@@ -61,7 +68,7 @@ public class NpmPackageSupplier implements Function<Path, NpmPackageDesc>
         NpmPackageDesc npmPackageDesc = new NpmPackageDesc();
         npmPackageDesc.setReleaseDate(artifactEntry.getLastUpdated());
 
-        PackageVersion npmPackage = new PackageVersion();
+        PackageVersion npmPackage = readPackageJson(repositoryPath);
         npmPackageDesc.setNpmPackage(npmPackage);
 
         npmPackage.setAdditionalProperty("_id", String.format("%s@%s", c.getId(), c.getVersion()));
@@ -94,6 +101,30 @@ public class NpmPackageSupplier implements Function<Path, NpmPackageDesc>
         return npmPackageDesc;
     }
 
+    /**
+     * The <code>package.json</code> stored next to the package tarball on publish holds the full version manifest
+     * (dependencies, bin, engines and so on), which is what the npm clients need to resolve the dependency tree.
+     */
+    private PackageVersion readPackageJson(RepositoryPath repositoryPath)
+    {
+        RepositoryPath packageJsonPath = repositoryPath.resolveSibling("package.json");
+        if (!Files.exists(packageJsonPath))
+        {
+            return new PackageVersion();
+        }
+
+        try
+        {
+            return npmJacksonMapper.readValue(Files.readAllBytes(packageJsonPath), PackageVersion.class);
+        }
+        catch (IOException e)
+        {
+            logger.warn("Failed to read [{}].", packageJsonPath, e);
+
+            return new PackageVersion();
+        }
+    }
+
     private void fetchShasum(Dist dist,
                              Map<String, RepositoryPath> checksumMap)
     {
@@ -1,6 +1,7 @@
 package org.carlspring.strongbox.repository;
 
 import java.io.IOException;
+import java.util.Collection;
 import java.util.Date;
 import java.util.HashSet;
 import java.util.Map;
@@ -97,6 +98,20 @@ public class NpmPackageFeedParser
         }
     }
 
+    /**
+     * Saves the packages of several feeds in a single transaction.
+     */
+    @Transactional
+    public void parseFeeds(Repository repository,
+                           Collection<PackageFeed> packageFeeds)
+        throws IOException
+    {
+        for (PackageFeed packageFeed : packageFeeds)
+        {
+            parseFeed(repository, packageFeed);
+        }
+    }
+
     @Transactional
     public void parseFeed(Repository repository,
                           PackageFeed packageFeed)
@@ -1,5 +1,6 @@
 package org.carlspring.strongbox.repository;
 
+import org.carlspring.strongbox.config.EventsConfig;
 import org.carlspring.strongbox.config.NpmLayoutProviderConfig.NpmObjectMapper;
 import org.carlspring.strongbox.configuration.Configuration;
 import org.carlspring.strongbox.configuration.ConfigurationManager;
@@ -15,38 +16,37 @@ import org.carlspring.strongbox.npm.metadata.PackageFeed;
 import org.carlspring.strongbox.npm.metadata.SearchResults;
 import org.carlspring.strongbox.providers.repository.event.RemoteRepositorySearchEvent;
 import org.carlspring.strongbox.service.ProxyRepositoryConnectionPoolConfigurationService;
-import org.carlspring.strongbox.services.ConfigurationManagementService;
+import org.carlspring.strongbox.services.NpmChangesFeedCheckpointService;
 import org.carlspring.strongbox.storage.Storage;
 import org.carlspring.strongbox.storage.repository.Repository;
 import org.carlspring.strongbox.storage.repository.RepositoryData;
-import org.carlspring.strongbox.storage.repository.RepositoryDto;
 import org.carlspring.strongbox.storage.repository.remote.RemoteRepository;
 import org.carlspring.strongbox.storage.validation.artifact.version.GenericReleaseVersionValidator;
 import org.carlspring.strongbox.storage.validation.artifact.version.GenericSnapshotVersionValidator;
 import org.carlspring.strongbox.storage.validation.deployment.RedeploymentValidator;
 import org.carlspring.strongbox.yaml.configuration.repository.NpmRepositoryConfigurationData;
 import org.carlspring.strongbox.yaml.configuration.repository.remote.NpmRemoteRepositoryConfiguration;
-import org.carlspring.strongbox.yaml.configuration.repository.remote.NpmRemoteRepositoryConfigurationDto;
 
 import javax.annotation.PostConstruct;
 import javax.inject.Inject;
+import javax.inject.Named;
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
 import javax.ws.rs.client.Client;
-import javax.ws.rs.client.Invocation;
 import javax.ws.rs.client.WebTarget;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.Executor;
 
-import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.JsonToken;
-import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -66,9 +66,6 @@ public class NpmRepositoryFeatures implements RepositoryFeatures
 
     private static final Logger logger = LoggerFactory.getLogger(NpmRepositoryFeatures.class);
 
-    @Inject
-    private ConfigurationManagementService configurationManagementService;
-
     @Inject
     private RedeploymentValidator redeploymentValidator;
 
@@ -88,6 +85,7 @@ public class NpmRepositoryFeatures implements RepositoryFeatures
     private EntityManager entityManager;
 
     @Inject
+    @Named(EventsConfig.REPOSITORY_EVENT_EXECUTOR)
     private Executor eventTaskExecutor;
 
     @Inject
@@ -97,6 +95,9 @@ public class NpmRepositoryFeatures implements RepositoryFeatures
     @Inject
     private NpmPackageFeedParser npmPackageFeedParser;
 
+    @Inject
+    private NpmChangesFeedCheckpointService npmChangesFeedCheckpointService;
+
     private Set<String> defaultArtifactCoordinateValidators;
 
     @PostConstruct
@@ -184,6 +185,11 @@ public class NpmRepositoryFeatures implements RepositoryFeatures
         }
     }
 
+    /**
+     * Ingests the remote <code>_changes</code> feed of a repository, from the last checkpointed change (or the
+     * configured {@link NpmRemoteRepositoryConfiguration#getLastChangeId()} for the first run) until the end of
+     * the feed.
+     */
     public void fetchRemoteChangesFeed(String storageId,
                                        String repositoryId)
         throws IOException
@@ -198,137 +204,144 @@ public class NpmRepositoryFeatures implements RepositoryFeatures
             return;
         }
 
-        RepositoryDto mutableRepository = configurationManagementService.getMutableConfigurationClone()
-                                                                            .getStorage(storageId)
-                                                                            .getRepository(repositoryId);
-        NpmRemoteRepositoryConfigurationDto mutableConfiguration = (NpmRemoteRepositoryConfigurationDto) mutableRepository.getRemoteRepository()
-                                                                                                                                  .getCustomConfiguration();
-
         NpmRemoteRepositoryConfiguration configuration = (NpmRemoteRepositoryConfiguration) remoteRepository.getCustomConfiguration();
         if (configuration == null)
         {
             logger.warn("Remote npm configuration not found for [{}]/[{}]", storageId, repositoryId);
             return;
         }
-        Long lastCnahgeId = configuration.getLastChangeId();
+        Long lastChangeId = Optional.ofNullable(npmChangesFeedCheckpointService.getLastChangeId(storageId,
+                                                                                              repositoryId))
+                                    .orElse(configuration.getLastChangeId());
         String replicateUrl = configuration.getReplicateUrl();
 
-        Long nextChangeId = lastCnahgeId;
-        do
-        {
-            lastCnahgeId = nextChangeId;
-            mutableConfiguration.setLastChangeId(nextChangeId);
-            configurationManagementService.saveRepository(storageId, mutableRepository);
-
-            nextChangeId = Long.valueOf(fetchRemoteChangesFeed(repository, replicateUrl, lastCnahgeId + 1));
-        } while (nextChangeId > lastCnahgeId);
-    }
-
-    private Integer fetchRemoteChangesFeed(Repository repository,
-                                           String replicateUrl,
-                                           Long since)
-        throws IOException
-    {
-        int result = 0;
+        // A single client for all the batches, the connections are pooled anyway.
         Client restClient = proxyRepositoryConnectionPoolConfigurationService.getRestClient();
         try
         {
-            logger.debug("Fetching remote changes for [{}] since [{}].", replicateUrl, since);
-
-            WebTarget service = restClient.target(replicateUrl);
-            service = service.path("_changes");
-            service = service.queryParam("since", since);
-            service = service.queryParam("include_docs", true);
-            service = service.queryParam("limit", CHANGES_BATCH_SIZE);
-
-            Invocation request = service.request().buildGet();
-
-            result = fetchRemoteChangesFeed(repository, request);
+            Long nextChangeId = lastChangeId;
+            do
+            {
+                lastChangeId = nextChangeId;
+                nextChangeId = fetchRemoteChangesFeed(restClient, repository, replicateUrl, lastChangeId);
+            } while (nextChangeId > lastChangeId);
         }
         finally
         {
             restClient.close();
         }
-
-        return result;
     }
 
-    private int fetchRemoteChangesFeed(Repository repository,
-                                       Invocation request)
+    /**
+     * Fetches a batch of changes. The response is parsed as a stream, and the packages of the batch are saved in
+     * a single transaction before the checkpoint is moved forward.
+     *
+     * @return the sequence of the last ingested change
+     */
+    private long fetchRemoteChangesFeed(Client restClient,
+                                        Repository repository,
+                                        String replicateUrl,
+                                        long lastChangeId)
         throws IOException
     {
-        int result = 0;
-
-        RemoteRepository remoteRepository = repository.getRemoteRepository();
-        NpmRemoteRepositoryConfiguration repositoryConfiguration = (NpmRemoteRepositoryConfiguration) remoteRepository.getCustomConfiguration();
-
-        JsonFactory jfactory = new JsonFactory();
-
-        try (InputStream is = request.invoke(InputStream.class))
+        logger.debug("Fetching remote changes for [{}] since [{}].", replicateUrl, lastChangeId);
+
+        WebTarget service = restClient.target(replicateUrl);
+        service = service.path("_changes");
+        service = service.queryParam("since", lastChangeId + 1);
+        service = service.queryParam("include_docs", true);
+        service = service.queryParam("limit", CHANGES_BATCH_SIZE);
+
+        long result = lastChangeId;
+        List<PackageFeed> packageFeeds = new ArrayList<>();
+        try (InputStream is = service.request().buildGet().invoke(InputStream.class);
+             JsonParser jp = npmJacksonMapper.getFactory().createParser(is))
         {
-
-            JsonParser jp = jfactory.createParser(is);
-            jp.setCodec(npmJacksonMapper);
-
             Assert.isTrue(jp.nextToken() == JsonToken.START_OBJECT, "npm changes feed should be JSON object.");
-            Assert.isTrue(jp.nextFieldName().equals("results"), "npm changes feed should contains `results` field.");
-            Assert.isTrue(jp.nextToken() == JsonToken.START_ARRAY, "npm changes feed `results` should be array.");
 
-            StringBuffer sb = new StringBuffer();
-            while (jp.nextToken() != null)
+            results:
+            while (jp.nextToken() == JsonToken.FIELD_NAME)
             {
-                JsonToken nextToken = jp.currentToken();
-                if (nextToken == JsonToken.END_ARRAY)
+                String fieldName = jp.getCurrentName();
+                jp.nextToken();
+                if (!"results".equals(fieldName))
                 {
-                    break;
+                    jp.skipChildren();
+                    continue;
                 }
 
-                JsonNode node = jp.readValueAsTree();
-                sb.append(node.toString());
-
-                String changeValue = sb.toString();
-
-                Change change;
-                try
+                Assert.isTrue(jp.currentToken() == JsonToken.START_ARRAY,
+                              "npm changes feed `results` should be array.");
+                while (jp.nextToken() == JsonToken.START_OBJECT)
                 {
-                    change = npmJacksonMapper.readValue(changeValue, Change.class);
-                }
-                catch (Exception e)
-                {
-                    logger.error("Failed to parse NPM changes feed [{}] since [{}]: \n {}",
-                                 repositoryConfiguration.getReplicateUrl(),
-                                 repositoryConfiguration.getLastChangeId(),
-                                 changeValue,
-                                 e);
-
-                    return result;
+                    Change change;
+                    try
+                    {
+                        change = jp.readValueAs(Change.class);
+                    }
+                    catch (JsonProcessingException e)
+                    {
+                        logger.error("Failed to parse NPM changes feed [{}] after [{}].", replicateUrl, result, e);
+
+                        break results;
+                    }
+
+                    if (change.getDoc() != null)
+                    {
+                        packageFeeds.add(change.getDoc());
+                    }
+                    result = change.getSeq();
                 }
+            }
+        }
 
-                PackageFeed packageFeed = change.getDoc();
-                try
-                {
-                    npmPackageFeedParser.parseFeed(repository, packageFeed);
-                }
-                catch (Exception e)
-                {
-                    logger.error("Failed to parse NPM feed [{}/{}]",
-                                 ((RepositoryData)repository).getRemoteRepository().getUrl(),
-                                 packageFeed.getName(),
-                                 e);
+        savePackageFeeds(repository, packageFeeds);
+        if (result > lastChangeId)
+        {
+            npmChangesFeedCheckpointService.saveLastChangeId(repository.getStorage().getId(), repository.getId(),
+                                                             result);
+        }
 
-                }
+        logger.debug("Fetched [{}] remote changes for [{}] since [{}].", packageFeeds.size(), replicateUrl,
+                     lastChangeId);
 
-                result = change.getSeq();
-                sb = new StringBuffer();
-            }
+        return result;
+    }
 
+    private void savePackageFeeds(Repository repository,
+                                  List<PackageFeed> packageFeeds)
+    {
+        if (packageFeeds.isEmpty())
+        {
+            return;
         }
 
-        logger.debug("Fetched remote changes for  [{}] since [{}].",
-                     repositoryConfiguration.getReplicateUrl(),
-                     repositoryConfiguration.getLastChangeId());
+        try
+        {
+            npmPackageFeedParser.parseFeeds(repository, packageFeeds);
+
+            return;
+        }
+        catch (Exception e)
+        {
+            logger.warn("Failed to save the NPM feeds batch of [{}], saving them one by one.",
+                        repository.getRemoteRepository().getUrl(), e);
+        }
 
-        return result;
+        for (PackageFeed packageFeed : packageFeeds)
+        {
+            try
+            {
+                npmPackageFeedParser.parseFeed(repository, packageFeed);
+            }
+            catch (Exception e)
+            {
+                logger.error("Failed to parse NPM feed [{}/{}]",
+                             ((RepositoryData)repository).getRemoteRepository().getUrl(),
+                             packageFeed.getName(),
+                             e);
+            }
+        }
     }
 
     private void fetchRemotePackageFeed(String storageId,
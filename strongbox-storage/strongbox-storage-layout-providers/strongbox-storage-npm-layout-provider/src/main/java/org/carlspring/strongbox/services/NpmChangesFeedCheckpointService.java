@@ -0,0 +1,20 @@
+package org.carlspring.strongbox.services;
+
+import org.carlspring.strongbox.data.service.CrudService;
+import org.carlspring.strongbox.domain.NpmChangesFeedCheckpointEntry;
+
+public interface NpmChangesFeedCheckpointService
+        extends CrudService<NpmChangesFeedCheckpointEntry, String>
+{
+
+    /**
+     * @return the last ingested change of the repository, or null if the feed was never fetched
+     */
+    Long getLastChangeId(String storageId,
+                         String repositoryId);
+
+    void saveLastChangeId(String storageId,
+                          String repositoryId,
+                          long lastChangeId);
+
+}
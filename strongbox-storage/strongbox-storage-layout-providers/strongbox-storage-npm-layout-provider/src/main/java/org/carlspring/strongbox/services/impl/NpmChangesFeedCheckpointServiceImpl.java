@@ -0,0 +1,72 @@
+package org.carlspring.strongbox.services.impl;
+
+import org.carlspring.strongbox.data.service.CommonCrudService;
+import org.carlspring.strongbox.domain.NpmChangesFeedCheckpointEntry;
+import org.carlspring.strongbox.services.NpmChangesFeedCheckpointService;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import com.orientechnologies.orient.core.sql.query.OSQLSynchQuery;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@Transactional
+public class NpmChangesFeedCheckpointServiceImpl
+        extends CommonCrudService<NpmChangesFeedCheckpointEntry>
+        implements NpmChangesFeedCheckpointService
+{
+
+    @Override
+    public Long getLastChangeId(String storageId,
+                                String repositoryId)
+    {
+        return findCheckpoint(storageId, repositoryId).map(NpmChangesFeedCheckpointEntry::getLastChangeId)
+                                                      .orElse(null);
+    }
+
+    @Override
+    public void saveLastChangeId(String storageId,
+                                 String repositoryId,
+                                 long lastChangeId)
+    {
+        NpmChangesFeedCheckpointEntry checkpoint = findCheckpoint(storageId, repositoryId).orElseGet(() -> {
+            NpmChangesFeedCheckpointEntry result = new NpmChangesFeedCheckpointEntry();
+            result.setUuid(NpmChangesFeedCheckpointEntry.calculateUuid(storageId, repositoryId));
+            result.setStorageId(storageId);
+            result.setRepositoryId(repositoryId);
+
+            return result;
+        });
+
+        checkpoint.setLastChangeId(lastChangeId);
+        checkpoint.setLastUpdated(new Date());
+
+        save(checkpoint);
+    }
+
+    private Optional<NpmChangesFeedCheckpointEntry> findCheckpoint(String storageId,
+                                                                   String repositoryId)
+    {
+        Map<String, String> params = new HashMap<>();
+        params.put("uuid", NpmChangesFeedCheckpointEntry.calculateUuid(storageId, repositoryId));
+
+        OSQLSynchQuery<NpmChangesFeedCheckpointEntry> oQuery = new OSQLSynchQuery<>(buildQuery(params));
+        oQuery.setLimit(1);
+
+        List<NpmChangesFeedCheckpointEntry> resultList = getDelegate().command(oQuery).execute(params);
+
+        return resultList.stream().findFirst();
+    }
+
+    @Override
+    public Class<NpmChangesFeedCheckpointEntry> getEntityClass()
+    {
+        return NpmChangesFeedCheckpointEntry.class;
+    }
+
+}
@@ -8,13 +8,12 @@ import org.carlspring.strongbox.data.criteria.Predicate;
 import org.carlspring.strongbox.data.criteria.Selector;
 import org.carlspring.strongbox.domain.RemoteArtifactEntry;
 import org.carlspring.strongbox.service.ProxyRepositoryConnectionPoolConfigurationService;
+import org.carlspring.strongbox.services.NpmChangesFeedCheckpointService;
 import org.carlspring.strongbox.storage.repository.Repository;
-import org.carlspring.strongbox.storage.repository.RepositoryData;
 import org.carlspring.strongbox.testing.NpmReplicateUrlRepositorySetup;
 import org.carlspring.strongbox.testing.repository.NpmRepository;
 import org.carlspring.strongbox.testing.storage.repository.RepositoryManagementTestExecutionListener;
 import org.carlspring.strongbox.testing.storage.repository.TestRepository.Remote;
-import org.carlspring.strongbox.yaml.configuration.repository.remote.NpmRemoteRepositoryConfiguration;
 
 import javax.inject.Inject;
 import javax.persistence.EntityManager;
@@ -71,6 +70,9 @@ public class FetchChangesFeedCronJobTestIT
     @Inject
     private ProxyRepositoryConnectionPoolConfigurationService proxyRepositoryConnectionPoolConfigurationService;
 
+    @Inject
+    private NpmChangesFeedCheckpointService npmChangesFeedCheckpointService;
+
     @PersistenceContext
     private EntityManager entityManager;
 
@@ -114,14 +116,8 @@ public class FetchChangesFeedCronJobTestIT
         RemoteArtifactEntry artifactEntry = artifactEntryList.iterator().next();
         assertThat(artifactEntry.getIsCached()).isFalse();
 
-        RepositoryData repositoryData = (RepositoryData) configurationManagementService.getConfiguration()
-                                                                                       .getRepository(
-                                                                                               repository.getStorage().getId(),
-                                                                                               repository.getId());
-
-        NpmRemoteRepositoryConfiguration customConfiguration = (NpmRemoteRepositoryConfiguration) repositoryData.getRemoteRepository()
-                                                                                                                .getCustomConfiguration();
-        assertThat(customConfiguration.getLastChangeId()).isEqualTo(330L);
+        assertThat(npmChangesFeedCheckpointService.getLastChangeId(repository.getStorage().getId(),
+                                                                   repository.getId())).isEqualTo(330L);
     }
 
     public static class TestFetchRemoteChangesFeedCronJob extends FetchRemoteNpmChangesFeedCronJob
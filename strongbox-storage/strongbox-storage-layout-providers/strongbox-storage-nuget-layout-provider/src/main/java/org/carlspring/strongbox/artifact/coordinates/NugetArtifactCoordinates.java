@@ -42,6 +42,14 @@ public class NugetArtifactCoordinates
 
     private static final Pattern NUGET_PACKAGE_REGEXP = Pattern.compile(NUGET_PACKAGE_REGEXP_PATTERN);
 
+    /**
+     * The (id, version) tuple is stored in properties of its own as well, see
+     * <code>idx_nuget_artifact_coordinates</code>.
+     */
+    private String id;
+
+    private String version;
+
 
     public NugetArtifactCoordinates()
     {
@@ -75,6 +83,7 @@ public class NugetArtifactCoordinates
     @Override
     public void setId(String id)
     {
+        this.id = id;
         setCoordinate(ID, id);
     }
 
@@ -88,6 +97,7 @@ public class NugetArtifactCoordinates
     @Override
     public void setVersion(String version)
     {
+        this.version = version;
         setCoordinate(VERSION, version);
     }
 
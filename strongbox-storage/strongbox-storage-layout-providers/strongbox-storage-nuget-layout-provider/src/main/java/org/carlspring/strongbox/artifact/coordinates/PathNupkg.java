@@ -1,8 +1,10 @@
 package org.carlspring.strongbox.artifact.coordinates;
 
 import org.carlspring.strongbox.artifact.coordinates.versioning.SemanticVersion;
+import org.carlspring.strongbox.domain.ArtifactEntry;
 import org.carlspring.strongbox.providers.io.RepositoryPath;
 import org.carlspring.strongbox.storage.metadata.nuget.NugetFormatException;
+import org.carlspring.strongbox.storage.metadata.nuget.NugetPackageAttributes;
 import org.carlspring.strongbox.storage.metadata.nuget.Nupkg;
 import org.carlspring.strongbox.storage.metadata.nuget.Nuspec;
 import org.carlspring.strongbox.storage.metadata.nuget.Nuspec.Metadata;
@@ -15,10 +17,20 @@ import java.util.*;
 
 import javax.xml.bind.DatatypeConverter;
 
+import org.apache.commons.codec.digest.MessageDigestAlgorithms;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.util.Assert;
 
+/**
+ * {@link Nupkg} of a repository path.
+ * <p>
+ * The package specification and hash are taken from the {@link ArtifactEntry} attributes, which are extracted
+ * when the package is stored; the <code>.nuspec</code> and checksum files are only read for the packages stored
+ * before these attributes were introduced.
+ *
+ * @see NugetPackageAttributes
+ */
 public class PathNupkg implements Nupkg
 {
 
@@ -27,8 +39,9 @@ public class PathNupkg implements Nupkg
     private RepositoryPath path;
     private Nuspec nuspecFile;
     private String hash;
+    private String dependencies;
     private NugetArtifactCoordinates artifactCoordinates;
-    
+
     public PathNupkg(RepositoryPath path)
         throws NugetFormatException,
         UnsupportedEncodingException,
@@ -38,9 +51,27 @@ public class PathNupkg implements Nupkg
         Assert.notNull(path.getArtifactEntry(), "artifact entry should not be null");
         
         this.path = path;
-        this.artifactCoordinates = (NugetArtifactCoordinates) path.getArtifactEntry().getArtifactCoordinates();
-        this.nuspecFile = createNuspecFile();
-        this.hash = createHash();
+
+        ArtifactEntry artifactEntry = path.getArtifactEntry();
+        Map<String, String> attributes = artifactEntry.getArtifactAttributes();
+
+        this.artifactCoordinates = (NugetArtifactCoordinates) artifactEntry.getArtifactCoordinates();
+        if (NugetPackageAttributes.isPresent(attributes))
+        {
+            this.nuspecFile = NugetPackageAttributes.toNuspec(getId(), getVersion(), attributes);
+            this.dependencies = NugetPackageAttributes.getDependencies(attributes);
+        }
+        else
+        {
+            this.nuspecFile = createNuspecFile();
+        }
+
+        this.hash = Optional.ofNullable(artifactEntry.getChecksums().get(MessageDigestAlgorithms.SHA_512))
+                            .orElse(attributes.get(NugetPackageAttributes.PACKAGE_HASH));
+        if (this.hash == null)
+        {
+            this.hash = createHash();
+        }
     }
 
     public RepositoryPath getPath()
@@ -88,6 +119,15 @@ public class PathNupkg implements Nupkg
         return checkSumStr;
     }
 
+    /**
+     * @return dependencies in the feed format, or <code>null</code> if they should be taken from the
+     *         {@link #getNuspec()}
+     */
+    public String getDependencies()
+    {
+        return dependencies;
+    }
+
     @Override
     public Nuspec getNuspec()
         throws NugetFormatException
@@ -23,6 +23,7 @@ import org.springframework.context.annotation.Scope;
 
 @Configuration
 @ComponentScan({ "org.carlspring.strongbox.configuration",
+                 "org.carlspring.strongbox.nuget",
                  "org.carlspring.strongbox.repository",
                  "org.carlspring.strongbox.providers",
                  "org.carlspring.strongbox.services",
@@ -0,0 +1,164 @@
+package org.carlspring.strongbox.nuget;
+
+import org.carlspring.strongbox.storage.metadata.nuget.NugetPackageAttributes;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory n-gram index of the NuGet packages of a repository, used to resolve the <code>searchTerm</code> of the
+ * <code>Search()</code> requests into package IDs without scanning the artifact entries.
+ * <p>
+ * A package matches if its ID, title or tags contain the search term (quotes removed), ignoring case, which is
+ * the <code>artifactCoordinates.coordinates.id LIKE '%term%'</code> condition the search used to run on the
+ * database, extended to the titles and tags. Every substring of up to {@link #GRAM_LENGTH} characters of the
+ * searchable text of a package is indexed: a short search term is a single lookup, a longer one is resolved by
+ * intersecting the packages of its grams and checking the few remaining candidates.
+ * <p>
+ * The index only grows: the {@link NugetSearchIndexRegistry} replaces it with a fresh one loaded from the
+ * database when packages are deleted, and once it is older than the configured refresh interval.
+ */
+public class NugetSearchIndex
+{
+
+    /**
+     * Length of the longest indexed substrings.
+     */
+    static final int GRAM_LENGTH = 3;
+
+    /**
+     * Separates the ID, title and tags in the searchable text, it can't be part of a search term.
+     */
+    private static final char FIELD_SEPARATOR = '\n';
+
+    private final Map<String, Set<String>> grams = new ConcurrentHashMap<>();
+
+    /**
+     * The searchable text of each package ID.
+     */
+    private final Map<String, String> texts = new ConcurrentHashMap<>();
+
+    private final long created = System.currentTimeMillis();
+
+    /**
+     * @return the time when the index was created, in milliseconds
+     */
+    public long getCreated()
+    {
+        return created;
+    }
+
+    /**
+     * @param packageId
+     *            package ID
+     * @param attributes
+     *            persisted artifact attributes, see {@link NugetPackageAttributes}, can be null
+     */
+    public void add(String packageId,
+                    Map<String, String> attributes)
+    {
+        if (packageId == null)
+        {
+            return;
+        }
+
+        StringBuilder text = new StringBuilder(packageId);
+        if (attributes != null)
+        {
+            append(text, attributes.get(NugetPackageAttributes.TITLE));
+            append(text, attributes.get(NugetPackageAttributes.TAGS));
+        }
+
+        // The versions of a package can have different titles and tags, all of them are searchable.
+        String added = text.toString().toLowerCase(Locale.ROOT);
+        texts.merge(packageId, added, (current, value) -> current.contains(value) ? current :
+                                                          current + FIELD_SEPARATOR + value);
+
+        for (int i = 0; i < added.length(); i++)
+        {
+            for (int j = i + 1; j <= Math.min(i + GRAM_LENGTH, added.length()); j++)
+            {
+                if (added.charAt(j - 1) == FIELD_SEPARATOR)
+                {
+                    break;
+                }
+
+                grams.computeIfAbsent(added.substring(i, j), g -> ConcurrentHashMap.newKeySet()).add(packageId);
+            }
+        }
+    }
+
+    /**
+     * @param searchTerm
+     *            search term
+     * @return IDs of the packages whose ID, title or tags contain the search term
+     */
+    public Set<String> search(String searchTerm)
+    {
+        String term = normalize(searchTerm).toLowerCase(Locale.ROOT);
+        if (term.isEmpty())
+        {
+            return Collections.emptySet();
+        }
+
+        if (term.length() <= GRAM_LENGTH)
+        {
+            return new HashSet<>(grams.getOrDefault(term, Collections.emptySet()));
+        }
+
+        // The candidates have all the grams of the term, starting with the rarest one.
+        Set<String> smallest = null;
+        for (int i = 0; i + GRAM_LENGTH <= term.length(); i++)
+        {
+            Set<String> packageIds = grams.get(term.substring(i, i + GRAM_LENGTH));
+            if (packageIds == null)
+            {
+                return Collections.emptySet();
+            }
+
+            if (smallest == null || packageIds.size() < smallest.size())
+            {
+                smallest = packageIds;
+            }
+        }
+
+        Set<String> result = new HashSet<>();
+        for (String packageId : smallest)
+        {
+            String text = texts.get(packageId);
+            if (text != null && text.contains(term))
+            {
+                result.add(packageId);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * @return the number of indexed packages
+     */
+    public int size()
+    {
+        return texts.size();
+    }
+
+    private static void append(StringBuilder text,
+                               String value)
+    {
+        if (value != null && !value.trim().isEmpty())
+        {
+            text.append(FIELD_SEPARATOR).append(value.replace(FIELD_SEPARATOR, ' '));
+        }
+    }
+
+    private static String normalize(String text)
+    {
+        return text == null ? "" : text.replaceAll("['\"]", "").trim();
+    }
+
+}
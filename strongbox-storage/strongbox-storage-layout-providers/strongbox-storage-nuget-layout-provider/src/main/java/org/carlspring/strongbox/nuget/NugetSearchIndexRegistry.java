@@ -0,0 +1,293 @@
+package org.carlspring.strongbox.nuget;
+
+import org.carlspring.strongbox.artifact.coordinates.NugetArtifactCoordinates;
+import org.carlspring.strongbox.domain.ArtifactEntry;
+import org.carlspring.strongbox.domain.RepositoryArtifactIdGroupEntry;
+import org.carlspring.strongbox.event.artifact.ArtifactEvent;
+import org.carlspring.strongbox.event.artifact.ArtifactEventTypeEnum;
+import org.carlspring.strongbox.providers.io.RepositoryFiles;
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.providers.layout.NugetLayoutProvider;
+import org.carlspring.strongbox.providers.repository.group.GroupRepositorySetCollector;
+import org.carlspring.strongbox.storage.metadata.nuget.NugetPackageAttributes;
+import org.carlspring.strongbox.storage.metadata.nuget.Nupkg;
+import org.carlspring.strongbox.storage.repository.Repository;
+
+import javax.inject.Inject;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import com.orientechnologies.orient.core.db.record.OIdentifiable;
+import com.orientechnologies.orient.core.db.record.ORecordLazyMultiValue;
+import com.orientechnologies.orient.core.id.ORID;
+import com.orientechnologies.orient.core.record.impl.ODocument;
+import com.orientechnologies.orient.core.sql.query.OSQLSynchQuery;
+import com.orientechnologies.orient.object.db.OObjectDatabaseTx;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Holds the {@link NugetSearchIndex} of every NuGet repository.
+ * <p>
+ * The index of a repository is loaded from the artifact entries on the first search, kept up to date with the
+ * packages stored on this node, dropped when a path of the repository is deleted and reloaded once it is older
+ * than <code>strongbox.nuget.search-index.refresh-seconds</code>, so that the packages stored or deleted on the
+ * other nodes of a cluster are picked up as well.
+ * <p>
+ * The matching package IDs are resolved into {@link ArtifactEntry} record IDs through their
+ * {@link RepositoryArtifactIdGroupEntry}, which is looked up by its (storageId, repositoryId, name) key, so that
+ * the search query doesn't need to filter the unindexed <code>artifactCoordinates.coordinates.id</code> at all.
+ * A search term which matches more than <code>strongbox.nuget.search-index.max-results</code> packages or artifact
+ * entries is not resolved: the query would only get slower with such a long list of record IDs, so the caller
+ * filters the package IDs on the database instead.
+ */
+@Component
+public class NugetSearchIndexRegistry
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(NugetSearchIndexRegistry.class);
+
+    private final Map<String, NugetSearchIndex> indexes = new ConcurrentHashMap<>();
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Inject
+    private GroupRepositorySetCollector groupRepositorySetCollector;
+
+    @Value("${strongbox.nuget.search-index.refresh-seconds:300}")
+    private long refreshSeconds;
+
+    @Value("${strongbox.nuget.search-index.max-results:1000}")
+    private int maxResults;
+
+    /**
+     * @param repository
+     *            repository to search, for group repositories all the member repositories are searched
+     * @param searchTerm
+     *            search term
+     * @return IDs of the {@link ArtifactEntry} records of the matching packages, or nothing if there are more of
+     *         them than the configured maximum
+     */
+    @Transactional
+    public Optional<Set<ORID>> search(Repository repository,
+                                      String searchTerm)
+    {
+        List<Repository> repositories = new ArrayList<>();
+        repositories.add(repository);
+        repositories.addAll(groupRepositorySetCollector.collect(repository, true));
+
+        Map<Repository, Set<String>> packageIds = new HashMap<>();
+        int packageCount = 0;
+        for (Repository r : repositories)
+        {
+            Set<String> repositoryPackageIds = getIndex(r.getStorage().getId(), r.getId()).search(searchTerm);
+            packageIds.put(r, repositoryPackageIds);
+
+            packageCount += repositoryPackageIds.size();
+            if (packageCount > maxResults)
+            {
+                logger.debug("The search term [{}] matches more than [{}] packages.", searchTerm, maxResults);
+
+                return Optional.empty();
+            }
+        }
+
+        Set<ORID> result = new HashSet<>();
+        for (Map.Entry<Repository, Set<String>> e : packageIds.entrySet())
+        {
+            result.addAll(search(e.getKey().getStorage().getId(), e.getKey().getId(), e.getValue()));
+            if (result.size() > maxResults)
+            {
+                logger.debug("The search term [{}] matches more than [{}] artifact entries.", searchTerm, maxResults);
+
+                return Optional.empty();
+            }
+        }
+
+        return Optional.of(result);
+    }
+
+    private Set<ORID> search(String storageId,
+                             String repositoryId,
+                             Set<String> packageIds)
+    {
+        if (packageIds.isEmpty())
+        {
+            return new HashSet<>();
+        }
+
+        String sQuery = String.format("SELECT artifactEntries FROM %s " +
+                                      "WHERE storageId = :storageId AND repositoryId = :repositoryId " +
+                                      "AND name IN :names",
+                                      RepositoryArtifactIdGroupEntry.class.getSimpleName());
+
+        Map<String, Object> params = new HashMap<>();
+        params.put("storageId", storageId);
+        params.put("repositoryId", repositoryId);
+        params.put("names", packageIds);
+
+        OSQLSynchQuery<ODocument> oQuery = new OSQLSynchQuery<>(sQuery);
+        List<ODocument> resultList = ((OObjectDatabaseTx) entityManager.getDelegate()).command(oQuery)
+                                                                                     .execute(params);
+
+        Set<ORID> result = new HashSet<>();
+        for (ODocument document : resultList)
+        {
+            Object artifactEntries = document.field("artifactEntries");
+            if (artifactEntries == null)
+            {
+                continue;
+            }
+
+            // Only the links are needed, the artifact entries themselves are not loaded.
+            Iterator<OIdentifiable> iterator = artifactEntries instanceof ORecordLazyMultiValue ?
+                                               ((ORecordLazyMultiValue) artifactEntries).rawIterator() :
+                                               ((Iterable<OIdentifiable>) artifactEntries).iterator();
+            iterator.forEachRemaining(e -> result.add(e.getIdentity()));
+        }
+
+        return result;
+    }
+
+    /**
+     * @param storageId
+     *            storage ID
+     * @param repositoryId
+     *            repository ID
+     * @param packageId
+     *            package ID
+     * @param attributes
+     *            persisted artifact attributes, see {@link NugetPackageAttributes}, can be null
+     */
+    public void add(String storageId,
+                    String repositoryId,
+                    String packageId,
+                    Map<String, String> attributes)
+    {
+        // Packages stored before the index is loaded are read from the database with the rest.
+        NugetSearchIndex index = indexes.get(getKey(storageId, repositoryId));
+        if (index != null)
+        {
+            index.add(packageId, attributes);
+        }
+    }
+
+    @EventListener
+    public void handle(ArtifactEvent<RepositoryPath> event)
+        throws IOException
+    {
+        RepositoryPath repositoryPath = (RepositoryPath) event.getPath();
+        Repository repository = repositoryPath.getRepository();
+        if (!NugetLayoutProvider.ALIAS.equals(repository.getLayout()))
+        {
+            return;
+        }
+
+        if (event.getType() == ArtifactEventTypeEnum.EVENT_ARTIFACT_PATH_DELETED.getType())
+        {
+            indexes.remove(getKey(repository.getStorage().getId(), repository.getId()));
+
+            return;
+        }
+
+        if (event.getType() != ArtifactEventTypeEnum.EVENT_ARTIFACT_FILE_STORED.getType()
+                || !repositoryPath.getFileName().toString().endsWith(Nupkg.DEFAULT_EXTENSION))
+        {
+            return;
+        }
+
+        NugetArtifactCoordinates coordinates = (NugetArtifactCoordinates) RepositoryFiles.readCoordinates(repositoryPath);
+        ArtifactEntry artifactEntry = repositoryPath.getArtifactEntry();
+
+        add(repository.getStorage().getId(),
+            repository.getId(),
+            coordinates.getId(),
+            artifactEntry == null ? null : artifactEntry.getArtifactAttributes());
+    }
+
+    private NugetSearchIndex getIndex(String storageId,
+                                      String repositoryId)
+    {
+        String key = getKey(storageId, repositoryId);
+
+        NugetSearchIndex index = indexes.get(key);
+        if (index != null && !isExpired(index))
+        {
+            return index;
+        }
+
+        synchronized (this)
+        {
+            index = indexes.get(key);
+            if (index == null || isExpired(index))
+            {
+                index = load(storageId, repositoryId);
+                indexes.put(key, index);
+            }
+        }
+
+        return index;
+    }
+
+    private boolean isExpired(NugetSearchIndex index)
+    {
+        return refreshSeconds > 0 &&
+               System.currentTimeMillis() - index.getCreated() > TimeUnit.SECONDS.toMillis(refreshSeconds);
+    }
+
+    private NugetSearchIndex load(String storageId,
+                                  String repositoryId)
+    {
+        long startTime = System.currentTimeMillis();
+
+        // The titles and tags are only persisted with the artifact entries of the packages.
+        String sQuery = String.format("SELECT artifactCoordinates.coordinates.id AS id, " +
+                                      "artifactAttributes AS attributes FROM %s " +
+                                      "WHERE storageId = :storageId AND repositoryId = :repositoryId " +
+                                      "AND artifactCoordinates.coordinates.extension = :extension",
+                                      ArtifactEntry.class.getSimpleName());
+
+        Map<String, Object> params = new HashMap<>();
+        params.put("storageId", storageId);
+        params.put("repositoryId", repositoryId);
+        params.put("extension", "nupkg");
+
+        OSQLSynchQuery<ODocument> oQuery = new OSQLSynchQuery<>(sQuery);
+        List<ODocument> resultList = ((OObjectDatabaseTx) entityManager.getDelegate()).command(oQuery)
+                                                                                     .execute(params);
+
+        NugetSearchIndex index = new NugetSearchIndex();
+        for (ODocument document : resultList)
+        {
+            index.add(document.field("id"), document.field("attributes"));
+        }
+
+        logger.debug("Loaded the search index of [{}]:[{}] with [{}] packages in [{}] ms.",
+                     storageId, repositoryId, index.size(), System.currentTimeMillis() - startTime);
+
+        return index;
+    }
+
+    private String getKey(String storageId,
+                          String repositoryId)
+    {
+        return storageId + ":" + repositoryId;
+    }
+
+}
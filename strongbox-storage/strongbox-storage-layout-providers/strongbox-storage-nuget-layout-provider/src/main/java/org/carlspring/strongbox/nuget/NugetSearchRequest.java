@@ -1,5 +1,8 @@
 package org.carlspring.strongbox.nuget;
 
+import java.util.HashSet;
+import java.util.Set;
+
 public class NugetSearchRequest
 {
 
@@ -11,6 +14,16 @@ public class NugetSearchRequest
 
     private Boolean includePreRelease;
 
+    /**
+     * The proxy repositories whose remote feed was already checked while serving this request.
+     */
+    private final Set<String> checkedRemoteRepositories = new HashSet<>();
+
+    /**
+     * Whether some remote feed entries were fetched while serving this request.
+     */
+    private boolean remotePackagesFetched;
+
     public String getFilter()
     {
         return filter;
@@ -51,4 +64,19 @@ public class NugetSearchRequest
         this.includePreRelease = includePreRelease;
     }
 
+    public Set<String> getCheckedRemoteRepositories()
+    {
+        return checkedRemoteRepositories;
+    }
+
+    public boolean isRemotePackagesFetched()
+    {
+        return remotePackagesFetched;
+    }
+
+    public void setRemotePackagesFetched(boolean remotePackagesFetched)
+    {
+        this.remotePackagesFetched = remotePackagesFetched;
+    }
+
 }
@@ -1,8 +1,13 @@
 package org.carlspring.strongbox.providers.layout;
 
+import java.io.BufferedInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.Base64;
+import java.util.Collections;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -16,6 +21,11 @@ import org.carlspring.strongbox.providers.io.RepositoryFiles;
 import org.carlspring.strongbox.providers.io.RepositoryPath;
 import org.carlspring.strongbox.repository.NugetRepositoryFeatures;
 import org.carlspring.strongbox.repository.NugetRepositoryManagementStrategy;
+import org.carlspring.strongbox.storage.metadata.nuget.NugetFormatException;
+import org.carlspring.strongbox.storage.metadata.nuget.NugetPackageAttributes;
+import org.carlspring.strongbox.storage.metadata.nuget.Nupkg;
+import org.carlspring.strongbox.storage.metadata.nuget.Nuspec;
+import org.carlspring.strongbox.storage.metadata.nuget.TempNupkgFile;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
@@ -74,6 +84,33 @@ public class NugetLayoutProvider
         return new String(encoded, StandardCharsets.UTF_8);
     }
 
+    /**
+     * The package specification fields are extracted from the <code>.nupkg</code> once, when it's stored, so that
+     * the feeds don't need to read the <code>.nuspec</code> files.
+     */
+    @Override
+    public Map<String, String> getArtifactAttributes(RepositoryPath repositoryPath)
+    {
+        if (!repositoryPath.getFileName().toString().endsWith(Nupkg.DEFAULT_EXTENSION))
+        {
+            return Collections.emptyMap();
+        }
+
+        // Read the raw file, this is not a package download.
+        try (InputStream is = new BufferedInputStream(Files.newInputStream(repositoryPath.getTarget())))
+        {
+            Nuspec nuspec = TempNupkgFile.loadNuspec(is);
+
+            return nuspec == null ? Collections.emptyMap() : NugetPackageAttributes.of(nuspec);
+        }
+        catch (IOException | NugetFormatException e)
+        {
+            logger.warn("Unable to read the package specification of [{}]", repositoryPath, e);
+
+            return Collections.emptyMap();
+        }
+    }
+
     @Override
     public Set<String> getDefaultArtifactCoordinateValidators()
     {
@@ -15,6 +15,7 @@ import org.carlspring.strongbox.domain.ArtifactEntry;
 import org.carlspring.strongbox.domain.ArtifactTagEntry;
 import org.carlspring.strongbox.domain.RemoteArtifactEntry;
 import org.carlspring.strongbox.domain.RepositoryArtifactIdGroupEntry;
+import org.carlspring.strongbox.nuget.NugetSearchIndexRegistry;
 import org.carlspring.strongbox.nuget.NugetSearchRequest;
 import org.carlspring.strongbox.providers.io.RepositoryFiles;
 import org.carlspring.strongbox.providers.io.RepositoryPath;
@@ -26,6 +27,7 @@ import org.carlspring.strongbox.services.ArtifactEntryService;
 import org.carlspring.strongbox.services.ArtifactTagService;
 import org.carlspring.strongbox.services.RepositoryArtifactIdGroupService;
 import org.carlspring.strongbox.storage.Storage;
+import org.carlspring.strongbox.storage.metadata.nuget.NugetPackageAttributes;
 import org.carlspring.strongbox.storage.metadata.nuget.rss.PackageEntry;
 import org.carlspring.strongbox.storage.metadata.nuget.rss.PackageFeed;
 import org.carlspring.strongbox.storage.repository.Repository;
@@ -99,6 +101,9 @@ public class NugetRepositoryFeatures
 
     @Inject
     private RepositoryArtifactIdGroupService repositoryArtifactIdGroupService;
+
+    @Inject
+    private NugetSearchIndexRegistry nugetSearchIndexRegistry;
     
     private Set<String> defaultMavenArtifactCoordinateValidators;
 
@@ -209,6 +214,9 @@ public class NugetRepositoryFeatures
             String packageId = packageEntry.getProperties().getId();
             packageId = packageId == null ? packageEntry.getTitle() : packageId;
             String packageVersion = packageEntry.getProperties().getVersion().toString();
+            Map<String, String> packageAttributes = NugetPackageAttributes.of(packageEntry);
+
+            nugetSearchIndexRegistry.add(storageId, repositoryId, packageId, packageAttributes);
 
             NugetArtifactCoordinates c = new NugetArtifactCoordinates(packageId, packageVersion, "nupkg");
             if (artifactEntryService.artifactExists(storageId, repositoryId, c.toPath()))
@@ -225,6 +233,7 @@ public class NugetRepositoryFeatures
             remoteArtifactEntry.setDownloadCount(0);
 
             remoteArtifactEntry.setSizeInBytes(packageEntry.getProperties().getPackageSize());
+            remoteArtifactEntry.getArtifactAttributes().putAll(packageAttributes);
 
             if (Boolean.TRUE.equals(packageEntry.getProperties().getIsLatestVersion()))
             {
@@ -289,7 +298,8 @@ public class NugetRepositoryFeatures
             Storage storage = getConfiguration().getStorage(event.getStorageId());
             Repository repository = storage.getRepository(event.getRepositoryId());
             RemoteRepository remoteRepository = repository.getRemoteRepository();
-            if (remoteRepository == null)
+            if (remoteRepository == null
+                    || !nugetSearchRequest.getCheckedRemoteRepositories().add(storage.getId() + ":" + repository.getId()))
             {
                 return;
             }
@@ -348,6 +358,8 @@ public class NugetRepositoryFeatures
             }
 
             parseFeed(repository, feed);
+
+            nugetSearchRequest.setRemotePackagesFetched(true);
         }
 
     }
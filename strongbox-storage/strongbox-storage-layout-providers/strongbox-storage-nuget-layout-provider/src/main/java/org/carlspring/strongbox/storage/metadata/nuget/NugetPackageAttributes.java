@@ -0,0 +1,188 @@
+package org.carlspring.strongbox.storage.metadata.nuget;
+
+import org.carlspring.strongbox.artifact.coordinates.versioning.SemanticVersion;
+import org.carlspring.strongbox.storage.metadata.nuget.Nuspec.Metadata;
+import org.carlspring.strongbox.storage.metadata.nuget.rss.EntryProperties;
+import org.carlspring.strongbox.storage.metadata.nuget.rss.PackageEntry;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import com.google.common.base.Joiner;
+
+/**
+ * Package specification fields which are persisted with the package
+ * {@link org.carlspring.strongbox.domain.ArtifactEntry} (see
+ * {@link org.carlspring.strongbox.domain.ArtifactEntry#getArtifactAttributes()}), so that the feeds can be built
+ * without reading the <code>.nuspec</code> files.
+ *
+ * @see Nuspec
+ */
+public class NugetPackageAttributes
+{
+
+    private static final String PREFIX = "nuget.";
+
+    public static final String TITLE = PREFIX + "title";
+
+    public static final String AUTHORS = PREFIX + "authors";
+
+    public static final String OWNERS = PREFIX + "owners";
+
+    public static final String DESCRIPTION = PREFIX + "description";
+
+    public static final String SUMMARY = PREFIX + "summary";
+
+    public static final String COPYRIGHT = PREFIX + "copyright";
+
+    public static final String ICON_URL = PREFIX + "iconUrl";
+
+    public static final String LICENSE_URL = PREFIX + "licenseUrl";
+
+    public static final String PROJECT_URL = PREFIX + "projectUrl";
+
+    public static final String REQUIRE_LICENSE_ACCEPTANCE = PREFIX + "requireLicenseAcceptance";
+
+    public static final String TAGS = PREFIX + "tags";
+
+    /**
+     * Dependencies in the feed format: <code>id:versionRange[:framework]</code>, comma separated.
+     */
+    public static final String DEPENDENCIES = PREFIX + "dependencies";
+
+    /**
+     * Package hash reported by the remote feed, for the packages which were not downloaded yet.
+     */
+    public static final String PACKAGE_HASH = PREFIX + "packageHash";
+
+    private static final String TAGS_SEPARATOR = " ";
+
+    private NugetPackageAttributes()
+    {
+    }
+
+    /**
+     * @param nuspec
+     *            package specification
+     * @return attributes to persist
+     */
+    public static Map<String, String> of(Nuspec nuspec)
+    {
+        Map<String, String> result = new HashMap<>();
+
+        put(result, TITLE, nuspec.getTitle());
+        put(result, AUTHORS, nuspec.getAuthors());
+        put(result, OWNERS, nuspec.getOwners());
+        put(result, DESCRIPTION, nuspec.getDescription());
+        put(result, SUMMARY, nuspec.getSummary());
+        put(result, COPYRIGHT, nuspec.getCopyright());
+        put(result, ICON_URL, nuspec.getIconUrl());
+        put(result, LICENSE_URL, nuspec.getLicenseUrl());
+        put(result, PROJECT_URL, nuspec.getProjectUrl());
+        put(result, REQUIRE_LICENSE_ACCEPTANCE, String.valueOf(nuspec.isRequireLicenseAcceptance()));
+        put(result, TAGS, Joiner.on(TAGS_SEPARATOR).skipNulls().join(nuspec.getTags()));
+        put(result, DEPENDENCIES, Joiner.on(",").skipNulls().join(nuspec.getDependencies()));
+
+        return result;
+    }
+
+    /**
+     * @param packageEntry
+     *            remote feed entry
+     * @return attributes to persist
+     */
+    public static Map<String, String> of(PackageEntry packageEntry)
+    {
+        Map<String, String> result = new HashMap<>();
+        EntryProperties properties = packageEntry.getProperties();
+
+        put(result, TITLE, properties.getTitle());
+        put(result, AUTHORS, packageEntry.getAuthor() == null ? null : packageEntry.getAuthor().getName());
+        put(result, DESCRIPTION, properties.getDescription());
+        put(result, SUMMARY, properties.getSummary());
+        put(result, COPYRIGHT, properties.getCopyright());
+        put(result, ICON_URL, properties.getIconUrl());
+        put(result, LICENSE_URL, properties.getLicenseUrl());
+        put(result, PROJECT_URL, properties.getProjectUrl());
+        put(result, REQUIRE_LICENSE_ACCEPTANCE, String.valueOf(Boolean.TRUE.equals(properties.getRequireLicenseAcceptance())));
+        put(result, TAGS, properties.getTags() == null ? null : Joiner.on(TAGS_SEPARATOR).skipNulls().join(properties.getTags()));
+        put(result, DEPENDENCIES, properties.getDependencies());
+        put(result, PACKAGE_HASH, properties.getPackageHash());
+
+        return result;
+    }
+
+    /**
+     * @param attributes
+     *            persisted artifact attributes
+     * @return true if the attributes contain the package specification fields
+     */
+    public static boolean isPresent(Map<String, String> attributes)
+    {
+        return attributes.containsKey(REQUIRE_LICENSE_ACCEPTANCE);
+    }
+
+    /**
+     * Restores the package specification from the persisted attributes, except the dependencies, which are kept
+     * in the feed format (see {@link #getDependencies(Map)}).
+     *
+     * @param id
+     *            package ID
+     * @param version
+     *            package version
+     * @param attributes
+     *            persisted artifact attributes
+     * @return package specification
+     */
+    public static Nuspec toNuspec(String id,
+                                  SemanticVersion version,
+                                  Map<String, String> attributes)
+    {
+        Nuspec result = new Nuspec();
+        Metadata metadata = result.getMetadata();
+
+        metadata.id = id;
+        metadata.version = version;
+        metadata.title = attributes.getOrDefault(TITLE, id);
+        metadata.authors = attributes.get(AUTHORS);
+        metadata.owners = attributes.get(OWNERS);
+        metadata.description = attributes.get(DESCRIPTION);
+        metadata.summary = attributes.get(SUMMARY);
+        metadata.copyright = attributes.get(COPYRIGHT);
+        metadata.iconUrl = attributes.get(ICON_URL);
+        metadata.licenseUrl = attributes.get(LICENSE_URL);
+        metadata.projectUrl = attributes.get(PROJECT_URL);
+        metadata.requireLicenseAcceptance = Boolean.valueOf(attributes.get(REQUIRE_LICENSE_ACCEPTANCE));
+
+        String tags = attributes.get(TAGS);
+        metadata.tags = tags == null ? new ArrayList<>() : Arrays.stream(tags.split(TAGS_SEPARATOR))
+                                                                 .filter(t -> !t.isEmpty())
+                                                                 .collect(Collectors.toCollection(ArrayList::new));
+
+        return result;
+    }
+
+    /**
+     * @param attributes
+     *            persisted artifact attributes
+     * @return dependencies in the feed format
+     */
+    public static String getDependencies(Map<String, String> attributes)
+    {
+        return attributes.getOrDefault(DEPENDENCIES, "");
+    }
+
+    private static void put(Map<String, String> attributes,
+                            String key,
+                            String value)
+    {
+        if (value != null)
+        {
+            attributes.put(key, value);
+        }
+    }
+
+}
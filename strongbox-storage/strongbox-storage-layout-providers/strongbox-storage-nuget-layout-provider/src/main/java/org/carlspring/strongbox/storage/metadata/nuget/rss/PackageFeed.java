@@ -22,9 +22,7 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.Date;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
@@ -186,12 +184,7 @@ public class PackageFeed implements XmlWritable
         // Initial Serialization
         JAXBContext context = JAXBContext.newInstance(this.getClass());
         Marshaller marshaller = context.createMarshaller();
-        Map<String, String> uriToPrefix = new HashMap<>();
-        uriToPrefix.put("http://www.w3.org/2005/Atom", "atom");
-        uriToPrefix.put("http://schemas.microsoft.com/ado/2007/08/dataservices/metadata", "m");
-        uriToPrefix.put("http://schemas.microsoft.com/ado/2007/08/dataservices/scheme", "ds");
-        uriToPrefix.put("http://schemas.microsoft.com/ado/2007/08/dataservices", "d");
-        NugetPrefixFilter filter = new NugetPrefixFilter(uriToPrefix);
+        NugetPrefixFilter filter = new NugetPrefixFilter(PackageFeedWriter.NAMESPACE_PREFIXES);
         filter.setContentHandler(new XMLSerializer(outputStream, new OutputFormat()));
         marshaller.marshal(this, filter);
     }
@@ -0,0 +1,175 @@
+package org.carlspring.strongbox.storage.metadata.nuget.rss;
+
+import java.io.OutputStream;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.xml.bind.DatatypeConverter;
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Marshaller;
+
+import org.apache.xml.serialize.OutputFormat;
+import org.apache.xml.serialize.XMLSerializer;
+import org.xml.sax.SAXException;
+import org.xml.sax.helpers.AttributesImpl;
+
+/**
+ * Writes a {@link PackageFeed} to a stream entry by entry, so that the feed doesn't need to be built in memory
+ * and the response starts before all the entries are resolved.
+ * <p>
+ * The feed envelope is written as SAX events and every {@link PackageEntry} is marshalled as a JAXB fragment
+ * into the same {@link NugetPrefixFilter} pipeline, which produces the same document as
+ * {@link PackageFeed#writeXml(OutputStream)}. Usage:
+ *
+ * <pre>
+ * writer.writeStart(id, updated);
+ * writer.writeEntry(entry); // repeated
+ * writer.writeEnd(nextLink);
+ * </pre>
+ */
+public class PackageFeedWriter
+{
+
+    /**
+     * Namespaces which are declared once, on the feed element.
+     */
+    public static final Map<String, String> NAMESPACE_PREFIXES;
+
+    static
+    {
+        Map<String, String> uriToPrefix = new HashMap<>();
+        uriToPrefix.put(PackageFeed.ATOM_XML_NAMESPACE, "atom");
+        uriToPrefix.put("http://schemas.microsoft.com/ado/2007/08/dataservices/metadata", "m");
+        uriToPrefix.put("http://schemas.microsoft.com/ado/2007/08/dataservices/scheme", "ds");
+        uriToPrefix.put("http://schemas.microsoft.com/ado/2007/08/dataservices", "d");
+
+        NAMESPACE_PREFIXES = Collections.unmodifiableMap(uriToPrefix);
+    }
+
+    private static volatile JAXBContext context;
+
+    private final NugetPrefixFilter filter;
+
+    private final Marshaller marshaller;
+
+    public PackageFeedWriter(OutputStream outputStream)
+        throws JAXBException
+    {
+        this.marshaller = getContext().createMarshaller();
+        this.marshaller.setProperty(Marshaller.JAXB_FRAGMENT, Boolean.TRUE);
+
+        this.filter = new NugetPrefixFilter(NAMESPACE_PREFIXES);
+        this.filter.setContentHandler(new XMLSerializer(outputStream, new OutputFormat()));
+    }
+
+    private static JAXBContext getContext()
+        throws JAXBException
+    {
+        if (context == null)
+        {
+            context = JAXBContext.newInstance(PackageFeed.class);
+        }
+
+        return context;
+    }
+
+    /**
+     * Writes the feed element with its title, id, update date and self link.
+     *
+     * @param id
+     *            feed id
+     * @param updated
+     *            last modified date
+     * @throws JAXBException
+     *             XML conversion error
+     */
+    public void writeStart(String id,
+                           Date updated)
+        throws JAXBException
+    {
+        try
+        {
+            filter.startDocument();
+            filter.startElement(PackageFeed.ATOM_XML_NAMESPACE, "feed", "feed", new AttributesImpl());
+        }
+        catch (SAXException e)
+        {
+            throw new JAXBException(e);
+        }
+
+        marshaller.marshal(new Title("Packages"), filter);
+        writeElement("id", id);
+        if (updated != null)
+        {
+            Calendar calendar = Calendar.getInstance();
+            calendar.setTime(updated);
+            writeElement("updated", DatatypeConverter.printDateTime(calendar));
+        }
+        marshaller.marshal(new Link("self", "Packages", "Packages"), filter);
+    }
+
+    /**
+     * @param entry
+     *            package description
+     * @throws JAXBException
+     *             XML conversion error
+     */
+    public void writeEntry(PackageEntry entry)
+        throws JAXBException
+    {
+        marshaller.marshal(entry, filter);
+    }
+
+    /**
+     * Closes the feed element.
+     *
+     * @param nextLink
+     *            address of the next page, if the server has truncated the result, otherwise <code>null</code>
+     * @throws JAXBException
+     *             XML conversion error
+     */
+    public void writeEnd(String nextLink)
+        throws JAXBException
+    {
+        if (nextLink != null)
+        {
+            marshaller.marshal(new Link("next", null, nextLink), filter);
+        }
+
+        try
+        {
+            filter.endElement(PackageFeed.ATOM_XML_NAMESPACE, "feed", "feed");
+            filter.endDocument();
+        }
+        catch (SAXException e)
+        {
+            throw new JAXBException(e);
+        }
+    }
+
+    private void writeElement(String localName,
+                              String value)
+        throws JAXBException
+    {
+        if (value == null)
+        {
+            return;
+        }
+
+        try
+        {
+            filter.startElement(PackageFeed.ATOM_XML_NAMESPACE, localName, localName, new AttributesImpl());
+            filter.characters(value.toCharArray(), 0, value.length());
+            filter.endElement(PackageFeed.ATOM_XML_NAMESPACE, localName, localName);
+        }
+        catch (SAXException e)
+        {
+            throw new JAXBException(e);
+        }
+    }
+
+}
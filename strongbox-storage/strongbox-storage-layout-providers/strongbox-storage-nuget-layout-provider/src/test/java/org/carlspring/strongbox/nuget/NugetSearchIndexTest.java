@@ -0,0 +1,67 @@
+package org.carlspring.strongbox.nuget;
+
+import org.carlspring.strongbox.storage.metadata.nuget.NugetPackageAttributes;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.parallel.ExecutionMode.CONCURRENT;
+
+@Execution(CONCURRENT)
+public class NugetSearchIndexTest
+{
+
+    @Test
+    public void testSearch()
+    {
+        // GIVEN
+        NugetSearchIndex index = new NugetSearchIndex();
+        index.add("Newtonsoft.Json", null);
+        index.add("Org.Carlspring.Strongbox.Nuget.Test.Search", null);
+
+        // WHEN-THEN
+        // The same matches as the LIKE '%term%' condition on the package ID.
+        assertThat(index.search("soft")).containsOnly("Newtonsoft.Json");
+        assertThat(index.search("Newtonsoft")).containsOnly("Newtonsoft.Json");
+        assertThat(index.search("newtonSOFT")).containsOnly("Newtonsoft.Json");
+        assertThat(index.search("'Test.Search'")).containsOnly("Org.Carlspring.Strongbox.Nuget.Test.Search");
+        assertThat(index.search("o")).containsOnly("Newtonsoft.Json", "Org.Carlspring.Strongbox.Nuget.Test.Search");
+        assertThat(index.search("js")).containsOnly("Newtonsoft.Json");
+        assertThat(index.search("strongbox search")).isEmpty();
+        // All the grams match, but not the whole term.
+        assertThat(index.search("sonsoft")).isEmpty();
+        assertThat(index.search("")).isEmpty();
+        assertThat(index.size()).isEqualTo(2);
+    }
+
+    @Test
+    public void testSearchTitleAndTags()
+    {
+        // GIVEN
+        NugetSearchIndex index = new NugetSearchIndex();
+        index.add("Org.Carlspring.Json", attributes("Carlspring JSON Serializer", "json serialization"));
+        index.add("Org.Carlspring.Xml", attributes("Carlspring XML", "xml"));
+        // Another version, with other tags.
+        index.add("Org.Carlspring.Xml", attributes("Carlspring XML", "xml xpath"));
+
+        // WHEN-THEN
+        assertThat(index.search("serializ")).containsOnly("Org.Carlspring.Json");
+        assertThat(index.search("xpath")).containsOnly("Org.Carlspring.Xml");
+        assertThat(index.search("carlspring")).containsOnly("Org.Carlspring.Json", "Org.Carlspring.Xml");
+        assertThat(index.size()).isEqualTo(2);
+    }
+
+    private static Map<String, String> attributes(String title,
+                                                  String tags)
+    {
+        Map<String, String> result = new HashMap<>();
+        result.put(NugetPackageAttributes.TITLE, title);
+        result.put(NugetPackageAttributes.TAGS, tags);
+
+        return result;
+    }
+
+}
@@ -0,0 +1,53 @@
+package org.carlspring.strongbox.storage.metadata.nuget;
+
+import org.carlspring.strongbox.storage.metadata.nuget.rss.EntryProperties;
+
+import java.util.Collections;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.parallel.ExecutionMode.CONCURRENT;
+
+@Execution(CONCURRENT)
+public class NugetPackageAttributesTest
+{
+
+    @Test
+    public void testNuspecRoundTrip()
+        throws Exception
+    {
+        // GIVEN
+        Nuspec nuspec = Nuspec.parse(NugetTestResourceUtil.getAsStream("nuspec/NHibernate.nuspec.xml"));
+
+        // WHEN
+        Map<String, String> attributes = NugetPackageAttributes.of(nuspec);
+        Nuspec result = NugetPackageAttributes.toNuspec(nuspec.getId(), nuspec.getVersion(), attributes);
+
+        // THEN
+        assertThat(NugetPackageAttributes.isPresent(attributes)).isTrue();
+        assertThat(result.getId()).as("Package ID").isEqualTo(nuspec.getId());
+        assertThat(result.getVersion()).as("Package Version").isEqualTo(nuspec.getVersion());
+        assertThat(result.getTitle()).as("Title").isEqualTo(nuspec.getTitle());
+        assertThat(result.getAuthors()).as("Authors").isEqualTo(nuspec.getAuthors());
+        assertThat(result.getOwners()).as("Owners").isEqualTo(nuspec.getOwners());
+        assertThat(result.isRequireLicenseAcceptance()).as("License Verification Required")
+                                                       .isEqualTo(nuspec.isRequireLicenseAcceptance());
+        assertThat(result.getDescription()).as("Description").isEqualTo(nuspec.getDescription());
+        assertThat(result.getSummary()).as("Short Description").isEqualTo(nuspec.getSummary());
+        assertThat(result.getTags()).as("Tags").isEqualTo(nuspec.getTags());
+
+        EntryProperties expected = new EntryProperties();
+        expected.setDependenciesList(nuspec.getDependencies());
+        assertThat(NugetPackageAttributes.getDependencies(attributes)).as("Dependencies")
+                                                                      .isEqualTo(expected.getDependencies());
+    }
+
+    @Test
+    public void testLegacyEntry()
+    {
+        assertThat(NugetPackageAttributes.isPresent(Collections.emptyMap())).isFalse();
+    }
+
+}
@@ -2,22 +2,41 @@ package org.carlspring.strongbox.providers.layout.p2;
 
 import org.carlspring.strongbox.artifact.coordinates.P2ArtifactCoordinates;
 
+import javax.inject.Inject;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.concurrent.ExecutionException;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
 
 /**
  * Finds a {@link P2ArtifactCoordinates} from the provided repository base directory and artifact path.
  * The artifact path consists of {id}/{version}/{classifier}. E.g. bundle-name/1.0.0/osgi.bundle
+ * <p>
+ * The parsed artifacts metadata of the most recently used repositories is cached, at most
+ * <code>strongbox.p2.artifacts-index.cache-size</code> of them, and parsed again only when the file changes (see
+ * {@link P2ArtifactsIndex#isFresh(Path)}).
  */
+@Component
 public class P2ArtifactReader
 {
 
     private static final Logger logger = LoggerFactory.getLogger(P2ArtifactReader.class);
 
+    private final Cache<Path, CachedIndex> indexes;
+
+    @Inject
+    public P2ArtifactReader(@Value("${strongbox.p2.artifacts-index.cache-size:32}") long cacheSize)
+    {
+        this.indexes = CacheBuilder.newBuilder().maximumSize(cacheSize).build();
+    }
+
     /**
      * Finds a {@link P2ArtifactCoordinates} from the provided repository base directory and artifact path.
      *
@@ -25,30 +44,53 @@ public class P2ArtifactReader
      * @param bundle            The artifact path in the format of {id}/{version}/{classifier}. E.g. bundle-name/1.0.0/osgi.bundle
      * @return P2ArtifactCoordinates if found otherwise null
      */
-    public static P2ArtifactCoordinates getArtifact(String repositoryBaseDir,
+    public P2ArtifactCoordinates getArtifact(String repositoryBaseDir,
                                                     String bundle)
             throws IOException
     {
-        // TODO we are dropping GenericParser and one day we will need to support P2
-        //GenericParser<P2Repository> repositoryParser = new GenericParser<>(P2Repository.class);
-        P2Repository p2Repository = null;//repositoryParser.parse(createPath(repositoryBaseDir).toUri().toURL());
+        P2ArtifactsIndex index = getIndex(repositoryBaseDir);
+
         final P2ArtifactCoordinates artifactToFind = P2ArtifactCoordinates.create(bundle);
-        for (P2Artifact p2Artifact : p2Repository.getArtifacts().getArtifacts())
+        P2Artifact p2Artifact = index.getArtifact(artifactToFind);
+        if (p2Artifact == null)
         {
-            P2ArtifactCoordinates foundArtifact = new P2ArtifactCoordinates(p2Artifact.getId(),
-                                                                            p2Artifact.getVersion(),
-                                                                            p2Artifact.getClassifier());
-            if (foundArtifact.equals(artifactToFind))
-            {
-                addProperties(foundArtifact, p2Artifact, repositoryBaseDir);
-                String bundleFilename = P2ArtifactRuleProcessor.getFilename(p2Repository.getMappings(),
-                                                                            foundArtifact);
-                foundArtifact.setFilename(bundleFilename);
-                return foundArtifact;
-            }
+            return null;
         }
 
-        return null;
+        P2ArtifactCoordinates foundArtifact = new P2ArtifactCoordinates(p2Artifact.getId(),
+                                                                        p2Artifact.getVersion(),
+                                                                        p2Artifact.getClassifier());
+        addProperties(foundArtifact, p2Artifact, repositoryBaseDir);
+        foundArtifact.setFilename(index.getFilename(foundArtifact));
+
+        return foundArtifact;
+    }
+
+    P2ArtifactsIndex getIndex(String repositoryBaseDir)
+            throws IOException
+    {
+        Path baseDir = createPath(repositoryBaseDir).toAbsolutePath().normalize();
+        Path file = P2ArtifactsIndex.resolveFile(baseDir);
+
+        CachedIndex cachedIndex;
+        try
+        {
+            cachedIndex = indexes.get(baseDir, CachedIndex::new);
+        }
+        catch (ExecutionException e)
+        {
+            // The CachedIndex constructor doesn't throw checked exceptions.
+            throw new IllegalStateException(e.getCause());
+        }
+
+        return cachedIndex.get(file);
+    }
+
+    long getCachedIndexCount()
+    {
+        indexes.cleanUp();
+
+        return indexes.size();
     }
 
     private static void addProperties(P2ArtifactCoordinates foundArtifact,
@@ -69,12 +111,50 @@ public class P2ArtifactReader
 
     private static Path createPath(String repositoryBaseDir)
     {
-        final String artifactsFilename = "artifacts.xml";
         if (repositoryBaseDir == null || repositoryBaseDir.isEmpty())
         {
-            return Paths.get(artifactsFilename);
+            return Paths.get("");
+        }
+
+        return Paths.get(repositoryBaseDir);
+    }
+
+    /**
+     * The index of a repository, reloaded under a lock so that concurrent lookups don't parse the same file
+     * more than once.
+     */
+    private static class CachedIndex
+    {
+
+        private volatile P2ArtifactsIndex index;
+
+        P2ArtifactsIndex get(Path file)
+                throws IOException
+        {
+            P2ArtifactsIndex result = index;
+            if (result != null && result.isFresh(file))
+            {
+                return result;
+            }
+
+            synchronized (this)
+            {
+                result = index;
+                if (result == null || !result.isFresh(file))
+                {
+                    long startTime = System.currentTimeMillis();
+
+                    result = P2ArtifactsIndex.load(file);
+                    index = result;
+
+                    logger.debug("Parsed [{}] artifacts of [{}] in [{}] ms.",
+                                 result.size(), file, System.currentTimeMillis() - startTime);
+                }
+            }
+
+            return result;
         }
 
-        return Paths.get(repositoryBaseDir).resolve(artifactsFilename);
     }
+
 }
@@ -0,0 +1,206 @@
+package org.carlspring.strongbox.providers.layout.p2;
+
+import org.carlspring.strongbox.artifact.coordinates.P2ArtifactCoordinates;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
+import java.io.BufferedInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import org.tukaani.xz.XZInputStream;
+
+/**
+ * The parsed <code>artifacts.xml</code> of a P2 repository, with the artifacts indexed by their
+ * <code>{id}/{version}/{classifier}</code> path and the mapping rules compiled once.
+ * <p>
+ * The metadata can be in any of the <code>artifacts.xml.xz</code>, <code>artifacts.jar</code> or
+ * <code>artifacts.xml</code> forms, looked up in this order.
+ */
+public class P2ArtifactsIndex
+{
+
+    public static final String ARTIFACTS_XML = "artifacts.xml";
+
+    public static final String ARTIFACTS_XZ = "artifacts.xml.xz";
+
+    public static final String ARTIFACTS_JAR = "artifacts.jar";
+
+    private static final JAXBContext JAXB_CONTEXT = createContext();
+
+    private final Path file;
+
+    private final BasicFileAttributes fileAttributes;
+
+    private final Map<String, P2Artifact> artifacts;
+
+    private final List<P2ArtifactRuleProcessor> rules;
+
+    P2ArtifactsIndex(Path file,
+                     BasicFileAttributes fileAttributes,
+                     P2Repository repository)
+    {
+        this.file = file;
+        this.fileAttributes = fileAttributes;
+
+        Map<String, P2Artifact> artifacts = new HashMap<>();
+        if (repository.getArtifacts() != null)
+        {
+            for (P2Artifact artifact : repository.getArtifacts().getArtifacts())
+            {
+                artifacts.put(toPath(artifact.getId(), artifact.getVersion(), artifact.getClassifier()), artifact);
+            }
+        }
+        this.artifacts = artifacts;
+
+        this.rules = repository.getMappings() == null ? Collections.emptyList() :
+                     repository.getMappings()
+                               .getRules()
+                               .stream()
+                               .map(rule -> new P2ArtifactRuleProcessor(rule.getOutput(), rule.getFilter()))
+                               .collect(Collectors.toList());
+    }
+
+    /**
+     * @return the artifacts metadata file of a repository, in its preferred form
+     */
+    public static Path resolveFile(Path repositoryBaseDir)
+        throws FileNotFoundException
+    {
+        for (String fileName : new String[]{ ARTIFACTS_XZ, ARTIFACTS_JAR, ARTIFACTS_XML })
+        {
+            Path file = repositoryBaseDir.resolve(fileName);
+            if (Files.isRegularFile(file))
+            {
+                return file;
+            }
+        }
+
+        throw new FileNotFoundException(repositoryBaseDir.resolve(ARTIFACTS_XML).toString());
+    }
+
+    /**
+     * Parses an artifacts metadata file.
+     */
+    public static P2ArtifactsIndex load(Path file)
+        throws IOException
+    {
+        // Read before parsing, so that a concurrent change makes the index stale rather than missed.
+        BasicFileAttributes fileAttributes = Files.readAttributes(file, BasicFileAttributes.class);
+
+        P2Repository repository;
+        try (InputStream is = openXml(file))
+        {
+            repository = (P2Repository) JAXB_CONTEXT.createUnmarshaller().unmarshal(is);
+        }
+        catch (JAXBException e)
+        {
+            throw new IOException(String.format("Failed to parse [%s].", file), e);
+        }
+
+        return new P2ArtifactsIndex(file, fileAttributes, repository);
+    }
+
+    private static InputStream openXml(Path file)
+        throws IOException
+    {
+        InputStream is = new BufferedInputStream(Files.newInputStream(file));
+
+        String fileName = file.getFileName().toString();
+        if (fileName.equals(ARTIFACTS_XZ))
+        {
+            return new XZInputStream(is);
+        }
+        if (!fileName.equals(ARTIFACTS_JAR))
+        {
+            return is;
+        }
+
+        ZipInputStream zis = new ZipInputStream(is);
+        ZipEntry entry;
+        while ((entry = zis.getNextEntry()) != null)
+        {
+            if (ARTIFACTS_XML.equals(entry.getName()))
+            {
+                return zis;
+            }
+        }
+        zis.close();
+
+        throw new FileNotFoundException(String.format("[%s] doesn't contain [%s].", file, ARTIFACTS_XML));
+    }
+
+    /**
+     * @return true if the file has not changed since it was parsed
+     */
+    public boolean isFresh(Path file)
+        throws IOException
+    {
+        if (!this.file.equals(file))
+        {
+            return false;
+        }
+
+        BasicFileAttributes current = Files.readAttributes(file, BasicFileAttributes.class);
+
+        return current.lastModifiedTime().equals(fileAttributes.lastModifiedTime())
+                && current.size() == fileAttributes.size();
+    }
+
+    public P2Artifact getArtifact(P2ArtifactCoordinates coordinates)
+    {
+        return artifacts.get(toPath(coordinates.getId(), coordinates.getVersion(), coordinates.getClassifier()));
+    }
+
+    public int size()
+    {
+        return artifacts.size();
+    }
+
+    /**
+     * @return the file name of the artifact, from the first matching mapping rule
+     */
+    public String getFilename(P2ArtifactCoordinates coordinates)
+    {
+        for (P2ArtifactRuleProcessor rule : rules)
+        {
+            if (rule.matches(coordinates.getProperties()))
+            {
+                return rule.getOutput(coordinates);
+            }
+        }
+
+        return null;
+    }
+
+    private static String toPath(String id,
+                                 String version,
+                                 String classifier)
+    {
+        return id + "/" + version + "/" + classifier;
+    }
+
+    private static JAXBContext createContext()
+    {
+        try
+        {
+            return JAXBContext.newInstance(P2Repository.class);
+        }
+        catch (JAXBException e)
+        {
+            throw new IllegalStateException(e);
+        }
+    }
+
+}
@@ -6,10 +6,17 @@ import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 
@@ -21,6 +28,8 @@ public class P2ArtifactReaderTest
     private static final String VERSION = "1.0.1";
     private static final String PATH = String.format("%s/%s/%s", ID, VERSION, CLASSIFIER);
 
+    private final P2ArtifactReader reader = new P2ArtifactReader(2);
+
     @Test
     public void testGetArtifact()
             throws URISyntaxException, IOException
@@ -37,7 +46,7 @@ public class P2ArtifactReaderTest
             throws IOException
     {
         assertThatExceptionOfType(FileNotFoundException.class)
-                .isThrownBy(() -> assertThat(P2ArtifactReader.getArtifact(".", null)).isNull());
+                .isThrownBy(() -> assertThat(reader.getArtifact(".", null)).isNull());
     }
 
     @Test
@@ -46,7 +55,7 @@ public class P2ArtifactReaderTest
     {
 
         assertThatExceptionOfType(FileNotFoundException.class)
-                .isThrownBy(() -> assertThat(P2ArtifactReader.getArtifact(null, "")).isNull());
+                .isThrownBy(() -> assertThat(reader.getArtifact(null, "")).isNull());
     }
 
     @Test
@@ -54,7 +63,7 @@ public class P2ArtifactReaderTest
             throws IOException
     {
         assertThatExceptionOfType(FileNotFoundException.class)
-                .isThrownBy(() -> assertThat(P2ArtifactReader.getArtifact(null, null)).isNull());
+                .isThrownBy(() -> assertThat(reader.getArtifact(null, null)).isNull());
     }
 
     @Test
@@ -63,10 +72,10 @@ public class P2ArtifactReaderTest
     {
         assertThatExceptionOfType(FileNotFoundException.class)
                 .isThrownBy( () -> {
-                    assertThat(P2ArtifactReader.getArtifact(".", "some/invalid@path")).isNull();
-                    assertThat(P2ArtifactReader.getArtifact(".", "somePath")).isNull();
-                    assertThat(P2ArtifactReader.getArtifact(".", "")).isNull();
-                    assertThat(P2ArtifactReader.getArtifact(".", "osgi.bundle/missingName/1.0.1")).isNull();
+                    assertThat(reader.getArtifact(".", "some/invalid@path")).isNull();
+                    assertThat(reader.getArtifact(".", "somePath")).isNull();
+                    assertThat(reader.getArtifact(".", "")).isNull();
+                    assertThat(reader.getArtifact(".", "osgi.bundle/missingName/1.0.1")).isNull();
         });
     }
 
@@ -75,7 +84,7 @@ public class P2ArtifactReaderTest
             throws IOException
     {
         assertThatExceptionOfType(FileNotFoundException.class)
-                .isThrownBy( () -> assertThat(P2ArtifactReader.getArtifact("inavlidRoot!", "somePath")).isNull());
+                .isThrownBy( () -> assertThat(reader.getArtifact("inavlidRoot!", "somePath")).isNull());
     }
 
     @Test
@@ -83,7 +92,7 @@ public class P2ArtifactReaderTest
             throws IOException
     {
         assertThatExceptionOfType(FileNotFoundException.class)
-                .isThrownBy( () -> assertThat(P2ArtifactReader.getArtifact("", "")).isNull());
+                .isThrownBy( () -> assertThat(reader.getArtifact("", "")).isNull());
     }
 
     @Test
@@ -117,6 +126,63 @@ public class P2ArtifactReaderTest
         assertThat(foundArtifact.getFilename()).isEqualTo(expectedFilename);
     }
 
+    @Test
+    public void testIndexIsCached(@TempDir Path repoDir)
+            throws URISyntaxException, IOException
+    {
+        Path artifactsXml = copyArtifactsXml(repoDir);
+
+        P2ArtifactsIndex index = reader.getIndex(repoDir.toString());
+        assertThat(index.size()).isEqualTo(3);
+        assertThat(reader.getIndex(repoDir.toString())).isSameAs(index);
+
+        Files.setLastModifiedTime(artifactsXml,
+                                  FileTime.fromMillis(Files.getLastModifiedTime(artifactsXml).toMillis() + 1000));
+        assertThat(reader.getIndex(repoDir.toString())).isNotSameAs(index);
+    }
+
+    @Test
+    public void testCacheIsBounded(@TempDir Path tempDir)
+            throws URISyntaxException, IOException
+    {
+        for (int i = 0; i < 5; i++)
+        {
+            Path repoDir = Files.createDirectories(tempDir.resolve("repository-" + i));
+            copyArtifactsXml(repoDir);
+
+            assertThat(reader.getIndex(repoDir.toString()).size()).isEqualTo(3);
+        }
+
+        assertThat(reader.getCachedIndexCount()).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    public void testGetArtifactFromJar(@TempDir Path repoDir)
+            throws URISyntaxException, IOException
+    {
+        try (ZipOutputStream zos = new ZipOutputStream(
+                Files.newOutputStream(repoDir.resolve(P2ArtifactsIndex.ARTIFACTS_JAR))))
+        {
+            zos.putNextEntry(new ZipEntry(P2ArtifactsIndex.ARTIFACTS_XML));
+            Files.copy(Paths.get(getClass().getResource("artifacts.xml").toURI()), zos);
+            zos.closeEntry();
+        }
+
+        P2ArtifactCoordinates foundArtifact = getArtifact(repoDir.toString());
+
+        assertThat(foundArtifact.getId()).isEqualTo(ID);
+        assertThat(foundArtifact.getFilename()).isEqualTo(String.format("%s/plugins/%s_%s.jar", repoDir, ID, VERSION));
+    }
+
+    private Path copyArtifactsXml(Path repoDir)
+            throws URISyntaxException, IOException
+    {
+        Path artifactsXml = repoDir.resolve(P2ArtifactsIndex.ARTIFACTS_XML);
+        Files.copy(Paths.get(getClass().getResource("artifacts.xml").toURI()), artifactsXml);
+
+        return artifactsXml;
+    }
+
     private P2ArtifactCoordinates getArtifact()
             throws URISyntaxException, IOException
     {
@@ -132,6 +198,6 @@ public class P2ArtifactReaderTest
     private P2ArtifactCoordinates getArtifact(String repoDir)
             throws IOException
     {
-        return P2ArtifactReader.getArtifact(repoDir, PATH);
+        return reader.getArtifact(repoDir, PATH);
     }
 }
@@ -52,6 +52,14 @@ public class PypiArtifactCoordinates
 
     public static final String WHEEL_EXTENSION = "whl";
 
+    /**
+     * The (distribution, version) tuple is stored in properties of its own as well, see
+     * <code>idx_pypi_artifact_coordinates</code>.
+     */
+    private String id;
+
+    private String version;
+
     public PypiArtifactCoordinates()
     {
         resetCoordinates(DISTRIBUTION,
@@ -165,6 +173,7 @@ public class PypiArtifactCoordinates
     @Override
     public void setId(String id)
     {
+        this.id = id;
         setCoordinate(DISTRIBUTION, id);
     }
 
@@ -183,6 +192,7 @@ public class PypiArtifactCoordinates
     @Override
     public void setVersion(String version)
     {
+        this.version = version;
         setCoordinate(VERSION, version);
     }
 
@@ -2,10 +2,12 @@ package org.carlspring.strongbox.providers.layout;
 
 import org.carlspring.strongbox.booters.PropertiesBooter;
 import org.carlspring.strongbox.providers.io.LayoutFileSystem;
+import org.carlspring.strongbox.storage.metadata.pypi.PypiSimpleIndex;
 import org.carlspring.strongbox.storage.repository.Repository;
 
 import javax.inject.Inject;
 import java.nio.file.FileSystem;
+import java.util.HashSet;
 import java.util.Set;
 
 /**
@@ -32,4 +34,13 @@ public class PypiFileSystem
         return layoutProvider.getDigestAlgorithmSet();
     }
 
+    @Override
+    public Set<String> getHiddenDirectories()
+    {
+        Set<String> result = new HashSet<>(super.getHiddenDirectories());
+        result.add(PypiSimpleIndex.SIMPLE_DIRECTORY);
+
+        return result;
+    }
+
 }
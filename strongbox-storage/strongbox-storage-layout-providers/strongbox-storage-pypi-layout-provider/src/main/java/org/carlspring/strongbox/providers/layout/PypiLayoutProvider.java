@@ -7,16 +7,27 @@ import org.carlspring.strongbox.providers.io.RepositoryPath;
 import org.carlspring.strongbox.repository.PypiRepositoryFeatures;
 import org.carlspring.strongbox.repository.PypiRepositoryManagementStrategy;
 import org.carlspring.strongbox.repository.RepositoryManagementStrategy;
+import org.carlspring.strongbox.storage.metadata.pypi.PypiPackageAttributes;
 
 import javax.annotation.PostConstruct;
 import javax.inject.Inject;
+import java.io.BufferedInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.Collections;
 import java.util.Map;
 import java.util.Set;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.apache.commons.codec.digest.MessageDigestAlgorithms;
+import org.apache.commons.compress.archivers.ArchiveEntry;
+import org.apache.commons.compress.archivers.ArchiveInputStream;
+import org.apache.commons.compress.archivers.tar.TarArchiveInputStream;
+import org.apache.commons.compress.archivers.zip.ZipArchiveInputStream;
+import org.apache.commons.compress.compressors.gzip.GzipCompressorInputStream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
@@ -32,6 +43,16 @@ public class PypiLayoutProvider
 
     public static final String ALIAS = PypiArtifactCoordinates.LAYOUT_NAME;
 
+    /**
+     * Core metadata of the wheels, <code>{distribution}-{version}.dist-info/METADATA</code>.
+     */
+    private static final Pattern WHEEL_METADATA = Pattern.compile("[^/]+\\.dist-info/METADATA");
+
+    /**
+     * Core metadata of the source distributions, <code>{distribution}-{version}/PKG-INFO</code>.
+     */
+    private static final Pattern SOURCE_METADATA = Pattern.compile("([^/]+/)?PKG-INFO");
+
     @Inject
     private PypiRepositoryManagementStrategy pypiRepositoryManagementStrategy;
 
@@ -103,6 +124,54 @@ public class PypiLayoutProvider
         return result;
     }
     
+    /**
+     * Reads the core metadata of the package, see {@link PypiPackageAttributes}.
+     */
+    @Override
+    public Map<String, String> getArtifactAttributes(RepositoryPath repositoryPath)
+    {
+        String fileName = repositoryPath.getFileName().toString();
+        boolean wheel = fileName.endsWith("." + PypiArtifactCoordinates.WHEEL_EXTENSION);
+        if (!wheel && !fileName.endsWith("." + PypiArtifactCoordinates.SOURCE_EXTENSION))
+        {
+            return Collections.emptyMap();
+        }
+
+        // Read the raw file, this is not a package download.
+        try (InputStream is = new BufferedInputStream(Files.newInputStream(repositoryPath.getTarget()));
+             ArchiveInputStream ais = openPackage(is))
+        {
+            Pattern metadataPattern = wheel ? WHEEL_METADATA : SOURCE_METADATA;
+
+            ArchiveEntry entry;
+            while ((entry = ais.getNextEntry()) != null)
+            {
+                if (!entry.isDirectory() && metadataPattern.matcher(entry.getName()).matches())
+                {
+                    return PypiPackageAttributes.parse(ais);
+                }
+            }
+        }
+        catch (IOException e)
+        {
+            logger.warn("Unable to read the core metadata of [{}]", repositoryPath, e);
+        }
+
+        return Collections.emptyMap();
+    }
+
+    private ArchiveInputStream openPackage(InputStream is)
+        throws IOException
+    {
+        is.mark(2);
+        byte[] signature = new byte[2];
+        int length = is.read(signature);
+        is.reset();
+
+        return GzipCompressorInputStream.matches(signature, length) ? new TarArchiveInputStream(new GzipCompressorInputStream(is))
+                                                                    : new ZipArchiveInputStream(is);
+    }
+
     @Override
     public RepositoryManagementStrategy getRepositoryManagementStrategy()
     {
@@ -0,0 +1,165 @@
+package org.carlspring.strongbox.storage.metadata.pypi;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Core metadata fields (the <code>METADATA</code> file of the wheels and the <code>PKG-INFO</code> file of the
+ * source distributions) which are persisted with the package
+ * {@link org.carlspring.strongbox.domain.ArtifactEntry} (see
+ * {@link org.carlspring.strongbox.domain.ArtifactEntry#getArtifactAttributes()}), so that the index pages can be
+ * built without reading the package files.
+ */
+public class PypiPackageAttributes
+{
+
+    private static final String PREFIX = "pypi.";
+
+    public static final String NAME = PREFIX + "name";
+
+    public static final String VERSION = PREFIX + "version";
+
+    public static final String SUMMARY = PREFIX + "summary";
+
+    public static final String AUTHOR = PREFIX + "author";
+
+    public static final String AUTHOR_EMAIL = PREFIX + "authorEmail";
+
+    public static final String LICENSE = PREFIX + "license";
+
+    public static final String HOME_PAGE = PREFIX + "homePage";
+
+    /**
+     * Requirements, one per line.
+     */
+    public static final String REQUIRES_DIST = PREFIX + "requiresDist";
+
+    /**
+     * Always present (empty if the package doesn't declare it), so that it also marks the attributes as present.
+     */
+    public static final String REQUIRES_PYTHON = PREFIX + "requiresPython";
+
+    private PypiPackageAttributes()
+    {
+    }
+
+    /**
+     * @param is
+     *            the <code>METADATA</code> or <code>PKG-INFO</code> file content
+     * @return attributes to persist
+     */
+    public static Map<String, String> parse(InputStream is)
+        throws IOException
+    {
+        Map<String, List<String>> headers = parseHeaders(is);
+        Map<String, String> result = new HashMap<>();
+
+        put(result, NAME, headers, "Name");
+        put(result, VERSION, headers, "Version");
+        put(result, SUMMARY, headers, "Summary");
+        put(result, AUTHOR, headers, "Author");
+        put(result, AUTHOR_EMAIL, headers, "Author-email");
+        put(result, LICENSE, headers, "License");
+        put(result, HOME_PAGE, headers, "Home-page");
+        if (headers.containsKey("Requires-Dist"))
+        {
+            result.put(REQUIRES_DIST, String.join("\n", headers.get("Requires-Dist")));
+        }
+        result.put(REQUIRES_PYTHON, getFirst(headers, "Requires-Python", ""));
+
+        return result;
+    }
+
+    /**
+     * @param attributes
+     *            persisted artifact attributes
+     * @return true if the attributes contain the core metadata fields
+     */
+    public static boolean isPresent(Map<String, String> attributes)
+    {
+        return attributes.containsKey(REQUIRES_PYTHON);
+    }
+
+    /**
+     * @param attributes
+     *            persisted artifact attributes
+     * @return the requirements of the package
+     */
+    public static List<String> getRequiresDist(Map<String, String> attributes)
+    {
+        String requiresDist = attributes.get(REQUIRES_DIST);
+
+        return requiresDist == null ? Collections.emptyList() : Arrays.asList(requiresDist.split("\n"));
+    }
+
+    /**
+     * Parses the RFC 822 style header section of the core metadata, the description body which may follow the
+     * first empty line is skipped. Multiple use fields (like <code>Classifier</code>) keep all their values.
+     */
+    static Map<String, List<String>> parseHeaders(InputStream is)
+        throws IOException
+    {
+        Map<String, List<String>> result = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(is, StandardCharsets.UTF_8));
+        List<String> values = null;
+        String line;
+        while ((line = reader.readLine()) != null && !line.isEmpty())
+        {
+            if (Character.isWhitespace(line.charAt(0)))
+            {
+                // Continuation of the previous field.
+                if (values != null && !values.isEmpty())
+                {
+                    int last = values.size() - 1;
+                    values.set(last, values.get(last) + "\n" + line.trim());
+                }
+                continue;
+            }
+
+            int separator = line.indexOf(':');
+            if (separator < 0)
+            {
+                values = null;
+                continue;
+            }
+
+            values = result.computeIfAbsent(line.substring(0, separator).trim(), k -> new ArrayList<>());
+            values.add(line.substring(separator + 1).trim());
+        }
+
+        return result;
+    }
+
+    private static void put(Map<String, String> attributes,
+                            String key,
+                            Map<String, List<String>> headers,
+                            String header)
+    {
+        String value = getFirst(headers, header, null);
+        if (value != null && !value.isEmpty() && !"UNKNOWN".equals(value))
+        {
+            attributes.put(key, value);
+        }
+    }
+
+    private static String getFirst(Map<String, List<String>> headers,
+                                   String header,
+                                   String defaultValue)
+    {
+        List<String> values = headers.get(header);
+
+        return values == null || values.isEmpty() ? defaultValue : values.get(0);
+    }
+
+}
@@ -0,0 +1,715 @@
+package org.carlspring.strongbox.storage.metadata.pypi;
+
+import org.carlspring.strongbox.artifact.coordinates.PypiArtifactCoordinates;
+import org.carlspring.strongbox.domain.ArtifactEntry;
+import org.carlspring.strongbox.event.artifact.ArtifactEvent;
+import org.carlspring.strongbox.event.artifact.ArtifactEventTypeEnum;
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.providers.io.RepositoryPathLock;
+import org.carlspring.strongbox.providers.io.RepositoryPathResolver;
+import org.carlspring.strongbox.providers.io.RootRepositoryPath;
+import org.carlspring.strongbox.providers.layout.PypiLayoutProvider;
+import org.carlspring.strongbox.providers.repository.group.GroupRepositorySetCollector;
+import org.carlspring.strongbox.storage.repository.Repository;
+
+import javax.inject.Inject;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TimeZone;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.locks.Lock;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.commons.codec.digest.MessageDigestAlgorithms;
+import org.apache.commons.lang3.StringEscapeUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Materialised index pages of the PyPI repositories: the PEP 503 "simple" HTML pages, their PEP 691 JSON
+ * variants and the <code>/pypi/{project}/json</code> documents.
+ * <p>
+ * The pages of a project are rewritten whenever one of its files is stored or deleted, with the SHA-256 digests
+ * and the <code>Requires-Python</code> constraints (see {@link PypiPackageAttributes}), so the index requests are
+ * served as static files. Only the changed file is read, the details of the others are kept next to the pages, so
+ * an upload doesn't cost more as the project grows. The root pages are rewritten only when a project is added or
+ * removed.
+ * <p>
+ * The pages are stored in the {@link #SIMPLE_DIRECTORY} directory of the repository root, next to the packages,
+ * and are not artifacts: the directory is one of the hidden directories of the
+ * {@link org.carlspring.strongbox.providers.layout.PypiFileSystem}, so the repository walks skip it.
+ */
+@Component
+public class PypiSimpleIndex
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(PypiSimpleIndex.class);
+
+    public static final String SIMPLE_DIRECTORY = ".simple";
+
+    public static final String INDEX_PAGE = "index.html";
+
+    /**
+     * PEP 691 JSON variant of the {@link #INDEX_PAGE}.
+     */
+    public static final String INDEX_JSON = "index.json";
+
+    /**
+     * The <code>/pypi/{project}/json</code> document.
+     */
+    public static final String PROJECT_JSON = "project.json";
+
+    /**
+     * The package files of a project, which its pages are rendered from.
+     */
+    static final String FILES_JSON = "files.json";
+
+    public static final String SIMPLE_API_VERSION = "1.0";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final Map<String, NavigableSet<String>> projects = new ConcurrentHashMap<>();
+
+    @Inject
+    private RepositoryPathResolver repositoryPathResolver;
+
+    @Inject
+    private RepositoryPathLock repositoryPathLock;
+
+    @Inject
+    private PypiLayoutProvider pypiLayoutProvider;
+
+    @Inject
+    private GroupRepositorySetCollector groupRepositorySetCollector;
+
+    /**
+     * PEP 503 name normalization.
+     */
+    public static String normalize(String projectName)
+    {
+        return projectName.replaceAll("[-_.]+", "-").toLowerCase();
+    }
+
+    /**
+     * @param fileName
+     *            {@link #INDEX_PAGE} or {@link #INDEX_JSON}
+     */
+    public Path getRootPage(Repository repository,
+                            String fileName)
+    {
+        return getSimpleDirectory(repository).resolve(fileName);
+    }
+
+    /**
+     * @param fileName
+     *            {@link #INDEX_PAGE}, {@link #INDEX_JSON} or {@link #PROJECT_JSON}
+     */
+    public Path getProjectPage(Repository repository,
+                               String projectName,
+                               String fileName)
+    {
+        return getSimpleDirectory(repository).resolve(normalize(projectName)).resolve(fileName);
+    }
+
+    /**
+     * @return weak entity tag of a page, based on its size and modification time
+     */
+    public static String getETag(Path page)
+        throws IOException
+    {
+        return String.format("W/\"%x-%x\"", Files.size(page), Files.getLastModifiedTime(page).toMillis());
+    }
+
+    @EventListener
+    public void handle(ArtifactEvent<RepositoryPath> event)
+        throws IOException
+    {
+        boolean deleted = event.getType() == ArtifactEventTypeEnum.EVENT_ARTIFACT_PATH_DELETED.getType();
+        if (!deleted
+                && event.getType() != ArtifactEventTypeEnum.EVENT_ARTIFACT_FILE_STORED.getType()
+                && event.getType() != ArtifactEventTypeEnum.EVENT_ARTIFACT_FILE_UPDATED.getType())
+        {
+            return;
+        }
+
+        RepositoryPath repositoryPath = (RepositoryPath) event.getPath();
+        Repository repository = repositoryPath.getRepository();
+        if (!PypiLayoutProvider.ALIAS.equals(repository.getLayout()))
+        {
+            return;
+        }
+
+        // {distribution}/{version}/{file}, the deleted path may also be a version or a distribution directory.
+        RepositoryPath relativePath = repositoryPath.relativize();
+        int nameCount = relativePath.toString().isEmpty() ? 0 : relativePath.getNameCount();
+        if (deleted ? nameCount == 0 || nameCount > 3 || nameCount == 3 && !isPackage(repositoryPath)
+                    : nameCount != 3 || !isPackage(repositoryPath))
+        {
+            return;
+        }
+
+        String distribution = relativePath.getName(0).toString();
+        if (deleted)
+        {
+            removeFiles(repository, distribution);
+        }
+        else
+        {
+            updateFile(repository, distribution, repositoryPath);
+        }
+    }
+
+    /**
+     * Adds or replaces a package file in the pages of its project. The other files of the project are taken from
+     * its {@link #FILES_JSON}, so they are neither looked up in the database nor reopened.
+     */
+    public void updateFile(Repository repository,
+                           String distribution,
+                           RepositoryPath packagePath)
+        throws IOException
+    {
+        Lock lock = lockProject(repository, distribution);
+        try
+        {
+            NavigableMap<String, ProjectFile> files = readFiles(repository, distribution);
+            ProjectFile file = createProjectFile(packagePath);
+            files.put(file.fileName, file);
+
+            writeProject(repository, distribution, files);
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes the deleted package files from the pages of a project, which only needs to check which of the listed
+     * files still exist.
+     */
+    public void removeFiles(Repository repository,
+                            String distribution)
+        throws IOException
+    {
+        Lock lock = lockProject(repository, distribution);
+        try
+        {
+            RepositoryPath distributionPath = repositoryPathResolver.resolve(repository).resolve(distribution);
+
+            NavigableMap<String, ProjectFile> files = readFiles(repository, distribution);
+            files.values().removeIf(f -> !Files.exists(distributionPath.resolve(f.version)
+                                                                       .resolve(f.fileName)
+                                                                       .getTarget()));
+
+            writeProject(repository, distribution, files);
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    private Lock lockProject(Repository repository,
+                             String distribution)
+    {
+        RepositoryPath distributionPath = repositoryPathResolver.resolve(repository).resolve(distribution);
+
+        Lock lock = repositoryPathLock.lock(distributionPath, SIMPLE_DIRECTORY).writeLock();
+        lock.lock();
+
+        return lock;
+    }
+
+    /**
+     * @return the package files of a project ordered by file name, from its {@link #FILES_JSON} if there is one, otherwise
+     *         from the distribution directory
+     */
+    private NavigableMap<String, ProjectFile> readFiles(Repository repository,
+                                               String distribution)
+        throws IOException
+    {
+        Path filesJson = getProjectPage(repository, distribution, FILES_JSON);
+        if (Files.exists(filesJson))
+        {
+            try (InputStream is = Files.newInputStream(filesJson))
+            {
+                return MAPPER.readValue(is, new TypeReference<TreeMap<String, ProjectFile>>()
+                {
+                });
+            }
+            catch (IOException e)
+            {
+                logger.warn("Unable to read [{}], the files of the project will be listed again.", filesJson, e);
+            }
+        }
+
+        return scanFiles(repository, distribution);
+    }
+
+    private NavigableMap<String, ProjectFile> scanFiles(Repository repository,
+                                               String distribution)
+        throws IOException
+    {
+        RootRepositoryPath root = repositoryPathResolver.resolve(repository);
+        RepositoryPath distributionPath = root.resolve(distribution);
+
+        NavigableMap<String, ProjectFile> files = new TreeMap<>();
+        if (!Files.isDirectory(distributionPath.getTarget()))
+        {
+            return files;
+        }
+
+        try (Stream<Path> paths = Files.walk(distributionPath.getTarget(), 2))
+        {
+            for (Path path : paths.filter(Files::isRegularFile).collect(Collectors.toList()))
+            {
+                RepositoryPath packagePath = repositoryPathResolver.resolve(repository,
+                                                                            root.getTarget().relativize(path).toString());
+                if (isPackage(packagePath))
+                {
+                    ProjectFile file = createProjectFile(packagePath);
+                    files.put(file.fileName, file);
+                }
+            }
+        }
+
+        return files;
+    }
+
+    private void writeProject(Repository repository,
+                              String distribution,
+                              NavigableMap<String, ProjectFile> files)
+        throws IOException
+    {
+        String project = normalize(distribution);
+
+        if (files.isEmpty())
+        {
+            Files.deleteIfExists(getProjectPage(repository, project, INDEX_PAGE));
+            Files.deleteIfExists(getProjectPage(repository, project, INDEX_JSON));
+            Files.deleteIfExists(getProjectPage(repository, project, PROJECT_JSON));
+            Files.deleteIfExists(getProjectPage(repository, project, FILES_JSON));
+            removeProject(repository, project);
+
+            return;
+        }
+
+        List<ProjectFile> fileList = new ArrayList<>(files.values());
+
+        write(getProjectPage(repository, project, INDEX_PAGE), renderProjectPage(distribution, fileList));
+        write(getProjectPage(repository, project, INDEX_JSON), renderProjectIndexJson(project, fileList));
+        write(getProjectPage(repository, project, PROJECT_JSON), renderProjectJson(distribution, fileList));
+        write(getProjectPage(repository, project, FILES_JSON), MAPPER.writeValueAsBytes(files));
+
+        addProject(repository, project);
+    }
+
+    private ProjectFile createProjectFile(RepositoryPath packagePath)
+        throws IOException
+    {
+        Repository repository = packagePath.getRepository();
+
+        ProjectFile file = new ProjectFile();
+        file.fileName = packagePath.getFileName().toString();
+        file.url = String.format("/storages/%s/%s/packages/%s",
+                                 repository.getStorage().getId(), repository.getId(), file.fileName);
+        file.version = packagePath.getParent().getFileName().toString();
+        file.wheel = file.fileName.endsWith("." + PypiArtifactCoordinates.WHEEL_EXTENSION);
+        file.pythonVersion = file.wheel ?
+                             PypiArtifactCoordinates.parse(file.fileName).getLanguageImplementationVersion() :
+                             "source";
+        file.size = Files.size(packagePath.getTarget());
+
+        ArtifactEntry artifactEntry = packagePath.getArtifactEntry();
+        Map<String, String> entryAttributes = artifactEntry == null ? null : artifactEntry.getArtifactAttributes();
+        if (entryAttributes == null || !PypiPackageAttributes.isPresent(entryAttributes))
+        {
+            // The attributes of a just stored package are persisted asynchronously.
+            entryAttributes = pypiLayoutProvider.getArtifactAttributes(packagePath);
+        }
+        file.attributes = new HashMap<>(entryAttributes);
+        file.requiresPython = entryAttributes.getOrDefault(PypiPackageAttributes.REQUIRES_PYTHON, "");
+
+        file.sha256 = artifactEntry == null ? null : artifactEntry.getChecksums().get(MessageDigestAlgorithms.SHA_256);
+
+        Date created = artifactEntry == null ? null : artifactEntry.getCreated();
+        file.uploadTime = created == null ? null : formatDate(created);
+
+        return file;
+    }
+
+    private static String formatDate(Date date)
+    {
+        SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss");
+        format.setTimeZone(TimeZone.getTimeZone("UTC"));
+
+        return format.format(date);
+    }
+
+    private byte[] renderProjectPage(String distribution,
+                                     List<ProjectFile> files)
+    {
+        StringBuilder html = new StringBuilder();
+        html.append("<!DOCTYPE html>\n")
+            .append("<html>\n")
+            .append("  <head>\n")
+            .append("    <title>Links for ").append(escape(distribution)).append("</title>\n")
+            .append("  </head>\n")
+            .append("  <body>\n")
+            .append("    <h1>Links for ").append(escape(distribution)).append("</h1>\n");
+        for (ProjectFile file : files)
+        {
+            html.append("    <a href=\"").append(escape(file.getUrlWithFragment())).append("\"");
+            if (!file.requiresPython.isEmpty())
+            {
+                html.append(" data-requires-python=\"").append(escape(file.requiresPython)).append("\"");
+            }
+            html.append(">").append(escape(file.fileName)).append("</a><br/>\n");
+        }
+        html.append("  </body>\n")
+            .append("</html>\n");
+
+        return html.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private byte[] renderProjectIndexJson(String project,
+                                          List<ProjectFile> files)
+        throws IOException
+    {
+        List<Map<String, Object>> jsonFiles = new ArrayList<>();
+        for (ProjectFile file : files)
+        {
+            Map<String, Object> jsonFile = new LinkedHashMap<>();
+            jsonFile.put("filename", file.fileName);
+            jsonFile.put("url", file.url);
+            jsonFile.put("hashes", file.getHashes());
+            if (!file.requiresPython.isEmpty())
+            {
+                jsonFile.put("requires-python", file.requiresPython);
+            }
+            jsonFile.put("yanked", false);
+            jsonFiles.add(jsonFile);
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("meta", Collections.singletonMap("api-version", SIMPLE_API_VERSION));
+        result.put("name", project);
+        result.put("files", jsonFiles);
+
+        return MAPPER.writeValueAsBytes(result);
+    }
+
+    private byte[] renderProjectJson(String distribution,
+                                     List<ProjectFile> files)
+        throws IOException
+    {
+        TreeMap<String, List<Map<String, Object>>> releases = new TreeMap<>(PypiSimpleIndex::compareVersions);
+        for (ProjectFile file : files)
+        {
+            Map<String, Object> jsonFile = new LinkedHashMap<>();
+            jsonFile.put("filename", file.fileName);
+            jsonFile.put("url", file.url);
+            jsonFile.put("digests", file.getHashes());
+            jsonFile.put("packagetype", file.wheel ? "bdist_wheel" : "sdist");
+            jsonFile.put("python_version", file.pythonVersion);
+            jsonFile.put("requires_python", file.requiresPython.isEmpty() ? null : file.requiresPython);
+            jsonFile.put("size", file.size);
+            jsonFile.put("upload_time", file.uploadTime);
+            jsonFile.put("yanked", false);
+
+            releases.computeIfAbsent(file.version, v -> new ArrayList<>()).add(jsonFile);
+        }
+
+        String latestVersion = releases.lastKey();
+
+        // The wheels have the most complete metadata.
+        ProjectFile latest = files.stream()
+                                  .filter(f -> f.version.equals(latestVersion))
+                                  .max(Comparator.comparing(f -> f.wheel))
+                                  .get();
+
+        Map<String, Object> info = new LinkedHashMap<>();
+        info.put("name", latest.attributes.getOrDefault(PypiPackageAttributes.NAME, distribution));
+        info.put("version", latestVersion);
+        info.put("summary", latest.attributes.get(PypiPackageAttributes.SUMMARY));
+        info.put("author", latest.attributes.get(PypiPackageAttributes.AUTHOR));
+        info.put("author_email", latest.attributes.get(PypiPackageAttributes.AUTHOR_EMAIL));
+        info.put("license", latest.attributes.get(PypiPackageAttributes.LICENSE));
+        info.put("home_page", latest.attributes.get(PypiPackageAttributes.HOME_PAGE));
+        info.put("requires_python", latest.requiresPython.isEmpty() ? null : latest.requiresPython);
+        info.put("requires_dist", latest.attributes.containsKey(PypiPackageAttributes.REQUIRES_DIST) ?
+                                  PypiPackageAttributes.getRequiresDist(latest.attributes) : null);
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("info", info);
+        result.put("releases", releases);
+        result.put("urls", releases.get(latestVersion));
+
+        return MAPPER.writeValueAsBytes(result);
+    }
+
+    /**
+     * Orders the versions as in PEP 440 (see {@link PypiVersionComparator}), the versions which are equal but
+     * spelled differently (like <code>1.0</code> and <code>1.0.0</code>) are still told apart.
+     */
+    static int compareVersions(String v1,
+                               String v2)
+    {
+        int result = PypiVersionComparator.INSTANCE.compare(v1, v2);
+
+        return result != 0 ? result : v1.compareTo(v2);
+    }
+
+    private void addProject(Repository repository,
+                            String project)
+        throws IOException
+    {
+        NavigableSet<String> repositoryProjects = getProjects(repository);
+        if (repositoryProjects.contains(project))
+        {
+            return;
+        }
+
+        synchronized (repositoryProjects)
+        {
+            if (repositoryProjects.add(project))
+            {
+                writeRootPages(repository, repositoryProjects);
+            }
+        }
+    }
+
+    private void removeProject(Repository repository,
+                               String project)
+        throws IOException
+    {
+        NavigableSet<String> repositoryProjects = getProjects(repository);
+        synchronized (repositoryProjects)
+        {
+            if (repositoryProjects.remove(project))
+            {
+                writeRootPages(repository, repositoryProjects);
+            }
+        }
+    }
+
+    private NavigableSet<String> getProjects(Repository repository)
+    {
+        String key = repository.getStorage().getId() + ":" + repository.getId();
+
+        return projects.computeIfAbsent(key, k -> {
+            NavigableSet<String> result = new ConcurrentSkipListSet<>();
+
+            Path simpleDirectory = getSimpleDirectory(repository);
+            if (!Files.isDirectory(simpleDirectory))
+            {
+                return result;
+            }
+
+            try (Stream<Path> pages = Files.list(simpleDirectory))
+            {
+                pages.filter(p -> Files.exists(p.resolve(INDEX_PAGE)))
+                     .forEach(p -> result.add(p.getFileName().toString()));
+            }
+            catch (IOException e)
+            {
+                logger.warn("Unable to list the projects of [{}]", simpleDirectory, e);
+            }
+
+            return result;
+        });
+    }
+
+    /**
+     * Renders a root page of a repository which has none stored, like a group repository or a repository with
+     * projects stored before the pages were introduced: the distribution directories of the repository and of its
+     * member repositories are listed.
+     *
+     * @param fileName
+     *            {@link #INDEX_PAGE} or {@link #INDEX_JSON}
+     */
+    public byte[] renderRootPage(Repository repository,
+                                 String fileName)
+        throws IOException
+    {
+        NavigableSet<String> result = new TreeSet<>();
+        collectProjects(repository, result);
+        for (Repository member : groupRepositorySetCollector.collect(repository, true))
+        {
+            collectProjects(member, result);
+        }
+
+        return INDEX_JSON.equals(fileName) ? renderRootIndexJson(result) : renderRootPage(result);
+    }
+
+    private void collectProjects(Repository repository,
+                                 Set<String> result)
+        throws IOException
+    {
+        RootRepositoryPath root = repositoryPathResolver.resolve(repository);
+        if (!Files.isDirectory(root))
+        {
+            return;
+        }
+
+        // The hidden directories, like the SIMPLE_DIRECTORY, are not listed.
+        try (DirectoryStream<Path> paths = Files.newDirectoryStream(root))
+        {
+            for (Path path : paths)
+            {
+                if (Files.isDirectory(path))
+                {
+                    result.add(normalize(path.getFileName().toString()));
+                }
+            }
+        }
+    }
+
+    private void writeRootPages(Repository repository,
+                                NavigableSet<String> repositoryProjects)
+        throws IOException
+    {
+        write(getRootPage(repository, INDEX_PAGE), renderRootPage(repositoryProjects));
+        write(getRootPage(repository, INDEX_JSON), renderRootIndexJson(repositoryProjects));
+    }
+
+    private byte[] renderRootPage(NavigableSet<String> repositoryProjects)
+    {
+        StringBuilder html = new StringBuilder();
+        html.append("<!DOCTYPE html>\n")
+            .append("<html>\n")
+            .append("  <head>\n")
+            .append("    <title>Simple index</title>\n")
+            .append("  </head>\n")
+            .append("  <body>\n");
+        for (String project : repositoryProjects)
+        {
+            html.append("    <a href=\"").append(escape(project)).append("/\">")
+                .append(escape(project))
+                .append("</a><br/>\n");
+        }
+        html.append("  </body>\n")
+            .append("</html>\n");
+
+        return html.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private byte[] renderRootIndexJson(NavigableSet<String> repositoryProjects)
+        throws IOException
+    {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("meta", Collections.singletonMap("api-version", SIMPLE_API_VERSION));
+        json.put("projects", repositoryProjects.stream()
+                                               .map(p -> Collections.singletonMap("name", p))
+                                               .collect(Collectors.toList()));
+
+        return MAPPER.writeValueAsBytes(json);
+    }
+
+    private void write(Path page,
+                       byte[] content)
+        throws IOException
+    {
+        Files.createDirectories(page.getParent());
+
+        Path temp = Files.createTempFile(page.getParent(), page.getFileName().toString(), ".tmp");
+        try
+        {
+            Files.write(temp, content);
+            Files.move(temp, page, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        finally
+        {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private Path getSimpleDirectory(Repository repository)
+    {
+        return repositoryPathResolver.resolve(repository).getTarget().resolve(SIMPLE_DIRECTORY);
+    }
+
+    private static boolean isPackage(RepositoryPath repositoryPath)
+    {
+        String fileName = repositoryPath.getFileName().toString();
+
+        return fileName.endsWith("." + PypiArtifactCoordinates.WHEEL_EXTENSION)
+                || fileName.endsWith("." + PypiArtifactCoordinates.SOURCE_EXTENSION);
+    }
+
+    private static String escape(String value)
+    {
+        return StringEscapeUtils.escapeHtml4(value);
+    }
+
+    /**
+     * A package file of a project, with the details which are listed in the index pages. The files of a project
+     * are kept in its {@link #FILES_JSON}.
+     */
+    @JsonAutoDetect(fieldVisibility = Visibility.ANY, getterVisibility = Visibility.NONE,
+                    isGetterVisibility = Visibility.NONE)
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    static class ProjectFile
+    {
+
+        private String fileName;
+
+        private String url;
+
+        private String version;
+
+        private boolean wheel;
+
+        private String pythonVersion;
+
+        private String sha256;
+
+        private String requiresPython;
+
+        private Map<String, String> attributes;
+
+        private long size;
+
+        private String uploadTime;
+
+        Map<String, String> getHashes()
+        {
+            return sha256 == null ? Collections.emptyMap() : Collections.singletonMap("sha256", sha256);
+        }
+
+        String getUrlWithFragment()
+        {
+            return sha256 == null ? url : url + "#sha256=" + sha256;
+        }
+
+    }
+
+}
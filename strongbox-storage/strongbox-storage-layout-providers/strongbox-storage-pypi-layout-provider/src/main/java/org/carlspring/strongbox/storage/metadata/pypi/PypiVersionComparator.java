@@ -0,0 +1,285 @@
+package org.carlspring.strongbox.storage.metadata.pypi;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Orders the versions of a project as in PEP 440: <code>1.0.dev1 &lt; 1.0a1 &lt; 1.0b2.post1 &lt; 1.0rc1 &lt; 1.0
+ * &lt; 1.0.post1 &lt; 1.0+local &lt; 1.1</code>, with the release segments compared numerically and the trailing
+ * zeros ignored (<code>1.0 == 1.0.0</code>). The alternative spellings which PEP 440 normalizes (<code>1.0-RC1</code>,
+ * <code>1.0alpha1</code>, <code>1.0-1</code> and so on) are accepted as well.
+ * <p>
+ * Versions which are not PEP 440 versions at all sort before the valid ones, by their text.
+ */
+class PypiVersionComparator
+        implements Comparator<String>
+{
+
+    static final PypiVersionComparator INSTANCE = new PypiVersionComparator();
+
+    private static final Pattern VERSION = Pattern.compile("^v?" +
+                                                           "(?:(\\d+)!)?" +
+                                                           "(\\d+(?:\\.\\d+)*)" +
+                                                           "(?:[-_.]?(a|alpha|b|beta|c|rc|pre|preview)[-_.]?(\\d*))?" +
+                                                           "(?:-(\\d+)|[-_.]?(post|rev|r)[-_.]?(\\d*))?" +
+                                                           "(?:[-_.]?(dev)[-_.]?(\\d*))?" +
+                                                           "(?:\\+([a-z0-9]+(?:[-_.][a-z0-9]+)*))?$");
+
+    @Override
+    public int compare(String v1,
+                       String v2)
+    {
+        Version version1 = Version.parse(v1);
+        Version version2 = Version.parse(v2);
+
+        if (version1 == null || version2 == null)
+        {
+            if (version1 != null)
+            {
+                return 1;
+            }
+            if (version2 != null)
+            {
+                return -1;
+            }
+
+            return v1.compareTo(v2);
+        }
+
+        return version1.compareTo(version2);
+    }
+
+    private static class Version
+            implements Comparable<Version>
+    {
+
+        private BigInteger epoch;
+
+        private List<BigInteger> release;
+
+        /**
+         * 0 for <code>a</code>, 1 for <code>b</code>, 2 for <code>rc</code>, or null.
+         */
+        private Integer prePhase;
+
+        private BigInteger pre;
+
+        private BigInteger post;
+
+        private BigInteger dev;
+
+        private String[] local;
+
+        static Version parse(String text)
+        {
+            Matcher matcher = VERSION.matcher(text.trim().toLowerCase(Locale.ROOT));
+            if (!matcher.matches())
+            {
+                return null;
+            }
+
+            Version version = new Version();
+            version.epoch = matcher.group(1) == null ? BigInteger.ZERO : new BigInteger(matcher.group(1));
+
+            version.release = new ArrayList<>();
+            for (String segment : matcher.group(2).split("\\."))
+            {
+                version.release.add(new BigInteger(segment));
+            }
+            // 1.0 == 1.0.0
+            while (version.release.size() > 1 && version.release.get(version.release.size() - 1).signum() == 0)
+            {
+                version.release.remove(version.release.size() - 1);
+            }
+
+            if (matcher.group(3) != null)
+            {
+                version.prePhase = getPrePhase(matcher.group(3));
+                version.pre = toNumber(matcher.group(4));
+            }
+
+            if (matcher.group(5) != null)
+            {
+                version.post = new BigInteger(matcher.group(5));
+            }
+            else if (matcher.group(6) != null)
+            {
+                version.post = toNumber(matcher.group(7));
+            }
+
+            if (matcher.group(8) != null)
+            {
+                version.dev = toNumber(matcher.group(9));
+            }
+
+            if (matcher.group(10) != null)
+            {
+                version.local = matcher.group(10).split("[-_.]");
+            }
+
+            return version;
+        }
+
+        private static int getPrePhase(String phase)
+        {
+            switch (phase)
+            {
+                case "a":
+                case "alpha":
+                    return 0;
+                case "b":
+                case "beta":
+                    return 1;
+                default:
+                    return 2;
+            }
+        }
+
+        private static BigInteger toNumber(String number)
+        {
+            return number == null || number.isEmpty() ? BigInteger.ZERO : new BigInteger(number);
+        }
+
+        @Override
+        public int compareTo(Version other)
+        {
+            int result = epoch.compareTo(other.epoch);
+            if (result != 0)
+            {
+                return result;
+            }
+
+            result = compareRelease(release, other.release);
+            if (result != 0)
+            {
+                return result;
+            }
+
+            result = comparePre(other);
+            if (result != 0)
+            {
+                return result;
+            }
+
+            // No post release sorts first.
+            result = compareOptional(post, other.post, -1);
+            if (result != 0)
+            {
+                return result;
+            }
+
+            // No development release sorts last.
+            result = compareOptional(dev, other.dev, 1);
+            if (result != 0)
+            {
+                return result;
+            }
+
+            return compareLocal(local, other.local);
+        }
+
+        /**
+         * A development release without a pre or post release (<code>1.0.dev1</code>) sorts before the pre
+         * releases, and no pre release sorts after them.
+         */
+        private int comparePre(Version other)
+        {
+            int result = Integer.compare(getPreRank(), other.getPreRank());
+            if (result != 0 || prePhase == null)
+            {
+                return result;
+            }
+
+            result = prePhase.compareTo(other.prePhase);
+
+            return result != 0 ? result : pre.compareTo(other.pre);
+        }
+
+        private int getPreRank()
+        {
+            if (prePhase != null)
+            {
+                return 1;
+            }
+
+            return post == null && dev != null ? 0 : 2;
+        }
+
+        private static int compareRelease(List<BigInteger> release1,
+                                          List<BigInteger> release2)
+        {
+            for (int i = 0; i < Math.min(release1.size(), release2.size()); i++)
+            {
+                int result = release1.get(i).compareTo(release2.get(i));
+                if (result != 0)
+                {
+                    return result;
+                }
+            }
+
+            return Integer.compare(release1.size(), release2.size());
+        }
+
+        /**
+         * @param missing
+         *            the result of comparing a missing value with a present one
+         */
+        private static int compareOptional(BigInteger value1,
+                                           BigInteger value2,
+                                           int missing)
+        {
+            if (value1 == null || value2 == null)
+            {
+                return value1 == value2 ? 0 : (value1 == null ? missing : -missing);
+            }
+
+            return value1.compareTo(value2);
+        }
+
+        /**
+         * No local version sorts first, the numeric segments sort after the alphanumeric ones.
+         */
+        private static int compareLocal(String[] local1,
+                                        String[] local2)
+        {
+            if (local1 == null || local2 == null)
+            {
+                return local1 == local2 ? 0 : (local1 == null ? -1 : 1);
+            }
+
+            for (int i = 0; i < Math.min(local1.length, local2.length); i++)
+            {
+                boolean numeric1 = local1[i].chars().allMatch(Character::isDigit);
+                boolean numeric2 = local2[i].chars().allMatch(Character::isDigit);
+
+                int result;
+                if (numeric1 && numeric2)
+                {
+                    result = new BigInteger(local1[i]).compareTo(new BigInteger(local2[i]));
+                }
+                else if (numeric1 != numeric2)
+                {
+                    result = numeric1 ? 1 : -1;
+                }
+                else
+                {
+                    result = local1[i].compareTo(local2[i]);
+                }
+
+                if (result != 0)
+                {
+                    return result;
+                }
+            }
+
+            return Integer.compare(local1.length, local2.length);
+        }
+
+    }
+
+}
@@ -0,0 +1,83 @@
+package org.carlspring.strongbox.storage.metadata.pypi;
+
+import java.io.ByteArrayInputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.parallel.ExecutionMode.CONCURRENT;
+
+@Execution(CONCURRENT)
+public class PypiPackageAttributesTest
+{
+
+    @Test
+    public void testParsePkgInfo()
+        throws IOException
+    {
+        Map<String, String> attributes;
+        try (InputStream is = new FileInputStream("src/test/resources/org.carlspring.strongbox.util/PKG-INFO"))
+        {
+            attributes = PypiPackageAttributes.parse(is);
+        }
+
+        assertThat(PypiPackageAttributes.isPresent(attributes)).isTrue();
+        assertThat(attributes.get(PypiPackageAttributes.NAME)).isEqualTo("hello-strongbox-pip");
+        assertThat(attributes.get(PypiPackageAttributes.VERSION)).isEqualTo("1.0.0");
+        assertThat(attributes.get(PypiPackageAttributes.AUTHOR)).isEqualTo("Martin Todorov");
+        assertThat(attributes.get(PypiPackageAttributes.REQUIRES_PYTHON)).isEmpty();
+    }
+
+    @Test
+    public void testParseWheelMetadata()
+        throws IOException
+    {
+        String metadata = "Metadata-Version: 2.1\n" +
+                          "Name: requests\n" +
+                          "Version: 2.22.0\n" +
+                          "Classifier: Programming Language :: Python :: 2.7\n" +
+                          "Classifier: Programming Language :: Python :: 3\n" +
+                          "Requires-Python: >=2.7, !=3.0.*, !=3.1.*\n" +
+                          "Requires-Dist: chardet (<3.1.0,>=3.0.2)\n" +
+                          "Requires-Dist: idna (<2.9,>=2.5)\n" +
+                          "License: Apache 2.0\n" +
+                          "  with a continuation line\n" +
+                          "\n" +
+                          "Requests: HTTP for Humans\n";
+
+        Map<String, String> attributes = PypiPackageAttributes.parse(
+                new ByteArrayInputStream(metadata.getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(attributes.get(PypiPackageAttributes.NAME)).isEqualTo("requests");
+        assertThat(attributes.get(PypiPackageAttributes.REQUIRES_PYTHON)).isEqualTo(">=2.7, !=3.0.*, !=3.1.*");
+        assertThat(attributes.get(PypiPackageAttributes.LICENSE)).isEqualTo("Apache 2.0\nwith a continuation line");
+        assertThat(PypiPackageAttributes.getRequiresDist(attributes)).containsExactly("chardet (<3.1.0,>=3.0.2)",
+                                                                                      "idna (<2.9,>=2.5)");
+        assertThat(PypiPackageAttributes.parseHeaders(new ByteArrayInputStream(metadata.getBytes(StandardCharsets.UTF_8)))
+                                        .get("Classifier")).hasSize(2);
+    }
+
+    @Test
+    public void testNormalize()
+    {
+        assertThat(PypiSimpleIndex.normalize("Hello_Strongbox.Pip")).isEqualTo("hello-strongbox-pip");
+        assertThat(PypiSimpleIndex.normalize("hello--strongbox__pip")).isEqualTo("hello-strongbox-pip");
+    }
+
+    @Test
+    public void testCompareVersions()
+    {
+        assertThat(PypiSimpleIndex.compareVersions("1.10.0", "1.9.1")).isPositive();
+        assertThat(PypiSimpleIndex.compareVersions("1.0.1", "1.0rc1")).isPositive();
+        assertThat(PypiSimpleIndex.compareVersions("1.10rc1", "1.9")).isPositive();
+        // Equal in PEP 440, but both are kept as releases.
+        assertThat(PypiSimpleIndex.compareVersions("1.0", "1.0.0")).isNegative();
+        assertThat(PypiSimpleIndex.compareVersions("2.22.0", "2.22.0")).isZero();
+    }
+
+}
@@ -0,0 +1,61 @@
+package org.carlspring.strongbox.storage.metadata.pypi;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.parallel.ExecutionMode.CONCURRENT;
+
+@Execution(CONCURRENT)
+public class PypiVersionComparatorTest
+{
+
+    @Test
+    public void testPep440Order()
+    {
+        List<String> expected = Arrays.asList("1.0.dev1",
+                                              "1.0a1.dev1",
+                                              "1.0a1",
+                                              "1.0b2.post1",
+                                              "1.0rc1",
+                                              "1.0",
+                                              "1.0+local.1",
+                                              "1.0+local.2",
+                                              "1.0.post1.dev1",
+                                              "1.0.post1",
+                                              "1.1",
+                                              "1.9",
+                                              "1.10rc1",
+                                              "1.10",
+                                              "1!0.1");
+
+        List<String> versions = new ArrayList<>(expected);
+        Collections.reverse(versions);
+        versions.sort(PypiVersionComparator.INSTANCE);
+
+        assertThat(versions).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    public void testEquivalentSpellings()
+    {
+        assertThat(PypiVersionComparator.INSTANCE.compare("1.0", "1.0.0")).isZero();
+        assertThat(PypiVersionComparator.INSTANCE.compare("1.0-RC1", "1.0rc1")).isZero();
+        assertThat(PypiVersionComparator.INSTANCE.compare("1.0c1", "1.0rc1")).isZero();
+        assertThat(PypiVersionComparator.INSTANCE.compare("1.0alpha1", "1.0a1")).isZero();
+        assertThat(PypiVersionComparator.INSTANCE.compare("1.0-1", "1.0.post1")).isZero();
+        assertThat(PypiVersionComparator.INSTANCE.compare("v1.0", "1.0")).isZero();
+    }
+
+    @Test
+    public void testInvalidVersionsSortFirst()
+    {
+        assertThat(PypiVersionComparator.INSTANCE.compare("not-a-version", "0.0.1")).isNegative();
+        assertThat(PypiVersionComparator.INSTANCE.compare("0.0.1", "not-a-version")).isPositive();
+    }
+
+}
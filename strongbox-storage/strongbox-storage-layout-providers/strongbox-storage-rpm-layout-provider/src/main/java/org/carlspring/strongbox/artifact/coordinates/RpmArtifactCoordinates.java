@@ -57,6 +57,15 @@ public class RpmArtifactCoordinates
 
     public static final String DEFAULT_EXTENSION = "rpm";
 
+    /**
+     * The (base name, version, release) tuple is stored in properties of its own as well, see
+     * <code>idx_rpm_artifact_coordinates</code>.
+     */
+    private String id;
+
+    private String version;
+
+    private String release;
 
     public RpmArtifactCoordinates(@NotBlank String baseName,
                                   @NotBlank String version,
@@ -104,6 +113,7 @@ public class RpmArtifactCoordinates
     @Override
     public void setId(String id)
     {
+        this.id = id;
         setCoordinate(BASE_NAME, id);
     }
 
@@ -116,6 +126,7 @@ public class RpmArtifactCoordinates
     @Override
     public void setVersion(String version)
     {
+        this.version = version;
         setCoordinate(VERSION, version);
     }
 
@@ -126,6 +137,7 @@ public class RpmArtifactCoordinates
 
     public void setRelease(String release)
     {
+        this.release = release;
         setCoordinate(RELEASE, release);
     }
 
@@ -0,0 +1,11 @@
+package org.carlspring.strongbox.config;
+
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ComponentScan({ "org.carlspring.strongbox.storage.metadata.rpm" })
+public class RpmLayoutProviderConfig
+{
+
+}
@@ -0,0 +1,352 @@
+package org.carlspring.strongbox.storage.metadata.rpm;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Pure Java reader of the RPM package headers.
+ * <p>
+ * An RPM file starts with a 96 bytes lead, followed by the signature header (padded to 8 bytes) and the main
+ * header, then the compressed payload. Only the lead and the headers are read, the stream is left positioned at
+ * the start of the payload.
+ * <p>
+ * Each header is an index of <code>(tag, type, offset, count)</code> entries followed by a data store, all the
+ * numbers are big-endian.
+ */
+public class RpmHeader
+{
+
+    public static final int NAME = 1000;
+
+    public static final int VERSION = 1001;
+
+    public static final int RELEASE = 1002;
+
+    public static final int EPOCH = 1003;
+
+    public static final int SUMMARY = 1004;
+
+    public static final int DESCRIPTION = 1005;
+
+    public static final int BUILDTIME = 1006;
+
+    public static final int BUILDHOST = 1007;
+
+    public static final int SIZE = 1009;
+
+    public static final int VENDOR = 1011;
+
+    public static final int LICENSE = 1014;
+
+    public static final int PACKAGER = 1015;
+
+    public static final int GROUP = 1016;
+
+    public static final int URL = 1020;
+
+    public static final int ARCH = 1022;
+
+    public static final int OLDFILENAMES = 1027;
+
+    public static final int FILEMODES = 1030;
+
+    public static final int FILEFLAGS = 1037;
+
+    public static final int SOURCERPM = 1044;
+
+    public static final int ARCHIVESIZE = 1046;
+
+    public static final int PROVIDENAME = 1047;
+
+    public static final int REQUIREFLAGS = 1048;
+
+    public static final int REQUIRENAME = 1049;
+
+    public static final int REQUIREVERSION = 1050;
+
+    public static final int CONFLICTFLAGS = 1053;
+
+    public static final int CONFLICTNAME = 1054;
+
+    public static final int CONFLICTVERSION = 1055;
+
+    public static final int CHANGELOGTIME = 1080;
+
+    public static final int CHANGELOGNAME = 1081;
+
+    public static final int CHANGELOGTEXT = 1082;
+
+    public static final int OBSOLETENAME = 1090;
+
+    public static final int PROVIDEFLAGS = 1112;
+
+    public static final int PROVIDEVERSION = 1113;
+
+    public static final int OBSOLETEFLAGS = 1114;
+
+    public static final int OBSOLETEVERSION = 1115;
+
+    public static final int DIRINDEXES = 1116;
+
+    public static final int BASENAMES = 1117;
+
+    public static final int DIRNAMES = 1118;
+
+    static final int LEAD_SIZE = 96;
+
+    static final int LEAD_MAGIC = 0xedabeedb;
+
+    static final int HEADER_MAGIC = 0x8eade801;
+
+    private static final int TYPE_CHAR = 1;
+
+    private static final int TYPE_INT8 = 2;
+
+    private static final int TYPE_INT16 = 3;
+
+    private static final int TYPE_INT32 = 4;
+
+    private static final int TYPE_INT64 = 5;
+
+    private static final int TYPE_STRING = 6;
+
+    private static final int TYPE_BIN = 7;
+
+    private static final int TYPE_STRING_ARRAY = 8;
+
+    private static final int TYPE_I18NSTRING = 9;
+
+    /**
+     * Sanity limits, to fail fast on corrupted files instead of allocating huge buffers.
+     */
+    private static final int MAX_INDEX_ENTRIES = 0x10000;
+
+    private static final int MAX_STORE_SIZE = 256 * 1024 * 1024;
+
+    private final Map<Integer, Object> tags;
+
+    private final long start;
+
+    private final long end;
+
+    RpmHeader(Map<Integer, Object> tags,
+              long start,
+              long end)
+    {
+        this.tags = tags;
+        this.start = start;
+        this.end = end;
+    }
+
+    /**
+     * Reads the lead, the signature and the main header of an RPM file.
+     */
+    public static RpmHeader read(InputStream is)
+        throws IOException
+    {
+        DataInputStream in = new DataInputStream(is);
+
+        if (in.readInt() != LEAD_MAGIC)
+        {
+            throw new IOException("Not an RPM file.");
+        }
+        in.readFully(new byte[LEAD_SIZE - 4]);
+
+        int signatureSize = readHeader(in, null);
+        int padding = (8 - signatureSize % 8) % 8;
+        in.readFully(new byte[padding]);
+
+        long start = LEAD_SIZE + signatureSize + padding;
+        Map<Integer, Object> tags = new HashMap<>();
+        int headerSize = readHeader(in, tags);
+
+        return new RpmHeader(tags, start, start + headerSize);
+    }
+
+    /**
+     * @return the number of bytes read
+     */
+    private static int readHeader(DataInputStream in,
+                                  Map<Integer, Object> tags)
+        throws IOException
+    {
+        if (in.readInt() != HEADER_MAGIC)
+        {
+            throw new IOException("Invalid RPM header.");
+        }
+        in.readInt();
+
+        int indexLength = in.readInt();
+        int storeSize = in.readInt();
+        if (indexLength < 0 || indexLength > MAX_INDEX_ENTRIES || storeSize < 0 || storeSize > MAX_STORE_SIZE)
+        {
+            throw new IOException(String.format("Invalid RPM header size [%s/%s].", indexLength, storeSize));
+        }
+
+        int[][] index = new int[indexLength][4];
+        for (int[] entry : index)
+        {
+            for (int i = 0; i < entry.length; i++)
+            {
+                entry[i] = in.readInt();
+            }
+        }
+
+        byte[] store = new byte[storeSize];
+        in.readFully(store);
+
+        if (tags != null)
+        {
+            ByteBuffer buffer = ByteBuffer.wrap(store);
+            for (int[] entry : index)
+            {
+                Object value = readValue(buffer, entry[1], entry[2], entry[3]);
+                if (value != null)
+                {
+                    tags.put(entry[0], value);
+                }
+            }
+        }
+
+        return 16 + indexLength * 16 + storeSize;
+    }
+
+    private static Object readValue(ByteBuffer buffer,
+                                    int type,
+                                    int offset,
+                                    int count)
+        throws IOException
+    {
+        if (offset < 0 || offset > buffer.limit() || count < 0)
+        {
+            throw new IOException(String.format("Invalid RPM header entry [%s/%s].", offset, count));
+        }
+
+        try
+        {
+            buffer.position(offset);
+            switch (type)
+            {
+                case TYPE_CHAR:
+                case TYPE_INT8:
+                    long[] int8 = new long[count];
+                    for (int i = 0; i < count; i++)
+                    {
+                        int8[i] = buffer.get() & 0xff;
+                    }
+                    return int8;
+                case TYPE_INT16:
+                    long[] int16 = new long[count];
+                    for (int i = 0; i < count; i++)
+                    {
+                        int16[i] = buffer.getShort() & 0xffff;
+                    }
+                    return int16;
+                case TYPE_INT32:
+                    long[] int32 = new long[count];
+                    for (int i = 0; i < count; i++)
+                    {
+                        int32[i] = buffer.getInt() & 0xffffffffL;
+                    }
+                    return int32;
+                case TYPE_INT64:
+                    long[] int64 = new long[count];
+                    for (int i = 0; i < count; i++)
+                    {
+                        int64[i] = buffer.getLong();
+                    }
+                    return int64;
+                case TYPE_STRING:
+                    return new String[]{ readString(buffer) };
+                case TYPE_STRING_ARRAY:
+                case TYPE_I18NSTRING:
+                    String[] strings = new String[count];
+                    for (int i = 0; i < count; i++)
+                    {
+                        strings[i] = readString(buffer);
+                    }
+                    return strings;
+                case TYPE_BIN:
+                    byte[] bytes = new byte[count];
+                    buffer.get(bytes);
+                    return bytes;
+                default:
+                    return null;
+            }
+        }
+        catch (RuntimeException e)
+        {
+            throw new IOException(String.format("Invalid RPM header entry [%s/%s].", offset, count), e);
+        }
+    }
+
+    private static String readString(ByteBuffer buffer)
+    {
+        int from = buffer.position();
+        while (buffer.get() != 0)
+        {
+            // Search the terminating NUL.
+        }
+
+        return new String(buffer.array(), from, buffer.position() - from - 1, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @return the offset of the main header in the file
+     */
+    public long getStart()
+    {
+        return start;
+    }
+
+    /**
+     * @return the offset of the end of the main header in the file
+     */
+    public long getEnd()
+    {
+        return end;
+    }
+
+    public boolean contains(int tag)
+    {
+        return tags.containsKey(tag);
+    }
+
+    /**
+     * @return the value of a <code>STRING</code> tag, or the first (untranslated) value of an
+     *         <code>I18NSTRING</code> or <code>STRING_ARRAY</code> tag
+     */
+    public String getString(int tag)
+    {
+        String[] values = getStrings(tag);
+
+        return values.length == 0 ? null : values[0];
+    }
+
+    public String[] getStrings(int tag)
+    {
+        Object value = tags.get(tag);
+
+        return value instanceof String[] ? (String[]) value : new String[0];
+    }
+
+    public Long getLong(int tag)
+    {
+        long[] values = getLongs(tag);
+
+        return values.length == 0 ? null : values[0];
+    }
+
+    public long[] getLongs(int tag)
+    {
+        Object value = tags.get(tag);
+
+        return value instanceof long[] ? (long[]) value : new long[0];
+    }
+
+}
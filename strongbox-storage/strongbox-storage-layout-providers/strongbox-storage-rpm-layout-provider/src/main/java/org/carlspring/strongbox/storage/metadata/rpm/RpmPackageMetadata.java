@@ -0,0 +1,381 @@
+package org.carlspring.strongbox.storage.metadata.rpm;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.lang3.StringEscapeUtils;
+
+/**
+ * The <code>primary.xml</code>, <code>filelists.xml</code> and <code>other.xml</code> entries of an RPM package,
+ * built from its {@link RpmHeader}.
+ * <p>
+ * The entries are persisted as fragments, so the repository metadata can be reassembled without reading the
+ * packages again.
+ */
+public class RpmPackageMetadata
+{
+
+    private static final int RPMSENSE_LESS = 0x02;
+
+    private static final int RPMSENSE_GREATER = 0x04;
+
+    private static final int RPMSENSE_EQUAL = 0x08;
+
+    private static final int RPMSENSE_PREREQ = 0x40;
+
+    private static final int RPMSENSE_SCRIPT_PRE = 0x200;
+
+    private static final int RPMSENSE_SCRIPT_POST = 0x400;
+
+    private static final int RPMFILE_GHOST = 0x40;
+
+    private static final int S_IFMT = 0170000;
+
+    private static final int S_IFDIR = 0040000;
+
+    private final RpmHeader header;
+
+    private final String location;
+
+    private final String checksum;
+
+    private final long packageSize;
+
+    private final long fileTime;
+
+    /**
+     * @param header
+     *            the package header
+     * @param location
+     *            the package path, relative to the repository root
+     * @param checksum
+     *            SHA-256 digest of the package file, used as the package ID
+     * @param packageSize
+     *            the package file size
+     * @param fileTime
+     *            the package file modification time, in seconds
+     */
+    public RpmPackageMetadata(RpmHeader header,
+                              String location,
+                              String checksum,
+                              long packageSize,
+                              long fileTime)
+    {
+        this.header = header;
+        this.location = location;
+        this.checksum = checksum;
+        this.packageSize = packageSize;
+        this.fileTime = fileTime;
+    }
+
+    public String getName()
+    {
+        return header.getString(RpmHeader.NAME);
+    }
+
+    /**
+     * @return the package architecture, <code>src</code> for the source packages
+     */
+    public String getArch()
+    {
+        return header.contains(RpmHeader.SOURCERPM) ? header.getString(RpmHeader.ARCH) : "src";
+    }
+
+    public String toPrimaryXml()
+    {
+        StringBuilder xml = new StringBuilder();
+        xml.append("<package type=\"rpm\">\n");
+        element(xml, "  ", "name", getName());
+        element(xml, "  ", "arch", getArch());
+        appendVersion(xml);
+        xml.append("  <checksum type=\"sha256\" pkgid=\"YES\">").append(checksum).append("</checksum>\n");
+        element(xml, "  ", "summary", header.getString(RpmHeader.SUMMARY));
+        element(xml, "  ", "description", header.getString(RpmHeader.DESCRIPTION));
+        element(xml, "  ", "packager", header.getString(RpmHeader.PACKAGER));
+        element(xml, "  ", "url", header.getString(RpmHeader.URL));
+        xml.append("  <time file=\"").append(fileTime)
+           .append("\" build=\"").append(getLong(RpmHeader.BUILDTIME))
+           .append("\"/>\n");
+        xml.append("  <size package=\"").append(packageSize)
+           .append("\" installed=\"").append(getLong(RpmHeader.SIZE))
+           .append("\" archive=\"").append(getLong(RpmHeader.ARCHIVESIZE))
+           .append("\"/>\n");
+        xml.append("  <location href=\"").append(escape(location)).append("\"/>\n");
+
+        xml.append("  <format>\n");
+        element(xml, "    ", "rpm:license", header.getString(RpmHeader.LICENSE));
+        element(xml, "    ", "rpm:vendor", header.getString(RpmHeader.VENDOR));
+        element(xml, "    ", "rpm:group", header.getString(RpmHeader.GROUP));
+        element(xml, "    ", "rpm:buildhost", header.getString(RpmHeader.BUILDHOST));
+        element(xml, "    ", "rpm:sourcerpm", header.getString(RpmHeader.SOURCERPM));
+        xml.append("    <rpm:header-range start=\"").append(header.getStart())
+           .append("\" end=\"").append(header.getEnd())
+           .append("\"/>\n");
+        appendDependencies(xml, "rpm:provides", RpmHeader.PROVIDENAME, RpmHeader.PROVIDEFLAGS,
+                           RpmHeader.PROVIDEVERSION);
+        appendDependencies(xml, "rpm:requires", RpmHeader.REQUIRENAME, RpmHeader.REQUIREFLAGS,
+                           RpmHeader.REQUIREVERSION);
+        appendDependencies(xml, "rpm:conflicts", RpmHeader.CONFLICTNAME, RpmHeader.CONFLICTFLAGS,
+                           RpmHeader.CONFLICTVERSION);
+        appendDependencies(xml, "rpm:obsoletes", RpmHeader.OBSOLETENAME, RpmHeader.OBSOLETEFLAGS,
+                           RpmHeader.OBSOLETEVERSION);
+        for (PackageFile file : getFiles())
+        {
+            // Only the files which are commonly required by path are listed in the primary metadata.
+            if (isPrimaryFile(file.path))
+            {
+                appendFile(xml, "    ", file);
+            }
+        }
+        xml.append("  </format>\n");
+        xml.append("</package>\n");
+
+        return xml.toString();
+    }
+
+    public String toFilelistsXml()
+    {
+        StringBuilder xml = new StringBuilder();
+        appendPackageStart(xml);
+        for (PackageFile file : getFiles())
+        {
+            appendFile(xml, "  ", file);
+        }
+        xml.append("</package>\n");
+
+        return xml.toString();
+    }
+
+    public String toOtherXml()
+    {
+        StringBuilder xml = new StringBuilder();
+        appendPackageStart(xml);
+
+        long[] times = header.getLongs(RpmHeader.CHANGELOGTIME);
+        String[] authors = header.getStrings(RpmHeader.CHANGELOGNAME);
+        String[] texts = header.getStrings(RpmHeader.CHANGELOGTEXT);
+        for (int i = 0; i < Math.min(times.length, Math.min(authors.length, texts.length)); i++)
+        {
+            xml.append("  <changelog author=\"").append(escape(authors[i]))
+               .append("\" date=\"").append(times[i])
+               .append("\">").append(escape(texts[i]))
+               .append("</changelog>\n");
+        }
+        xml.append("</package>\n");
+
+        return xml.toString();
+    }
+
+    private void appendPackageStart(StringBuilder xml)
+    {
+        xml.append("<package pkgid=\"").append(checksum)
+           .append("\" name=\"").append(escape(getName()))
+           .append("\" arch=\"").append(escape(getArch()))
+           .append("\">\n");
+        appendVersion(xml);
+    }
+
+    private void appendVersion(StringBuilder xml)
+    {
+        xml.append("  <version epoch=\"").append(getLong(RpmHeader.EPOCH))
+           .append("\" ver=\"").append(escape(header.getString(RpmHeader.VERSION)))
+           .append("\" rel=\"").append(escape(header.getString(RpmHeader.RELEASE)))
+           .append("\"/>\n");
+    }
+
+    private void appendDependencies(StringBuilder xml,
+                                    String element,
+                                    int nameTag,
+                                    int flagsTag,
+                                    int versionTag)
+    {
+        String[] names = header.getStrings(nameTag);
+        long[] flags = header.getLongs(flagsTag);
+        String[] versions = header.getStrings(versionTag);
+
+        List<String> entries = new ArrayList<>();
+        for (int i = 0; i < names.length; i++)
+        {
+            // The rpmlib() capabilities are provided by rpm itself.
+            if (names[i].startsWith("rpmlib("))
+            {
+                continue;
+            }
+
+            long flag = i < flags.length ? flags[i] : 0;
+            String version = i < versions.length ? versions[i] : "";
+
+            StringBuilder entry = new StringBuilder();
+            entry.append("      <rpm:entry name=\"").append(escape(names[i])).append("\"");
+
+            String comparison = getComparison(flag);
+            if (comparison != null && !version.isEmpty())
+            {
+                String epoch = "0";
+                int epochSeparator = version.indexOf(':');
+                if (epochSeparator > 0)
+                {
+                    epoch = version.substring(0, epochSeparator);
+                    version = version.substring(epochSeparator + 1);
+                }
+
+                String release = null;
+                int releaseSeparator = version.lastIndexOf('-');
+                if (releaseSeparator > 0)
+                {
+                    release = version.substring(releaseSeparator + 1);
+                    version = version.substring(0, releaseSeparator);
+                }
+
+                entry.append(" flags=\"").append(comparison)
+                     .append("\" epoch=\"").append(escape(epoch))
+                     .append("\" ver=\"").append(escape(version)).append("\"");
+                if (release != null)
+                {
+                    entry.append(" rel=\"").append(escape(release)).append("\"");
+                }
+            }
+
+            if ((flag & (RPMSENSE_PREREQ | RPMSENSE_SCRIPT_PRE | RPMSENSE_SCRIPT_POST)) != 0
+                    && "rpm:requires".equals(element))
+            {
+                entry.append(" pre=\"1\"");
+            }
+            entry.append("/>\n");
+
+            entries.add(entry.toString());
+        }
+
+        if (entries.isEmpty())
+        {
+            return;
+        }
+
+        xml.append("    <").append(element).append(">\n");
+        entries.forEach(xml::append);
+        xml.append("    </").append(element).append(">\n");
+    }
+
+    private static String getComparison(long flags)
+    {
+        switch ((int) (flags & (RPMSENSE_LESS | RPMSENSE_GREATER | RPMSENSE_EQUAL)))
+        {
+            case RPMSENSE_EQUAL:
+                return "EQ";
+            case RPMSENSE_LESS:
+                return "LT";
+            case RPMSENSE_GREATER:
+                return "GT";
+            case RPMSENSE_LESS | RPMSENSE_EQUAL:
+                return "LE";
+            case RPMSENSE_GREATER | RPMSENSE_EQUAL:
+                return "GE";
+            default:
+                return null;
+        }
+    }
+
+    private List<PackageFile> getFiles()
+    {
+        String[] paths;
+        if (header.contains(RpmHeader.BASENAMES))
+        {
+            String[] baseNames = header.getStrings(RpmHeader.BASENAMES);
+            String[] dirNames = header.getStrings(RpmHeader.DIRNAMES);
+            long[] dirIndexes = header.getLongs(RpmHeader.DIRINDEXES);
+
+            paths = new String[baseNames.length];
+            for (int i = 0; i < baseNames.length; i++)
+            {
+                paths[i] = dirNames[(int) dirIndexes[i]] + baseNames[i];
+            }
+        }
+        else
+        {
+            paths = header.getStrings(RpmHeader.OLDFILENAMES);
+        }
+
+        long[] modes = header.getLongs(RpmHeader.FILEMODES);
+        long[] flags = header.getLongs(RpmHeader.FILEFLAGS);
+
+        List<PackageFile> result = new ArrayList<>(paths.length);
+        for (int i = 0; i < paths.length; i++)
+        {
+            String type = null;
+            if (i < flags.length && (flags[i] & RPMFILE_GHOST) != 0)
+            {
+                type = "ghost";
+            }
+            else if (i < modes.length && (modes[i] & S_IFMT) == S_IFDIR)
+            {
+                type = "dir";
+            }
+
+            result.add(new PackageFile(paths[i], type));
+        }
+
+        return result;
+    }
+
+    private static boolean isPrimaryFile(String path)
+    {
+        return path.startsWith("/etc/") || path.contains("bin/") || "/usr/lib/sendmail".equals(path);
+    }
+
+    private static void appendFile(StringBuilder xml,
+                                   String indent,
+                                   PackageFile file)
+    {
+        xml.append(indent).append("<file");
+        if (file.type != null)
+        {
+            xml.append(" type=\"").append(file.type).append("\"");
+        }
+        xml.append(">").append(escape(file.path)).append("</file>\n");
+    }
+
+    private long getLong(int tag)
+    {
+        Long value = header.getLong(tag);
+
+        return value == null ? 0 : value;
+    }
+
+    private static void element(StringBuilder xml,
+                                String indent,
+                                String name,
+                                String value)
+    {
+        if (value == null)
+        {
+            xml.append(indent).append("<").append(name).append("/>\n");
+            return;
+        }
+
+        xml.append(indent).append("<").append(name).append(">")
+           .append(escape(value))
+           .append("</").append(name).append(">\n");
+    }
+
+    private static String escape(String value)
+    {
+        return value == null ? "" : StringEscapeUtils.escapeXml10(value);
+    }
+
+    private static class PackageFile
+    {
+
+        private final String path;
+
+        private final String type;
+
+        PackageFile(String path,
+                    String type)
+        {
+            this.path = path;
+            this.type = type;
+        }
+
+    }
+
+}
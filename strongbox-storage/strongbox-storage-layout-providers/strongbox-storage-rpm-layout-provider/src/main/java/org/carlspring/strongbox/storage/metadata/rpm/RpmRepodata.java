@@ -0,0 +1,535 @@
+package org.carlspring.strongbox.storage.metadata.rpm;
+
+import org.carlspring.strongbox.artifact.coordinates.RpmArtifactCoordinates;
+import org.carlspring.strongbox.config.EventsConfig;
+import org.carlspring.strongbox.event.AsyncEventListener;
+import org.carlspring.strongbox.event.artifact.ArtifactEvent;
+import org.carlspring.strongbox.event.artifact.ArtifactEventTypeEnum;
+import org.carlspring.strongbox.providers.io.RepositoryFiles;
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.providers.io.RepositoryPathResolver;
+import org.carlspring.strongbox.storage.repository.Repository;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.commons.codec.binary.Hex;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.output.CountingOutputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Maintains the <code>repodata</code> of the RPM repositories, so they can be used as <code>yum</code>/
+ * <code>dnf</code> repositories.
+ * <p>
+ * When a package is stored, its header is read (see {@link RpmHeader}) and its <code>primary</code>,
+ * <code>filelists</code> and <code>other</code> entries are persisted as fragments under
+ * {@link #PACKAGES_DIRECTORY}. The <code>*.xml.gz</code> files and <code>repomd.xml</code> are then reassembled
+ * from the fragments, without reading any other package.
+ * <p>
+ * The events are handled on the repository events executor, so the uploads don't wait for the repodata. The
+ * rewrites of a repository are coalesced: at most one waits to run, and it picks up all the changes made until it
+ * starts.
+ */
+@Component
+public class RpmRepodata
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(RpmRepodata.class);
+
+    public static final String REPODATA_DIRECTORY = "repodata";
+
+    /**
+     * The package fragments, relative to the {@link #REPODATA_DIRECTORY}.
+     */
+    public static final String PACKAGES_DIRECTORY = ".packages";
+
+    public static final String REPOMD = "repomd.xml";
+
+    private static final String PRIMARY = "primary";
+
+    private static final String FILELISTS = "filelists";
+
+    private static final String OTHER = "other";
+
+    private static final String RPM_EXTENSION = "." + RpmArtifactCoordinates.DEFAULT_EXTENSION;
+
+    private final Map<String, RewriteState> rewrites = new ConcurrentHashMap<>();
+
+    @Inject
+    private RepositoryPathResolver repositoryPathResolver;
+
+    @Inject
+    @Named(EventsConfig.REPOSITORY_EVENT_EXECUTOR)
+    private Executor repositoryEventTaskExecutor;
+
+    @AsyncEventListener(EventsConfig.REPOSITORY_EVENT_EXECUTOR)
+    public void handle(ArtifactEvent<RepositoryPath> event)
+        throws IOException
+    {
+        boolean stored = event.getType() == ArtifactEventTypeEnum.EVENT_ARTIFACT_FILE_STORED.getType()
+                || event.getType() == ArtifactEventTypeEnum.EVENT_ARTIFACT_FILE_UPDATED.getType();
+        boolean deleted = event.getType() == ArtifactEventTypeEnum.EVENT_ARTIFACT_PATH_DELETED.getType();
+        if (!stored && !deleted)
+        {
+            return;
+        }
+
+        RepositoryPath repositoryPath = (RepositoryPath) event.getPath();
+        Repository repository = repositoryPath.getRepository();
+        if (!RpmArtifactCoordinates.LAYOUT_ALIAS.equals(repository.getLayout()))
+        {
+            return;
+        }
+
+        String location = RepositoryFiles.relativizePath(repositoryPath);
+        if (location.isEmpty() || location.startsWith(REPODATA_DIRECTORY + "/"))
+        {
+            return;
+        }
+
+        Path root = getRoot(repository);
+        boolean changed = stored ? storePackage(root, repositoryPath.getTarget(), location) :
+                          removePackage(root, location);
+        if (changed)
+        {
+            scheduleRewrite(repository);
+        }
+    }
+
+    /**
+     * Schedules a rewrite of the repodata of a repository on the repository events executor, unless one is already
+     * waiting there. The packages which are stored or deleted until the waiting rewrite starts are all picked up
+     * by it, so a burst of uploads costs a single rewrite rather than one per package.
+     */
+    public void scheduleRewrite(Repository repository)
+    {
+        RewriteState state = getState(repository);
+        if (!state.scheduled.compareAndSet(false, true))
+        {
+            return;
+        }
+
+        try
+        {
+            repositoryEventTaskExecutor.execute(() -> {
+                state.scheduled.set(false);
+                try
+                {
+                    rewrite(repository);
+                }
+                catch (IOException e)
+                {
+                    logger.error("Failed to rewrite the repodata of [{}:{}].",
+                                 repository.getStorage().getId(), repository.getId(), e);
+                }
+            });
+        }
+        catch (RuntimeException e)
+        {
+            state.scheduled.set(false);
+            logger.error("Failed to schedule the rewrite of the repodata of [{}:{}].",
+                         repository.getStorage().getId(), repository.getId(), e);
+        }
+    }
+
+    /**
+     * Reads the header of a package and persists its fragments.
+     *
+     * @param root
+     *            repository root directory
+     * @param packageFile
+     *            the package
+     * @param location
+     *            path of the package, relative to the repository root
+     * @return true if the path is a package
+     */
+    boolean storePackage(Path root,
+                         Path packageFile,
+                         String location)
+        throws IOException
+    {
+        if (!location.endsWith(RPM_EXTENSION))
+        {
+            return false;
+        }
+
+        MessageDigest digest = DigestUtils.getSha256Digest();
+
+        RpmHeader header;
+        try (InputStream is = new DigestInputStream(new BufferedInputStream(Files.newInputStream(packageFile)),
+                                                    digest))
+        {
+            header = RpmHeader.read(is);
+
+            // The package ID is the digest of the whole file.
+            byte[] buffer = new byte[8192];
+            while (is.read(buffer) != -1)
+            {
+                // Keep reading.
+            }
+        }
+        catch (IOException e)
+        {
+            logger.warn("Failed to read the header of [{}], the package won't be listed in the repodata.",
+                        packageFile, e);
+
+            return removePackage(root, location);
+        }
+
+        RpmPackageMetadata metadata = new RpmPackageMetadata(header,
+                                                             location,
+                                                             Hex.encodeHexString(digest.digest()),
+                                                             Files.size(packageFile),
+                                                             Files.getLastModifiedTime(packageFile).toMillis() / 1000);
+
+        Path fragments = getPackagesDirectory(root);
+        // The primary fragment is written last, as it marks the package as complete.
+        write(getFragment(fragments, location, FILELISTS), metadata.toFilelistsXml());
+        write(getFragment(fragments, location, OTHER), metadata.toOtherXml());
+        write(getFragment(fragments, location, PRIMARY), metadata.toPrimaryXml());
+
+        return true;
+    }
+
+    /**
+     * Removes the fragments of a package, or of all the packages of a directory.
+     *
+     * @return true if there were fragments to remove
+     */
+    boolean removePackage(Path root,
+                          String location)
+        throws IOException
+    {
+        Path fragments = getPackagesDirectory(root);
+
+        Path directory = fragments.resolve(location);
+        if (Files.isDirectory(directory))
+        {
+            FileUtils.deleteDirectory(directory.toFile());
+
+            return true;
+        }
+
+        boolean result = Files.deleteIfExists(getFragment(fragments, location, PRIMARY));
+        Files.deleteIfExists(getFragment(fragments, location, FILELISTS));
+        Files.deleteIfExists(getFragment(fragments, location, OTHER));
+
+        return result;
+    }
+
+    /**
+     * Reassembles the repodata of a repository. If a rewrite of the repository is already running, it runs once
+     * more after the current one and the call returns immediately.
+     */
+    public void rewrite(Repository repository)
+        throws IOException
+    {
+        RewriteState state = getState(repository);
+        state.dirty.set(true);
+
+        // Re-checked after unlocking, as a change may have been missed while the lock was being released.
+        while (state.dirty.get() && state.lock.tryLock())
+        {
+            try
+            {
+                while (state.dirty.getAndSet(false))
+                {
+                    writeRepodata(getRoot(repository));
+                }
+            }
+            finally
+            {
+                state.lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * @param root
+     *            repository root directory
+     */
+    void writeRepodata(Path root)
+        throws IOException
+    {
+        long startTime = System.currentTimeMillis();
+
+        Path repodata = root.resolve(REPODATA_DIRECTORY);
+        Path fragments = repodata.resolve(PACKAGES_DIRECTORY);
+        Files.createDirectories(fragments);
+
+        List<Path> packages;
+        try (Stream<Path> paths = Files.walk(fragments))
+        {
+            packages = paths.filter(p -> p.getFileName().toString().endsWith(getFragmentSuffix(PRIMARY)))
+                            .sorted()
+                            .collect(Collectors.toList());
+        }
+
+        List<Path[]> complete = new ArrayList<>(packages.size());
+        for (Path primary : packages)
+        {
+            String primaryName = primary.getFileName().toString();
+            String location = primaryName.substring(0, primaryName.length() - getFragmentSuffix(PRIMARY).length());
+
+            Path filelists = primary.resolveSibling(location + getFragmentSuffix(FILELISTS));
+            Path other = primary.resolveSibling(location + getFragmentSuffix(OTHER));
+            if (Files.exists(filelists) && Files.exists(other))
+            {
+                complete.add(new Path[]{ primary, filelists, other });
+            }
+        }
+
+        long timestamp = startTime / 1000;
+        List<MetadataFile> files = new ArrayList<>();
+        try
+        {
+            MetadataFile primary = new MetadataFile(repodata, PRIMARY);
+            files.add(primary);
+            MetadataFile filelists = new MetadataFile(repodata, FILELISTS);
+            files.add(filelists);
+            MetadataFile other = new MetadataFile(repodata, OTHER);
+            files.add(other);
+
+            primary.write(String.format("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" +
+                                        "<metadata xmlns=\"http://linux.duke.edu/metadata/common\" " +
+                                        "xmlns:rpm=\"http://linux.duke.edu/metadata/rpm\" packages=\"%s\">\n",
+                                        complete.size()));
+            filelists.write(String.format("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" +
+                                          "<filelists xmlns=\"http://linux.duke.edu/metadata/filelists\" " +
+                                          "packages=\"%s\">\n",
+                                          complete.size()));
+            other.write(String.format("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" +
+                                      "<otherdata xmlns=\"http://linux.duke.edu/metadata/other\" packages=\"%s\">\n",
+                                      complete.size()));
+
+            for (Path[] fragment : complete)
+            {
+                primary.append(fragment[0]);
+                filelists.append(fragment[1]);
+                other.append(fragment[2]);
+            }
+
+            primary.write("</metadata>\n");
+            filelists.write("</filelists>\n");
+            other.write("</otherdata>\n");
+
+            StringBuilder repomd = new StringBuilder();
+            repomd.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n")
+                  .append("<repomd xmlns=\"http://linux.duke.edu/metadata/repo\" ")
+                  .append("xmlns:rpm=\"http://linux.duke.edu/metadata/rpm\">\n")
+                  .append("  <revision>").append(timestamp).append("</revision>\n");
+            for (MetadataFile file : files)
+            {
+                file.close();
+                repomd.append(file.toRepomdXml(timestamp));
+            }
+            repomd.append("</repomd>\n");
+
+            for (MetadataFile file : files)
+            {
+                file.commit();
+            }
+            // Last, so that the clients never see a repomd.xml which refers to missing files.
+            write(repodata.resolve(REPOMD), repomd.toString());
+        }
+        finally
+        {
+            for (MetadataFile file : files)
+            {
+                file.discard();
+            }
+        }
+
+        logger.debug("Rewrote the repodata of [{}] with [{}] packages in [{}] ms.",
+                     root,
+                     complete.size(),
+                     System.currentTimeMillis() - startTime);
+    }
+
+    private RewriteState getState(Repository repository)
+    {
+        return rewrites.computeIfAbsent(repository.getStorage().getId() + ":" + repository.getId(),
+                                        k -> new RewriteState());
+    }
+
+    private Path getRoot(Repository repository)
+    {
+        return repositoryPathResolver.resolve(repository).getTarget();
+    }
+
+    private static Path getPackagesDirectory(Path root)
+    {
+        return root.resolve(REPODATA_DIRECTORY).resolve(PACKAGES_DIRECTORY);
+    }
+
+    private static Path getFragment(Path fragments,
+                                    String location,
+                                    String type)
+    {
+        return fragments.resolve(location + getFragmentSuffix(type));
+    }
+
+    private static String getFragmentSuffix(String type)
+    {
+        return "." + type + ".xml";
+    }
+
+    private static void write(Path file,
+                              String content)
+        throws IOException
+    {
+        Files.createDirectories(file.getParent());
+
+        Path temp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+        try
+        {
+            Files.write(temp, content.getBytes(StandardCharsets.UTF_8));
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        finally
+        {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static class RewriteState
+    {
+
+        private final AtomicBoolean dirty = new AtomicBoolean();
+
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        private final Lock lock = new ReentrantLock();
+
+    }
+
+    /**
+     * A <code>*.xml.gz</code> file being written, with the checksums and sizes which are listed in
+     * <code>repomd.xml</code>.
+     */
+    private static class MetadataFile
+            implements Closeable
+    {
+
+        private final String type;
+
+        private final Path file;
+
+        private final Path temp;
+
+        private final MessageDigest checksum = DigestUtils.getSha256Digest();
+
+        private final MessageDigest openChecksum = DigestUtils.getSha256Digest();
+
+        private final CountingOutputStream output;
+
+        private boolean closed;
+
+        MetadataFile(Path repodata,
+                     String type)
+            throws IOException
+        {
+            this.type = type;
+            this.file = repodata.resolve(type + ".xml.gz");
+            this.temp = Files.createTempFile(repodata, type, ".tmp");
+
+            OutputStream compressed = new DigestOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)),
+                                                             checksum);
+            this.output = new CountingOutputStream(new DigestOutputStream(new GZIPOutputStream(compressed, 65536),
+                                                                          openChecksum));
+        }
+
+        void write(String content)
+            throws IOException
+        {
+            output.write(content.getBytes(StandardCharsets.UTF_8));
+        }
+
+        void append(Path fragment)
+            throws IOException
+        {
+            Files.copy(fragment, output);
+        }
+
+        @Override
+        public void close()
+            throws IOException
+        {
+            if (!closed)
+            {
+                closed = true;
+                output.close();
+            }
+        }
+
+        String toRepomdXml(long timestamp)
+            throws IOException
+        {
+            return String.format("  <data type=\"%s\">\n" +
+                                 "    <checksum type=\"sha256\">%s</checksum>\n" +
+                                 "    <open-checksum type=\"sha256\">%s</open-checksum>\n" +
+                                 "    <location href=\"%s/%s\"/>\n" +
+                                 "    <timestamp>%s</timestamp>\n" +
+                                 "    <size>%s</size>\n" +
+                                 "    <open-size>%s</open-size>\n" +
+                                 "  </data>\n",
+                                 type,
+                                 Hex.encodeHexString(checksum.digest()),
+                                 Hex.encodeHexString(openChecksum.digest()),
+                                 REPODATA_DIRECTORY,
+                                 file.getFileName(),
+                                 timestamp,
+                                 Files.size(temp),
+                                 output.getByteCount());
+        }
+
+        void commit()
+            throws IOException
+        {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+
+        void discard()
+        {
+            try
+            {
+                close();
+                Files.deleteIfExists(temp);
+            }
+            catch (IOException e)
+            {
+                logger.warn("Failed to delete [{}].", temp, e);
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,52 @@
+package org.carlspring.strongbox.storage.metadata.rpm;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.parallel.ExecutionMode.CONCURRENT;
+
+@Execution(CONCURRENT)
+public class RpmHeaderTest
+{
+
+    @Test
+    public void testRead()
+        throws IOException
+    {
+        InputStream is = new ByteArrayInputStream(RpmPackageGenerator.generate("hello", "2.10", "1"));
+        RpmHeader header = RpmHeader.read(is);
+
+        assertThat(header.getString(RpmHeader.NAME)).isEqualTo("hello");
+        assertThat(header.getLong(RpmHeader.EPOCH)).isEqualTo(1L);
+        assertThat(header.getStrings(RpmHeader.REQUIRENAME)).containsExactly("rpmlib(CompressedFileNames)",
+                                                                             "glibc");
+        assertThat(header.getStart()).isEqualTo(RpmHeader.LEAD_SIZE + 16 + 16 + 8);
+        // The stream is left at the start of the payload.
+        assertThat(is.read()).isEqualTo('P');
+    }
+
+    @Test
+    public void testPackageMetadata()
+        throws IOException
+    {
+        RpmHeader header = RpmHeader.read(new ByteArrayInputStream(RpmPackageGenerator.generate("hello", "2.10", "1")));
+        RpmPackageMetadata metadata = new RpmPackageMetadata(header, "x86_64/hello-2.10-1.x86_64.rpm", "abc", 10, 20);
+
+        String primary = metadata.toPrimaryXml();
+        assertThat(primary).contains("<version epoch=\"1\" ver=\"2.10\" rel=\"1\"/>")
+                           .contains("<location href=\"x86_64/hello-2.10-1.x86_64.rpm\"/>")
+                           .contains("<summary>Hello &amp; welcome</summary>")
+                           .contains("<rpm:entry name=\"glibc\" flags=\"GE\" epoch=\"0\" ver=\"2.17\" rel=\"3\"/>")
+                           .contains("<file>/usr/bin/hello</file>")
+                           .doesNotContain("rpmlib(")
+                           .doesNotContain("/usr/share/doc/hello");
+
+        assertThat(metadata.toFilelistsXml()).contains("<file type=\"dir\">/usr/share/doc/hello</file>")
+                                             .contains("<file>/usr/bin/hello</file>");
+    }
+
+}
@@ -0,0 +1,125 @@
+package org.carlspring.strongbox.storage.metadata.rpm;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds minimal RPM packages: a lead, a signature and a main header with the tags the repodata needs, followed by
+ * a fake payload.
+ */
+class RpmPackageGenerator
+{
+
+    private RpmPackageGenerator()
+    {
+    }
+
+    static byte[] generate(String name,
+                           String version,
+                           String release)
+        throws IOException
+    {
+        HeaderBuilder main = new HeaderBuilder();
+        main.strings(RpmHeader.NAME, 6, name);
+        main.strings(RpmHeader.VERSION, 6, version);
+        main.strings(RpmHeader.RELEASE, 6, release);
+        main.ints(RpmHeader.EPOCH, 1);
+        main.strings(RpmHeader.SUMMARY, 9, "Hello & welcome");
+        main.strings(RpmHeader.ARCH, 6, "x86_64");
+        main.strings(RpmHeader.SOURCERPM, 6, String.format("%s-%s-%s.src.rpm", name, version, release));
+        main.strings(RpmHeader.REQUIRENAME, 8, "rpmlib(CompressedFileNames)", "glibc");
+        main.ints(RpmHeader.REQUIREFLAGS, 0x01000008, 0x0c);
+        main.strings(RpmHeader.REQUIREVERSION, 8, "3.0.4-1", "2.17-3");
+        main.strings(RpmHeader.DIRNAMES, 8, "/usr/bin/", "/usr/share/doc/");
+        main.strings(RpmHeader.BASENAMES, 8, name, name);
+        main.ints(RpmHeader.DIRINDEXES, 0, 1);
+        main.shorts(RpmHeader.FILEMODES, 0100755, 040755);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(RpmHeader.LEAD_MAGIC);
+        out.write(new byte[RpmHeader.LEAD_SIZE - 4]);
+
+        // A signature with a single 8 bytes entry, so no padding is needed.
+        HeaderBuilder signature = new HeaderBuilder();
+        signature.ints(1000, 1, 2);
+        out.write(signature.build());
+
+        out.write(main.build());
+        out.write("PAYLOAD".getBytes(StandardCharsets.UTF_8));
+
+        return bytes.toByteArray();
+    }
+
+    private static class HeaderBuilder
+    {
+
+        private final List<int[]> index = new ArrayList<>();
+
+        private final ByteArrayOutputStream store = new ByteArrayOutputStream();
+
+        private final DataOutputStream storeOutput = new DataOutputStream(store);
+
+        void strings(int tag,
+                     int type,
+                     String... values)
+            throws IOException
+        {
+            index.add(new int[]{ tag, type, store.size(), values.length });
+            for (String value : values)
+            {
+                storeOutput.write(value.getBytes(StandardCharsets.UTF_8));
+                storeOutput.write(0);
+            }
+        }
+
+        void ints(int tag,
+                  int... values)
+            throws IOException
+        {
+            index.add(new int[]{ tag, 4, store.size(), values.length });
+            for (int value : values)
+            {
+                storeOutput.writeInt(value);
+            }
+        }
+
+        void shorts(int tag,
+                    int... values)
+            throws IOException
+        {
+            index.add(new int[]{ tag, 3, store.size(), values.length });
+            for (int value : values)
+            {
+                storeOutput.writeShort(value);
+            }
+        }
+
+        byte[] build()
+            throws IOException
+        {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(RpmHeader.HEADER_MAGIC);
+            out.writeInt(0);
+            out.writeInt(index.size());
+            out.writeInt(store.size());
+            for (int[] entry : index)
+            {
+                for (int value : entry)
+                {
+                    out.writeInt(value);
+                }
+            }
+            out.write(store.toByteArray());
+
+            return bytes.toByteArray();
+        }
+
+    }
+
+}
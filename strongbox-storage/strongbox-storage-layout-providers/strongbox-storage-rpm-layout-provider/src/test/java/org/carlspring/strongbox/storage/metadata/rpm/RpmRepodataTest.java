@@ -0,0 +1,178 @@
+package org.carlspring.strongbox.storage.metadata.rpm;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.io.IOUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.api.parallel.Execution;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.parallel.ExecutionMode.CONCURRENT;
+
+@Execution(CONCURRENT)
+public class RpmRepodataTest
+{
+
+    private static final String HELLO = "x86_64/hello-2.10-1.x86_64.rpm";
+
+    private static final String WORLD = "x86_64/world-1.0-1.x86_64.rpm";
+
+    private static final String NOARCH = "noarch/docs-1.0-1.noarch.rpm";
+
+    private final RpmRepodata repodata = new RpmRepodata();
+
+    @Test
+    public void testRewrite(@TempDir Path root)
+        throws Exception
+    {
+        assertThat(store(root, HELLO, "hello")).isTrue();
+        assertThat(store(root, WORLD, "world")).isTrue();
+        repodata.writeRepodata(root);
+
+        String primary = readGzip(root.resolve("repodata/primary.xml.gz"));
+        assertThat(primary).contains("packages=\"2\"")
+                           .contains("<name>hello</name>")
+                           .contains("<name>world</name>")
+                           .contains("<location href=\"" + HELLO + "\"/>")
+                           .contains("<checksum type=\"sha256\" pkgid=\"YES\">" +
+                                     DigestUtils.sha256Hex(Files.readAllBytes(root.resolve(HELLO))) +
+                                     "</checksum>");
+        assertThat(readGzip(root.resolve("repodata/filelists.xml.gz"))).contains("packages=\"2\"")
+                                                                       .contains("<file>/usr/bin/world</file>");
+        assertThat(readGzip(root.resolve("repodata/other.xml.gz"))).contains("packages=\"2\"")
+                                                                   .contains("name=\"hello\"");
+
+        // Only the packages are listed.
+        assertThat(repodata.storePackage(root, root.resolve(HELLO), HELLO + ".sha1")).isFalse();
+    }
+
+    @Test
+    public void testRepomdChecksums(@TempDir Path root)
+        throws Exception
+    {
+        store(root, HELLO, "hello");
+        repodata.writeRepodata(root);
+
+        Document repomd = DocumentBuilderFactory.newInstance()
+                                                .newDocumentBuilder()
+                                                .parse(root.resolve("repodata/" + RpmRepodata.REPOMD).toFile());
+        NodeList data = repomd.getElementsByTagName("data");
+        assertThat(data.getLength()).isEqualTo(3);
+
+        for (int i = 0; i < data.getLength(); i++)
+        {
+            Element element = (Element) data.item(i);
+            String href = ((Element) element.getElementsByTagName("location").item(0)).getAttribute("href");
+            Path file = root.resolve(href);
+
+            byte[] compressed = Files.readAllBytes(file);
+            byte[] open;
+            try (InputStream is = new GZIPInputStream(Files.newInputStream(file)))
+            {
+                open = IOUtils.toByteArray(is);
+            }
+
+            assertThat(href).isEqualTo("repodata/" + element.getAttribute("type") + ".xml.gz");
+            assertThat(getText(element, "checksum")).isEqualTo(DigestUtils.sha256Hex(compressed));
+            assertThat(getText(element, "open-checksum")).isEqualTo(DigestUtils.sha256Hex(open));
+            assertThat(getText(element, "size")).isEqualTo(String.valueOf(compressed.length));
+            assertThat(getText(element, "open-size")).isEqualTo(String.valueOf(open.length));
+        }
+
+        // No temporary files are left behind.
+        try (Stream<Path> files = Files.list(root.resolve("repodata")))
+        {
+            assertThat(files.map(p -> p.getFileName().toString())).containsOnly("primary.xml.gz",
+                                                                                "filelists.xml.gz",
+                                                                                "other.xml.gz",
+                                                                                RpmRepodata.REPOMD,
+                                                                                RpmRepodata.PACKAGES_DIRECTORY);
+        }
+    }
+
+    @Test
+    public void testRemove(@TempDir Path root)
+        throws Exception
+    {
+        store(root, HELLO, "hello");
+        store(root, WORLD, "world");
+        store(root, NOARCH, "docs");
+        repodata.writeRepodata(root);
+        assertThat(readGzip(root.resolve("repodata/primary.xml.gz"))).contains("packages=\"3\"");
+
+        Files.delete(root.resolve(HELLO));
+        assertThat(repodata.removePackage(root, HELLO)).isTrue();
+        repodata.writeRepodata(root);
+
+        String primary = readGzip(root.resolve("repodata/primary.xml.gz"));
+        assertThat(primary).contains("packages=\"2\"")
+                           .doesNotContain("<name>hello</name>")
+                           .contains("<name>world</name>");
+
+        // A whole directory.
+        assertThat(repodata.removePackage(root, "x86_64")).isTrue();
+        repodata.writeRepodata(root);
+
+        primary = readGzip(root.resolve("repodata/primary.xml.gz"));
+        assertThat(primary).contains("packages=\"1\"")
+                           .doesNotContain("<name>world</name>")
+                           .contains("<name>docs</name>");
+        assertThat(readGzip(root.resolve("repodata/filelists.xml.gz"))).contains("packages=\"1\"");
+        assertThat(readGzip(root.resolve("repodata/other.xml.gz"))).contains("packages=\"1\"");
+
+        assertThat(repodata.removePackage(root, HELLO)).isFalse();
+    }
+
+    @Test
+    public void testUnreadablePackageIsNotListed(@TempDir Path root)
+        throws Exception
+    {
+        store(root, HELLO, "hello");
+
+        Files.write(root.resolve(HELLO), "not an rpm".getBytes(StandardCharsets.UTF_8));
+        repodata.storePackage(root, root.resolve(HELLO), HELLO);
+        repodata.writeRepodata(root);
+
+        assertThat(readGzip(root.resolve("repodata/primary.xml.gz"))).contains("packages=\"0\"")
+                                                                     .doesNotContain("<name>hello</name>");
+    }
+
+    private boolean store(Path root,
+                          String location,
+                          String name)
+        throws IOException
+    {
+        Path packageFile = root.resolve(location);
+        Files.createDirectories(packageFile.getParent());
+        Files.write(packageFile, RpmPackageGenerator.generate(name, "1.0", "1"));
+
+        return repodata.storePackage(root, packageFile, location);
+    }
+
+    private String readGzip(Path file)
+        throws IOException
+    {
+        try (InputStream is = new GZIPInputStream(Files.newInputStream(file)))
+        {
+            return IOUtils.toString(is, StandardCharsets.UTF_8);
+        }
+    }
+
+    private String getText(Element element,
+                           String tagName)
+    {
+        return element.getElementsByTagName(tagName).item(0).getTextContent();
+    }
+
+}
@@ -0,0 +1,49 @@
+package org.carlspring.strongbox.actuator;
+
+import org.carlspring.strongbox.storage.checksum.ChecksumCacheManager;
+
+import javax.inject.Inject;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Exposes the size and the efficiency of the checksum cache under
+ * <code>/api/monitoring/metrics/strongbox.checksums.cache.*</code>.
+ */
+@Component
+public class ChecksumCacheMetrics
+        implements MeterBinder
+{
+
+    private static final String PREFIX = "strongbox.checksums.cache.";
+
+    @Inject
+    private ChecksumCacheManager checksumCacheManager;
+
+    @Override
+    public void bindTo(MeterRegistry registry)
+    {
+        Gauge.builder(PREFIX + "size", checksumCacheManager, ChecksumCacheManager::getSize)
+             .description("The number of the artifacts with cached checksums")
+             .register(registry);
+
+        FunctionCounter.builder(PREFIX + "gets", checksumCacheManager, ChecksumCacheManager::getHitCount)
+                       .tag("result", "hit")
+                       .description("The number of the checksum lookups which found the artifact in the cache")
+                       .register(registry);
+
+        FunctionCounter.builder(PREFIX + "gets", checksumCacheManager, ChecksumCacheManager::getMissCount)
+                       .tag("result", "miss")
+                       .description("The number of the checksum lookups which didn't find the artifact in the cache")
+                       .register(registry);
+
+        FunctionCounter.builder(PREFIX + "evictions", checksumCacheManager, ChecksumCacheManager::getEvictionCount)
+                       .description("The number of the artifacts removed from the cache because they expired or it was full")
+                       .register(registry);
+    }
+
+}
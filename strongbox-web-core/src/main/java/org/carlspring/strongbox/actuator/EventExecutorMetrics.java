@@ -0,0 +1,77 @@
+package org.carlspring.strongbox.actuator;
+
+import org.carlspring.strongbox.event.EventTaskExecutor;
+
+import javax.inject.Inject;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Exposes the queue depth, the queue latency and the throughput of the event executors under
+ * <code>/api/monitoring/metrics/strongbox.events.*</code>, tagged with the event category.
+ */
+@Component
+public class EventExecutorMetrics
+        implements MeterBinder
+{
+
+    private static final String PREFIX = "strongbox.events.";
+
+    @Inject
+    private List<EventTaskExecutor> executors;
+
+    @Override
+    public void bindTo(MeterRegistry registry)
+    {
+        for (EventTaskExecutor executor : executors)
+        {
+            String category = executor.getName();
+
+            Gauge.builder(PREFIX + "queued", executor, EventTaskExecutor::getQueueSize)
+                 .tag("category", category)
+                 .description("The number of events waiting to be handled")
+                 .register(registry);
+
+            Gauge.builder(PREFIX + "active", executor, EventTaskExecutor::getActiveCount)
+                 .tag("category", category)
+                 .description("The number of events being handled")
+                 .register(registry);
+
+            FunctionCounter.builder(PREFIX + "rejected", executor, EventTaskExecutor::getRejectedTaskCount)
+                           .tag("category", category)
+                           .description("The number of events discarded because the queue was full")
+                           .register(registry);
+
+            FunctionCounter.builder(PREFIX + "caller.runs", executor, EventTaskExecutor::getCallerRunsTaskCount)
+                           .tag("category", category)
+                           .description("The number of events handled by the dispatcher because the queue was full")
+                           .register(registry);
+
+            FunctionTimer.builder(PREFIX + "queue.latency",
+                                  executor,
+                                  EventTaskExecutor::getCompletedTaskCount,
+                                  e -> e.getQueueTime(TimeUnit.NANOSECONDS),
+                                  TimeUnit.NANOSECONDS)
+                         .tag("category", category)
+                         .description("The time the events spent in the queue")
+                         .register(registry);
+
+            FunctionTimer.builder(PREFIX + "execution",
+                                  executor,
+                                  EventTaskExecutor::getCompletedTaskCount,
+                                  e -> e.getExecutionTime(TimeUnit.NANOSECONDS),
+                                  TimeUnit.NANOSECONDS)
+                         .tag("category", category)
+                         .description("The time spent handling the events")
+                         .register(registry);
+        }
+    }
+
+}
@@ -6,6 +6,7 @@ import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
 import javax.servlet.ServletRegistration;
 import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -52,11 +53,23 @@ public class BootProgressBeanPostProcessor
 
     private volatile WebServer webServer;
 
+    /**
+     * The time spent in each boot stage, in the order they started.
+     */
+    private final Map<String, Long> stageDurations = new LinkedHashMap<>();
+
+    private String stage;
+
+    private long stageStart;
+
+    private long bootStart;
+
     //@formatter:off
     private static final Map<String, String> displayMessages = Stream.of(new String[][]{
             { "management.metrics-org.springframework.boot.actuate.autoconfigure.metrics.MetricsProperties", "Loading metrics..." },
             { "orientDbServer", "Waiting for database..." },
             { "liquibase", "Running update scripts..." },
+            { "artifactIndexesLiquibase", "Running update scripts..." },
             { org.carlspring.strongbox.config.hazelcast.HazelcastConfiguration.class.getName(), "Waiting for cache..." },
             { "org.springframework.boot.actuate.autoconfigure", "Waiting for actuators..." },
             // it might look like we need to use "storageBooter" here, but that actually depends on tempDirBooter which does most of the heavy lifting.
@@ -93,6 +106,8 @@ public class BootProgressBeanPostProcessor
     @EventListener
     public void onApplicationEvent(ContextRefreshedEvent event)
     {
+        logBootTimings();
+
         DefaultListableBeanFactory factory = (DefaultListableBeanFactory) applicationContext.getAutowireCapableBeanFactory();
         factory.destroySingleton(beanName);
     }
@@ -100,6 +115,32 @@ public class BootProgressBeanPostProcessor
     @PostConstruct
     public void startup() {
         progress = BehaviorSubject.create();
+
+        bootStart = System.currentTimeMillis();
+        stage = "Starting...";
+        stageStart = bootStart;
+    }
+
+    private synchronized void nextStage(String nextStage)
+    {
+        long now = System.currentTimeMillis();
+        if (stage != null)
+        {
+            stageDurations.merge(stage, now - stageStart, Long::sum);
+        }
+
+        stage = nextStage;
+        stageStart = now;
+    }
+
+    private synchronized void logBootTimings()
+    {
+        nextStage(null);
+
+        StringBuilder sb = new StringBuilder();
+        stageDurations.forEach((name, duration) -> sb.append(String.format("%n\t%-45s %8d ms", name, duration)));
+
+        logger.info("Booted in [{}] ms:{}", System.currentTimeMillis() - bootStart, sb);
     }
 
     @PreDestroy
@@ -159,6 +200,7 @@ public class BootProgressBeanPostProcessor
         {
             String displayMessage = displayMessages.getOrDefault(beanName, displayMessages.get("fallback"));
             progress.onNext(displayMessage);
+            nextStage(displayMessage);
         }
 
         return bean;
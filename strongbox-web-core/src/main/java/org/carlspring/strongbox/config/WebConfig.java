@@ -84,6 +84,7 @@ import static org.carlspring.strongbox.net.MediaType.APPLICATION_YML_VALUE;
           SecurityConfig.class,
           ClientConfig.class,
           CronTasksConfig.class,
+          RpmLayoutProviderConfig.class,
           SwaggerConfig.class })
 @EnableCaching(order = 105)
 public class WebConfig
@@ -3,11 +3,15 @@ package org.carlspring.strongbox.controllers;
 import org.carlspring.strongbox.providers.io.RepositoryPath;
 import org.carlspring.strongbox.services.ArtifactManagementService;
 import org.carlspring.strongbox.utils.ArtifactControllerHelper;
+import org.carlspring.strongbox.utils.GzipVariantCache;
 
 import javax.inject.Inject;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
@@ -20,6 +24,9 @@ public abstract class BaseArtifactController
     @Inject
     protected ArtifactManagementService artifactManagementService;
 
+    @Inject
+    private GzipVariantCache gzipVariantCache;
+
     protected boolean provideArtifactDownloadResponse(HttpServletRequest request,
                                                       HttpServletResponse response,
                                                       HttpHeaders httpHeaders,
@@ -37,10 +44,15 @@ public abstract class BaseArtifactController
             return true;
         }
 
-        
         try (InputStream is = artifactResolutionService.getInputStream(repositoryPath))
         {
-            if (ArtifactControllerHelper.isRangedRequest(httpHeaders))
+            if (!ArtifactControllerHelper.isRangedRequest(httpHeaders)
+                    && GzipVariantCache.acceptsGzip(request)
+                    && GzipVariantCache.isCompressible(repositoryPath))
+            {
+                provideGzipVariant(response, repositoryPath, is);
+            }
+            else if (ArtifactControllerHelper.isRangedRequest(httpHeaders))
             {
                 logger.debug("Detected ranged request.");
 
@@ -55,4 +67,29 @@ public abstract class BaseArtifactController
         return true;
     }
 
+    /**
+     * Serves the compressed variant of the file while its repository stream is open, so that the download is
+     * validated, locked and reported as any other one.
+     */
+    private void provideGzipVariant(HttpServletResponse response,
+                                    RepositoryPath repositoryPath,
+                                    InputStream is)
+            throws IOException
+    {
+        Path gzipVariant = gzipVariantCache.resolve(repositoryPath, is);
+        // An up to date variant leaves the file unread, the download events are only raised once it is read from.
+        is.read();
+
+        response.setHeader(HttpHeaders.CONTENT_ENCODING, GzipVariantCache.GZIP_ENCODING);
+        response.setHeader(HttpHeaders.CONTENT_LENGTH, String.valueOf(Files.size(gzipVariant)));
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        // Ranges would apply to the compressed bytes.
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "none");
+
+        try (InputStream is = Files.newInputStream(gzipVariant))
+        {
+            copyToResponse(is, response);
+        }
+    }
+
 }
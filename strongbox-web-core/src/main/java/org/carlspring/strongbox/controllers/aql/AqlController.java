@@ -2,17 +2,21 @@ package org.carlspring.strongbox.controllers.aql;
 
 import org.carlspring.strongbox.aql.grammar.AqlQueryParser;
 import org.carlspring.strongbox.controllers.BaseController;
+import org.carlspring.strongbox.data.criteria.QueryParserException;
 import org.carlspring.strongbox.data.criteria.Selector;
 import org.carlspring.strongbox.domain.ArtifactEntry;
 import org.carlspring.strongbox.services.AqlSearchService;
 import org.carlspring.strongbox.storage.search.SearchResults;
 
 import javax.inject.Inject;
+import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import io.swagger.annotations.*;
 import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -29,6 +33,10 @@ import org.springframework.web.bind.annotation.RequestParam;
 public class AqlController extends BaseController
 {
 
+    private static final String RESULTS_FIELD = "artifact";
+
+    private static final String NEXT_FIELD = "next";
+
     @Inject
     private AqlSearchService aqlSearchService;
 
@@ -36,15 +44,83 @@ public class AqlController extends BaseController
     @ApiResponses(value = { @ApiResponse(code = 200, message = "OK") })
     @PreAuthorize("hasAuthority('SEARCH_ARTIFACTS')")
     @GetMapping(produces = { MediaType.APPLICATION_JSON_VALUE })
-    public ResponseEntity search(@ApiParam(value = "Search query", required = true) @RequestParam(name = "query", required = true) String query)
+    public void search(@ApiParam(value = "Search query", required = true) @RequestParam(name = "query", required = true) String query,
+                       @ApiParam(value = "Maximum number of results, capped by the server, 0 for no results") @RequestParam(name = "limit", required = false) Integer limit,
+                       @ApiParam(value = "Continuation token of the next page, from the previous response") @RequestParam(name = "next", required = false) String next,
+                       @ApiParam(value = "Whether to include the dependency snippets") @RequestParam(name = "snippets", defaultValue = "true") boolean snippets,
+                       HttpServletResponse response)
         throws IOException
     {
+        // The parameters are checked before the response is started, so that they fail with a proper error.
+        if (limit != null && limit < 0)
+        {
+            throw new QueryParserException("The limit must not be negative.");
+        }
+
         AqlQueryParser parser = new AqlQueryParser(query);
         Selector<ArtifactEntry> selector = parser.parseQuery();
+        if (limit != null)
+        {
+            selector.getPaginator().setLimit(limit);
+        }
+
+        // The results are written as they are read from the database, instead of being collected first.
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(response.getOutputStream());
+        // A failed response must not look like a complete, shorter one; the container closes the stream.
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+        AtomicBoolean started = new AtomicBoolean();
+        try
+        {
+            // The continuation token is checked by the search before the first result, which starts the response.
+            String continuationToken = aqlSearchService.search(selector, next, snippets, r -> {
+                try
+                {
+                    if (started.compareAndSet(false, true))
+                    {
+                        writeResultsStart(generator);
+                    }
+                    generator.writeObject(r);
+                }
+                catch (IOException e)
+                {
+                    throw new UncheckedIOException(e);
+                }
+            });
 
-        SearchResults result = aqlSearchService.search(selector);
+            if (started.compareAndSet(false, true))
+            {
+                writeResultsStart(generator);
+            }
+            generator.writeEndArray();
+            if (continuationToken != null)
+            {
+                generator.writeStringField(NEXT_FIELD, continuationToken);
+            }
+            generator.writeEndObject();
+        }
+        catch (IOException | RuntimeException e)
+        {
+            if (started.get())
+            {
+                logger.error("Failed to write the search results of [{}], the response is aborted.", query, e);
+            }
 
-        return ResponseEntity.ok(result);
+            throw e;
+        }
+        finally
+        {
+            generator.close();
+        }
+    }
+
+    private void writeResultsStart(JsonGenerator generator)
+        throws IOException
+    {
+        generator.writeStartObject();
+        generator.writeArrayFieldStart(RESULTS_FIELD);
     }
 
 }
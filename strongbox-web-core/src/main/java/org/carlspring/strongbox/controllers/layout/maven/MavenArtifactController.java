@@ -5,6 +5,7 @@ import org.carlspring.strongbox.controllers.BaseArtifactController;
 import org.carlspring.strongbox.providers.io.RepositoryPath;
 import org.carlspring.strongbox.storage.ArtifactStorageException;
 import org.carlspring.strongbox.storage.repository.Repository;
+import org.carlspring.strongbox.storage.validation.artifact.ArtifactCoordinatesValidationException;
 import org.carlspring.strongbox.web.LayoutRequestMapping;
 import org.carlspring.strongbox.web.RepositoryMapping;
 
@@ -12,6 +13,7 @@ import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.nio.file.Files;
+import java.util.List;
 
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiParam;
@@ -108,6 +110,43 @@ public class MavenArtifactController
         }
     }
 
+    /**
+     * Bulk upload is only offered for Maven repositories. The archive entries are stored under their own paths,
+     * which requires a layout where the path of a file is its address, and a Maven build is what deploys many
+     * files at once (artifacts, POMs, checksums). npm, NuGet and PyPI clients deploy one package per request
+     * through their own protocols, which derive the paths and the metadata from the package itself.
+     */
+    @ApiOperation(value = "Used to deploy all the files of a ZIP or TAR(.GZ) archive in one operation",
+                  notes = "The archive entry names are the paths of the files relative to the repository root.")
+    @ApiResponses(value = { @ApiResponse(code = 200, message = "The artifacts were deployed successfully."),
+                            @ApiResponse(code = 400, message = "Bad request."),
+                            @ApiResponse(code = 500, message = "An error occurred.") })
+    @PreAuthorize("hasAuthority('ARTIFACTS_DEPLOY')")
+    @PostMapping(value = "{storageId}/{repositoryId}")
+    public ResponseEntity bulkUpload(@RepositoryMapping Repository repository,
+                                     HttpServletRequest request)
+    {
+        try
+        {
+            List<RepositoryPath> storedPaths = artifactManagementService.storeArchive(repository,
+                                                                                      request.getInputStream());
+
+            return ResponseEntity.ok(String.format("[%s] files were deployed successfully.", storedPaths.size()));
+        }
+        catch (ArtifactStorageException | ArtifactCoordinatesValidationException e)
+        {
+            logger.error(e.getMessage(), e);
+
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+        catch (Exception e)
+        {
+            logger.error(e.getMessage(), e);
+
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(e.getMessage());
+        }
+    }
+
     @ApiOperation(value = "Copies a path from one repository to another.")
     @ApiResponses(value = { @ApiResponse(code = 200, message = "The path was copied successfully."),
                             @ApiResponse(code = 400, message = "Bad request."),
@@ -15,6 +15,7 @@ import java.util.Date;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
 
 import javax.inject.Inject;
 import javax.servlet.ServletInputStream;
@@ -50,6 +51,7 @@ import org.carlspring.strongbox.npm.metadata.Time;
 import org.carlspring.strongbox.npm.metadata.Versions;
 import org.carlspring.strongbox.providers.ProviderImplementationException;
 import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.providers.layout.NpmAbbreviatedMetadata;
 import org.carlspring.strongbox.providers.layout.NpmPackageDesc;
 import org.carlspring.strongbox.providers.layout.NpmPackageSupplier;
 import org.carlspring.strongbox.providers.layout.NpmSearchResultSupplier;
@@ -61,6 +63,7 @@ import org.carlspring.strongbox.repository.NpmRepositoryFeatures.ViewPackageEven
 import org.carlspring.strongbox.storage.repository.Repository;
 import org.carlspring.strongbox.storage.validation.artifact.ArtifactCoordinatesValidationException;
 import org.carlspring.strongbox.users.userdetails.SpringSecurityUser;
+import org.carlspring.strongbox.utils.GzipVariantCache;
 import org.carlspring.strongbox.web.LayoutRequestMapping;
 import org.carlspring.strongbox.web.RepositoryMapping;
 
@@ -103,6 +106,10 @@ public class NpmArtifactController
 
     private static final String FIELD_NAME_VERSION = "versions";
 
+    private static final String DIST_TAG_LATEST = "latest";
+
+    private static final int GZIP_MIN_SIZE = 1024;
+
     @Inject
     @NpmObjectMapper
     private ObjectMapper npmJacksonMapper;
@@ -193,6 +200,7 @@ public class NpmArtifactController
                                      @PathVariable(name = "packageScope") String packageScope,
                                      @PathVariable(name = "packageName") String packageName,
                                      @PathVariable(name = "packageVersion") String packageVersion,
+                                     HttpServletRequest request,
                                      HttpServletResponse response)
             throws Exception
     {
@@ -200,6 +208,18 @@ public class NpmArtifactController
         final String repositoryId = repository.getId();
 
         String packageId = NpmArtifactCoordinates.calculatePackageId(packageScope, packageName);
+
+        if (DIST_TAG_LATEST.equals(packageVersion))
+        {
+            packageVersion = buildPackageFeed(repository, packageScope, packageName).getDistTags().getLatest();
+            if (packageVersion == null)
+            {
+                response.setStatus(HttpStatus.NOT_FOUND.value());
+
+                return;
+            }
+        }
+
         NpmArtifactCoordinates c = NpmArtifactCoordinates.of(packageId, packageVersion);
 
         NpmViewRequest npmSearchRequest = new NpmViewRequest();
@@ -218,27 +238,60 @@ public class NpmArtifactController
         NpmPackageDesc packageDesc = npmPackageSupplier.apply(repositoryPath);
         PackageVersion npmPackage = packageDesc.getNpmPackage();
 
-        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
-        response.getOutputStream().write(npmJacksonMapper.writeValueAsBytes(npmPackage));
+        writeJson(request, response, MediaType.APPLICATION_JSON_VALUE, npmPackage);
     }
 
-    @GetMapping(path = "{storageId}/{repositoryId}/{packageScope}/{packageName}")
+    @GetMapping(path = "{storageId}/{repositoryId}/{packageName:[^@].*}/{packageVersion}")
+    @PreAuthorize("hasAuthority('ARTIFACTS_VIEW')")
+    public void viewPackage(@RepositoryMapping Repository repository,
+                            @PathVariable(name = "packageName") String packageName,
+                            @PathVariable(name = "packageVersion") String packageVersion,
+                            HttpServletRequest request,
+                            HttpServletResponse response)
+            throws Exception
+    {
+        viewPackageWithScope(repository, null, packageName, packageVersion, request, response);
+    }
+
+    @GetMapping(path = "{storageId}/{repositoryId}/{packageScope:@.+}/{packageName}")
     @PreAuthorize("hasAuthority('ARTIFACTS_VIEW')")
     public void viewPackageFeedWithScope(@RepositoryMapping Repository repository,
                                          @PathVariable(name = "packageScope") String packageScope,
                                          @PathVariable(name = "packageName") String packageName,
+                                         @RequestHeader(name = HttpHeaders.ACCEPT, required = false) String accept,
+                                         HttpServletRequest request,
                                          HttpServletResponse response)
             throws Exception
     {
-        final String storageId = repository.getStorage().getId();
-        final String repositoryId = repository.getId();
-
         String packageId = NpmArtifactCoordinates.calculatePackageId(packageScope, packageName);
 
         NpmViewRequest npmSearchRequest = new NpmViewRequest();
         npmSearchRequest.setPackageId(packageId);
         viewPackageEventListener.setNpmSearchRequest(npmSearchRequest);
 
+        PackageFeed packageFeed = buildPackageFeed(repository, packageScope, packageName);
+
+        if (NpmAbbreviatedMetadata.isAccepted(accept))
+        {
+            writeJson(request, response, NpmAbbreviatedMetadata.MEDIA_TYPE,
+                      NpmAbbreviatedMetadata.of(npmJacksonMapper, packageFeed));
+
+            return;
+        }
+
+        packageFeed.setAdditionalProperty("_rev", generateRevisionHashcode(packageFeed));
+        writeJson(request, response, MediaType.APPLICATION_JSON_VALUE, packageFeed);
+    }
+
+    private PackageFeed buildPackageFeed(Repository repository,
+                                         String packageScope,
+                                         String packageName)
+    {
+        final String storageId = repository.getStorage().getId();
+        final String repositoryId = repository.getId();
+
+        String packageId = NpmArtifactCoordinates.calculatePackageId(packageScope, packageName);
+
         PackageFeed packageFeed = new PackageFeed();
 
         packageFeed.setName(packageId);
@@ -281,9 +334,41 @@ public class NpmArtifactController
             }
 
         });
-        packageFeed.setAdditionalProperty("_rev", generateRevisionHashcode(packageFeed));
-        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
-        response.getOutputStream().write(npmJacksonMapper.writeValueAsBytes(packageFeed));
+
+        return packageFeed;
+    }
+
+    /**
+     * Writes the metadata document, gzipped when the client accepts it: the npm clients always do, and the
+     * documents compress very well. The <code>server.compression</code> of the embedded container leaves the
+     * responses which already have a <code>Content-Encoding</code> alone.
+     */
+    private void writeJson(HttpServletRequest request,
+                           HttpServletResponse response,
+                           String contentType,
+                           Object body)
+            throws IOException
+    {
+        byte[] content = npmJacksonMapper.writeValueAsBytes(body);
+
+        response.setContentType(contentType);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+        if (!GzipVariantCache.acceptsGzip(request) || content.length < GZIP_MIN_SIZE)
+        {
+            response.setContentLength(content.length);
+            response.getOutputStream().write(content);
+
+            return;
+        }
+
+        response.setHeader(HttpHeaders.CONTENT_ENCODING, GzipVariantCache.GZIP_ENCODING);
+        try (OutputStream out = new GZIPOutputStream(response.getOutputStream()))
+        {
+            out.write(content);
+        }
     }
 
     private String generateRevisionHashcode(PackageFeed packageFeed)
@@ -301,10 +386,12 @@ public class NpmArtifactController
     @PreAuthorize("hasAuthority('ARTIFACTS_VIEW')")
     public void viewPackageFeed(@RepositoryMapping Repository repository,
                                 @PathVariable(name = "packageName") String packageName,
+                                @RequestHeader(name = HttpHeaders.ACCEPT, required = false) String accept,
+                                HttpServletRequest request,
                                 HttpServletResponse response)
             throws Exception
     {
-        viewPackageFeedWithScope(repository, null, packageName, response);
+        viewPackageFeedWithScope(repository, null, packageName, accept, request, response);
     }
 
     private Predicate createSearchPredicate(String packageScope,
@@ -0,0 +1,80 @@
+package org.carlspring.strongbox.controllers.layout.nuget;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.List;
+
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Server driven paging of the NuGet feeds: the page is capped to the page size, and if the result was truncated
+ * by the server (not by the client <code>$top</code>), the feed gets a <code>next</code> link.
+ * <p>
+ * As in OData, <code>$top=0</code> asks for an empty page, only a missing <code>$top</code> means "all".
+ */
+class FeedPage
+{
+
+    private final int skip;
+
+    private final Integer top;
+
+    private final int size;
+
+    private final boolean serverPaged;
+
+    FeedPage(Integer skip,
+             Integer top,
+             int pageSize)
+    {
+        this.skip = skip == null || skip < 0 ? 0 : skip;
+        this.top = top == null || top < 0 ? null : top;
+        this.serverPaged = this.top == null || this.top > pageSize;
+        this.size = serverPaged ? pageSize : this.top;
+    }
+
+    int getSkip()
+    {
+        return skip;
+    }
+
+    /**
+     * @return true if the client asked for no entries, in which case there is nothing to query
+     */
+    boolean isEmpty()
+    {
+        return size == 0;
+    }
+
+    /**
+     * One more entry than the page size is queried to find out if there is a next page.
+     */
+    int getQueryLimit()
+    {
+        return serverPaged ? size + 1 : size;
+    }
+
+    <T> List<T> getEntries(List<T> result)
+    {
+        return result.size() > size ? result.subList(0, size) : result;
+    }
+
+    String getNextLink(HttpServletRequest request,
+                       List<?> result)
+    {
+        if (!serverPaged || result.size() <= size)
+        {
+            return null;
+        }
+
+        UriComponentsBuilder builder = ServletUriComponentsBuilder.fromRequest(request)
+                                                                  .replaceQueryParam("$skip", skip + size);
+        if (top != null)
+        {
+            builder.replaceQueryParam("$top", top - size);
+        }
+
+        return builder.build().toUriString();
+    }
+
+}
@@ -7,23 +7,26 @@ import org.carlspring.strongbox.artifact.coordinates.versioning.SemanticVersion;
 import org.carlspring.strongbox.controllers.BaseArtifactController;
 import org.carlspring.strongbox.data.criteria.Expression.ExpOperator;
 import org.carlspring.strongbox.data.criteria.Paginator;
+import org.carlspring.strongbox.data.criteria.Paginator.Order;
 import org.carlspring.strongbox.data.criteria.Predicate;
 import org.carlspring.strongbox.domain.ArtifactEntry;
 import org.carlspring.strongbox.domain.ArtifactTagEntry;
+import org.carlspring.strongbox.nuget.NugetSearchIndexRegistry;
 import org.carlspring.strongbox.nuget.NugetSearchRequest;
 import org.carlspring.strongbox.nuget.filter.NugetODataFilterQueryParser;
 import org.carlspring.strongbox.providers.io.RepositoryPath;
 import org.carlspring.strongbox.providers.repository.RepositoryProvider;
 import org.carlspring.strongbox.providers.repository.RepositoryProviderRegistry;
+import org.carlspring.strongbox.providers.repository.event.RemoteRepositorySearchEvent;
+import org.carlspring.strongbox.providers.repository.group.GroupRepositorySetCollector;
 import org.carlspring.strongbox.repository.NugetRepositoryFeatures.RepositorySearchEventListener;
 import org.carlspring.strongbox.services.ArtifactTagService;
 import org.carlspring.strongbox.storage.metadata.nuget.NugetFormatException;
-import org.carlspring.strongbox.storage.metadata.nuget.Nupkg;
 import org.carlspring.strongbox.storage.metadata.nuget.Nuspec;
 import org.carlspring.strongbox.storage.metadata.nuget.TempNupkgFile;
 import org.carlspring.strongbox.storage.metadata.nuget.rss.EntryProperties;
 import org.carlspring.strongbox.storage.metadata.nuget.rss.PackageEntry;
-import org.carlspring.strongbox.storage.metadata.nuget.rss.PackageFeed;
+import org.carlspring.strongbox.storage.metadata.nuget.rss.PackageFeedWriter;
 import org.carlspring.strongbox.storage.repository.Repository;
 import org.carlspring.strongbox.web.LayoutRequestMapping;
 import org.carlspring.strongbox.web.RepositoryMapping;
@@ -47,11 +50,16 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
-import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
+import com.orientechnologies.orient.core.id.ORID;
 import org.springframework.core.io.InputStreamResource;
 import org.springframework.core.io.Resource;
 import org.springframework.http.HttpHeaders;
@@ -66,8 +74,6 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
-import org.springframework.web.context.request.RequestContextHolder;
-import org.springframework.web.context.request.ServletRequestAttributes;
 import org.springframework.web.multipart.MultipartFile;
 
 import io.swagger.annotations.ApiOperation;
@@ -87,6 +93,31 @@ public class NugetArtifactController
         extends BaseArtifactController
 {
 
+    /**
+     * Maximum number of entries in a feed response, the clients follow the <code>next</code> link for the rest.
+     */
+    public static final int FEED_PAGE_SIZE = 100;
+
+    private static final String DEFAULT_ORDER_BY_PROPERTY = "artifactCoordinates.coordinates.id";
+
+    /**
+     * The {@link ArtifactEntry} properties the feeds can be sorted by, by their (lower case) <code>$orderby</code>
+     * name.
+     */
+    private static final Map<String, String> ORDER_BY_PROPERTIES = new HashMap<>();
+
+    static
+    {
+        ORDER_BY_PROPERTIES.put("id", DEFAULT_ORDER_BY_PROPERTY);
+        ORDER_BY_PROPERTIES.put("version", "artifactCoordinates.coordinates.version");
+        ORDER_BY_PROPERTIES.put("downloadcount", "downloadCount");
+        ORDER_BY_PROPERTIES.put("versiondownloadcount", "downloadCount");
+        ORDER_BY_PROPERTIES.put("published", "created");
+        ORDER_BY_PROPERTIES.put("created", "created");
+        ORDER_BY_PROPERTIES.put("lastupdated", "lastUpdated");
+        ORDER_BY_PROPERTIES.put("packagesize", "sizeInBytes");
+    }
+
     @Inject
     private ArtifactTagService artifactTagService;
 
@@ -96,6 +127,12 @@ public class NugetArtifactController
     @Inject
     private RepositorySearchEventListener repositorySearchEventListener;
 
+    @Inject
+    private NugetSearchIndexRegistry nugetSearchIndexRegistry;
+
+    @Inject
+    private GroupRepositorySetCollector groupRepositorySetCollector;
+
     @DeleteMapping(path = { "{storageId}/{repositoryId}/{packageId}/{version}" })
     @PreAuthorize("hasAuthority('ARTIFACTS_DEPLOY')")
     public ResponseEntity deletePackage(@RequestHeader(name = "X-NuGet-ApiKey", required = false) String apiKey,
@@ -148,7 +185,7 @@ public class NugetArtifactController
 
         RepositoryProvider provider = repositoryProviderRegistry.getProvider(repository.getType());
         
-        Predicate predicate = createSearchPredicate(filter, normalizedSearchTerm);
+        Predicate predicate = createSearchPredicate(repository, filter, normalizedSearchTerm);
         Long count = provider.count(storageId, repositoryId, predicate);
 
         return new ResponseEntity<>(String.valueOf(count), HttpStatus.OK);
@@ -164,6 +201,7 @@ public class NugetArtifactController
                                             @RequestParam(name = "$top", required = false) Integer top,
                                             @RequestParam(name = "searchTerm", required = false) String searchTerm,
                                             @RequestParam(name = "targetFramework", required = false) String targetFramework,
+                                            HttpServletRequest request,
                                             HttpServletResponse response)
             throws JAXBException, IOException
     {
@@ -178,62 +216,85 @@ public class NugetArtifactController
         nugetSearchRequest.setTargetFramework(targetFramework);
         repositorySearchEventListener.setNugetSearchRequest(nugetSearchRequest);
         
-        String feedId = getFeedUri(((ServletRequestAttributes) RequestContextHolder.currentRequestAttributes()).getRequest(),
-                                   storageId,
-                                   repositoryId);
+        String feedId = getFeedUri(request, storageId, repositoryId);
 
-        Collection<? extends Nupkg> files;
-        files = getPackages(repository,
-                            filter,
-                            orderBy,
-                            normalizedSearchTerm,
-                            targetFramework,
-                            skip,
-                            top);
+        FeedPage page = new FeedPage(skip, top, FEED_PAGE_SIZE);
+        List<Path> paths = Collections.emptyList();
+        if (!page.isEmpty())
+        {
+            Paginator paginator = createPaginator(orderBy, page.getSkip(), page.getQueryLimit());
+            Predicate predicate = createSearchPredicate(repository, filter, normalizedSearchTerm);
 
-        PackageFeed feed = transform(feedId, files);
+            // The search term is resolved again to include the packages fetched from the remote feeds, before the
+            // only query of the packages (the remote feeds are not fetched a second time by the query).
+            if (fetchRemotePackages(repository, predicate, paginator) && normalizedSearchTerm != null)
+            {
+                predicate = createSearchPredicate(repository, filter, normalizedSearchTerm);
+            }
 
-        response.setHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_XML);
-        feed.writeXml(response.getOutputStream());
+            paths = getPackages(repository, predicate, paginator);
+        }
+
+        writeFeed(feedId, page.getEntries(paths), page.getNextLink(request, paths), response);
 
         return new ResponseEntity<>(HttpStatus.OK);
     }
     
-    private PackageFeed transform(String feedId,
-                                  Collection<? extends Nupkg> files)
+    /**
+     * Writes the feed entry by entry: the package details are resolved from the {@link ArtifactEntry} of each path
+     * right before the entry is written, so that the heap usage doesn't depend on the page size.
+     */
+    private void writeFeed(String feedId,
+                           List<Path> paths,
+                           String nextLink,
+                           HttpServletResponse response)
+        throws JAXBException, IOException
     {
-        PackageFeed feed = new PackageFeed();
-        // feed.setId(getContext().getRootUri().toString());
-        feed.setId(feedId);
-        feed.setUpdated(new Date());
-        feed.setTitle("Packages");
-        List<PackageEntry> packageEntrys = new ArrayList<>();
-        for (Nupkg nupkg : files)
+        response.setHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_XML);
+
+        PackageFeedWriter feedWriter = new PackageFeedWriter(response.getOutputStream());
+        feedWriter.writeStart(feedId, new Date());
+
+        ArtifactTag lastVersionTag = artifactTagService.findOneOrCreate(ArtifactTagEntry.LAST_VERSION);
+        int count = 0;
+        for (Path path : paths)
         {
+            PackageEntry entry;
             try
             {
-                PackageEntry entry = createPackageEntry(feedId, (PathNupkg) nupkg);
-                calculateFeedEntryProperties((PathNupkg) nupkg, entry.getProperties());
-                packageEntrys.add(entry);
+                PathNupkg nupkg = new PathNupkg((RepositoryPath) path);
+                entry = createPackageEntry(feedId, nupkg);
+                calculateFeedEntryProperties(nupkg, entry.getProperties(), lastVersionTag);
             }
-            catch (NoSuchAlgorithmException | IOException | NugetFormatException e)
+            catch (Exception e)
             {
-                logger.error("Failed to parse package {}", nupkg, e);
+                logger.error("Failed to resolve Nuget package path [{}]", path, e);
+                continue;
             }
+
+            feedWriter.writeEntry(entry);
+            count++;
         }
-        logger.debug("Got {} packages", new Object[] { packageEntrys.size() });
-        feed.setEntries(packageEntrys);
-        return feed;
+
+        feedWriter.writeEnd(nextLink);
+
+        logger.debug("Got {} packages", count);
     }
 
     private void calculateFeedEntryProperties(PathNupkg nupkg,
-                                              EntryProperties properties) throws IOException
+                                              EntryProperties properties,
+                                              ArtifactTag lastVersionTag) throws IOException
     {
         RepositoryPath path = nupkg.getPath();
         ArtifactEntry artifactEntry = path.getArtifactEntry();
 
         properties.setId(nupkg.getId());
 
+        if (nupkg.getDependencies() != null)
+        {
+            properties.setDependencies(nupkg.getDependencies());
+        }
+
         properties.setReportAbuseUrl("");
 
         properties.setDownloadCount(artifactEntry.getDownloadCount());
@@ -245,7 +306,6 @@ public class NugetArtifactController
         properties.setRating(Double.valueOf(0));
         properties.setVersionRating(Double.valueOf(0));
 
-        ArtifactTag lastVersionTag = artifactTagService.findOneOrCreate(ArtifactTagEntry.LAST_VERSION);
         if (artifactEntry.getTagSet().contains(lastVersionTag))
         {
             properties.setIsLatestVersion(true);
@@ -276,6 +336,9 @@ public class NugetArtifactController
     @GetMapping(path = { "{storageId}/{repositoryId}/FindPackagesById()" }, produces = MediaType.APPLICATION_XML)
     public ResponseEntity<?> searchPackageById(@RepositoryMapping Repository repository,
                                                @RequestParam(name = "id", required = true) String packageId,
+                                               @RequestParam(name = "$skip", required = false) Integer skip,
+                                               @RequestParam(name = "$top", required = false) Integer top,
+                                               HttpServletRequest request,
                                                HttpServletResponse response)
             throws JAXBException, IOException
     {
@@ -290,71 +353,115 @@ public class NugetArtifactController
 
         RepositoryProvider provider = repositoryProviderRegistry.getProvider(repository.getType());
 
+        FeedPage page = new FeedPage(skip, top, FEED_PAGE_SIZE);
+
         Paginator paginator = new Paginator();
         paginator.setProperty("artifactCoordinates.coordinates.version");
+        paginator.setSkip(page.getSkip());
+        paginator.setLimit(page.getQueryLimit());
 
         Predicate predicate = Predicate.of(ExpOperator.EQ.of("artifactCoordinates.coordinates.id", normalisedPackageId));
 
-        Collection<? extends Nupkg> files = searchNupkg(storageId, repositoryId, provider, paginator, predicate);
-
-        String feedId = getFeedUri(((ServletRequestAttributes) RequestContextHolder.currentRequestAttributes()).getRequest(),
-                                   storageId,
-                                   repositoryId);
+        List<Path> paths = page.isEmpty() ? Collections.emptyList() :
+                           provider.search(storageId, repositoryId, predicate, paginator);
 
-        PackageFeed feed = transform(feedId, files);
+        String feedId = getFeedUri(request, storageId, repositoryId);
 
-        response.setHeader("Content-Type", MediaType.APPLICATION_XML);
-        feed.writeXml(response.getOutputStream());
+        writeFeed(feedId, page.getEntries(paths), page.getNextLink(request, paths), response);
 
         return new ResponseEntity<>(HttpStatus.OK);
     }
 
-    public Collection<? extends Nupkg> getPackages(Repository repository,
-                                                   String filter,
-                                                   String orderBy,
-                                                   String searchTerm,
-                                                   String targetFramework,
-                                                   Integer skip,
-                                                   Integer top)
+    public List<Path> getPackages(Repository repository,
+                                  Predicate predicate,
+                                  String orderBy,
+                                  Integer skip,
+                                  Integer top)
+    {
+        return getPackages(repository, predicate, createPaginator(orderBy, skip, top));
+    }
+
+    private List<Path> getPackages(Repository repository,
+                                   Predicate predicate,
+                                   Paginator paginator)
     {
         final String storageId = repository.getStorage().getId();
         final String repositoryId = repository.getId();
 
         RepositoryProvider provider = repositoryProviderRegistry.getProvider(repository.getType());
 
+        return provider.search(storageId, repositoryId, predicate, paginator);
+    }
+
+    /**
+     * The query is sorted by the first property of the <code>$orderby</code> option, like <code>DownloadCount
+     * desc,Id</code>, and by the package ID if the property is unknown.
+     */
+    private Paginator createPaginator(String orderBy,
+                                      Integer skip,
+                                      Integer top)
+    {
         Paginator paginator = new Paginator();
         paginator.setSkip(skip);
         paginator.setLimit(top);
-        paginator.setProperty(orderBy);
+        paginator.setProperty(DEFAULT_ORDER_BY_PROPERTY);
+
+        String[] orderByItem = orderBy == null ? new String[0] : orderBy.split(",", 2)[0].trim().split("\\s+");
+        String property = orderByItem.length == 0 ? null :
+                          ORDER_BY_PROPERTIES.get(orderByItem[0].toLowerCase(Locale.ENGLISH));
+        if (property == null)
+        {
+            logger.debug("Unsupported $orderby [{}], the packages are sorted by ID.", orderBy);
+
+            return paginator;
+        }
 
-        Predicate rootPredicate = createSearchPredicate(filter, searchTerm);
+        paginator.setProperty(property);
+        if (orderByItem.length > 1 && "desc".equalsIgnoreCase(orderByItem[1]))
+        {
+            paginator.setOrder(Order.DESC);
+        }
 
-        return searchNupkg(storageId, repositoryId, provider, paginator, rootPredicate);
+        return paginator;
     }
 
-    private List<PathNupkg> searchNupkg(String storageId,
-                                        String repositoryId,
-                                        RepositoryProvider provider,
-                                        Paginator paginator,
-                                        Predicate predicate)
+    /**
+     * Lets the proxy repositories, the repository itself or the members of a group repository, fetch the entries
+     * of their remote feeds which match the search request, as the search of their packages would.
+     *
+     * @return true if some remote feed entries were fetched
+     */
+    private boolean fetchRemotePackages(Repository repository,
+                                        Predicate predicate,
+                                        Paginator paginator)
+        throws IOException
     {
-        return provider.search(storageId, repositoryId, predicate, paginator)
-                       .stream()
-                       .map(p -> {
-                           try
-                           {
-                               return new PathNupkg((RepositoryPath) p);
-                           }
-                           catch (Exception e)
-                           {
-                               logger.error("Failed to resolve Nuget package path [{}]", p, e);
-                               return null;
-                           }
-                       })
-                       .collect(Collectors.toList());
+        List<Repository> repositories = new ArrayList<>();
+        repositories.add(repository);
+        repositories.addAll(groupRepositorySetCollector.collect(repository, true));
+
+        for (Repository r : repositories)
+        {
+            if (r.getRemoteRepository() != null)
+            {
+                repositorySearchEventListener.handle(new RemoteRepositorySearchEvent(r.getStorage().getId(),
+                                                                                     r.getId(),
+                                                                                     predicate,
+                                                                                     paginator));
+            }
+        }
+
+        return repositorySearchEventListener.getNugetSearchRequest().isRemotePackagesFetched();
     }
 
-    private Predicate createSearchPredicate(String filter,
+    /**
+     * The search term is resolved with the {@link NugetSearchIndexRegistry} into the artifact entries of the
+     * matching packages, so that the query doesn't need to scan the package IDs with a
+     * <code>LIKE '%term%'</code> condition. The condition is only used for the terms which match too many packages
+     * to list their artifact entries in the query.
+     */
+    private Predicate createSearchPredicate(Repository repository,
+                                            String filter,
                                             String searchTerm)
     {
         Predicate rootPredicate = Predicate.empty();
@@ -369,9 +476,14 @@ public class NugetArtifactController
 
         if (searchTerm != null && !searchTerm.trim().isEmpty())
         {
-            rootPredicate.and(Predicate.of(ExpOperator.LIKE.of("artifactCoordinates.coordinates.id",
+            Optional<Set<ORID>> artifactEntries = nugetSearchIndexRegistry.search(repository, searchTerm);
+
+            rootPredicate.and(artifactEntries.isPresent() ?
+                              Predicate.of(ExpOperator.IN.of("@rid", artifactEntries.get())) :
+                              Predicate.of(ExpOperator.LIKE.of("artifactCoordinates.coordinates.id",
                                                                "%" + searchTerm + "%")));
         }
+
         return rootPredicate;
     }
 
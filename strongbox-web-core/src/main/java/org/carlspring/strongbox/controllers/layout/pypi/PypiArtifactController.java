@@ -10,6 +10,7 @@ import org.carlspring.strongbox.providers.io.RepositoryPath;
 import org.carlspring.strongbox.providers.repository.RepositoryProvider;
 import org.carlspring.strongbox.providers.repository.RepositoryProviderRegistry;
 import org.carlspring.strongbox.storage.metadata.pypi.PypiArtifactMetadata;
+import org.carlspring.strongbox.storage.metadata.pypi.PypiSimpleIndex;
 import org.carlspring.strongbox.storage.repository.Repository;
 import org.carlspring.strongbox.storage.validation.artifact.ArtifactCoordinatesValidationException;
 import org.carlspring.strongbox.utils.PypiPackageNameConverter;
@@ -24,12 +25,15 @@ import javax.ws.rs.core.MediaType;
 import java.io.IOException;
 import java.net.HttpURLConnection;
 import java.net.URI;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import org.springframework.core.io.FileSystemResource;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -41,6 +45,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestPart;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
@@ -65,12 +70,24 @@ public class PypiArtifactController extends BaseArtifactController
 
     private static final Set<String> VALID_FILE_TYPES = Sets.newHashSet("sdist", "bdist_wheel");
 
+    /**
+     * PEP 691 JSON serialization of the simple API.
+     */
+    public static final String SIMPLE_JSON = "application/vnd.pypi.simple.v1+json";
+
+    public static final String SIMPLE_LATEST_JSON = "application/vnd.pypi.simple.latest+json";
+
+    public static final String SIMPLE_HTML = "application/vnd.pypi.simple.v1+html";
+
     @Inject
     private RepositoryProviderRegistry repositoryProviderRegistry;
 
     @Inject
     private PypiBrowsePackageHtmlResponseBuilder htmlResponseBuilder;
 
+    @Inject
+    private PypiSimpleIndex pypiSimpleIndex;
+
     @ApiOperation(value = "This end point will be used to upload/deploy python package.")
     @ApiResponses(value = { @ApiResponse(code = HttpURLConnection.HTTP_OK, message = "python package was deployed successfully."),
                             @ApiResponse(code = HttpURLConnection.HTTP_INTERNAL_ERROR, message = "An error occurred while executing request."),
@@ -225,15 +242,38 @@ public class PypiArtifactController extends BaseArtifactController
                             @ApiResponse(code = HttpURLConnection.HTTP_INTERNAL_ERROR, message = "An error occurred while executing download request."),
                             @ApiResponse(code = HttpURLConnection.HTTP_UNAVAILABLE, message = "Service Unavailable.") })
     @PreAuthorize("hasAuthority('ARTIFACTS_RESOLVE')")
-    @RequestMapping(path = "/{storageId}/{repositoryId}/simple/{packageName}", method = RequestMethod.GET, produces = MediaType.TEXT_HTML)
-    public ResponseEntity<String> browsePackage(@RepositoryMapping Repository repository,
-                                                @PathVariable(name = "packageName") String packageName,
-                                                HttpServletRequest request,
-                                                HttpServletResponse response,
-                                                @RequestHeader HttpHeaders headers)
+    @RequestMapping(path = "/{storageId}/{repositoryId}/simple/{packageName}", method = RequestMethod.GET)
+    public ResponseEntity<?> browsePackage(@RepositoryMapping Repository repository,
+                                           @PathVariable(name = "packageName") String packageName,
+                                           HttpServletRequest request,
+                                           HttpServletResponse response,
+                                           @RequestHeader HttpHeaders headers)
         throws Exception
     {
+        String contentType = getSimpleContentType(headers);
+        if (SIMPLE_JSON.equals(contentType))
+        {
+            Path page = pypiSimpleIndex.getProjectPage(repository, packageName, PypiSimpleIndex.INDEX_JSON);
+            if (Files.exists(page))
+            {
+                return provideSimpleIndexPage(page, contentType, request, response);
+            }
+
+            // Only the HTML page can be built dynamically, which the client may not accept.
+            if (!acceptsHtml(headers))
+            {
+                return ResponseEntity.status(HttpStatus.NOT_ACCEPTABLE).build();
+            }
+            contentType = MediaType.TEXT_HTML;
+        }
+
+        Path page = pypiSimpleIndex.getProjectPage(repository, packageName, PypiSimpleIndex.INDEX_PAGE);
+        if (Files.exists(page))
+        {
+            return provideSimpleIndexPage(page, contentType, request, response);
+        }
 
+        // Group repositories and the projects stored before the pages were introduced.
         final String packageNameToDownload = PypiPackageNameConverter.escapeSpecialCharacters(packageName);
 
         logger.info("Get package path request for storageId -> [{}] , repositoryId -> [{}], packageName -> [{}]",
@@ -253,7 +293,120 @@ public class PypiArtifactController extends BaseArtifactController
                                                             predicate, paginator);
 
         String searchPackageHtmlResponse = htmlResponseBuilder.getHtmlResponse(searchResult);
-        return ResponseEntity.status(HttpStatus.OK).body(searchPackageHtmlResponse);
+        return ResponseEntity.status(HttpStatus.OK)
+                             .header(HttpHeaders.CONTENT_TYPE, MediaType.TEXT_HTML)
+                             .body(searchPackageHtmlResponse);
+    }
+
+    @ApiOperation(value = "This Endpoint will be used to list all the projects of the repository.")
+    @ApiResponses(value = { @ApiResponse(code = HttpURLConnection.HTTP_OK, message = "Success"),
+                            @ApiResponse(code = HttpURLConnection.HTTP_NOT_MODIFIED, message = "Not Modified"),
+                            @ApiResponse(code = HttpURLConnection.HTTP_NOT_FOUND, message = "Request Url Not Found") })
+    @PreAuthorize("hasAuthority('ARTIFACTS_RESOLVE')")
+    @RequestMapping(path = "/{storageId}/{repositoryId}/simple", method = RequestMethod.GET)
+    public ResponseEntity<?> browseProjects(@RepositoryMapping Repository repository,
+                                            HttpServletRequest request,
+                                            HttpServletResponse response,
+                                            @RequestHeader HttpHeaders headers)
+        throws IOException
+    {
+        String contentType = getSimpleContentType(headers);
+        String fileName = SIMPLE_JSON.equals(contentType) ? PypiSimpleIndex.INDEX_JSON : PypiSimpleIndex.INDEX_PAGE;
+
+        Path page = pypiSimpleIndex.getRootPage(repository, fileName);
+        if (Files.exists(page))
+        {
+            return provideSimpleIndexPage(page, contentType, request, response);
+        }
+
+        // Group repositories and the repositories with no project stored since the pages were introduced.
+        return ResponseEntity.ok()
+                             .header(HttpHeaders.CONTENT_TYPE, contentType)
+                             .header(HttpHeaders.VARY, HttpHeaders.ACCEPT)
+                             .body(pypiSimpleIndex.renderRootPage(repository, fileName));
+    }
+
+    @ApiOperation(value = "This Endpoint will be used to retrieve the JSON metadata of a project.")
+    @ApiResponses(value = { @ApiResponse(code = HttpURLConnection.HTTP_OK, message = "Success"),
+                            @ApiResponse(code = HttpURLConnection.HTTP_NOT_MODIFIED, message = "Not Modified"),
+                            @ApiResponse(code = HttpURLConnection.HTTP_NOT_FOUND, message = "Request Url Not Found") })
+    @PreAuthorize("hasAuthority('ARTIFACTS_RESOLVE')")
+    @RequestMapping(path = "/{storageId}/{repositoryId}/pypi/{packageName}/json", method = RequestMethod.GET)
+    public ResponseEntity<?> getProjectJson(@RepositoryMapping Repository repository,
+                                            @PathVariable(name = "packageName") String packageName,
+                                            HttpServletRequest request,
+                                            HttpServletResponse response)
+        throws IOException
+    {
+        Path page = pypiSimpleIndex.getProjectPage(repository, packageName, PypiSimpleIndex.PROJECT_JSON);
+        if (!Files.exists(page))
+        {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+
+        return provideSimpleIndexPage(page, MediaType.APPLICATION_JSON, request, response);
+    }
+
+    private ResponseEntity<?> provideSimpleIndexPage(Path page,
+                                                     String contentType,
+                                                     HttpServletRequest request,
+                                                     HttpServletResponse response)
+        throws IOException
+    {
+        String eTag = PypiSimpleIndex.getETag(page);
+        if (new ServletWebRequest(request, response).checkNotModified(eTag))
+        {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                                 .eTag(eTag)
+                                 .header(HttpHeaders.VARY, HttpHeaders.ACCEPT)
+                                 .build();
+        }
+
+        return ResponseEntity.ok()
+                             .eTag(eTag)
+                             .header(HttpHeaders.CONTENT_TYPE, contentType)
+                             .header(HttpHeaders.VARY, HttpHeaders.ACCEPT)
+                             .body(new FileSystemResource(page.toFile()));
+    }
+
+    /**
+     * PEP 691 content negotiation: the JSON serialization is only returned when the client prefers it, anything
+     * else (including a missing <code>Accept</code> header) gets the HTML pages.
+     *
+     * @return {@link #SIMPLE_JSON} or the HTML content type to respond with
+     */
+    private String getSimpleContentType(HttpHeaders headers)
+    {
+        List<org.springframework.http.MediaType> accept = new ArrayList<>(headers.getAccept());
+        org.springframework.http.MediaType.sortByQualityValue(accept);
+
+        for (org.springframework.http.MediaType mediaType : accept)
+        {
+            String type = mediaType.getType() + "/" + mediaType.getSubtype();
+            if (SIMPLE_JSON.equalsIgnoreCase(type) || SIMPLE_LATEST_JSON.equalsIgnoreCase(type))
+            {
+                return SIMPLE_JSON;
+            }
+            if (SIMPLE_HTML.equalsIgnoreCase(type))
+            {
+                return SIMPLE_HTML;
+            }
+            if (mediaType.includes(org.springframework.http.MediaType.TEXT_HTML))
+            {
+                return MediaType.TEXT_HTML;
+            }
+        }
+
+        return MediaType.TEXT_HTML;
+    }
+
+    private boolean acceptsHtml(HttpHeaders headers)
+    {
+        List<org.springframework.http.MediaType> accept = headers.getAccept();
+
+        return accept.isEmpty() || accept.stream()
+                                         .anyMatch(m -> m.includes(org.springframework.http.MediaType.TEXT_HTML)
+                                                 || SIMPLE_HTML.equalsIgnoreCase(m.getType() + "/" + m.getSubtype()));
     }
 
     private ResponseEntity<String> validateAndUploadPackage(PypiArtifactMetadata pypiArtifactMetadata,
@@ -0,0 +1,202 @@
+package org.carlspring.strongbox.utils;
+
+import org.carlspring.strongbox.event.artifact.ArtifactEvent;
+import org.carlspring.strongbox.event.artifact.ArtifactEventTypeEnum;
+import org.carlspring.strongbox.providers.io.LayoutFileSystem;
+import org.carlspring.strongbox.providers.io.RepositoryFiles;
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+
+import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps gzip compressed variants of the metadata files, so that the hot files are compressed once rather than on
+ * every download.
+ * <p>
+ * The variant of <code>dir/maven-metadata.xml</code> is <code>.gzip/dir/maven-metadata.xml.gz</code> under the
+ * repository root: the {@link LayoutFileSystem#GZIP} directory is hidden from the directory listings and walks, and
+ * removed together with the repository. The variants are written directly to the storage, so they don't produce
+ * any artifact event.
+ * <p>
+ * A variant is dropped when its file is stored again or deleted. Files changed without an event are caught by the
+ * freshness check: the variant has the modification time of its file and records the uncompressed size in the gzip
+ * trailer, a variant which doesn't match both is compressed again.
+ *
+ * @see ArtifactControllerHelper
+ */
+@Component
+public class GzipVariantCache
+{
+
+    public static final String GZIP_ENCODING = "gzip";
+
+    private static final Logger logger = LoggerFactory.getLogger(GzipVariantCache.class);
+
+    /**
+     * Smaller files don't gain anything from compression.
+     */
+    private static final long MIN_SIZE = 2048;
+
+    private static final String EXTENSION = ".gz";
+
+    private static final Set<String> COMPRESSIBLE_EXTENSIONS = Collections.unmodifiableSet(
+            new HashSet<>(Arrays.asList("xml", "json", "html", "txt", "yaml")));
+
+    public static boolean acceptsGzip(HttpServletRequest request)
+    {
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+
+        return acceptEncoding != null && acceptEncoding.toLowerCase().contains(GZIP_ENCODING);
+    }
+
+    /**
+     * @return true for the text metadata files, big enough to be worth compressing
+     */
+    public static boolean isCompressible(RepositoryPath path)
+            throws IOException
+    {
+        String fileName = path.getFileName().toString();
+        String extension = fileName.substring(fileName.lastIndexOf('.') + 1).toLowerCase();
+
+        return COMPRESSIBLE_EXTENSIONS.contains(extension)
+               && Boolean.TRUE.equals(RepositoryFiles.isMetadata(path))
+               && Files.size(path) >= MIN_SIZE;
+    }
+
+    /**
+     * @param path
+     *            the metadata file
+     * @param is
+     *            the opened repository stream of the file, which is compressed when the variant is missing or stale
+     * @return the up to date compressed variant of the file
+     */
+    public Path resolve(RepositoryPath path,
+                        InputStream is)
+            throws IOException
+    {
+        Path target = path.getTarget();
+        Path variant = getVariant(path);
+
+        FileTime lastModified = Files.getLastModifiedTime(target);
+        long size = Files.size(target);
+        if (isFresh(variant, lastModified, size))
+        {
+            return variant;
+        }
+
+        logger.debug("Compressing [{}].", path);
+
+        Files.createDirectories(variant.getParent());
+        Path tmp = Files.createTempFile(variant.getParent(), variant.getFileName().toString(), ".tmp");
+        try
+        {
+            try (OutputStream os = new GZIPOutputStream(Files.newOutputStream(tmp)))
+            {
+                IOUtils.copy(is, os);
+            }
+            Files.setLastModifiedTime(tmp, lastModified);
+            Files.move(tmp, variant, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        finally
+        {
+            Files.deleteIfExists(tmp);
+        }
+
+        return variant;
+    }
+
+    @EventListener
+    public void handle(ArtifactEvent<RepositoryPath> event)
+            throws IOException
+    {
+        int type = event.getType();
+        if (type != ArtifactEventTypeEnum.EVENT_ARTIFACT_FILE_STORED.getType()
+                && type != ArtifactEventTypeEnum.EVENT_ARTIFACT_FILE_UPDATED.getType()
+                && type != ArtifactEventTypeEnum.EVENT_ARTIFACT_METADATA_STORED.getType()
+                && type != ArtifactEventTypeEnum.EVENT_ARTIFACT_PATH_DELETED.getType())
+        {
+            return;
+        }
+
+        RepositoryPath path = (RepositoryPath) event.getPath();
+        if (path.getFileSystem().getRootDirectory().equals(path))
+        {
+            return;
+        }
+
+        if (Files.deleteIfExists(getVariant(path)))
+        {
+            logger.debug("Removed the gzip variant of [{}].", path);
+        }
+
+        // The variants of the files of a deleted directory.
+        Path variantDirectory = getVariantBase(path);
+        if (Files.isDirectory(variantDirectory))
+        {
+            FileUtils.deleteDirectory(variantDirectory.toFile());
+        }
+    }
+
+    Path getVariant(RepositoryPath path)
+    {
+        Path base = getVariantBase(path);
+
+        return base.resolveSibling(base.getFileName() + EXTENSION);
+    }
+
+    private Path getVariantBase(RepositoryPath path)
+    {
+        Path gzipRoot = path.getFileSystem().getRootDirectory().getTarget().resolve(LayoutFileSystem.GZIP);
+
+        return gzipRoot.resolve(path.relativize().getTarget());
+    }
+
+    private boolean isFresh(Path variant,
+                            FileTime lastModified,
+                            long size)
+            throws IOException
+    {
+        if (!Files.exists(variant) || !lastModified.equals(Files.getLastModifiedTime(variant)))
+        {
+            return false;
+        }
+
+        // The last 4 bytes of a gzip file are the uncompressed size, modulo 2^32.
+        try (FileChannel channel = FileChannel.open(variant))
+        {
+            if (channel.size() < Integer.BYTES)
+            {
+                return false;
+            }
+
+            ByteBuffer trailer = ByteBuffer.allocate(Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            channel.read(trailer, channel.size() - Integer.BYTES);
+            trailer.flip();
+
+            return Integer.toUnsignedLong(trailer.getInt()) == (size & 0xFFFFFFFFL);
+        }
+    }
+
+}
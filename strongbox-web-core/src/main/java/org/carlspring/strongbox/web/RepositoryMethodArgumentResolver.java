@@ -1,5 +1,6 @@
 package org.carlspring.strongbox.web;
 
+import org.carlspring.strongbox.booters.StorageBooter;
 import org.carlspring.strongbox.configuration.Configuration;
 import org.carlspring.strongbox.configuration.ConfigurationManager;
 import org.carlspring.strongbox.exception.RepositoryNotFoundException;
@@ -11,6 +12,7 @@ import org.carlspring.strongbox.storage.repository.Repository;
 import javax.inject.Inject;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 
 import liquibase.util.StringUtils;
 import org.apache.commons.collections4.MapUtils;
@@ -34,10 +36,14 @@ public class RepositoryMethodArgumentResolver
     public static final String NOT_FOUND_STORAGE_MESSAGE = "Could not find requested storage %s.";
     public static final String NOT_FOUND_REPOSITORY_MESSAGE = "Could not find requested repository %s:%s.";
     public static final String NOT_IN_SERVICE_REPOSITORY_MESSAGE = "Requested repository %s:%s is out of service.";
+    public static final String NOT_READY_REPOSITORY_MESSAGE = "Requested repository %s:%s is not initialized.";
 
     @Inject
     protected ConfigurationManager configurationManager;
 
+    @Inject
+    protected Optional<StorageBooter> storageBooter;
+
     @Override
     public boolean supportsParameter(final MethodParameter parameter)
     {
@@ -88,6 +94,12 @@ public class RepositoryMethodArgumentResolver
             throw new RepositoryNotFoundException(message);
         }
 
+        if (storageBooter.isPresent() && !storageBooter.get().isRepositoryReady(storageId, repositoryId))
+        {
+            final String message = String.format(NOT_READY_REPOSITORY_MESSAGE, storageId, repositoryId);
+            throw new ServiceUnavailableException(message);
+        }
+
         // This annotation is used in a lot of controllers - some of which are related to the configuration management.
         // It is necessary to allow requests to pass when the repository status is `out of service` (i.e. `/api/configuration/**`),
         // but still return `ServiceUnavailableException` when people are accessing `/storages/**`.
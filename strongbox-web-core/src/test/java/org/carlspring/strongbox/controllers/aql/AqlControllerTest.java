@@ -18,6 +18,9 @@ import org.springframework.http.MediaType;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
 
 
 /**
@@ -138,6 +141,91 @@ public class AqlControllerTest
                .body("artifact", hasSize(6));
     }
 
+    @Test
+    @ExtendWith({ RepositoryManagementTestExecutionListener.class,
+                  ArtifactManagementTestExecutionListener.class })
+    public void testSearchContinuation(@MavenRepository(storageId = STORAGE_SC_TEST,
+                                                        repositoryId = REPOSITORY_RELEASES)
+                                       Repository repository,
+                                       @MavenTestArtifact(storageId = STORAGE_SC_TEST,
+                                                          repositoryId = REPOSITORY_RELEASES,
+                                                          resource = A1)
+                                       Path artifact1,
+                                       @MavenTestArtifact(storageId = STORAGE_SC_TEST,
+                                                          repositoryId = REPOSITORY_RELEASES,
+                                                          resource = A2)
+                                       Path artifact2,
+                                       @MavenTestArtifact(storageId = STORAGE_SC_TEST,
+                                                          repositoryId = REPOSITORY_RELEASES,
+                                                          resource = A3)
+                                       Path artifact3)
+    {
+        final String storageId = repository.getStorage().getId();
+        final String repositoryId = repository.getId();
+        final String query = String.format("storage:%s+repository:%s+layout:maven+groupId:org.carlspring.strongbox.*",
+                                           storageId,
+                                           repositoryId);
+
+        String url = getContextBaseUrl();
+        String next = mockMvc.accept(MediaType.APPLICATION_JSON_VALUE)
+                             .queryParam("query", query)
+                             .queryParam("limit", 4)
+                             .queryParam("snippets", false)
+                             .when()
+                             .get(url)
+                             .peek()
+                             .then()
+                             .statusCode(HttpStatus.OK.value())
+                             .body("artifact", hasSize(4))
+                             .body("artifact[0].snippets", hasSize(0))
+                             .body("next", notNullValue())
+                             .extract()
+                             .path("next");
+
+        mockMvc.accept(MediaType.APPLICATION_JSON_VALUE)
+               .queryParam("query", query)
+               .queryParam("limit", 4)
+               .queryParam("next", next)
+               .when()
+               .get(url)
+               .peek()
+               .then()
+               .statusCode(HttpStatus.OK.value())
+               .body("artifact", hasSize(2))
+               .body("next", nullValue());
+
+        // The invalid parameters fail before any result is written.
+        mockMvc.accept(MediaType.APPLICATION_JSON_VALUE)
+               .queryParam("query", query)
+               .queryParam("next", "not a token")
+               .when()
+               .get(url)
+               .then()
+               .statusCode(HttpStatus.BAD_REQUEST.value())
+               .body(not(containsString("\"artifact\"")));
+
+        mockMvc.accept(MediaType.APPLICATION_JSON_VALUE)
+               .queryParam("query", query)
+               .queryParam("limit", -1)
+               .when()
+               .get(url)
+               .then()
+               .statusCode(HttpStatus.BAD_REQUEST.value())
+               .body(not(containsString("\"artifact\"")));
+
+        // An empty page doesn't lead anywhere.
+        mockMvc.accept(MediaType.APPLICATION_JSON_VALUE)
+               .queryParam("query", query)
+               .queryParam("limit", 0)
+               .when()
+               .get(url)
+               .peek()
+               .then()
+               .statusCode(HttpStatus.OK.value())
+               .body("artifact", hasSize(0))
+               .body("next", nullValue());
+    }
+
     @Test
     public void testSearchInvalidMavenCoordinates()
     {
@@ -9,12 +9,14 @@ import org.carlspring.strongbox.client.ArtifactTransportException;
 import org.carlspring.strongbox.config.IntegrationTest;
 import org.carlspring.strongbox.domain.ArtifactEntry;
 import org.carlspring.strongbox.domain.RemoteArtifactEntry;
+import org.carlspring.strongbox.providers.io.LayoutFileSystem;
 import org.carlspring.strongbox.providers.io.RepositoryFiles;
 import org.carlspring.strongbox.providers.io.RepositoryPath;
 import org.carlspring.strongbox.providers.io.RootRepositoryPath;
 import org.carlspring.strongbox.repository.MavenRepositoryFeatures;
 import org.carlspring.strongbox.rest.common.MavenRestAssuredBaseTest;
 import org.carlspring.strongbox.services.ArtifactEntryService;
+import org.carlspring.strongbox.services.ArtifactManagementService;
 import org.carlspring.strongbox.storage.repository.Repository;
 import org.carlspring.strongbox.storage.repository.RepositoryPolicyEnum;
 import org.carlspring.strongbox.storage.repository.RepositoryStatusEnum;
@@ -34,18 +36,23 @@ import javax.xml.transform.Transformer;
 import javax.xml.transform.TransformerFactory;
 import javax.xml.transform.dom.DOMSource;
 import javax.xml.transform.stream.StreamResult;
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.security.NoSuchAlgorithmException;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
 
@@ -54,6 +61,7 @@ import io.restassured.http.Headers;
 import io.restassured.module.mockmvc.response.MockMvcResponse;
 import io.restassured.response.ExtractableResponse;
 import org.apache.commons.io.FilenameUtils;
+import org.apache.commons.io.IOUtils;
 import org.apache.maven.artifact.Artifact;
 import org.apache.maven.artifact.repository.metadata.Metadata;
 import org.apache.maven.artifact.repository.metadata.SnapshotVersion;
@@ -82,6 +90,7 @@ import static org.carlspring.strongbox.testing.artifact.MavenArtifactTestUtils.g
 import static org.carlspring.strongbox.testing.artifact.MavenArtifactTestUtils.getVersionLevelMetadataPath;
 import static org.carlspring.strongbox.utils.ArtifactControllerHelper.MULTIPART_BOUNDARY;
 import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.nullValue;
 import static org.mockito.Mockito.doReturn;
 
 /**
@@ -113,6 +122,8 @@ public class MavenArtifactControllerTest
 
     private static final String REPOSITORY_RELEASES_6 = "mact-releases-6";
 
+    private static final String REPOSITORY_RELEASES_BULK_INVALID = "mact-releases-bulk-invalid";
+
     private static final String REPOSITORY_SNAPSHOTS = "mact-snapshots";
 
     private static final String REPOSITORY_RELEASES_OUT_OF_SERVICE = "mact-releases-out-of-service";
@@ -148,6 +159,9 @@ public class MavenArtifactControllerTest
     @Inject
     private ArtifactEntryService artifactEntryService;
 
+    @Inject
+    private ArtifactManagementService artifactManagementService;
+
     private MavenArtifactDeployer defaultMavenArtifactDeployer;
 
     @BeforeAll
@@ -549,6 +563,155 @@ public class MavenArtifactControllerTest
                 .isTrue();
     }
 
+    @ExtendWith(RepositoryManagementTestExecutionListener.class)
+    @Test
+    public void testBulkUpload(@MavenRepository(repositoryId = REPOSITORY_RELEASES_2)
+                               Repository repository)
+            throws Exception
+    {
+        String pomPath = "org/carlspring/strongbox/bulk/bulk-foo/1.0/bulk-foo-1.0.pom";
+        String jarPath = "org/carlspring/strongbox/bulk/bulk-foo/1.0/bulk-foo-1.0.jar";
+
+        byte[] jar = createBulkUploadJar(0);
+        byte[] archive = createBulkUploadArchive("org.carlspring.strongbox.bulk", "bulk-foo", jar);
+
+        String url = getContextBaseUrl() + "/storages/{storageId}/{repositoryId}";
+        mockMvc.contentType("application/zip")
+               .body(archive)
+               .when()
+               .post(url, repository.getStorage().getId(), repository.getId())
+               .then()
+               .statusCode(HttpStatus.OK.value());
+
+        RootRepositoryPath repositoryPath = repositoryPathResolver.resolve(repository);
+        assertThat(Files.exists(repositoryPath.resolve(pomPath))).isTrue();
+        assertThat(Files.exists(repositoryPath.resolve(jarPath))).isTrue();
+        assertThat(Files.exists(repositoryPath.resolve(jarPath + ".sha1"))).isTrue();
+        assertThat(Files.size(repositoryPath.resolve(jarPath))).isEqualTo(jar.length);
+
+        ArtifactEntry artifactEntry = artifactEntryService.findOneArtifact(repository.getStorage().getId(),
+                                                                           repository.getId(),
+                                                                           jarPath);
+        assertThat(artifactEntry).isNotNull();
+        assertThat(artifactEntry.getSizeInBytes()).isEqualTo(jar.length);
+        assertThat(artifactEntry.getChecksums()).containsEntry("SHA-1",
+                                                               new String(Files.readAllBytes(repositoryPath.resolve(jarPath + ".sha1"))).trim());
+        assertThat(artifactEntryService.findOneArtifact(repository.getStorage().getId(),
+                                                        repository.getId(),
+                                                        pomPath)).isNotNull();
+    }
+
+    @ExtendWith(RepositoryManagementTestExecutionListener.class)
+    @Test
+    public void testBulkUploadOfInvalidArchiveStoresNothing(@MavenRepository(repositoryId = REPOSITORY_RELEASES_BULK_INVALID)
+                                                            Repository repository)
+            throws Exception
+    {
+        String storageId = repository.getStorage().getId();
+        String repositoryId = repository.getId();
+        String url = getContextBaseUrl() + "/storages/{storageId}/{repositoryId}";
+
+        // A valid entry followed by one which escapes the repository.
+        ByteArrayOutputStream invalidArchive = new ByteArrayOutputStream();
+        try (ZipOutputStream zos = new ZipOutputStream(invalidArchive))
+        {
+            zos.putNextEntry(new ZipEntry("org/carlspring/strongbox/bulk/bulk-bar/1.0/bulk-bar-1.0.jar"));
+            zos.write(createBulkUploadJar(0));
+            zos.closeEntry();
+
+            zos.putNextEntry(new ZipEntry("../bulk-bar-1.0.jar"));
+            zos.write(createBulkUploadJar(0));
+            zos.closeEntry();
+        }
+
+        mockMvc.contentType("application/zip")
+               .body(invalidArchive.toByteArray())
+               .when()
+               .post(url, storageId, repositoryId)
+               .then()
+               .statusCode(HttpStatus.BAD_REQUEST.value());
+
+        // An archive which is cut off in the middle of the jar.
+        byte[] archive = createBulkUploadArchive("org.carlspring.strongbox.bulk", "bulk-baz", createBulkUploadJar(16384));
+        byte[] truncatedArchive = new byte[archive.length / 2];
+        System.arraycopy(archive, 0, truncatedArchive, 0, truncatedArchive.length);
+
+        int statusCode = mockMvc.contentType("application/zip")
+                                .body(truncatedArchive)
+                                .when()
+                                .post(url, storageId, repositoryId)
+                                .then()
+                                .extract()
+                                .statusCode();
+        assertThat(statusCode).isNotEqualTo(HttpStatus.OK.value());
+
+        RootRepositoryPath repositoryPath = repositoryPathResolver.resolve(repository);
+        assertThat(Files.exists(repositoryPath.resolve("org/carlspring/strongbox/bulk"))).isFalse();
+        // The staged files are removed as well.
+        Path tempPath = RepositoryFiles.temporary(repositoryPath.resolve("org/carlspring/strongbox/bulk/staged"))
+                                       .getTarget()
+                                       .getParent();
+        try (Stream<Path> stagedFiles = Files.walk(tempPath))
+        {
+            assertThat(stagedFiles.filter(Files::isRegularFile)).isEmpty();
+        }
+        assertThat(artifactEntryService.findOneArtifact(storageId,
+                                                        repositoryId,
+                                                        "org/carlspring/strongbox/bulk/bulk-bar/1.0/bulk-bar-1.0.jar")).isNull();
+        assertThat(artifactEntryService.findOneArtifact(storageId,
+                                                        repositoryId,
+                                                        "org/carlspring/strongbox/bulk/bulk-baz/1.0/bulk-baz-1.0.pom")).isNull();
+    }
+
+    private byte[] createBulkUploadJar(int padding)
+            throws IOException
+    {
+        ByteArrayOutputStream jar = new ByteArrayOutputStream();
+        try (ZipOutputStream zos = new ZipOutputStream(jar))
+        {
+            zos.putNextEntry(new ZipEntry("META-INF/MANIFEST.MF"));
+            zos.write("Manifest-Version: 1.0\n".getBytes());
+            zos.closeEntry();
+
+            if (padding > 0)
+            {
+                // Random content doesn't compress, so the jar is at least this large.
+                byte[] content = new byte[padding];
+                new Random(padding).nextBytes(content);
+
+                zos.putNextEntry(new ZipEntry("padding.bin"));
+                zos.write(content);
+                zos.closeEntry();
+            }
+        }
+
+        return jar.toByteArray();
+    }
+
+    private byte[] createBulkUploadArchive(String groupId,
+                                           String artifactId,
+                                           byte[] jar)
+            throws IOException
+    {
+        String path = groupId.replace('.', '/') + "/" + artifactId + "/1.0/" + artifactId + "-1.0";
+
+        ByteArrayOutputStream archive = new ByteArrayOutputStream();
+        try (ZipOutputStream zos = new ZipOutputStream(archive))
+        {
+            zos.putNextEntry(new ZipEntry(path + ".pom"));
+            zos.write(("<project><modelVersion>4.0.0</modelVersion>" +
+                       "<groupId>" + groupId + "</groupId><artifactId>" + artifactId + "</artifactId>" +
+                       "<version>1.0</version></project>").getBytes());
+            zos.closeEntry();
+
+            zos.putNextEntry(new ZipEntry(path + ".jar"));
+            zos.write(jar);
+            zos.closeEntry();
+        }
+
+        return archive.toByteArray();
+    }
+
     @ExtendWith({ RepositoryManagementTestExecutionListener.class,
                   ArtifactManagementTestExecutionListener.class })
     @Test
@@ -700,6 +863,112 @@ public class MavenArtifactControllerTest
                 .isFalse();
     }
 
+    @ExtendWith({ RepositoryManagementTestExecutionListener.class,
+                  ArtifactManagementTestExecutionListener.class })
+    @Test
+    public void testGzipVariantOfMetadata(@MavenRepository(repositoryId = REPOSITORY_RELEASES_1)
+                                          Repository repository,
+                                          @MavenTestArtifact(repositoryId = REPOSITORY_RELEASES_1,
+                                                             id = "org.carlspring.strongbox.gzip:gzip-foo",
+                                                             versions = "1.0")
+                                          Path artifactPath)
+            throws Exception
+    {
+        final String storageId = repository.getStorage().getId();
+        final String repositoryId = repository.getId();
+        final String url = getContextBaseUrl() + "/storages/{storageId}/{repositoryId}/{artifactPath}";
+
+        RepositoryPath metadataPath = (RepositoryPath) artifactPath.normalize()
+                                                                   .getParent()
+                                                                   .getParent()
+                                                                   .resolve("maven-metadata.xml");
+        String metadataPathStr = RepositoryFiles.relativizePath(metadataPath);
+
+        byte[] metadata = createMetadata("org.carlspring.strongbox.gzip", "gzip-foo", 100);
+        artifactManagementService.store(metadataPath, new ByteArrayInputStream(metadata));
+
+        assertThat(downloadGzipped(url, storageId, repositoryId, metadataPathStr)).isEqualTo(metadata);
+
+        // The variant is kept under the hidden directory of the repository root.
+        RootRepositoryPath rootPath = repositoryPathResolver.resolve(repository);
+        Path variant = rootPath.getTarget().resolve(LayoutFileSystem.GZIP).resolve(metadataPathStr + ".gz");
+        assertThat(Files.exists(variant)).isTrue();
+        try (Stream<Path> paths = Files.walk(rootPath))
+        {
+            assertThat(paths.map(p -> p.getFileName() == null ? "" : p.getFileName().toString()))
+                    .doesNotContain(LayoutFileSystem.GZIP, "maven-metadata.xml.gz");
+        }
+
+        // Plain requests get the file itself.
+        byte[] plain = mockMvc.when()
+                              .get(url, storageId, repositoryId, metadataPathStr)
+                              .then()
+                              .statusCode(HttpStatus.OK.value())
+                              .header(HttpHeaders.CONTENT_ENCODING, nullValue())
+                              .extract()
+                              .asByteArray();
+        assertThat(plain).isEqualTo(metadata);
+
+        // Storing the file again drops the variant.
+        byte[] updatedMetadata = createMetadata("org.carlspring.strongbox.gzip", "gzip-foo", 120);
+        artifactManagementService.store(metadataPath, new ByteArrayInputStream(updatedMetadata));
+
+        assertThat(Files.exists(variant)).isFalse();
+        assertThat(downloadGzipped(url, storageId, repositoryId, metadataPathStr)).isEqualTo(updatedMetadata);
+
+        // So does deleting it.
+        client.delete(storageId, repositoryId, metadataPathStr);
+
+        assertThat(Files.exists(variant)).isFalse();
+    }
+
+    private byte[] downloadGzipped(String url,
+                                   String storageId,
+                                   String repositoryId,
+                                   String path)
+            throws IOException
+    {
+        byte[] body = mockMvc.header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate")
+                             .when()
+                             .get(url, storageId, repositoryId, path)
+                             .then()
+                             .statusCode(HttpStatus.OK.value())
+                             .header(HttpHeaders.CONTENT_ENCODING, equalTo("gzip"))
+                             .extract()
+                             .asByteArray();
+
+        try (InputStream is = new GZIPInputStream(new ByteArrayInputStream(body)))
+        {
+            return IOUtils.toByteArray(is);
+        }
+    }
+
+    private byte[] createMetadata(String groupId,
+                                  String artifactId,
+                                  int versionCount)
+    {
+        StringBuilder versions = new StringBuilder();
+        for (int i = 1; i <= versionCount; i++)
+        {
+            versions.append("      <version>1.").append(i).append("</version>\n");
+        }
+
+        String metadata = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" +
+                          "<metadata>\n" +
+                          "  <groupId>" + groupId + "</groupId>\n" +
+                          "  <artifactId>" + artifactId + "</artifactId>\n" +
+                          "  <versioning>\n" +
+                          "    <latest>1." + versionCount + "</latest>\n" +
+                          "    <release>1." + versionCount + "</release>\n" +
+                          "    <versions>\n" +
+                          versions +
+                          "    </versions>\n" +
+                          "  </versioning>\n" +
+                          "</metadata>\n";
+
+        return metadata.getBytes(StandardCharsets.UTF_8);
+    }
+
     @ExtendWith({ RepositoryManagementTestExecutionListener.class,
                   ArtifactManagementTestExecutionListener.class })
     @Test
@@ -6,6 +6,7 @@ import org.carlspring.strongbox.booters.PropertiesBooter;
 import org.carlspring.strongbox.config.IntegrationTest;
 import org.carlspring.strongbox.providers.io.RepositoryFiles;
 import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.providers.layout.NpmAbbreviatedMetadata;
 import org.carlspring.strongbox.providers.layout.NpmLayoutProvider;
 import org.carlspring.strongbox.rest.common.NpmRestAssuredBaseTest;
 import org.carlspring.strongbox.storage.repository.Repository;
@@ -30,7 +31,10 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 
 import static org.carlspring.strongbox.artifact.generator.ArtifactGenerator.DEFAULT_BYTES_SIZE;
+import static org.hamcrest.CoreMatchers.containsString;
 import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
 
 /**
  * @author Pablo Tirado
@@ -156,6 +160,66 @@ public class NpmArtifactControllerTest
                .statusCode(HttpStatus.OK.value());
     }
 
+    @ExtendWith({ RepositoryManagementTestExecutionListener.class,
+                  ArtifactManagementTestExecutionListener.class })
+    @Test
+    public void testViewAbbreviatedPackage(@NpmRepository(repositoryId = REPOSITORY_RELEASES)
+                                                   Repository repository,
+                                           @NpmTestArtifact(id = "npm-test-abbreviated",
+                                                   versions = "1.0.0")
+                                                   Path packagePath)
+            throws Exception
+    {
+        final String storageId = repository.getStorage().getId();
+        final String repositoryId = repository.getId();
+        final String packageId = "npm-test-abbreviated";
+        final String packageVersion = "1.0.0";
+
+        Path publishJsonPath = packagePath.resolveSibling("publish.json");
+        byte[] publishJsonContent = Files.readAllBytes(publishJsonPath);
+
+        //Publish
+        String url = getContextBaseUrl() + "/storages/{storageId}/{repositoryId}/{artifactId}";
+        mockMvc.contentType(MediaType.APPLICATION_JSON_VALUE)
+               .body(publishJsonContent)
+               .when()
+               .put(url, storageId, repositoryId, packageId)
+               .peek()
+               .then()
+               .statusCode(HttpStatus.OK.value());
+
+        //View abbreviated
+        mockMvc.header(HttpHeaders.ACCEPT, NpmAbbreviatedMetadata.MEDIA_TYPE)
+               .when()
+               .get(url, storageId, repositoryId, packageId)
+               .peek()
+               .then()
+               .statusCode(HttpStatus.OK.value())
+               .contentType(containsString(NpmAbbreviatedMetadata.MEDIA_TYPE))
+               .body("name", equalTo(packageId))
+               .body("'dist-tags'.latest", equalTo(packageVersion))
+               .body("versions.'" + packageVersion + "'.dist.tarball", notNullValue())
+               .body("_rev", nullValue())
+               .body("time", nullValue());
+
+        //View version
+        mockMvc.when()
+               .get(url + "/{version}", storageId, repositoryId, packageId, packageVersion)
+               .peek()
+               .then()
+               .statusCode(HttpStatus.OK.value())
+               .body("name", equalTo(packageId))
+               .body("version", equalTo(packageVersion));
+
+        //View latest version
+        mockMvc.when()
+               .get(url + "/latest", storageId, repositoryId, packageId)
+               .peek()
+               .then()
+               .statusCode(HttpStatus.OK.value())
+               .body("version", equalTo(packageVersion));
+    }
+
     @ExtendWith({ RepositoryManagementTestExecutionListener.class,
                   ArtifactManagementTestExecutionListener.class })
     @Test
@@ -0,0 +1,100 @@
+package org.carlspring.strongbox.controllers.layout.nuget;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.util.UriComponents;
+import org.springframework.web.util.UriComponentsBuilder;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class FeedPageTest
+{
+
+    private static final int PAGE_SIZE = 3;
+
+    @Test
+    public void testServerPaging()
+    {
+        FeedPage page = new FeedPage(null, null, PAGE_SIZE);
+        List<String> result = Arrays.asList("a", "b", "c", "d");
+
+        assertThat(page.isEmpty()).isFalse();
+        assertThat(page.getSkip()).isEqualTo(0);
+        assertThat(page.getQueryLimit()).isEqualTo(PAGE_SIZE + 1);
+        assertThat(page.getEntries(result)).containsExactly("a", "b", "c");
+
+        UriComponents nextLink = UriComponentsBuilder.fromUriString(page.getNextLink(request("searchTerm=foo"), result))
+                                                     .build();
+        assertThat(nextLink.getPath()).isEqualTo("/storages/storage-nuget/nuget-releases/Search()");
+        assertThat(nextLink.getQueryParams().getFirst("$skip")).isEqualTo("3");
+        assertThat(nextLink.getQueryParams().getFirst("$top")).isNull();
+        assertThat(nextLink.getQueryParams().getFirst("searchTerm")).isEqualTo("foo");
+    }
+
+    @Test
+    public void testLastServerPageHasNoNextLink()
+    {
+        FeedPage page = new FeedPage(3, null, PAGE_SIZE);
+        List<String> result = Arrays.asList("d", "e", "f");
+
+        assertThat(page.getEntries(result)).containsExactly("d", "e", "f");
+        assertThat(page.getNextLink(request("$skip=3"), result)).isNull();
+    }
+
+    @Test
+    public void testTopAboveThePageSize()
+    {
+        FeedPage page = new FeedPage(2, 5, PAGE_SIZE);
+        List<String> result = Arrays.asList("c", "d", "e", "f");
+
+        assertThat(page.getQueryLimit()).isEqualTo(PAGE_SIZE + 1);
+        assertThat(page.getEntries(result)).containsExactly("c", "d", "e");
+
+        UriComponents nextLink = UriComponentsBuilder.fromUriString(page.getNextLink(request("$skip=2&$top=5"), result))
+                                                     .build();
+        assertThat(nextLink.getQueryParams().getFirst("$skip")).isEqualTo("5");
+        assertThat(nextLink.getQueryParams().getFirst("$top")).isEqualTo("2");
+    }
+
+    @Test
+    public void testTopWithinThePageSize()
+    {
+        FeedPage page = new FeedPage(0, 2, PAGE_SIZE);
+        List<String> result = Arrays.asList("a", "b");
+
+        assertThat(page.getQueryLimit()).isEqualTo(2);
+        assertThat(page.getEntries(result)).containsExactly("a", "b");
+        assertThat(page.getNextLink(request("$top=2"), result)).isNull();
+    }
+
+    @Test
+    public void testZeroTopIsAnEmptyPage()
+    {
+        FeedPage page = new FeedPage(0, 0, PAGE_SIZE);
+
+        assertThat(page.isEmpty()).isTrue();
+        assertThat(page.getNextLink(request("$top=0"), Arrays.asList())).isNull();
+    }
+
+    @Test
+    public void testInvalidSkipAndTop()
+    {
+        FeedPage page = new FeedPage(-1, -1, PAGE_SIZE);
+
+        assertThat(page.isEmpty()).isFalse();
+        assertThat(page.getSkip()).isEqualTo(0);
+        assertThat(page.getQueryLimit()).isEqualTo(PAGE_SIZE + 1);
+    }
+
+    private MockHttpServletRequest request(String queryString)
+    {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET",
+                                                                    "/storages/storage-nuget/nuget-releases/Search()");
+        request.setQueryString(queryString);
+
+        return request;
+    }
+
+}
@@ -63,6 +63,10 @@ public class NugetArtifactControllerTest extends NugetRestAssuredBaseTest
 
     private static final String REPOSITORY_RELEASES_3 = "nuget-test-releases-nact-3";
 
+    private static final String REPOSITORY_RELEASES_PAGING = "nuget-test-releases-nact-paging";
+
+    private static final String REPOSITORY_RELEASES_ORDER_BY = "nuget-test-releases-nact-order-by";
+
     @Inject
     private ArtifactEntryService artifactEntryService;
 
@@ -187,6 +191,111 @@ public class NugetArtifactControllerTest extends NugetRestAssuredBaseTest
         }
     }
 
+    @ExtendWith({ RepositoryManagementTestExecutionListener.class,
+                  ArtifactManagementTestExecutionListener.class })
+    @Test
+    public void testFindPackagesByIdPaging(@NugetRepository(storageId = STORAGE_ID,
+                                                            repositoryId = REPOSITORY_RELEASES_PAGING)
+                                           Repository repository,
+                                           @NugetTestArtifact(storageId = STORAGE_ID,
+                                                              repositoryId = REPOSITORY_RELEASES_PAGING,
+                                                              id = "Org.Carlspring.Strongbox.Nuget.Test.Paging",
+                                                              versions = { "1.0.0",
+                                                                           "2.0.0",
+                                                                           "3.0.0" })
+                                           List<Path> packagePaths)
+    {
+        final String storageId = repository.getStorage().getId();
+        final String repositoryId = repository.getId();
+        final String packageId = "Org.Carlspring.Strongbox.Nuget.Test.Paging";
+
+        String url = getContextBaseUrl() +
+                     "/storages/{storageId}/{repositoryId}/FindPackagesById()?id={packageId}&$skip={skip}&$top={top}";
+
+        // The client $top is within the server page size, so there is no next link.
+        mockMvc.header(HttpHeaders.USER_AGENT, "NuGet/*")
+               .when()
+               .get(url, storageId, repositoryId, packageId, 1, 1)
+               .then()
+               .statusCode(HttpStatus.OK.value())
+               .and()
+               .assertThat()
+               .body("feed.entry.size()", equalTo(1))
+               .body("feed.entry[0].properties.Version", equalTo("2.0.0"))
+               .body("feed.link.findAll { it.@rel == 'next' }.size()", equalTo(0));
+
+        // The remaining entries.
+        mockMvc.header(HttpHeaders.USER_AGENT, "NuGet/*")
+               .when()
+               .get(url, storageId, repositoryId, packageId, 1, 30)
+               .then()
+               .statusCode(HttpStatus.OK.value())
+               .and()
+               .assertThat()
+               .body("feed.entry.size()", equalTo(2));
+
+        // $top=0 asks for no entries at all.
+        mockMvc.header(HttpHeaders.USER_AGENT, "NuGet/*")
+               .when()
+               .get(url, storageId, repositoryId, packageId, 0, 0)
+               .then()
+               .statusCode(HttpStatus.OK.value())
+               .and()
+               .assertThat()
+               .body("feed.entry.size()", equalTo(0));
+    }
+
+    @ExtendWith({ RepositoryManagementTestExecutionListener.class,
+                  ArtifactManagementTestExecutionListener.class })
+    @Test
+    public void testSearchOrderBy(@NugetRepository(storageId = STORAGE_ID,
+                                                   repositoryId = REPOSITORY_RELEASES_ORDER_BY)
+                                  Repository repository,
+                                  @NugetTestArtifact(storageId = STORAGE_ID,
+                                                     repositoryId = REPOSITORY_RELEASES_ORDER_BY,
+                                                     id = "Org.Carlspring.Strongbox.Nuget.Test.OrderBy",
+                                                     versions = { "1.0.0",
+                                                                  "2.0.0" })
+                                  List<Path> packagePaths)
+    {
+        final String storageId = repository.getStorage().getId();
+        final String repositoryId = repository.getId();
+
+        String url = getContextBaseUrl() +
+                     "/storages/{storageId}/{repositoryId}/Search()?$orderby={orderBy}&$skip=0&$top=30" +
+                     "&searchTerm=Test.OrderBy&targetFramework=";
+
+        // The OData order of the NuGet clients, only its first property is used.
+        mockMvc.header(HttpHeaders.USER_AGENT, "NuGet/*")
+               .when()
+               .get(url, storageId, repositoryId, "DownloadCount desc,Id")
+               .then()
+               .statusCode(HttpStatus.OK.value())
+               .and()
+               .assertThat()
+               .body("feed.entry.size()", equalTo(2));
+
+        mockMvc.header(HttpHeaders.USER_AGENT, "NuGet/*")
+               .when()
+               .get(url, storageId, repositoryId, "Version desc")
+               .then()
+               .statusCode(HttpStatus.OK.value())
+               .and()
+               .assertThat()
+               .body("feed.entry.size()", equalTo(2))
+               .body("feed.entry[0].properties.Version", equalTo("2.0.0"));
+
+        // An unknown property falls back to the package ID.
+        mockMvc.header(HttpHeaders.USER_AGENT, "NuGet/*")
+               .when()
+               .get(url, storageId, repositoryId, "Unknown; DELETE FROM ArtifactEntry")
+               .then()
+               .statusCode(HttpStatus.OK.value())
+               .and()
+               .assertThat()
+               .body("feed.entry.size()", equalTo(2));
+    }
+
     @ExtendWith({ RepositoryManagementTestExecutionListener.class,
                   ArtifactManagementTestExecutionListener.class })
     @Test
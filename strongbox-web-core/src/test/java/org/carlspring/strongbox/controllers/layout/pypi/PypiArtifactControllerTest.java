@@ -206,6 +206,41 @@ public class PypiArtifactControllerTest extends PypiRestAssuredBaseTest
 
     }
 
+    @Test
+    @ExtendWith(RepositoryManagementTestExecutionListener.class)
+    public void testSimpleIndexWithoutStoredPages(@PypiTestRepository(repositoryId = "pypi-releases-simple-fallback",
+                                                                      storageId = REPOSITORY_STORAGE) Repository repository)
+    {
+        final String storageId = repository.getStorage().getId();
+        final String repositoryId = repository.getId();
+
+        // The root page is built when there is none stored.
+        mockMvc.header(HttpHeaders.ACCEPT, PypiArtifactController.SIMPLE_JSON)
+               .when()
+               .get(getContextBaseUrl() + "/storages/{storageId}/{repositoryId}/simple", storageId, repositoryId)
+               .then()
+               .statusCode(HttpStatus.OK.value())
+               .contentType(PypiArtifactController.SIMPLE_JSON)
+               .body("projects", Matchers.empty());
+
+        final String url = getContextBaseUrl() + "/storages/{storageId}/{repositoryId}/simple/{packageName}/";
+
+        // The JSON project page can't be built, so the clients which accept HTML get the HTML page instead...
+        mockMvc.header(HttpHeaders.ACCEPT, PypiArtifactController.SIMPLE_JSON + ", text/html;q=0.1")
+               .when()
+               .get(url, storageId, repositoryId, "hello_world_pypi")
+               .then()
+               .statusCode(HttpStatus.OK.value())
+               .contentType(ContentType.HTML);
+
+        // ...and the others get no page at all.
+        mockMvc.header(HttpHeaders.ACCEPT, PypiArtifactController.SIMPLE_JSON)
+               .when()
+               .get(url, storageId, repositoryId, "hello_world_pypi")
+               .then()
+               .statusCode(HttpStatus.NOT_ACCEPTABLE.value());
+    }
+
     @Test
     @ExtendWith({ RepositoryManagementTestExecutionListener.class,
                   ArtifactManagementTestExecutionListener.class })